@@ -0,0 +1,20 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The reactive variant of the waste sorting API: the same endpoints served by WebFlux over R2DBC,
+ * so that slow clients hold a connection rather than a request thread.
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+	private static final Logger log = LoggerFactory.getLogger( ReactiveApplication.class );
+
+	public static void main( String[] args ) {
+		SpringApplication.run( ReactiveApplication.class, args );
+		log.info( "Reactive server started successfully" );
+	}
+}
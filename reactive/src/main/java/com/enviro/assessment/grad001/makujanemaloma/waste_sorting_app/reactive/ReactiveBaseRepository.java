@@ -0,0 +1,165 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ReactiveBaseRepository is the R2DBC counterpart of the servlet application's BaseRepository:
+ * basic CRUD operations over Spring's {@link DatabaseClient} that return {@link Flux} and
+ * {@link Mono} instead of blocking. Rows are pulled from the database as the subscriber requests
+ * them, so a slow client slows the query down instead of buffering the whole table in memory.
+ *
+ * @param <T> The type of entity the repository will handle.
+ */
+public abstract class ReactiveBaseRepository<T> {
+    /**
+     * The maximum number of IDs bound into a single {@code IN} list; longer lists are split into chunks.
+     */
+    protected static final int BATCH_CHUNK_SIZE = 500;
+
+    protected final DatabaseClient databaseClient;
+    private final Function<Readable, T> rowMapper;
+
+    /**
+     * Constructs a ReactiveBaseRepository.
+     *
+     * @param databaseClient The DatabaseClient used for executing SQL statements.
+     * @param rowMapper Maps a row of the repository's table to an entity.
+     */
+    protected ReactiveBaseRepository( DatabaseClient databaseClient, Function<Readable, T> rowMapper ) {
+        this.databaseClient = databaseClient;
+        this.rowMapper = rowMapper;
+    }
+
+    /**
+     * Streams all records from the specified table in ID order.
+     *
+     * @param tableName The name of the table to query.
+     * @return The records in the table.
+     */
+    public Flux<T> getAll( String tableName ) {
+        return databaseClient.sql( "SELECT * FROM " + tableName + " ORDER BY id" )
+                .map( rowMapper )
+                .all();
+    }
+
+    /**
+     * Fetches a single record by its ID from the specified table.
+     *
+     * @param tableName The name of the table to query.
+     * @param id The ID of the record to fetch.
+     * @return The record, or an empty Mono if not found.
+     */
+    public Mono<T> getById( String tableName, Integer id ) {
+        return databaseClient.sql( "SELECT * FROM " + tableName + " WHERE id = :id" )
+                .bind( "id", id )
+                .map( rowMapper )
+                .one();
+    }
+
+    /**
+     * Fetches the records with the given IDs from the specified table, using one {@code IN} query
+     * per chunk of {@link #BATCH_CHUNK_SIZE} IDs.
+     *
+     * @param tableName The name of the table to query.
+     * @param ids The IDs to fetch, in the order the results should be returned.
+     * @param idOf Extracts the ID from an entity.
+     * @return The found entities in request order, and the IDs that were not found.
+     */
+    public Mono<BatchResultDTO<T>> getByIds( String tableName, List<Integer> ids, Function<T, Integer> idOf ) {
+        return loadBatch( ids, chunk -> databaseClient.sql( "SELECT * FROM " + tableName + " WHERE id IN ( :ids )" )
+                .bind( "ids", chunk )
+                .map( rowMapper )
+                .all(), idOf );
+    }
+
+    /**
+     * Loads records for a list of IDs in chunks, one query at a time, and reassembles them in
+     * request order. Duplicate IDs are fetched and returned once.
+     *
+     * @param ids The requested IDs.
+     * @param chunkQuery Runs one {@code IN} query for a chunk of distinct IDs.
+     * @param idOf Extracts the ID from a loaded record.
+     * @return The found records in request order, and the IDs that were not found.
+     */
+    protected <R> Mono<BatchResultDTO<R>> loadBatch(
+            List<Integer> ids,
+            Function<List<Integer>, Flux<R>> chunkQuery,
+            Function<R, Integer> idOf
+    ) {
+        List<Integer> distinctIds = new ArrayList<>( new LinkedHashSet<>( ids ) );
+        return Flux.fromIterable( distinctIds )
+                .buffer( BATCH_CHUNK_SIZE )
+                .concatMap( chunkQuery )
+                .collectMap( idOf )
+                .map( found -> {
+                    List<R> items = new ArrayList<>( distinctIds.size() );
+                    List<Integer> missing = new ArrayList<>();
+                    for ( Integer id : distinctIds ) {
+                        R record = found.get( id );
+                        if ( record != null ) {
+                            items.add( record );
+                        } else {
+                            missing.add( id );
+                        }
+                    }
+                    return new BatchResultDTO<>( items, missing );
+                } );
+    }
+
+    /**
+     * Executes an INSERT or UPDATE statement that should affect exactly one row.
+     *
+     * @param statement The bound statement to execute.
+     * @return true if exactly one row was affected, false otherwise.
+     */
+    protected Mono<Boolean> writeRecord( DatabaseClient.GenericExecuteSpec statement ) {
+        return statement.fetch()
+                .rowsUpdated()
+                .map( updated -> updated == 1 );
+    }
+
+    /**
+     * Deletes a record from the specified table by its ID.
+     *
+     * @param tableName The name of the table where the record will be deleted.
+     * @param id The ID of the record to delete.
+     * @return A Mono that completes once the record is deleted, or signals an IllegalStateException
+     *         if the delete did not affect exactly one row.
+     */
+    public Mono<Void> delete( String tableName, Integer id ) {
+        return databaseClient.sql( "DELETE FROM " + tableName + " WHERE id = :id" )
+                .bind( "id", id )
+                .fetch()
+                .rowsUpdated()
+                .flatMap( updated -> updated == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error( new IllegalStateException( "Failed to delete record with id: " + id + " in table: " + tableName ) ) );
+    }
+
+    /**
+     * Binds a value that may be null, which {@link DatabaseClient.GenericExecuteSpec#bind} does not accept.
+     *
+     * @param statement The statement to bind to.
+     * @param name The parameter name.
+     * @param value The value, or null.
+     * @param type The SQL parameter type used when the value is null.
+     * @return The statement with the parameter bound.
+     */
+    protected static DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec statement,
+            String name,
+            Object value,
+            Class<?> type
+    ) {
+        return value != null ? statement.bind( name, value ) : statement.bindNull( name, type );
+    }
+}
@@ -0,0 +1,99 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.exceptions.DisposalNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.ErrorResponse;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.ValidationErrorResponse;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions.RecyclingTipNotFound;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns exceptions into the same error responses as the servlet application's GlobalExceptionHandler.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles request body validation failures.
+     */
+    @ExceptionHandler( WebExchangeBindException.class )
+    public ResponseEntity<ValidationErrorResponse> handleValidationExceptions( WebExchangeBindException ex ) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach( error -> {
+            String fieldName = ( ( FieldError ) error ).getField();
+            errors.put( fieldName, error.getDefaultMessage() );
+        } );
+
+        return ResponseEntity.status( HttpStatus.BAD_REQUEST )
+                .contentType( MediaType.APPLICATION_JSON )
+                .body( new ValidationErrorResponse( LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Validation Failed", errors ) );
+    }
+
+    /**
+     * Handles `CategoryNotFoundException`.
+     */
+    @ExceptionHandler( CategoryNotFoundException.class )
+    public ResponseEntity<ErrorResponse> handleCategoryNotFoundException( CategoryNotFoundException ex ) {
+        return respond( HttpStatus.NOT_FOUND, "Category Not Found", ex.getMessage(), "/api/categories" );
+    }
+
+    /**
+     * Handles `DisposalNotFoundException`.
+     */
+    @ExceptionHandler( DisposalNotFoundException.class )
+    public ResponseEntity<ErrorResponse> handleDisposalNotFoundException( DisposalNotFoundException ex ) {
+        return respond( HttpStatus.NOT_FOUND, "Disposal Not Found", ex.getMessage(), "/api/disposal" );
+    }
+
+    /**
+     * Handles `WasteNotFoundException`.
+     */
+    @ExceptionHandler( WasteNotFoundException.class )
+    public ResponseEntity<ErrorResponse> handleWasteNotFoundException( WasteNotFoundException ex ) {
+        return respond( HttpStatus.NOT_FOUND, "Waste Not Found", ex.getMessage(), "/api/waste" );
+    }
+
+    /**
+     * Handles `RecyclingTipNotFound`.
+     */
+    @ExceptionHandler( RecyclingTipNotFound.class )
+    public ResponseEntity<ErrorResponse> handleRecyclingTipNotFoundException( RecyclingTipNotFound ex ) {
+        return respond( HttpStatus.NOT_FOUND, "Recycling Tip Not Found", ex.getMessage(), "/api/recycling-tip" );
+    }
+
+    /**
+     * Handles path variables and request parameters of the wrong type.
+     */
+    @ExceptionHandler( ServerWebInputException.class )
+    public ResponseEntity<ErrorResponse> handleServerWebInputException( ServerWebInputException ex, ServerHttpRequest request ) {
+        return respond( HttpStatus.BAD_REQUEST, "Method Argument Type Mismatch", ex.getReason(), request.getPath().value() );
+    }
+
+    /**
+     * Handles `DuplicateKeyException`.
+     */
+    @ExceptionHandler( DuplicateKeyException.class )
+    public ResponseEntity<ErrorResponse> handleDuplicateKeyException( DuplicateKeyException ex, ServerHttpRequest request ) {
+        return respond( HttpStatus.CONFLICT, "Duplicate Key Error", "A record with the same key already exists.", request.getPath().value() );
+    }
+
+    private static ResponseEntity<ErrorResponse> respond( HttpStatus status, String error, String message, String path ) {
+        return ResponseEntity.status( status )
+                .contentType( MediaType.APPLICATION_JSON )
+                .body( new ErrorResponse( LocalDateTime.now(), status.value(), error, message, path ) );
+    }
+}
@@ -0,0 +1,149 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.category;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the category endpoints.
+ */
+@RestController
+@RequestMapping( "/api/categories" )
+public class ReactiveCategoryController {
+    private final ReactiveCategoryRepository categoryRepository;
+
+    /**
+     * Constructs a ReactiveCategoryController.
+     *
+     * @param categoryRepository The repository for categories.
+     */
+    public ReactiveCategoryController( ReactiveCategoryRepository categoryRepository ) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Streams all categories.
+     *
+     * @return The categories.
+     */
+    @GetMapping( value = "", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<CategoryDTO> getAllCategories() {
+        return categoryRepository.getAllCategories();
+    }
+
+    /**
+     * Retrieves several categories by their IDs in one request, e.g. {@code /api/categories?ids=1,2,3}.
+     *
+     * @param ids The IDs of the categories to retrieve.
+     * @return The categories found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public Mono<BatchResultDTO<CategoryDTO>> getCategoriesByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return categoryRepository.getCategoriesByIds( ids );
+    }
+
+    /**
+     * Retrieves a category by its ID.
+     *
+     * @param id The ID of the category to retrieve.
+     * @return The category.
+     * @throws CategoryNotFoundException if no category is found with the given ID.
+     */
+    @GetMapping( "/{id}" )
+    public Mono<CategoryDTO> getCategoryById( @PathVariable Integer id ) {
+        return categoryRepository.getCategoryById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Creates a new category.
+     *
+     * @param categoryDTO The category to create.
+     * @return A response with status CREATED, or INTERNAL_SERVER_ERROR if the category was not created.
+     */
+    @PostMapping( "" )
+    public Mono<ResponseEntity<?>> createNewCategory( @Valid @RequestBody CategoryDTO categoryDTO ) {
+        return categoryRepository.createNewCategory( categoryDTO )
+                .<ResponseEntity<?>>map( created -> created
+                        ? ResponseEntity.status( HttpStatus.CREATED ).build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to create new record" ) );
+    }
+
+    /**
+     * Updates an existing category by its ID.
+     *
+     * @param categoryDTO The updated category.
+     * @param id The ID of the category to update.
+     * @return A response with status OK, or INTERNAL_SERVER_ERROR if the category was not updated.
+     * @throws CategoryNotFoundException if no category is found with the given ID.
+     */
+    @PutMapping( "/{id}" )
+    public Mono<ResponseEntity<?>> updateCategory( @Valid @RequestBody CategoryDTO categoryDTO, @PathVariable Integer id ) {
+        return categoryRepository.getCategoryById( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> categoryRepository.updateCategory( categoryDTO, id ) )
+                .<ResponseEntity<?>>map( updated -> updated
+                        ? ResponseEntity.ok().build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to update record" ) );
+    }
+
+    /**
+     * Deletes a category by its ID.
+     *
+     * @param id The ID of the category to delete.
+     * @return A response with status NO_CONTENT.
+     * @throws CategoryNotFoundException if no category is found with the given ID.
+     */
+    @DeleteMapping( "/{id}" )
+    public Mono<ResponseEntity<Void>> deleteCategoryById( @PathVariable Integer id ) {
+        return categoryRepository.getCategoryById( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> categoryRepository.deleteCategoryById( id ) )
+                .then( Mono.just( ResponseEntity.noContent().<Void>build() ) );
+    }
+
+    /**
+     * Streams all categories with their recycling tips.
+     *
+     * @return The categories with their tips, each written as soon as all of its tips are read.
+     */
+    @GetMapping( value = "/recycling-tips", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<CategoryWithTipsDTO> getCategoriesWithTips() {
+        return categoryRepository.getCategoriesWithTips();
+    }
+
+    /**
+     * Retrieves a category with its recycling tips by its ID.
+     *
+     * @param id The ID of the category.
+     * @return The category with its tips.
+     * @throws CategoryNotFoundException if no category is found with the given ID.
+     */
+    @GetMapping( "/{id}/recycling-tips" )
+    public Mono<CategoryWithTipsDTO> getCategoryWithTipsById( @PathVariable Integer id ) {
+        return categoryRepository.getCategoryWithTipsById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    private static <T> Mono<T> notFound( Integer id ) {
+        return Mono.error( () -> new CategoryNotFoundException( "Category with id " + id + " not found" ) );
+    }
+}
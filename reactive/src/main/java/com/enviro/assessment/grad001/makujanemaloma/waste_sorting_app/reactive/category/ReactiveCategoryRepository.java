@@ -0,0 +1,180 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.category;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.ReactiveBaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive repository for categories and their recycling tips.
+ */
+@Repository
+public class ReactiveCategoryRepository extends ReactiveBaseRepository<CategoryDTO> {
+    private final String tableName = "Category";
+
+    private static final String CATEGORIES_WITH_TIPS_SQL = """
+            SELECT c.id AS categoryId,
+                   c.name AS categoryName,
+                   c.description AS description,
+                   rt.id AS recyclingTipId,
+                   rt.title AS title,
+                   rt.tip AS tip,
+                   rt.lastUpdated AS lastUpdated
+            FROM Category c
+            LEFT JOIN RecyclingTips rt ON c.id = rt.categoryId
+            """;
+
+    /**
+     * Constructs a ReactiveCategoryRepository.
+     *
+     * @param databaseClient The DatabaseClient used for executing SQL statements.
+     */
+    public ReactiveCategoryRepository( DatabaseClient databaseClient ) {
+        super( databaseClient, ReactiveCategoryRepository::mapCategory );
+    }
+
+    /**
+     * Streams all categories.
+     *
+     * @return The categories in ID order.
+     */
+    public Flux<CategoryDTO> getAllCategories() {
+        return getAll( tableName );
+    }
+
+    /**
+     * Retrieves a category by its ID.
+     *
+     * @param id The ID of the category.
+     * @return The category, or an empty Mono if not found.
+     */
+    public Mono<CategoryDTO> getCategoryById( Integer id ) {
+        return getById( tableName, id );
+    }
+
+    /**
+     * Retrieves several categories by their IDs in batched queries.
+     *
+     * @param ids The IDs of the categories, in the order they should be returned.
+     * @return The categories found, in request order, and the IDs that do not exist.
+     */
+    public Mono<BatchResultDTO<CategoryDTO>> getCategoriesByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, CategoryDTO::id );
+    }
+
+    /**
+     * Creates a new category.
+     *
+     * @param categoryDTO The category to create.
+     * @return true if the category was created, false otherwise.
+     */
+    public Mono<Boolean> createNewCategory( CategoryDTO categoryDTO ) {
+        return writeRecord( databaseClient.sql( "INSERT INTO " + tableName + " ( name, description, lastUpdated ) VALUES ( :name, :description, CURRENT_TIMESTAMP )" )
+                .bind( "name", categoryDTO.name() )
+                .bind( "description", categoryDTO.description() ) );
+    }
+
+    /**
+     * Updates an existing category.
+     *
+     * @param categoryDTO The updated category.
+     * @param id The ID of the category to update.
+     * @return true if the category was updated, false otherwise.
+     */
+    public Mono<Boolean> updateCategory( CategoryDTO categoryDTO, Integer id ) {
+        return writeRecord( databaseClient.sql( "UPDATE " + tableName + " SET name = :name, description = :description, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id" )
+                .bind( "name", categoryDTO.name() )
+                .bind( "description", categoryDTO.description() )
+                .bind( "id", id ) );
+    }
+
+    /**
+     * Deletes a category by its ID.
+     *
+     * @param id The ID of the category to delete.
+     * @return A Mono that completes once the category is deleted.
+     */
+    public Mono<Void> deleteCategoryById( Integer id ) {
+        return delete( tableName, id );
+    }
+
+    /**
+     * Streams all categories with their recycling tips. The join is ordered by category, so each
+     * category is emitted as soon as its last row has been read.
+     *
+     * @return The categories with their tips, in ID order.
+     */
+    public Flux<CategoryWithTipsDTO> getCategoriesWithTips() {
+        return databaseClient.sql( CATEGORIES_WITH_TIPS_SQL + "ORDER BY c.id, rt.id" )
+                .map( ReactiveCategoryRepository::mapTipRow )
+                .all()
+                .bufferUntilChanged( TipRow::categoryId )
+                .map( ReactiveCategoryRepository::groupTips );
+    }
+
+    /**
+     * Retrieves a category with its recycling tips by its ID.
+     *
+     * @param id The ID of the category.
+     * @return The category with its tips, or an empty Mono if not found.
+     */
+    public Mono<CategoryWithTipsDTO> getCategoryWithTipsById( Integer id ) {
+        return databaseClient.sql( CATEGORIES_WITH_TIPS_SQL + "WHERE c.id = :id ORDER BY rt.id" )
+                .bind( "id", id )
+                .map( ReactiveCategoryRepository::mapTipRow )
+                .all()
+                .collectList()
+                .filter( rows -> !rows.isEmpty() )
+                .map( ReactiveCategoryRepository::groupTips );
+    }
+
+    /**
+     * One row of the categories with tips join.
+     */
+    private record TipRow( Integer categoryId, String name, String description, RecyclingTipDTO tip ) {
+    }
+
+    private static TipRow mapTipRow( Readable row ) {
+        Integer categoryId = row.get( "categoryId", Integer.class );
+        Integer tipId = row.get( "recyclingTipId", Integer.class );
+        RecyclingTipDTO tip = tipId == null ? null : new RecyclingTipDTO(
+                tipId,
+                row.get( "title", String.class ),
+                row.get( "tip", String.class ),
+                categoryId,
+                null,
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+        return new TipRow( categoryId, row.get( "categoryName", String.class ), row.get( "description", String.class ), tip );
+    }
+
+    private static CategoryWithTipsDTO groupTips( List<TipRow> rows ) {
+        TipRow first = rows.get( 0 );
+        List<RecyclingTipDTO> tips = new ArrayList<>( rows.size() );
+        for ( TipRow row : rows ) {
+            if ( row.tip() != null ) {
+                tips.add( row.tip() );
+            }
+        }
+        return new CategoryWithTipsDTO( first.categoryId(), first.name(), first.description(), tips );
+    }
+
+    private static CategoryDTO mapCategory( Readable row ) {
+        return new CategoryDTO(
+                row.get( "id", Integer.class ),
+                row.get( "name", String.class ),
+                row.get( "description", String.class ),
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+    }
+}
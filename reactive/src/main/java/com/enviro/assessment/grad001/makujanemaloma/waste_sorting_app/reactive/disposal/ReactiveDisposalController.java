@@ -0,0 +1,125 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.disposal;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.exceptions.DisposalNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the disposal guideline endpoints.
+ */
+@RestController
+@RequestMapping( "/api/disposals" )
+public class ReactiveDisposalController {
+    private final ReactiveDisposalRepository disposalRepository;
+
+    /**
+     * Constructs a ReactiveDisposalController.
+     *
+     * @param disposalRepository The repository for disposal guidelines.
+     */
+    public ReactiveDisposalController( ReactiveDisposalRepository disposalRepository ) {
+        this.disposalRepository = disposalRepository;
+    }
+
+    /**
+     * Streams all disposal guidelines.
+     *
+     * @return The disposal guidelines.
+     */
+    @GetMapping( value = "", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<DisposalDTO> getAllDisposals() {
+        return disposalRepository.getAllDisposals();
+    }
+
+    /**
+     * Retrieves several disposal guidelines by their IDs in one request, e.g. {@code /api/disposals?ids=1,2,3}.
+     *
+     * @param ids The IDs of the disposal guidelines to retrieve.
+     * @return The disposal guidelines found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public Mono<BatchResultDTO<DisposalDTO>> getDisposalsByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return disposalRepository.getDisposalsByIds( ids );
+    }
+
+    /**
+     * Retrieves a disposal guideline by its ID.
+     *
+     * @param id The ID of the disposal guideline.
+     * @return The disposal guideline.
+     * @throws DisposalNotFoundException if no disposal guideline is found with the given ID.
+     */
+    @GetMapping( "/{id}" )
+    public Mono<DisposalDTO> getDisposal( @PathVariable Integer id ) {
+        return disposalRepository.getDisposal( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Creates a new disposal guideline.
+     *
+     * @param disposalDTO The disposal guideline to create.
+     * @return A response with status CREATED, or INTERNAL_SERVER_ERROR if the guideline was not created.
+     */
+    @PostMapping( "" )
+    public Mono<ResponseEntity<?>> createNewDisposal( @Valid @RequestBody DisposalDTO disposalDTO ) {
+        return disposalRepository.insertNewDisposal( disposalDTO )
+                .<ResponseEntity<?>>map( created -> created
+                        ? ResponseEntity.status( HttpStatus.CREATED ).build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to create new record" ) );
+    }
+
+    /**
+     * Updates an existing disposal guideline.
+     *
+     * @param id The ID of the disposal guideline to update.
+     * @param disposalDTO The updated disposal guideline.
+     * @return A response with status OK, or INTERNAL_SERVER_ERROR if the guideline was not updated.
+     * @throws DisposalNotFoundException if no disposal guideline is found with the given ID.
+     */
+    @PutMapping( "/{id}" )
+    public Mono<ResponseEntity<?>> updateDisposal( @PathVariable Integer id, @Valid @RequestBody DisposalDTO disposalDTO ) {
+        return disposalRepository.getDisposal( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> disposalRepository.updateDisposal( disposalDTO, id ) )
+                .<ResponseEntity<?>>map( updated -> updated
+                        ? ResponseEntity.ok().build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to update record" ) );
+    }
+
+    /**
+     * Deletes a disposal guideline by its ID.
+     *
+     * @param id The ID of the disposal guideline to delete.
+     * @return A response with status NO_CONTENT.
+     * @throws DisposalNotFoundException if no disposal guideline is found with the given ID.
+     */
+    @DeleteMapping( "/{id}" )
+    public Mono<ResponseEntity<Void>> deleteDisposalById( @PathVariable Integer id ) {
+        return disposalRepository.getDisposal( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> disposalRepository.deleteDisposal( id ) )
+                .then( Mono.just( ResponseEntity.noContent().<Void>build() ) );
+    }
+
+    private static <T> Mono<T> notFound( Integer id ) {
+        return Mono.error( () -> new DisposalNotFoundException( "Disposal with id " + id + " not found" ) );
+    }
+}
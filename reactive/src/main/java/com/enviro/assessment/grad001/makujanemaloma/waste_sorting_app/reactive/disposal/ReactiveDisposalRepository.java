@@ -0,0 +1,117 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.disposal;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.ReactiveBaseRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive repository for disposal guidelines.
+ */
+@Repository
+public class ReactiveDisposalRepository extends ReactiveBaseRepository<DisposalDTO> {
+    private final String tableName = "Disposal";
+
+    /**
+     * Constructs a ReactiveDisposalRepository.
+     *
+     * @param databaseClient The DatabaseClient used for executing SQL statements.
+     */
+    public ReactiveDisposalRepository( DatabaseClient databaseClient ) {
+        super( databaseClient, ReactiveDisposalRepository::mapDisposal );
+    }
+
+    /**
+     * Streams all disposal guidelines.
+     *
+     * @return The disposal guidelines in ID order.
+     */
+    public Flux<DisposalDTO> getAllDisposals() {
+        return getAll( tableName );
+    }
+
+    /**
+     * Retrieves a disposal guideline by its ID.
+     *
+     * @param id The ID of the disposal guideline.
+     * @return The disposal guideline, or an empty Mono if not found.
+     */
+    public Mono<DisposalDTO> getDisposal( Integer id ) {
+        return getById( tableName, id );
+    }
+
+    /**
+     * Retrieves several disposal guidelines by their IDs in batched queries.
+     *
+     * @param ids The IDs of the disposal guidelines, in the order they should be returned.
+     * @return The disposal guidelines found, in request order, and the IDs that do not exist.
+     */
+    public Mono<BatchResultDTO<DisposalDTO>> getDisposalsByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, DisposalDTO::id );
+    }
+
+    /**
+     * Inserts a new disposal guideline.
+     *
+     * @param disposalDTO The disposal guideline to create.
+     * @return true if the disposal guideline was created, false otherwise.
+     */
+    public Mono<Boolean> insertNewDisposal( DisposalDTO disposalDTO ) {
+        return writeRecord( bindDisposal( databaseClient.sql(
+                "INSERT INTO " + tableName + " ( wasteId, method, instructions, location, latitude, longitude, lastUpdated ) "
+                        + "VALUES ( :wasteId, :method, :instructions, :location, :latitude, :longitude, CURRENT_TIMESTAMP )" ), disposalDTO ) );
+    }
+
+    /**
+     * Updates an existing disposal guideline.
+     *
+     * @param disposalDTO The updated disposal guideline.
+     * @param id The ID of the disposal guideline to update.
+     * @return true if the disposal guideline was updated, false otherwise.
+     */
+    public Mono<Boolean> updateDisposal( DisposalDTO disposalDTO, Integer id ) {
+        return writeRecord( bindDisposal( databaseClient.sql(
+                "UPDATE " + tableName + " SET wasteId = :wasteId, method = :method, instructions = :instructions, location = :location, "
+                        + "latitude = :latitude, longitude = :longitude, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id" ), disposalDTO )
+                .bind( "id", id ) );
+    }
+
+    /**
+     * Deletes a disposal guideline by its ID.
+     *
+     * @param id The ID of the disposal guideline to delete.
+     * @return A Mono that completes once the disposal guideline is deleted.
+     */
+    public Mono<Void> deleteDisposal( Integer id ) {
+        return delete( tableName, id );
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindDisposal( DatabaseClient.GenericExecuteSpec statement, DisposalDTO disposalDTO ) {
+        statement = statement.bind( "wasteId", disposalDTO.wasteId() )
+                .bind( "method", disposalDTO.method() )
+                .bind( "instructions", disposalDTO.instructions() );
+        statement = bindNullable( statement, "location", disposalDTO.location(), String.class );
+        statement = bindNullable( statement, "latitude", disposalDTO.latitude(), Double.class );
+        return bindNullable( statement, "longitude", disposalDTO.longitude(), Double.class );
+    }
+
+    private static DisposalDTO mapDisposal( Readable row ) {
+        return new DisposalDTO(
+                row.get( "id", Integer.class ),
+                row.get( "wasteId", Integer.class ),
+                row.get( "method", String.class ),
+                row.get( "instructions", String.class ),
+                row.get( "location", String.class ),
+                row.get( "latitude", Double.class ),
+                row.get( "longitude", Double.class ),
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+    }
+}
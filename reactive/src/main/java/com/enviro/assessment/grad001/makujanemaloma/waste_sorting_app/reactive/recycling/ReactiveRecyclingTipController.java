@@ -0,0 +1,125 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.recycling;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions.RecyclingTipNotFound;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the recycling tip endpoints.
+ */
+@RestController
+@RequestMapping( "/api/recycling-tips" )
+public class ReactiveRecyclingTipController {
+    private final ReactiveRecyclingTipRepository recyclingTipRepository;
+
+    /**
+     * Constructs a ReactiveRecyclingTipController.
+     *
+     * @param recyclingTipRepository The repository for recycling tips.
+     */
+    public ReactiveRecyclingTipController( ReactiveRecyclingTipRepository recyclingTipRepository ) {
+        this.recyclingTipRepository = recyclingTipRepository;
+    }
+
+    /**
+     * Streams all recycling tips.
+     *
+     * @return The recycling tips.
+     */
+    @GetMapping( value = "", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<RecyclingTipDTO> getAllTips() {
+        return recyclingTipRepository.getAllRecyclingTips();
+    }
+
+    /**
+     * Retrieves several recycling tips by their IDs in one request, e.g. {@code /api/recycling-tips?ids=1,2,3}.
+     *
+     * @param ids The IDs of the recycling tips to retrieve.
+     * @return The recycling tips found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public Mono<BatchResultDTO<RecyclingTipDTO>> getRecyclingTipsByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return recyclingTipRepository.getRecyclingTipsByIds( ids );
+    }
+
+    /**
+     * Retrieves a recycling tip by its ID.
+     *
+     * @param id The ID of the recycling tip.
+     * @return The recycling tip.
+     * @throws RecyclingTipNotFound if no recycling tip is found with the given ID.
+     */
+    @GetMapping( "/{id}" )
+    public Mono<RecyclingTipDTO> getRecyclingTipById( @PathVariable Integer id ) {
+        return recyclingTipRepository.getRecyclingTipById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Creates a new recycling tip for a category or waste item.
+     *
+     * @param recyclingTipDTO The recycling tip to create.
+     * @return A response with status CREATED, or INTERNAL_SERVER_ERROR if the tip was not created.
+     */
+    @PostMapping( "" )
+    public Mono<ResponseEntity<?>> createRecyclingTip( @Valid @RequestBody RecyclingTipDTO recyclingTipDTO ) {
+        return recyclingTipRepository.createNewRecyclingTip( recyclingTipDTO )
+                .<ResponseEntity<?>>map( created -> created
+                        ? ResponseEntity.status( HttpStatus.CREATED ).build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to create new record" ) );
+    }
+
+    /**
+     * Updates an existing recycling tip.
+     *
+     * @param recyclingTipDTO The updated recycling tip.
+     * @param id The ID of the recycling tip to update.
+     * @return A response with status OK, or INTERNAL_SERVER_ERROR if the tip was not updated.
+     * @throws RecyclingTipNotFound if no recycling tip is found with the given ID.
+     */
+    @PutMapping( "/{id}" )
+    public Mono<ResponseEntity<?>> updateRecyclingTip( @Valid @RequestBody RecyclingTipDTO recyclingTipDTO, @PathVariable Integer id ) {
+        return recyclingTipRepository.getRecyclingTipById( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> recyclingTipRepository.updateRecyclingTip( recyclingTipDTO, id ) )
+                .<ResponseEntity<?>>map( updated -> updated
+                        ? ResponseEntity.ok().build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to update record" ) );
+    }
+
+    /**
+     * Deletes a recycling tip by its ID.
+     *
+     * @param id The ID of the recycling tip to delete.
+     * @return A response with status NO_CONTENT.
+     * @throws RecyclingTipNotFound if no recycling tip is found with the given ID.
+     */
+    @DeleteMapping( "/{id}" )
+    public Mono<ResponseEntity<Void>> deleteRecyclingTip( @PathVariable Integer id ) {
+        return recyclingTipRepository.getRecyclingTipById( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> recyclingTipRepository.deleteRecyclingTip( id ) )
+                .then( Mono.just( ResponseEntity.noContent().<Void>build() ) );
+    }
+
+    private static <T> Mono<T> notFound( Integer id ) {
+        return Mono.error( () -> new RecyclingTipNotFound( "Recycling Tip with id " + id + " not found" ) );
+    }
+}
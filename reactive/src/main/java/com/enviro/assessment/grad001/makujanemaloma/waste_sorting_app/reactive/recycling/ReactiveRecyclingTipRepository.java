@@ -0,0 +1,115 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.recycling;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.ReactiveBaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive repository for recycling tips.
+ */
+@Repository
+public class ReactiveRecyclingTipRepository extends ReactiveBaseRepository<RecyclingTipDTO> {
+    private final String tableName = "RecyclingTips";
+
+    /**
+     * Constructs a ReactiveRecyclingTipRepository.
+     *
+     * @param databaseClient The DatabaseClient used for executing SQL statements.
+     */
+    public ReactiveRecyclingTipRepository( DatabaseClient databaseClient ) {
+        super( databaseClient, ReactiveRecyclingTipRepository::mapRecyclingTip );
+    }
+
+    /**
+     * Streams all recycling tips.
+     *
+     * @return The recycling tips in ID order.
+     */
+    public Flux<RecyclingTipDTO> getAllRecyclingTips() {
+        return getAll( tableName );
+    }
+
+    /**
+     * Retrieves a recycling tip by its ID.
+     *
+     * @param id The ID of the recycling tip.
+     * @return The recycling tip, or an empty Mono if not found.
+     */
+    public Mono<RecyclingTipDTO> getRecyclingTipById( Integer id ) {
+        return getById( tableName, id );
+    }
+
+    /**
+     * Retrieves several recycling tips by their IDs in batched queries.
+     *
+     * @param ids The IDs of the recycling tips, in the order they should be returned.
+     * @return The recycling tips found, in request order, and the IDs that do not exist.
+     */
+    public Mono<BatchResultDTO<RecyclingTipDTO>> getRecyclingTipsByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, RecyclingTipDTO::id );
+    }
+
+    /**
+     * Creates a new recycling tip.
+     *
+     * @param recyclingTipDTO The recycling tip to create.
+     * @return true if the recycling tip was created, false otherwise.
+     */
+    public Mono<Boolean> createNewRecyclingTip( RecyclingTipDTO recyclingTipDTO ) {
+        if ( recyclingTipDTO.title() == null || recyclingTipDTO.tip() == null ) {
+            return Mono.error( new IllegalArgumentException( "Title and Tip cannot be null" ) );
+        }
+        return writeRecord( bindRecyclingTip( databaseClient.sql(
+                "INSERT INTO " + tableName + " ( title, tip, categoryId, wasteId, lastUpdated ) VALUES ( :title, :tip, :categoryId, :wasteId, CURRENT_TIMESTAMP )" ),
+                recyclingTipDTO ) );
+    }
+
+    /**
+     * Updates an existing recycling tip.
+     *
+     * @param recyclingTipDTO The updated recycling tip.
+     * @param id The ID of the recycling tip to update.
+     * @return true if the recycling tip was updated, false otherwise.
+     */
+    public Mono<Boolean> updateRecyclingTip( RecyclingTipDTO recyclingTipDTO, Integer id ) {
+        return writeRecord( bindRecyclingTip( databaseClient.sql(
+                "UPDATE " + tableName + " SET title = :title, tip = :tip, categoryId = :categoryId, wasteId = :wasteId, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id" ),
+                recyclingTipDTO ).bind( "id", id ) );
+    }
+
+    /**
+     * Deletes a recycling tip by its ID.
+     *
+     * @param id The ID of the recycling tip to delete.
+     * @return A Mono that completes once the recycling tip is deleted.
+     */
+    public Mono<Void> deleteRecyclingTip( Integer id ) {
+        return delete( tableName, id );
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindRecyclingTip( DatabaseClient.GenericExecuteSpec statement, RecyclingTipDTO recyclingTipDTO ) {
+        statement = statement.bind( "title", recyclingTipDTO.title() )
+                .bind( "tip", recyclingTipDTO.tip() );
+        statement = bindNullable( statement, "categoryId", recyclingTipDTO.categoryId(), Integer.class );
+        return bindNullable( statement, "wasteId", recyclingTipDTO.wasteId(), Integer.class );
+    }
+
+    private static RecyclingTipDTO mapRecyclingTip( Readable row ) {
+        return new RecyclingTipDTO(
+                row.get( "id", Integer.class ),
+                row.get( "title", String.class ),
+                row.get( "tip", String.class ),
+                row.get( "categoryId", Integer.class ),
+                row.get( "wasteId", Integer.class ),
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+    }
+}
@@ -0,0 +1,205 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteWithCategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the waste endpoints.
+ * <p>
+ * The list, overview and tips endpoints return a {@link Flux}: as {@code application/json} the
+ * items are written as one JSON array element by element, and as {@code application/x-ndjson}
+ * one item per line. Either way items are written as they are grouped from the database rows,
+ * and a client that reads slowly holds back the query instead of a server thread.
+ */
+@RestController
+@RequestMapping( "/api/waste" )
+public class ReactiveWasteController {
+    private final ReactiveWasteRepository wasteRepository;
+
+    /**
+     * Constructs a ReactiveWasteController.
+     *
+     * @param wasteRepository The repository for waste items.
+     */
+    public ReactiveWasteController( ReactiveWasteRepository wasteRepository ) {
+        this.wasteRepository = wasteRepository;
+    }
+
+    /**
+     * Streams all waste records, optionally filtered by category.
+     *
+     * @param category The category filter for waste records. If null, no filtering occurs.
+     * @return The waste records with their category information.
+     */
+    @GetMapping( value = "", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<WasteWithCategoryDTO> getAllWaste( @RequestParam( value = "category", required = false ) String category ) {
+        return wasteRepository.getAllWasteWithCategory( category != null ? category.toLowerCase() : null );
+    }
+
+    /**
+     * Retrieves several waste records by their IDs in one request, e.g. {@code /api/waste?ids=1,2,3}.
+     *
+     * @param ids The IDs of the waste records to retrieve.
+     * @return The waste records found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public Mono<BatchResultDTO<WasteWithCategoryDTO>> getWasteByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return wasteRepository.getWasteWithCategoryByIds( ids );
+    }
+
+    /**
+     * Retrieves a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record.
+     * @return The waste record with its category information.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @GetMapping( "/{id}" )
+    public Mono<WasteWithCategoryDTO> getWaste( @PathVariable Integer id ) {
+        return wasteRepository.getWasteWithCategory( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Streams all waste records with their category and disposal information, optionally filtered by category.
+     *
+     * @param category The category filter for waste records. If null, no filtering occurs.
+     * @return The waste overviews, each written as soon as all of its disposals are read.
+     */
+    @GetMapping( value = "/overview", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<WasteOverviewDTO> getAllWasteWithDisposal( @RequestParam( value = "category", required = false ) String category ) {
+        return wasteRepository.getAllWasteWithDisposal( category != null ? category.toLowerCase() : null );
+    }
+
+    /**
+     * Retrieves the overview of a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record.
+     * @return The waste overview.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @GetMapping( "/{id}/overview" )
+    public Mono<WasteOverviewDTO> getWasteOverviewById( @PathVariable Integer id ) {
+        return wasteRepository.getWasteOverviewById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Creates a new waste record.
+     *
+     * @param wasteDTO The data transfer object representing the new waste record.
+     * @return A response with status CREATED, or INTERNAL_SERVER_ERROR if the record was not created.
+     */
+    @PostMapping( "" )
+    public Mono<ResponseEntity<?>> createNewWaste( @Valid @RequestBody WasteDTO wasteDTO ) {
+        return wasteRepository.insertNewWaste( wasteDTO )
+                .<ResponseEntity<?>>map( created -> created
+                        ? ResponseEntity.status( HttpStatus.CREATED ).build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to create new record" ) );
+    }
+
+    /**
+     * Updates an existing waste record by its ID.
+     *
+     * @param id The ID of the waste record to update.
+     * @param wasteDTO The data transfer object containing the updated waste information.
+     * @return A response with status NO_CONTENT, or INTERNAL_SERVER_ERROR if the record was not updated.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @PutMapping( "/{id}" )
+    public Mono<ResponseEntity<?>> updateWaste( @PathVariable Integer id, @Valid @RequestBody WasteDTO wasteDTO ) {
+        return wasteRepository.getWasteWithCategory( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> wasteRepository.updateWaste( wasteDTO, id ) )
+                .<ResponseEntity<?>>map( updated -> updated
+                        ? ResponseEntity.status( HttpStatus.NO_CONTENT ).build()
+                        : ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR ).body( "Failed to update record" ) );
+    }
+
+    /**
+     * Deletes a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record to delete.
+     * @return A response with status NO_CONTENT.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @DeleteMapping( "/{id}" )
+    public Mono<ResponseEntity<Void>> deleteWasteById( @PathVariable Integer id ) {
+        return wasteRepository.getWasteWithCategory( id )
+                .switchIfEmpty( notFound( id ) )
+                .flatMap( existing -> wasteRepository.deleteWasteById( id ) )
+                .then( Mono.just( ResponseEntity.noContent().<Void>build() ) );
+    }
+
+    /**
+     * Streams all waste records with their recycling tips.
+     *
+     * @return The waste records with their recycling tips.
+     */
+    @GetMapping( value = "/recycling-tips", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<WasteWithTipsDTO> getWasteWithRecyclingTips() {
+        return wasteRepository.getAllWasteWithTips();
+    }
+
+    /**
+     * Retrieves the recycling tips for a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record.
+     * @return The waste record with its recycling tips.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @GetMapping( "/{id}/recycling-tips" )
+    public Mono<WasteWithTipsDTO> getWasteWithRecyclingTipsById( @PathVariable Integer id ) {
+        return wasteRepository.getWasteWithTipsById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    /**
+     * Streams all waste records with their effective recycling tips: their own tips followed by
+     * the tips of their category.
+     *
+     * @return The waste records with their effective recycling tips.
+     */
+    @GetMapping( value = "/effective-tips", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+    public Flux<WasteWithTipsDTO> getWasteWithEffectiveTips() {
+        return wasteRepository.getAllWasteWithEffectiveTips();
+    }
+
+    /**
+     * Retrieves the effective recycling tips for a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record.
+     * @return The waste record with its effective recycling tips.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @GetMapping( "/{id}/effective-tips" )
+    public Mono<WasteWithTipsDTO> getWasteWithEffectiveTipsById( @PathVariable Integer id ) {
+        return wasteRepository.getWasteWithEffectiveTipsById( id )
+                .switchIfEmpty( notFound( id ) );
+    }
+
+    private static <T> Mono<T> notFound( Integer id ) {
+        return Mono.error( () -> new WasteNotFoundException( "Waste with id " + id + " not found" ) );
+    }
+}
@@ -0,0 +1,387 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.ReactiveBaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteWithCategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive repository for waste items and the overview and tips views built on them.
+ * <p>
+ * The overview and tips views are one-to-many joins. Instead of collecting the whole result and
+ * grouping it in a map, the joins are ordered by waste item and consecutive rows of the same
+ * item are grouped as they arrive, so each item is emitted as soon as its last row is read and
+ * only one item's rows are held in memory at a time. Demand from the client flows back to the
+ * database cursor, so a slow reader slows the query down rather than filling the heap.
+ */
+@Repository
+public class ReactiveWasteRepository extends ReactiveBaseRepository<WasteDTO> {
+    private final String tableName = "Waste";
+
+    private static final String WASTE_WITH_CATEGORY_SQL = """
+            SELECT w.id AS wasteId,
+                   w.name AS wasteName,
+                   w.description AS wasteDescription,
+                   c.name AS categoryName,
+                   c.description AS categoryDescription
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            """;
+
+    private static final String OVERVIEW_SQL = """
+            SELECT w.id AS wasteId,
+                   w.name AS wasteName,
+                   w.description AS wasteDescription,
+                   c.name AS categoryName,
+                   c.description AS categoryDescription,
+                   d.id AS disposalId,
+                   d.wasteId AS disposalWasteId,
+                   d.method AS disposalMethod,
+                   d.instructions AS disposalInstructions,
+                   d.location AS disposalLocation,
+                   d.latitude AS disposalLatitude,
+                   d.longitude AS disposalLongitude,
+                   d.lastUpdated AS disposalLastUpdated
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            LEFT JOIN Disposal d ON w.id = d.wasteId
+            """;
+
+    private static final String TIPS_SQL = """
+            SELECT w.id AS wasteId,
+                   w.name AS wasteName,
+                   w.description AS wasteDescription,
+                   c.name AS categoryName,
+                   rt.id AS recycleTipId,
+                   rt.title AS title,
+                   rt.tip AS tip,
+                   rt.categoryId AS tipCategoryId,
+                   rt.wasteId AS tipWasteId,
+                   rt.lastUpdated AS lastUpdated
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            LEFT JOIN RecyclingTips rt ON w.id = rt.wasteId
+            """;
+
+    /**
+     * Constructs a ReactiveWasteRepository.
+     *
+     * @param databaseClient The DatabaseClient used for executing SQL statements.
+     */
+    public ReactiveWasteRepository( DatabaseClient databaseClient ) {
+        super( databaseClient, ReactiveWasteRepository::mapWaste );
+    }
+
+    /**
+     * Streams all waste items with their category information, optionally restricted to one category.
+     *
+     * @param categoryName The category name to filter by, or null for all waste items.
+     * @return The waste items in ID order.
+     */
+    public Flux<WasteWithCategoryDTO> getAllWasteWithCategory( String categoryName ) {
+        if ( categoryName == null ) {
+            return databaseClient.sql( WASTE_WITH_CATEGORY_SQL + "ORDER BY w.id" )
+                    .map( ReactiveWasteRepository::mapWasteWithCategory )
+                    .all();
+        }
+        return databaseClient.sql( WASTE_WITH_CATEGORY_SQL + "WHERE c.name = :category ORDER BY w.id" )
+                .bind( "category", categoryName )
+                .map( ReactiveWasteRepository::mapWasteWithCategory )
+                .all();
+    }
+
+    /**
+     * Retrieves a waste item with its category information by its ID.
+     *
+     * @param wasteId The ID of the waste item.
+     * @return The waste item, or an empty Mono if not found.
+     */
+    public Mono<WasteWithCategoryDTO> getWasteWithCategory( Integer wasteId ) {
+        return databaseClient.sql( WASTE_WITH_CATEGORY_SQL + "WHERE w.id = :id" )
+                .bind( "id", wasteId )
+                .map( ReactiveWasteRepository::mapWasteWithCategory )
+                .one();
+    }
+
+    /**
+     * Retrieves several waste items with their category information in batched queries.
+     *
+     * @param wasteIds The IDs of the waste items, in the order they should be returned.
+     * @return The waste items found, in request order, and the IDs that do not exist.
+     */
+    public Mono<BatchResultDTO<WasteWithCategoryDTO>> getWasteWithCategoryByIds( List<Integer> wasteIds ) {
+        return loadBatch( wasteIds, chunk -> databaseClient.sql( WASTE_WITH_CATEGORY_SQL + "WHERE w.id IN ( :ids )" )
+                .bind( "ids", chunk )
+                .map( ReactiveWasteRepository::mapWasteWithCategory )
+                .all(), WasteWithCategoryDTO::wasteId );
+    }
+
+    /**
+     * Inserts a new waste item.
+     *
+     * @param wasteDTO The waste item to create.
+     * @return true if the waste item was created, false otherwise.
+     */
+    public Mono<Boolean> insertNewWaste( WasteDTO wasteDTO ) {
+        return writeRecord( databaseClient.sql( "INSERT INTO " + tableName + " ( name, description, categoryId, lastUpdated ) VALUES ( :name, :description, :categoryId, CURRENT_TIMESTAMP )" )
+                .bind( "name", wasteDTO.name() )
+                .bind( "description", wasteDTO.description() )
+                .bind( "categoryId", wasteDTO.categoryId() ) );
+    }
+
+    /**
+     * Updates an existing waste item.
+     *
+     * @param wasteDTO The updated waste item.
+     * @param id The ID of the waste item to update.
+     * @return true if the waste item was updated, false otherwise.
+     */
+    public Mono<Boolean> updateWaste( WasteDTO wasteDTO, Integer id ) {
+        return writeRecord( databaseClient.sql( "UPDATE " + tableName + " SET name = :name, description = :description, categoryId = :categoryId, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = :id" )
+                .bind( "name", wasteDTO.name() )
+                .bind( "description", wasteDTO.description() )
+                .bind( "categoryId", wasteDTO.categoryId() )
+                .bind( "id", id ) );
+    }
+
+    /**
+     * Deletes a waste item by its ID.
+     *
+     * @param id The ID of the waste item to delete.
+     * @return A Mono that completes once the waste item is deleted.
+     */
+    public Mono<Void> deleteWasteById( Integer id ) {
+        return delete( tableName, id );
+    }
+
+    /**
+     * Streams all waste items with their category and disposal information, optionally restricted
+     * to one category.
+     *
+     * @param categoryName The category name to filter by, or null for all waste items.
+     * @return The waste overviews in ID order, each emitted once all of its disposals are read.
+     */
+    public Flux<WasteOverviewDTO> getAllWasteWithDisposal( String categoryName ) {
+        DatabaseClient.GenericExecuteSpec statement = categoryName == null
+                ? databaseClient.sql( OVERVIEW_SQL + "ORDER BY w.id, d.id" )
+                : databaseClient.sql( OVERVIEW_SQL + "WHERE c.name = :category ORDER BY w.id, d.id" ).bind( "category", categoryName );
+        return statement.map( ReactiveWasteRepository::mapOverviewRow )
+                .all()
+                .bufferUntilChanged( OverviewRow::wasteId )
+                .map( ReactiveWasteRepository::groupDisposals );
+    }
+
+    /**
+     * Retrieves a waste item with its category and disposal information by its ID.
+     *
+     * @param wasteId The ID of the waste item.
+     * @return The waste overview, or an empty Mono if not found.
+     */
+    public Mono<WasteOverviewDTO> getWasteOverviewById( Integer wasteId ) {
+        return databaseClient.sql( OVERVIEW_SQL + "WHERE w.id = :id ORDER BY d.id" )
+                .bind( "id", wasteId )
+                .map( ReactiveWasteRepository::mapOverviewRow )
+                .all()
+                .collectList()
+                .filter( rows -> !rows.isEmpty() )
+                .map( ReactiveWasteRepository::groupDisposals );
+    }
+
+    /**
+     * Streams all waste items with the recycling tips attached to them.
+     *
+     * @return The waste items with their tips, in ID order.
+     */
+    public Flux<WasteWithTipsDTO> getAllWasteWithTips() {
+        return groupTips( databaseClient.sql( TIPS_SQL + "ORDER BY w.id, rt.id" ) );
+    }
+
+    /**
+     * Retrieves a waste item with the recycling tips attached to it by its ID.
+     *
+     * @param wasteId The ID of the waste item.
+     * @return The waste item with its tips, or an empty Mono if not found.
+     */
+    public Mono<WasteWithTipsDTO> getWasteWithTipsById( Integer wasteId ) {
+        return groupTips( databaseClient.sql( TIPS_SQL + "WHERE w.id = :id ORDER BY rt.id" ).bind( "id", wasteId ) ).next();
+    }
+
+    /**
+     * Streams all waste items with their effective recycling tips: the tips attached to the waste
+     * item itself followed by the tips attached to its category.
+     *
+     * @return The waste items with their effective tips, in ID order.
+     */
+    public Flux<WasteWithTipsDTO> getAllWasteWithEffectiveTips() {
+        return groupTips( databaseClient.sql( effectiveTipsSql( "" ) ) );
+    }
+
+    /**
+     * Retrieves a waste item with its effective recycling tips by its ID.
+     *
+     * @param wasteId The ID of the waste item.
+     * @return The waste item with its effective tips, or an empty Mono if not found.
+     */
+    public Mono<WasteWithTipsDTO> getWasteWithEffectiveTipsById( Integer wasteId ) {
+        return groupTips( databaseClient.sql( effectiveTipsSql( "WHERE w.id = :id" ) ).bind( "id", wasteId ) ).next();
+    }
+
+    /**
+     * Builds the effective tips query, the same UNION ALL of waste-level and category-level tips
+     * as the servlet application, ordered by waste item so it can be grouped while streaming.
+     *
+     * @param where A WHERE clause applied to both branches, or an empty string.
+     * @return The SQL query.
+     */
+    private static String effectiveTipsSql( String where ) {
+        String select = """
+            SELECT w.id AS wasteId,
+                   w.name AS wasteName,
+                   w.description AS wasteDescription,
+                   c.name AS categoryName,
+                   rt.id AS recycleTipId,
+                   rt.title AS title,
+                   rt.tip AS tip,
+                   rt.categoryId AS tipCategoryId,
+                   rt.wasteId AS tipWasteId,
+                   rt.lastUpdated AS lastUpdated,
+            """;
+        return select + """
+                   0 AS tipScope
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            LEFT JOIN RecyclingTips rt ON rt.wasteId = w.id
+            """ + where + """
+
+            UNION ALL
+            """ + select + """
+                   1 AS tipScope
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            JOIN RecyclingTips rt ON rt.categoryId = w.categoryId
+            """ + where + """
+
+            ORDER BY wasteId, tipScope, recycleTipId
+            """;
+    }
+
+    /**
+     * One row of the overview join.
+     */
+    private record OverviewRow( Integer wasteId, String name, String description, String category, String categoryDescription, DisposalDTO disposal ) {
+    }
+
+    /**
+     * One row of a tips join.
+     */
+    private record TipRow( Integer wasteId, String name, String description, String categoryName, RecyclingTipDTO tip ) {
+    }
+
+    private static OverviewRow mapOverviewRow( Readable row ) {
+        Integer disposalId = row.get( "disposalId", Integer.class );
+        DisposalDTO disposal = disposalId == null ? null : new DisposalDTO(
+                disposalId,
+                row.get( "disposalWasteId", Integer.class ),
+                row.get( "disposalMethod", String.class ),
+                row.get( "disposalInstructions", String.class ),
+                row.get( "disposalLocation", String.class ),
+                row.get( "disposalLatitude", Double.class ),
+                row.get( "disposalLongitude", Double.class ),
+                row.get( "disposalLastUpdated", LocalDateTime.class )
+        );
+        return new OverviewRow(
+                row.get( "wasteId", Integer.class ),
+                row.get( "wasteName", String.class ),
+                row.get( "wasteDescription", String.class ),
+                row.get( "categoryName", String.class ),
+                row.get( "categoryDescription", String.class ),
+                disposal
+        );
+    }
+
+    private static WasteOverviewDTO groupDisposals( List<OverviewRow> rows ) {
+        OverviewRow first = rows.get( 0 );
+        List<DisposalDTO> disposals = new ArrayList<>( rows.size() );
+        for ( OverviewRow row : rows ) {
+            if ( row.disposal() != null ) {
+                disposals.add( row.disposal() );
+            }
+        }
+        return new WasteOverviewDTO( first.wasteId(), first.name(), first.description(), first.category(), first.categoryDescription(), disposals );
+    }
+
+    /**
+     * Groups the rows of a tips query, ordered by waste item, into one WasteWithTipsDTO per item.
+     * A tip that appears twice for the same item is only listed once.
+     */
+    private static Flux<WasteWithTipsDTO> groupTips( DatabaseClient.GenericExecuteSpec statement ) {
+        return statement.map( ReactiveWasteRepository::mapTipRow )
+                .all()
+                .bufferUntilChanged( TipRow::wasteId )
+                .map( rows -> {
+                    TipRow first = rows.get( 0 );
+                    List<RecyclingTipDTO> tips = new ArrayList<>( rows.size() );
+                    Set<Integer> seenTips = new HashSet<>();
+                    for ( TipRow row : rows ) {
+                        if ( row.tip() != null && seenTips.add( row.tip().id() ) ) {
+                            tips.add( row.tip() );
+                        }
+                    }
+                    return new WasteWithTipsDTO( first.wasteId(), first.name(), first.description(), first.categoryName(), tips );
+                } );
+    }
+
+    private static TipRow mapTipRow( Readable row ) {
+        Integer tipId = row.get( "recycleTipId", Integer.class );
+        RecyclingTipDTO tip = tipId == null ? null : new RecyclingTipDTO(
+                tipId,
+                row.get( "title", String.class ),
+                row.get( "tip", String.class ),
+                row.get( "tipCategoryId", Integer.class ),
+                row.get( "tipWasteId", Integer.class ),
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+        return new TipRow(
+                row.get( "wasteId", Integer.class ),
+                row.get( "wasteName", String.class ),
+                row.get( "wasteDescription", String.class ),
+                row.get( "categoryName", String.class ),
+                tip
+        );
+    }
+
+    private static WasteWithCategoryDTO mapWasteWithCategory( Readable row ) {
+        return new WasteWithCategoryDTO(
+                row.get( "wasteId", Integer.class ),
+                row.get( "wasteName", String.class ),
+                row.get( "wasteDescription", String.class ),
+                row.get( "categoryName", String.class ),
+                row.get( "categoryDescription", String.class )
+        );
+    }
+
+    private static WasteDTO mapWaste( Readable row ) {
+        return new WasteDTO(
+                row.get( "id", Integer.class ),
+                row.get( "name", String.class ),
+                row.get( "description", String.class ),
+                row.get( "categoryId", Integer.class ),
+                row.get( "lastUpdated", LocalDateTime.class )
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the servlet and the reactive stacks under the same load: a fixed number of clients,
+ * each sending its next request as soon as the previous response has been fully read, against
+ * the same endpoint of both applications in turn. Reports throughput, latency percentiles and
+ * errors for each.
+ * <p>
+ * Start both applications first ({@code mvn spring-boot:run} in the project root and in
+ * {@code reactive/}), then run {@code mvn -Pload-test test-compile exec:java} in {@code reactive/}.
+ * Override {@code -Dload.connections}, {@code -Dload.duration-seconds} and {@code -Dload.path}
+ * to change the load; a connection count well above Tomcat's 200 worker threads is what shows
+ * the difference between a thread per request and an event loop.
+ */
+public final class LoadComparison {
+    private static final Duration WARM_UP = Duration.ofSeconds( 5 );
+
+    private LoadComparison() {
+    }
+
+    /**
+     * The outcome of one run against one stack.
+     */
+    record Result( String stack, long requests, long errors, double seconds, long[] sortedLatenciesMicros ) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMillis( double percentile ) {
+            if ( sortedLatenciesMicros.length == 0 ) {
+                return Double.NaN;
+            }
+            int index = ( int ) Math.min( sortedLatenciesMicros.length - 1, Math.ceil( percentile / 100 * sortedLatenciesMicros.length ) - 1 );
+            return sortedLatenciesMicros[ Math.max( 0, index ) ] / 1000.0;
+        }
+    }
+
+    public static void main( String[] args ) throws Exception {
+        String servletUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String reactiveUrl = args.length > 1 ? args[1] : "http://localhost:8081";
+        String path = args.length > 2 ? args[2] : "/api/waste/overview";
+        int connections = args.length > 3 ? Integer.parseInt( args[3] ) : 500;
+        Duration duration = Duration.ofSeconds( args.length > 4 ? Long.parseLong( args[4] ) : 30 );
+
+        List<Result> results = new ArrayList<>();
+        for ( String[] stack : new String[][] { { "servlet", servletUrl }, { "reactive", reactiveUrl } } ) {
+            URI uri = URI.create( stack[1] + path );
+            run( stack[0], uri, connections, WARM_UP );
+            results.add( run( stack[0], uri, connections, duration ) );
+        }
+
+        System.out.printf( "%nGET %s with %d concurrent clients for %ds%n", path, connections, duration.toSeconds() );
+        System.out.printf( "%-10s %12s %10s %10s %10s %10s %8s%n", "stack", "requests/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors" );
+        for ( Result result : results ) {
+            System.out.printf( "%-10s %12.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    result.stack(),
+                    result.throughput(),
+                    result.percentileMillis( 50 ),
+                    result.percentileMillis( 90 ),
+                    result.percentileMillis( 99 ),
+                    result.percentileMillis( 100 ),
+                    result.errors() );
+        }
+    }
+
+    /**
+     * Keeps {@code connections} requests in flight against one URI until the duration has passed.
+     */
+    static Result run( String stack, URI uri, int connections, Duration duration ) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool( Math.max( 2, Runtime.getRuntime().availableProcessors() ) );
+        HttpClient client = HttpClient.newBuilder()
+                .version( HttpClient.Version.HTTP_1_1 )
+                .connectTimeout( Duration.ofSeconds( 10 ) )
+                .executor( executor )
+                .build();
+        HttpRequest request = HttpRequest.newBuilder( uri )
+                .header( "Accept", "application/json" )
+                .timeout( Duration.ofSeconds( 60 ) )
+                .GET()
+                .build();
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        List<CompletableFuture<Void>> clients = new ArrayList<>( connections );
+        for ( int i = 0; i < connections; i++ ) {
+            clients.add( loop( client, request, deadline, latencies, errors ) );
+        }
+        CompletableFuture.allOf( clients.toArray( CompletableFuture[]::new ) ).join();
+        double seconds = ( System.nanoTime() - start ) / 1e9;
+        executor.shutdownNow();
+
+        long[] sorted = latencies.stream().mapToLong( Long::longValue ).toArray();
+        Arrays.sort( sorted );
+        return new Result( stack, sorted.length, errors.get(), seconds, sorted );
+    }
+
+    /**
+     * One client: sends the next request when the previous response has been read, until the deadline.
+     */
+    private static CompletableFuture<Void> loop(
+            HttpClient client,
+            HttpRequest request,
+            long deadline,
+            ConcurrentLinkedQueue<Long> latencies,
+            AtomicLong errors
+    ) {
+        if ( System.nanoTime() >= deadline ) {
+            return CompletableFuture.completedFuture( null );
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync( request, HttpResponse.BodyHandlers.discarding() )
+                .handle( ( response, failure ) -> {
+                    if ( failure != null || response.statusCode() != 200 ) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add( ( System.nanoTime() - sent ) / 1000 );
+                    }
+                    return null;
+                } )
+                .thenCompose( ignored -> loop( client, request, deadline, latencies, errors ) );
+    }
+}
@@ -0,0 +1,82 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.reactive.waste.ReactiveWasteRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataR2dbcTest
+@Import( ReactiveWasteRepository.class )
+class ReactiveWasteRepositoryTest {
+
+    @Autowired
+    private ReactiveWasteRepository wasteRepository;
+
+    @Test
+    void testOverviewStreamsEachWasteOnceWithItsOwnDisposals() {
+        // Arrange
+        long wasteCount = wasteRepository.getAllWasteWithCategory( null ).count().block();
+
+        // Act
+        List<WasteOverviewDTO> overview = wasteRepository.getAllWasteWithDisposal( null ).collectList().block();
+
+        // Assert
+        assertEquals(wasteCount, overview.size(), "Every waste item should be emitted exactly once");
+        for ( int i = 1; i < overview.size(); i++ ) {
+            assertTrue(overview.get( i - 1 ).id() < overview.get( i ).id(), "Waste items should be streamed in ID order");
+        }
+        for ( WasteOverviewDTO waste : overview ) {
+            for ( DisposalDTO disposal : waste.disposals() ) {
+                assertEquals(waste.id(), disposal.wasteId(), "A waste item should only carry its own disposals");
+            }
+        }
+    }
+
+    @Test
+    void testOverviewOnlyProducesWhatIsRequested() {
+        // Act & Assert
+        StepVerifier.create( wasteRepository.getAllWasteWithDisposal( null ), 2 )
+                .expectNextCount( 2 )
+                .expectNoEvent( Duration.ofMillis( 100 ) )
+                .thenRequest( 1 )
+                .expectNextCount( 1 )
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testEffectiveTipsListsWasteTipsBeforeCategoryTips() {
+        // Act
+        List<WasteWithTipsDTO> waste = wasteRepository.getAllWasteWithEffectiveTips().collectList().block();
+
+        // Assert
+        assertFalse(waste.isEmpty(), "The seeded waste items should be returned");
+        for ( WasteWithTipsDTO item : waste ) {
+            boolean seenCategoryTip = false;
+            for ( var tip : item.recyclingTips() ) {
+                if ( tip.wasteId() == null ) {
+                    seenCategoryTip = true;
+                } else {
+                    assertFalse(seenCategoryTip, "Tips of the waste item should come before tips of its category");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUnknownIdsAreEmpty() {
+        // Act & Assert
+        StepVerifier.create( wasteRepository.getWasteOverviewById( -1 ) ).verifyComplete();
+        StepVerifier.create( wasteRepository.getWasteWithEffectiveTipsById( -1 ) ).verifyComplete();
+    }
+}
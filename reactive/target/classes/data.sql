@@ -0,0 +1,42 @@
+INSERT INTO Category ( name, description, lastUpdated )
+VALUES
+    ('plastic', 'Non-biodegradable materials such as bottles, packaging, and containers.', CURRENT_TIMESTAMP ),
+    ('organic', 'Biodegradable waste such as food scraps, yard waste, and paper towels.', CURRENT_TIMESTAMP ),
+    ('glass', 'Waste made of glass such as bottles, jars, and windows.', CURRENT_TIMESTAMP ),
+    ('metal', 'Waste made of metals such as cans, foils, and scrap metals.', CURRENT_TIMESTAMP ),
+    ('e-waste', 'Electronic waste such as old computers, mobile phones, and batteries.', CURRENT_TIMESTAMP );
+
+
+INSERT INTO Waste ( name, description, categoryId, lastUpdated )
+VALUES
+    ('Plastic Bottle', 'A disposable plastic bottle often used for water and beverages.', 1, CURRENT_TIMESTAMP ),
+    ('Plastic Bag', 'A lightweight plastic bag commonly used for carrying groceries.', 1, CURRENT_TIMESTAMP ),
+    ('Fruit Peels', 'Organic waste from fruits such as bananas, apples, and oranges.', 2, CURRENT_TIMESTAMP ),
+    ('Grass Clippings', 'Organic yard waste from mowing the lawn.', 2, CURRENT_TIMESTAMP) ,
+    ('Glass Jar', 'A reusable glass container often used for storing food.', 3, CURRENT_TIMESTAMP ),
+    ('Window Pane', 'A sheet of glass used in windows and often recycled into new glass products.', 3, CURRENT_TIMESTAMP ),
+    ('Aluminum Can', 'A recyclable metal container used for beverages.', 4, CURRENT_TIMESTAMP ),
+    ('Metal Foil', 'Thin metal sheet often used in food packaging.', 4, CURRENT_TIMESTAMP ),
+    ('Old Smartphone', 'A discarded electronic device that contains valuable metals.', 5, CURRENT_TIMESTAMP ),
+    ('Laptop Battery', 'An electronic waste item that must be disposed of responsibly.', 5, CURRENT_TIMESTAMP );
+
+INSERT INTO Disposal (wasteId, method, instructions, location, latitude, longitude, lastUpdated)
+VALUES
+    (1, 'Recycle', 'Place in the plastic recycling bin at your local recycling center.', 'Community Recycling Center', -26.1952, 28.0340, CURRENT_TIMESTAMP),
+    (2, 'Reuse', 'Reuse for storage or as trash liners before recycling.', 'Home', NULL, NULL, CURRENT_TIMESTAMP),
+    (3, 'Compost', 'Add to your backyard compost bin or local composting facility.', 'Backyard Compost Bin', NULL, NULL, CURRENT_TIMESTAMP),
+    (4, 'Compost', 'Take to the nearest community garden compost site.', 'Community Garden', -26.1715, 28.0074, CURRENT_TIMESTAMP),
+    (5, 'Recycle', 'Rinse and place in glass recycling bin.', 'Glass Recycling Station', -26.1076, 28.0567, CURRENT_TIMESTAMP),
+    (6, 'Recycle', 'Take to a designated glass recycling facility.', 'City Recycling Depot', -26.2041, 28.0473, CURRENT_TIMESTAMP),
+    (7, 'Recycle', 'Crush and place in the metal recycling bin.', 'Community Recycling Center', -26.1952, 28.0340, CURRENT_TIMESTAMP),
+    (8, 'Recycle', 'Fold and drop off at a scrap metal collection point.', 'Scrap Metal Yard', -26.2309, 28.0583, CURRENT_TIMESTAMP),
+    (9, 'E-Waste Disposal', 'Bring to an authorized e-waste recycling facility.', 'E-Waste Recycling Facility', -26.1367, 27.9986, CURRENT_TIMESTAMP),
+    (10, 'Special Collection', 'Drop off at a hazardous waste collection site.', 'Hazardous Waste Center', -26.2485, 28.1306, CURRENT_TIMESTAMP);
+
+INSERT INTO RecyclingTips (title, tip, categoryId, wasteId, lastUpdated)
+VALUES
+    ('Reuse Plastic Bottles', 'Consider reusing plastic bottles for storage or DIY projects.', 1, NULL, CURRENT_TIMESTAMP),
+    ('Compost Organic Waste', 'Organic waste can be composted to create nutrient-rich soil.', 2, NULL, CURRENT_TIMESTAMP),
+    ('Recycle Glass Jars', 'Glass jars can be cleaned and reused for storing food or other items.', 3, NULL, CURRENT_TIMESTAMP),
+    ('Metal Cans Recycling', 'Flatten metal cans to save space before recycling.', 4, NULL, CURRENT_TIMESTAMP),
+    ('Dispose of Batteries Properly', 'Drop old batteries at designated e-waste collection centers.', NULL, 9, CURRENT_TIMESTAMP);
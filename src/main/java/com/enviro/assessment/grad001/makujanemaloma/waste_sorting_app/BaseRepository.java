@@ -1,31 +1,221 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SimplePropertyRowMapper;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * BaseRepository is an abstract class providing basic CRUD (Create, Read, Update, Delete)
  * operations for interacting with a relational database using Spring's JdbcClient.
  * This class is intended to be extended by specific repository classes for different entities.
+ * Every successful write is published to the {@link ChangeLog} so that change streams and
+ * in-memory read models can follow the catalog without polling the database, and reads go
+ * through the {@link ReadCoalescer} so that identical concurrent queries share one execution.
+ * Full-table and join reads run in the heavy lane of the {@link Bulkhead}. Repositories of sharded
+ * tables override {@link #isSharded()}: their reads then fan out to every shard and merge, and
+ * their writes go to the shard given by the subclass or, for updates and deletes, to the shard that holds the row.
+ * Every row carries a {@code version} that updates increment; updates and deletes can be made
+ * conditional on it, so concurrent editors detect lost updates without taking any lock.
+ * Writes return the rows they changed as data change delta tables ({@code FINAL TABLE} /
+ * {@code OLD TABLE}), and updates read the before image under a row lock in the write's own
+ * transaction, so the before and after images handed to the {@link AuditLog} are exactly the rows
+ * the write replaced and produced. Deletes delete their cascaded children explicitly, so those are
+ * audited too. The rows the writes return also keep the per-category counts of {@link CategoryStats}
+ * current, which therefore cost no query of their own.
  *
  * @param <T> The type of entity the repository will handle.
  */
 public abstract class BaseRepository<T> {
+    /**
+     * The maximum number of IDs bound into a single {@code IN} list; longer lists are split into chunks.
+     */
+    protected static final int BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * The foreign keys deletes cascade along: for each parent table, the child tables and their
+     * column referencing it.
+     */
+    private static final Map<String, List<Cascade>> CASCADES = Map.of(
+            "Category", List.of( new Cascade( "Waste", "categoryId" ), new Cascade( "RecyclingTips", "categoryId" ) ),
+            "Waste", List.of( new Cascade( "Disposal", "wasteId" ), new Cascade( "RecyclingTips", "wasteId" ) )
+    );
+
+    private record Cascade( String tableName, String column ) {
+    }
+
+    /**
+     * A row a write touched, as returned by the write itself.
+     */
+    private record Image( String tableName, Map<String, Object> row ) {
+    }
+
+    /**
+     * The images of an updated row, before and after the update.
+     */
+    private record RowChange( Map<String, Object> before, Map<String, Object> after ) {
+    }
+
     protected final JdbcClient jdbcClient;
     private final Class<T> entityClass;
+    private final ChangeLog changeLog;
+    private final ReadCoalescer readCoalescer;
+    private final Bulkhead bulkhead;
+    protected final Shards shards;
+    private final AuditLog auditLog;
+    private final CategoryStats categoryStats;
 
     /**
      * Constructs a BaseRepository with the specified JdbcClient and entity class.
      *
      * @param jdbcClient The JdbcClient instance used for executing SQL queries.
      * @param entityClass The Class type of the entity the repository manages.
+     * @param changeLog The change log every successful write is published to.
+     * @param readCoalescer The coalescer shared by identical concurrent reads.
+     * @param bulkhead The bulkhead heavy reads are isolated in.
+     * @param shards The shards sharded tables are spread over.
+     * @param auditLog The audit log every successful write is recorded in.
+     * @param categoryStats The per-category counts every successful write is counted in.
      */
-    protected BaseRepository( JdbcClient jdbcClient, Class<T> entityClass ) {
+    protected BaseRepository(
+            JdbcClient jdbcClient,
+            Class<T> entityClass,
+            ChangeLog changeLog,
+            ReadCoalescer readCoalescer,
+            Bulkhead bulkhead,
+            Shards shards,
+            AuditLog auditLog,
+            CategoryStats categoryStats
+    ) {
         this.jdbcClient = jdbcClient;
         this.entityClass = entityClass;
+        this.changeLog = changeLog;
+        this.readCoalescer = readCoalescer;
+        this.bulkhead = bulkhead;
+        this.shards = shards;
+        this.auditLog = auditLog;
+        this.categoryStats = categoryStats;
+    }
+
+    /**
+     * @return The table the repository manages.
+     */
+    public abstract String getTableName();
+
+    /**
+     * Whether the repository's table is spread over the shards. Tables that are not sharded live
+     * on shard 0, and are replicated to the other shards if sharded tables join them.
+     *
+     * @return false unless overridden.
+     */
+    protected boolean isSharded() {
+        return false;
+    }
+
+    /**
+     * Runs a list query against every shard of a sharded table, or once otherwise.
+     *
+     * @param query The query.
+     * @return The results of all shards, in shard order.
+     */
+    protected <R> List<R> scatter( Supplier<List<R>> query ) {
+        return isSharded() ? shards.gather( query ) : query.get();
+    }
+
+    /**
+     * Runs a sorted list query against every shard of a sharded table, or once otherwise.
+     *
+     * @param query The query.
+     * @param order The order of the query's ORDER BY.
+     * @return The results of all shards, merged in {@code order}.
+     */
+    protected <R> List<R> scatter( Supplier<List<R>> query, Comparator<? super R> order ) {
+        return isSharded() ? shards.gather( query, order ) : query.get();
+    }
+
+    /**
+     * Runs a point query against every shard of a sharded table, or once otherwise.
+     *
+     * @param query The query.
+     * @return The first result found, in shard order.
+     */
+    protected <R> Optional<R> scatterFirst( Supplier<Optional<R>> query ) {
+        return isSharded() ? shards.gatherFirst( query ) : query.get();
+    }
+
+    /**
+     * Runs a list query that is optionally restricted to one category: against the category's
+     * shard only if it is, and against every shard if it is not.
+     *
+     * @param categoryName The category name, or null.
+     * @param query The query.
+     * @return The results.
+     */
+    protected <R> List<R> forCategory( String categoryName, Supplier<List<R>> query ) {
+        if ( categoryName == null ) {
+            return scatter( query );
+        }
+        return shards.on( shards.shardForCategoryName( categoryName ), query );
+    }
+
+    /**
+     * Runs a sorted list query that is optionally restricted to one category, as
+     * {@link #forCategory(String, Supplier)} does, merging the shards' results in order.
+     *
+     * @param categoryName The category name, or null.
+     * @param query The query.
+     * @param order The order of the query's ORDER BY.
+     * @return The results, in {@code order}.
+     */
+    protected <R> List<R> forCategory( String categoryName, Supplier<List<R>> query, Comparator<? super R> order ) {
+        if ( categoryName == null ) {
+            return scatter( query, order );
+        }
+        return shards.on( shards.shardForCategoryName( categoryName ), query );
+    }
+
+    /**
+     * Runs a read through the coalescer, sharing one execution among identical concurrent calls.
+     *
+     * @param method The name identifying the read.
+     * @param loader The query to run.
+     * @param args The arguments of the read.
+     * @return The result of the shared execution; callers must not modify it.
+     */
+    protected <R> R coalesce( String method, Supplier<R> loader, Object... args ) {
+        return readCoalescer.coalesce( method, loader, args );
+    }
+
+    /**
+     * Runs a heavy read through the coalescer and executes it in the heavy lane of the bulkhead,
+     * so that it uses the heavy executor and connection pool instead of the point lane's.
+     *
+     * @param method The name identifying the read.
+     * @param loader The query to run.
+     * @param args The arguments of the read.
+     * @return The result of the shared execution; callers must not modify it.
+     */
+    protected <R> R heavyRead( String method, Supplier<R> loader, Object... args ) {
+        return readCoalescer.coalesce( method, () -> bulkhead.runHeavy( loader ), args );
     }
 
     /**
@@ -35,9 +225,9 @@ public abstract class BaseRepository<T> {
      * @return A list of entities of type T representing the records in the table.
      */
     public List<T> getAll( String tableName ) {
-        return jdbcClient.sql( "SELECT * FROM " + tableName )
+        return heavyRead( tableName + ".getAll", () -> scatter( () -> jdbcClient.sql( "SELECT * FROM " + tableName )
                 .query( entityClass )
-                .list();
+                .list() ) );
     }
 
     /**
@@ -48,10 +238,126 @@ public abstract class BaseRepository<T> {
      * @return An Optional containing the entity of type T if found, otherwise an empty Optional.
      */
     public Optional<T> getById(String tableName, Integer id ) {
-        return jdbcClient.sql( "SELECT * FROM " + tableName + " WHERE id = :id" )
+        return coalesce( tableName + ".getById", () -> scatterFirst( () -> jdbcClient.sql( "SELECT * FROM " + tableName + " WHERE id = :id" )
                 .param( "id", id )
                 .query( entityClass )
-                .optional();
+                .optional() ), id );
+    }
+
+    /**
+     * Fetches a single record by its ID together with its version, in one row read.
+     *
+     * @param tableName The name of the table to query.
+     * @param id The ID of the record to fetch.
+     * @return The entity and its version, or empty if the record does not exist.
+     */
+    public Optional<Versioned<T>> getVersionedById( String tableName, Integer id ) {
+        return coalesce( tableName + ".getVersionedById", () -> scatterFirst( () -> jdbcClient.sql( "SELECT * FROM " + tableName + " WHERE id = :id" )
+                .param( "id", id )
+                .query( versioned( entityClass ) )
+                .optional() ), id );
+    }
+
+    /**
+     * Creates a row mapper that maps a row to a record and reads its {@code version} column alongside.
+     *
+     * @param type The record type.
+     * @return The row mapper.
+     */
+    protected static <R> RowMapper<Versioned<R>> versioned( Class<R> type ) {
+        RowMapper<R> mapper = new SimplePropertyRowMapper<>( type );
+        return ( rs, rowNum ) -> new Versioned<>( mapper.mapRow( rs, rowNum ), rs.getLong( "version" ) );
+    }
+
+    /**
+     * Fetches the version of a record.
+     *
+     * @param tableName The name of the table to query.
+     * @param id The ID of the record.
+     * @return The current version, or empty if the record does not exist.
+     */
+    public Optional<Long> getVersion( String tableName, Integer id ) {
+        return coalesce( tableName + ".getVersion", () -> scatterFirst( () -> currentVersion( tableName, id ) ), id );
+    }
+
+    /**
+     * Fetches the records with the given IDs from the specified table, using one {@code IN} query
+     * per chunk of {@link #BATCH_CHUNK_SIZE} IDs instead of one query per ID.
+     *
+     * @param tableName The name of the table to query.
+     * @param ids The IDs to fetch, in the order the results should be returned.
+     * @param idOf Extracts the ID from an entity.
+     * @return The found entities in request order, and the IDs that were not found.
+     */
+    public BatchResultDTO<T> getByIds( String tableName, List<Integer> ids, Function<T, Integer> idOf ) {
+        return loadBatch( tableName + ".getByIds", ids, chunk -> scatter( () -> jdbcClient.sql( "SELECT * FROM " + tableName + " WHERE id IN ( :ids )" )
+                .param( "ids", chunk )
+                .query( entityClass )
+                .list() ), idOf );
+    }
+
+    /**
+     * Fetches the records whose foreign key column holds one of the given values, using one
+     * {@code IN} query per chunk of {@link #BATCH_CHUNK_SIZE} values.
+     *
+     * @param tableName The name of the table to query.
+     * @param column The foreign key column to match, e.g. {@code wasteId}.
+     * @param values The values to match.
+     * @return All matching entities.
+     */
+    public List<T> getAllWhereIn( String tableName, String column, List<Integer> values ) {
+        List<Integer> distinctValues = new ArrayList<>( new LinkedHashSet<>( values ) );
+        return coalesce( tableName + ".getAllWhereIn." + column, () -> {
+            List<T> records = new ArrayList<>();
+            for ( int from = 0; from < distinctValues.size(); from += BATCH_CHUNK_SIZE ) {
+                List<Integer> chunk = distinctValues.subList( from, Math.min( from + BATCH_CHUNK_SIZE, distinctValues.size() ) );
+                records.addAll( scatter( () -> jdbcClient.sql( "SELECT * FROM " + tableName + " WHERE " + column + " IN ( :values )" )
+                        .param( "values", chunk )
+                        .query( entityClass )
+                        .list() ) );
+            }
+            return records;
+        }, distinctValues );
+    }
+
+    /**
+     * Loads records for a list of IDs in chunks and reassembles them in request order.
+     * Duplicate IDs are fetched and returned once.
+     *
+     * @param method The name identifying the read, used for coalescing.
+     * @param ids The requested IDs.
+     * @param chunkQuery Runs one {@code IN} query for a chunk of distinct IDs.
+     * @param idOf Extracts the ID from a loaded record.
+     * @return The found records in request order, and the IDs that were not found.
+     */
+    protected <R> BatchResultDTO<R> loadBatch(
+            String method,
+            List<Integer> ids,
+            Function<List<Integer>, List<R>> chunkQuery,
+            Function<R, Integer> idOf
+    ) {
+        List<Integer> distinctIds = new ArrayList<>( new LinkedHashSet<>( ids ) );
+        return coalesce( method, () -> {
+            Map<Integer, R> found = new HashMap<>();
+            for ( int from = 0; from < distinctIds.size(); from += BATCH_CHUNK_SIZE ) {
+                List<Integer> chunk = distinctIds.subList( from, Math.min( from + BATCH_CHUNK_SIZE, distinctIds.size() ) );
+                for ( R record : chunkQuery.apply( chunk ) ) {
+                    found.put( idOf.apply( record ), record );
+                }
+            }
+
+            List<R> items = new ArrayList<>( distinctIds.size() );
+            List<Integer> missing = new ArrayList<>();
+            for ( Integer id : distinctIds ) {
+                R record = found.get( id );
+                if ( record != null ) {
+                    items.add( record );
+                } else {
+                    missing.add( id );
+                }
+            }
+            return new BatchResultDTO<>( items, missing );
+        }, distinctIds );
     }
 
     /**
@@ -63,25 +369,101 @@ public abstract class BaseRepository<T> {
      * @return true if the record was successfully created (one row affected), false otherwise.
      */
     public boolean createRecord( String tableName, List<Object> params, String sqlStatement ) {
-        var updated = jdbcClient.sql( sqlStatement )
-                .params( params )
-                .update();
-        return updated == 1;
+        return createRecord( tableName, 0, params, sqlStatement );
+    }
+
+    /**
+     * Creates a new record on a specific shard. The INSERT returns the inserted row, generated ID
+     * and defaults included, so its audit and statistics image costs no further query. The change
+     * is published after the shard is left, so listeners always see shard 0 as the current shard.
+     *
+     * @param tableName The name of the table where the record will be inserted.
+     * @param shard The shard to insert the record on.
+     * @param params The parameters to be used in the SQL INSERT statement.
+     * @param sqlStatement The SQL INSERT statement to execute.
+     * @return true if the record was successfully created (one row affected), false otherwise.
+     */
+    protected boolean createRecord( String tableName, int shard, List<Object> params, String sqlStatement ) {
+        List<Map<String, Object>> inserted = shards.on( shard, () -> rows( "SELECT * FROM FINAL TABLE ( " + sqlStatement + " )", params ) );
+        if ( inserted.size() != 1 ) {
+            return false;
+        }
+        Map<String, Object> after = inserted.get( 0 );
+        Integer id = idOf( after );
+        auditLog.record( tableName, ChangeEvent.Action.CREATED, id, null, after );
+        categoryStats.record( tableName, ChangeEvent.Action.CREATED, after );
+        changeLog.publish( tableName, ChangeEvent.Action.CREATED, id );
+        return true;
     }
 
     /**
      * Updates an existing record in the specified table using the provided SQL statement and parameters.
      *
      * @param tableName The name of the table where the record will be updated.
+     * @param id The ID of the record being updated.
      * @param params The parameters to be used in the SQL UPDATE statement.
      * @param sqlStatement The SQL UPDATE statement to execute.
      * @return true if the record was successfully updated (one row affected), false otherwise.
      */
-    public boolean updateRecord( String tableName, List<Object> params, String sqlStatement ) {
-        var updated = jdbcClient.sql( sqlStatement )
-                .params( params )
-                .update();
-        return updated == 1;
+    public boolean updateRecord( String tableName, Integer id, List<Object> params, String sqlStatement ) {
+        return updateRecord( tableName, 0, id, null, params, sqlStatement );
+    }
+
+    /**
+     * Updates an existing record on a specific shard, optionally only if it is still at the version
+     * the caller read. The version is checked in the UPDATE's own WHERE clause, so there is no
+     * window between the check and the write; the record is only read again when the update fails.
+     * The UPDATE returns the updated row as the after image. The before image is only read when the
+     * audit log is on, with a row lock in the same transaction, so no other write can come between
+     * the two images.
+     *
+     * @param tableName The name of the table where the record will be updated.
+     * @param shard The shard that holds the record.
+     * @param id The ID of the record being updated.
+     * @param expectedVersion The version the record must have, or null to update unconditionally.
+     * @param params The parameters to be used in the SQL UPDATE statement.
+     * @param sqlStatement The SQL UPDATE statement to execute; it must end with its {@code id} condition and increment {@code version}.
+     * @return true if the record was successfully updated (one row affected), false otherwise.
+     * @throws VersionConflictException if the record exists at another version.
+     */
+    protected boolean updateRecord(
+            String tableName,
+            int shard,
+            Integer id,
+            Long expectedVersion,
+            List<Object> params,
+            String sqlStatement
+    ) {
+        String sql = sqlStatement;
+        List<Object> boundParams = params;
+        if ( expectedVersion != null ) {
+            sql = sqlStatement + " AND version = ?";
+            boundParams = new ArrayList<>( params );
+            boundParams.add( expectedVersion );
+        }
+
+        String statement = sql;
+        List<Object> statementParams = boundParams;
+        RowChange change = shards.inTransaction( shard, () -> {
+            Map<String, Object> before = auditLog.enabled()
+                    ? rows( "SELECT * FROM " + tableName + " WHERE id = ? FOR UPDATE", List.of( id ) ).stream().findFirst().orElse( null )
+                    : null;
+            List<Map<String, Object>> updated = rows( "SELECT * FROM FINAL TABLE ( " + statement + " )", statementParams );
+            if ( updated.size() != 1 ) {
+                if ( expectedVersion != null ) {
+                    failIfModified( tableName, shard, id );
+                }
+                return null;
+            }
+            return new RowChange( before, updated.get( 0 ) );
+        } );
+        if ( change == null ) {
+            return false;
+        }
+        auditLog.record( tableName, ChangeEvent.Action.UPDATED, id, change.before(), change.after() );
+        categoryStats.record( tableName, ChangeEvent.Action.UPDATED, change.after() );
+        changeLog.publish( tableName, ChangeEvent.Action.UPDATED, id );
+        return true;
     }
 
     /**
@@ -92,9 +474,112 @@ public abstract class BaseRepository<T> {
      * @throws IllegalStateException if the delete operation does not affect exactly one row.
      */
     public void delete( String tableName, Integer id ) {
-        var updated = jdbcClient.sql( "DELETE FROM " + tableName + " WHERE id = :id" )
+        delete( tableName, id, null );
+    }
+
+    /**
+     * Deletes a record from the specified table by its ID, optionally only if it is still at the
+     * version the caller read.
+     * <p>
+     * The rows the delete cascades to are deleted explicitly first, deepest first, in the same
+     * transaction, and every DELETE returns the rows it removed, so the record and each of its
+     * cascaded children are audited, counted and published from the images of the rows actually
+     * deleted.
+     * Waste items of a deleted category that live on other shards are deleted there afterwards,
+     * before the category's own replicas are.
+     *
+     * @param tableName The name of the table where the record will be deleted.
+     * @param id The ID of the record to delete.
+     * @param expectedVersion The version the record must have, or null to delete unconditionally.
+     * @throws VersionConflictException if the record exists at another version.
+     * @throws IllegalStateException if the delete operation does not affect exactly one row.
+     */
+    public void delete( String tableName, Integer id, Long expectedVersion ) {
+        int shard = isSharded() ? shards.locate( tableName, id ).orElse( 0 ) : 0;
+        List<Image> deleted = shards.inTransaction( shard, () -> {
+            List<Image> images = new ArrayList<>();
+            deleteChildren( tableName, "id = ?", id, images );
+            List<Object> params = expectedVersion != null ? List.of( id, expectedVersion ) : List.of( id );
+            List<Map<String, Object>> row = rows( "SELECT * FROM OLD TABLE ( DELETE FROM " + tableName + " WHERE id = ?"
+                    + ( expectedVersion != null ? " AND version = ?" : "" ) + " )", params );
+            if ( row.size() != 1 && expectedVersion != null ) {
+                failIfModified( tableName, shard, id );
+            }
+            // Throwing rolls back the deleted children too.
+            Assert.state( row.size() == 1, "Failed to delete record with id: " + id + " in table: " + tableName );
+            images.add( new Image( tableName, row.get( 0 ) ) );
+            return images;
+        } );
+
+        if ( !isSharded() && shards.enabled() && CASCADES.containsKey( tableName ) ) {
+            List<Image> elsewhere = new ArrayList<>();
+            for ( int other = 1; other < shards.count(); other++ ) {
+                elsewhere.addAll( shards.inTransaction( other, () -> {
+                    List<Image> images = new ArrayList<>();
+                    deleteChildren( tableName, "id = ?", id, images );
+                    return images;
+                } ) );
+            }
+            // Category-level tips on other shards are replicas; their original was deleted on shard 0.
+            elsewhere.removeIf( image -> image.tableName().equals( "RecyclingTips" ) && image.row().get( "wasteId" ) == null );
+            // Children are counted before the parent, whose counters are dropped with it.
+            deleted.addAll( deleted.size() - 1, elsewhere );
+        }
+
+        // The record's own image is last, so its event follows those of the rows it cascaded to.
+        for ( Image image : deleted ) {
+            auditLog.record( image.tableName(), ChangeEvent.Action.DELETED, idOf( image.row() ), image.row(), null );
+            categoryStats.record( image.tableName(), ChangeEvent.Action.DELETED, image.row() );
+            changeLog.publish( image.tableName(), ChangeEvent.Action.DELETED, idOf( image.row() ) );
+        }
+    }
+
+    /**
+     * Deletes the rows that reference the rows of a table matching a condition, deepest first,
+     * and collects their images.
+     *
+     * @param tableName The parent table.
+     * @param condition The condition selecting the parent rows, with a single {@code ?} for the value.
+     * @param value The value of the condition.
+     * @param images The list the images of the deleted rows are added to.
+     */
+    private void deleteChildren( String tableName, String condition, Object value, List<Image> images ) {
+        for ( Cascade child : CASCADES.getOrDefault( tableName, List.of() ) ) {
+            String childCondition = child.column() + " IN ( SELECT id FROM " + tableName + " WHERE " + condition + " )";
+            deleteChildren( child.tableName(), childCondition, value, images );
+            for ( Map<String, Object> row : rows( "SELECT * FROM OLD TABLE ( DELETE FROM " + child.tableName() + " WHERE " + childCondition + " )", List.of( value ) ) ) {
+                images.add( new Image( child.tableName(), row ) );
+            }
+        }
+    }
+
+    private List<Map<String, Object>> rows( String sql, List<?> params ) {
+        return jdbcClient.sql( sql )
+                .params( params )
+                .query()
+                .listOfRows();
+    }
+
+    private static Integer idOf( Map<String, Object> row ) {
+        Object id = row.get( "id" );
+        return id != null ? ( ( Number ) id ).intValue() : null;
+    }
+
+    private Optional<Long> currentVersion( String tableName, Integer id ) {
+        return jdbcClient.sql( "SELECT version FROM " + tableName + " WHERE id = :id" )
                 .param( "id", id )
-                .update();
-        Assert.state( updated == 1, "Failed to delete record with id: " + id + " in table: " + tableName );
+                .query( Long.class )
+                .optional();
+    }
+
+    /**
+     * Called after a conditional write matched no row: tells a version conflict apart from a record that is gone.
+     */
+    private void failIfModified( String tableName, int shard, Integer id ) {
+        Optional<Long> current = shards.on( shard, () -> currentVersion( tableName, id ) );
+        if ( current.isPresent() ) {
+            throw new VersionConflictException( "Record with id " + id + " in table " + tableName
+                    + " has been modified; its current version is " + current.get() );
+        }
     }
 }
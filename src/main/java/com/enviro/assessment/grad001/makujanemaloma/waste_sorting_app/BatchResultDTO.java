@@ -0,0 +1,16 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import java.util.List;
+
+/**
+ * The result of a batch lookup by ID.
+ *
+ * @param items The records that were found, in the order their IDs were requested.
+ * @param missing The requested IDs for which no record exists, in request order.
+ * @param <T> The record type.
+ */
+public record BatchResultDTO<T>(
+        List<T> items,
+        List<Integer> missing
+) {
+}
@@ -0,0 +1,133 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limiter whose limit adapts to observed latency, in the style of TCP Vegas and the
+ * gradient limiters used for service admission control.
+ * <p>
+ * Every completed request reports its round-trip time. The baseline is the minimum round-trip time
+ * over the last {@value #BASELINE_BUCKETS} buckets of {@value #BUCKET_SAMPLES} samples, so it
+ * reflects the class when unloaded and does not drift up with a slowdown; only a slowdown that
+ * lasts for the whole window becomes the new baseline. While new samples stay within
+ * {@code rttTolerance} of the baseline the limit grows additively by roughly its square root, and
+ * once they exceed it the limit shrinks in proportion to the latency gradient. Failed requests
+ * shrink the limit multiplicatively.
+ */
+public class AdaptiveLimiter {
+    private static final int BUCKET_SAMPLES = 200;
+    private static final int BASELINE_BUCKETS = 10;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    // The minimum round-trip time of each bucket, as a ring; the current bucket is still filling.
+    private final long[] bucketMinimums = new long[ BASELINE_BUCKETS ];
+    private int bucket;
+    private int samplesInBucket;
+
+    /**
+     * Constructs an AdaptiveLimiter for one endpoint class.
+     *
+     * @param name The name of the endpoint class.
+     * @param endpointClass The limits configured for the class.
+     */
+    public AdaptiveLimiter( String name, AdmissionProperties.EndpointClass endpointClass ) {
+        this.name = name;
+        this.minLimit = Math.max( 1, endpointClass.minLimit() );
+        this.maxLimit = Math.max( this.minLimit, endpointClass.maxLimit() );
+        this.smoothing = endpointClass.smoothing();
+        this.rttTolerance = endpointClass.rttTolerance();
+        this.limit = Math.min( this.maxLimit, Math.max( this.minLimit, endpointClass.initialLimit() ) );
+        Arrays.fill( bucketMinimums, Long.MAX_VALUE );
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return true if the request may proceed and must later call {@link #release}, false if it should be rejected.
+     */
+    public boolean tryAcquire() {
+        while ( true ) {
+            int current = inFlight.get();
+            if ( current >= ( int ) limit ) {
+                return false;
+            }
+            if ( inFlight.compareAndSet( current, current + 1 ) ) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos The time the request took.
+     * @param failed Whether the request failed with a server error, which is treated as overload.
+     */
+    public void release( long rttNanos, boolean failed ) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample( rttNanos, failed, inFlightAtCompletion );
+    }
+
+    private synchronized void onSample( long rttNanos, boolean failed, int inFlightAtCompletion ) {
+        if ( failed ) {
+            limit = Math.max( minLimit, limit * BACKOFF_RATIO );
+            return;
+        }
+        if ( rttNanos <= 0 ) {
+            return;
+        }
+        long baselineRttNanos = updateBaseline( rttNanos );
+        double gradient = Math.max( MIN_GRADIENT, Math.min( 1.0, rttTolerance * baselineRttNanos / rttNanos ) );
+
+        // Do not grow the limit while the class is not using it; that would only remove protection.
+        if ( gradient == 1.0 && inFlightAtCompletion < limit / 2 ) {
+            return;
+        }
+
+        double estimate = limit * gradient + Math.sqrt( limit );
+        double smoothed = limit * ( 1 - smoothing ) + estimate * smoothing;
+        limit = Math.max( minLimit, Math.min( maxLimit, smoothed ) );
+    }
+
+    /**
+     * Adds a sample to the current bucket, starting a new one and dropping the oldest when it is full.
+     *
+     * @return The minimum round-trip time over all buckets.
+     */
+    private long updateBaseline( long rttNanos ) {
+        if ( samplesInBucket == BUCKET_SAMPLES ) {
+            bucket = ( bucket + 1 ) % BASELINE_BUCKETS;
+            bucketMinimums[ bucket ] = Long.MAX_VALUE;
+            samplesInBucket = 0;
+        }
+        bucketMinimums[ bucket ] = Math.min( bucketMinimums[ bucket ], rttNanos );
+        samplesInBucket++;
+
+        long baseline = Long.MAX_VALUE;
+        for ( long minimum : bucketMinimums ) {
+            baseline = Math.min( baseline, minimum );
+        }
+        return baseline;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return ( int ) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the admission control interceptor in front of the API controllers.
+ * The change stream is excluded because its connections are long-lived by design.
+ */
+@Configuration
+@EnableConfigurationProperties( AdmissionProperties.class )
+@ConditionalOnProperty( prefix = "admission", name = "enabled", havingValue = "true", matchIfMissing = true )
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    /**
+     * Constructs the AdmissionConfig.
+     *
+     * @param properties The admission control configuration.
+     * @param meterRegistry The registry limiter metrics are published to.
+     */
+    public AdmissionConfig( AdmissionProperties properties, MeterRegistry meterRegistry ) {
+        this.admissionControlInterceptor = new AdmissionControlInterceptor( properties, meterRegistry );
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        return admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors( InterceptorRegistry registry ) {
+        registry.addInterceptor( admissionControlInterceptor )
+                .addPathPatterns( "/api/**" )
+                .excludePathPatterns( "/api/changes/**" );
+    }
+}
@@ -0,0 +1,129 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits or sheds requests before they reach a controller.
+ * <p>
+ * Each request is assigned to an endpoint class by its handler mapping pattern and must acquire a
+ * slot from that class's {@link AdaptiveLimiter}. When the class is at its limit the request is
+ * answered immediately with 503 and {@code Retry-After} instead of waiting in Tomcat's queue.
+ * <p>
+ * A request that goes async, such as a streamed manifest match, keeps its slot until the response
+ * completes: the async dispatch reuses the slot taken by the initial dispatch, and the slot is
+ * released once, after the final dispatch.
+ * Metrics: {@code admission.limit}, {@code admission.in-flight} and {@code admission.rejected}, tagged by class.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+    private static final String LIMITER_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+    private final AdmissionProperties properties;
+    private final Map<String, AdaptiveLimiter> limiters = new LinkedHashMap<>();
+    private final Map<String, Counter> rejections = new LinkedHashMap<>();
+    private final Map<String, AdaptiveLimiter> limiterByPattern = new ConcurrentHashMap<>();
+    private final byte[] rejectionBody;
+
+    /**
+     * Constructs an AdmissionControlInterceptor with one limiter per configured endpoint class.
+     *
+     * @param properties The admission control configuration.
+     * @param meterRegistry The registry limiter metrics are published to.
+     */
+    public AdmissionControlInterceptor( AdmissionProperties properties, MeterRegistry meterRegistry ) {
+        this.properties = properties;
+        Map<String, AdmissionProperties.EndpointClass> classes = new LinkedHashMap<>( properties.classes() );
+        classes.putIfAbsent( properties.defaultClass(), new AdmissionProperties.EndpointClass( null, 100, 10, 500, 0.2, 2.0 ) );
+
+        classes.forEach( ( name, endpointClass ) -> {
+            AdaptiveLimiter limiter = new AdaptiveLimiter( name, endpointClass );
+            limiters.put( name, limiter );
+            Gauge.builder( "admission.limit", limiter, AdaptiveLimiter::getLimit )
+                    .description( "Current adaptive concurrency limit" )
+                    .tag( "class", name )
+                    .register( meterRegistry );
+            Gauge.builder( "admission.in-flight", limiter, AdaptiveLimiter::getInFlight )
+                    .description( "Requests currently admitted" )
+                    .tag( "class", name )
+                    .register( meterRegistry );
+            rejections.put( name, Counter.builder( "admission.rejected" )
+                    .description( "Requests shed because their endpoint class was at its limit" )
+                    .tag( "class", name )
+                    .register( meterRegistry ) );
+        } );
+
+        this.rejectionBody = ( "{\"status\":503,\"error\":\"Service Unavailable\","
+                + "\"message\":\"The server is at capacity for this endpoint, retry after "
+                + properties.retryAfterSeconds() + " second(s)\"}" ).getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Override
+    public boolean preHandle( HttpServletRequest request, HttpServletResponse response, Object handler ) throws Exception {
+        if ( request.getDispatcherType() == DispatcherType.ASYNC || request.getAttribute( LIMITER_ATTRIBUTE ) != null ) {
+            return true;
+        }
+        AdaptiveLimiter limiter = limiterFor( request );
+        if ( !limiter.tryAcquire() ) {
+            rejections.get( limiter.getName() ).increment();
+            response.setStatus( HttpStatus.SERVICE_UNAVAILABLE.value() );
+            response.setHeader( HttpHeaders.RETRY_AFTER, Integer.toString( properties.retryAfterSeconds() ) );
+            response.setContentType( MediaType.APPLICATION_JSON_VALUE );
+            response.setContentLength( rejectionBody.length );
+            response.getOutputStream().write( rejectionBody );
+            return false;
+        }
+        request.setAttribute( LIMITER_ATTRIBUTE, limiter );
+        request.setAttribute( START_ATTRIBUTE, System.nanoTime() );
+        return true;
+    }
+
+    /**
+     * Keeps the slot while the request is handled asynchronously; Spring calls this instead of
+     * {@link #afterCompletion} when the initial dispatch ends.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted( HttpServletRequest request, HttpServletResponse response, Object handler ) {
+    }
+
+    @Override
+    public void afterCompletion( HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex ) {
+        if ( !( request.getAttribute( LIMITER_ATTRIBUTE ) instanceof AdaptiveLimiter limiter ) ) {
+            return;
+        }
+        request.removeAttribute( LIMITER_ATTRIBUTE );
+        long start = ( Long ) request.getAttribute( START_ATTRIBUTE );
+        boolean failed = ex != null || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        limiter.release( System.nanoTime() - start, failed );
+    }
+
+    /**
+     * Returns the limiter guarding the given endpoint class, or null if no such class exists.
+     */
+    public AdaptiveLimiter getLimiter( String endpointClass ) {
+        return limiters.get( endpointClass );
+    }
+
+    private AdaptiveLimiter limiterFor( HttpServletRequest request ) {
+        Object pattern = request.getAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE );
+        if ( pattern == null ) {
+            // Unmatched paths (404s, probes) are unbounded in number, so they share the default class instead of being cached.
+            return limiters.get( properties.defaultClass() );
+        }
+        return limiterByPattern.computeIfAbsent( pattern.toString(), handlerPattern -> limiters.get( properties.classFor( handlerPattern ) ) );
+    }
+}
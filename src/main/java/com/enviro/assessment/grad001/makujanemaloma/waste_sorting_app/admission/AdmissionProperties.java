@@ -0,0 +1,71 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for admission control. Endpoints are grouped into classes, each guarded by its
+ * own adaptive concurrency limit, so that saturating one class never queues requests of another.
+ *
+ * @param enabled Whether admission control is applied at all.
+ * @param retryAfterSeconds The value of the {@code Retry-After} header on rejected requests.
+ * @param defaultClass The class used for endpoints that match no configured pattern.
+ * @param classes The endpoint classes, by name.
+ */
+@ConfigurationProperties( prefix = "admission" )
+public record AdmissionProperties(
+        @DefaultValue( "true" ) boolean enabled,
+        @DefaultValue( "1" ) int retryAfterSeconds,
+        @DefaultValue( "default" ) String defaultClass,
+        Map<String, EndpointClass> classes
+) {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public AdmissionProperties {
+        classes = classes != null ? classes : Map.of();
+    }
+
+    /**
+     * Returns the class of an endpoint.
+     *
+     * @param path The handler's mapping pattern, or the request path if there is none.
+     * @return The first class with a matching pattern, or the default class.
+     */
+    public String classFor( String path ) {
+        for ( Map.Entry<String, EndpointClass> entry : classes.entrySet() ) {
+            for ( String pattern : entry.getValue().patterns() ) {
+                if ( PATH_MATCHER.match( pattern, path ) ) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return defaultClass;
+    }
+
+    /**
+     * Limits applied to one class of endpoints.
+     *
+     * @param patterns Ant-style patterns matched against the handler's mapping, e.g. {@code /api/waste/overview}.
+     * @param initialLimit The concurrency limit the class starts with.
+     * @param minLimit The limit never drops below this value.
+     * @param maxLimit The limit never grows beyond this value.
+     * @param smoothing How quickly the limit follows new estimates, between 0 and 1.
+     * @param rttTolerance How far latency may rise above its long-term average before the limit shrinks.
+     */
+    public record EndpointClass(
+            List<String> patterns,
+            @DefaultValue( "20" ) int initialLimit,
+            @DefaultValue( "2" ) int minLimit,
+            @DefaultValue( "200" ) int maxLimit,
+            @DefaultValue( "0.2" ) double smoothing,
+            @DefaultValue( "2.0" ) double rttTolerance
+    ) {
+        public EndpointClass {
+            patterns = patterns != null ? patterns : List.of();
+        }
+    }
+}
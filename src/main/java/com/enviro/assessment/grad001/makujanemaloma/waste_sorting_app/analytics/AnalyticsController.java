@@ -0,0 +1,106 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.exceptions.InvalidAnalyticsQueryException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The AnalyticsController answers aggregate questions about the catalog, such as disposal methods
+ * by location, from an in-memory snapshot that may lag recent writes by a second or so.
+ */
+@RestController
+@RequestMapping( "/api/analytics" )
+public class AnalyticsController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final CatalogAnalytics catalogAnalytics;
+
+    /**
+     * Constructs an AnalyticsController.
+     *
+     * @param catalogAnalytics The analytics engine queries run in.
+     */
+    public AnalyticsController( CatalogAnalytics catalogAnalytics ) {
+        this.catalogAnalytics = catalogAnalytics;
+    }
+
+    /**
+     * Counts disposals by one or more dimensions, e.g. {@code /api/analytics/disposals?groupBy=location,method}.
+     *
+     * @param groupBy The dimensions to group by: method, location, category and/or waste.
+     * @param method Only count disposals with this method.
+     * @param location Only count disposals at this location.
+     * @param category Only count disposals of waste items in this category.
+     * @param limit The maximum number of groups, largest first, between 1 and 1000.
+     * @return The largest groups with their counts.
+     * @throws InvalidAnalyticsQueryException if a dimension is unknown or limit is out of range.
+     */
+    @GetMapping( "/disposals" )
+    public AnalyticsResultDTO countDisposals(
+            @RequestParam( value = "groupBy", defaultValue = "method" ) List<String> groupBy,
+            @RequestParam( value = "method", required = false ) String method,
+            @RequestParam( value = "location", required = false ) String location,
+            @RequestParam( value = "category", required = false ) String category,
+            @RequestParam( value = "limit", defaultValue = "10" ) int limit
+    ) {
+        checkLimit( limit );
+        List<AnalyticsDimension> dimensions = groupBy.stream().map( AnalyticsDimension::of ).toList();
+        AnalyticsFilter filter = new AnalyticsFilter( method, location, category );
+        return catalogAnalytics.query( snapshot -> new AnalyticsResultDTO(
+                "disposals", snapshot.takenAt(), snapshot.countDisposals( dimensions, filter, limit ) ) );
+    }
+
+    /**
+     * Lists waste items with several disposal options, e.g. {@code /api/analytics/waste-with-multiple-disposals?min=3}.
+     *
+     * @param minDisposals The minimum number of matching disposals, at least 1.
+     * @param method Only count disposals with this method.
+     * @param location Only count disposals at this location.
+     * @param category Only include waste items in this category.
+     * @param limit The maximum number of waste items, most disposals first, between 1 and 1000.
+     * @return The waste items with their number of matching disposals.
+     * @throws InvalidAnalyticsQueryException if min or limit is out of range.
+     */
+    @GetMapping( "/waste-with-multiple-disposals" )
+    public AnalyticsResultDTO wasteWithMultipleDisposals(
+            @RequestParam( value = "min", defaultValue = "2" ) int minDisposals,
+            @RequestParam( value = "method", required = false ) String method,
+            @RequestParam( value = "location", required = false ) String location,
+            @RequestParam( value = "category", required = false ) String category,
+            @RequestParam( value = "limit", defaultValue = "10" ) int limit
+    ) {
+        checkLimit( limit );
+        if ( minDisposals < 1 ) {
+            throw new InvalidAnalyticsQueryException( "min must be at least 1" );
+        }
+        AnalyticsFilter filter = new AnalyticsFilter( method, location, category );
+        return catalogAnalytics.query( snapshot -> new AnalyticsResultDTO(
+                "waste-with-multiple-disposals", snapshot.takenAt(), snapshot.wasteWithMultipleDisposals( minDisposals, filter, limit ) ) );
+    }
+
+    /**
+     * Lists the categories without any recycling tip, neither their own nor on one of their waste items.
+     *
+     * @param category Only check this category.
+     * @param limit The maximum number of categories, between 1 and 1000.
+     * @return The categories without tips.
+     * @throws InvalidAnalyticsQueryException if limit is out of range.
+     */
+    @GetMapping( "/categories-without-tips" )
+    public AnalyticsResultDTO categoriesWithoutTips(
+            @RequestParam( value = "category", required = false ) String category,
+            @RequestParam( value = "limit", defaultValue = "100" ) int limit
+    ) {
+        checkLimit( limit );
+        AnalyticsFilter filter = new AnalyticsFilter( null, null, category );
+        return catalogAnalytics.query( snapshot -> new AnalyticsResultDTO(
+                "categories-without-tips", snapshot.takenAt(), snapshot.categoriesWithoutTips( filter, limit ) ) );
+    }
+
+    private static void checkLimit( int limit ) {
+        if ( limit < 1 || limit > MAX_LIMIT ) {
+            throw new InvalidAnalyticsQueryException( "limit must be between 1 and " + MAX_LIMIT );
+        }
+    }
+}
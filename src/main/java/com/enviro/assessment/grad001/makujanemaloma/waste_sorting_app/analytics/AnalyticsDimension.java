@@ -0,0 +1,44 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.exceptions.InvalidAnalyticsQueryException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A column disposals can be grouped by.
+ */
+public enum AnalyticsDimension {
+    METHOD( "method" ),
+    LOCATION( "location" ),
+    CATEGORY( "category" ),
+    WASTE( "waste" );
+
+    private final String key;
+
+    AnalyticsDimension( String key ) {
+        this.key = key;
+    }
+
+    /**
+     * @return The name of the dimension in requests and results.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Looks up a dimension by its name.
+     *
+     * @param key The name, as used in requests.
+     * @return The dimension.
+     * @throws InvalidAnalyticsQueryException if no dimension has that name.
+     */
+    public static AnalyticsDimension of( String key ) {
+        return Arrays.stream( values() )
+                .filter( dimension -> dimension.key.equalsIgnoreCase( key.trim() ) )
+                .findFirst()
+                .orElseThrow( () -> new InvalidAnalyticsQueryException( "Cannot group by '" + key + "'; expected one of "
+                        + Arrays.stream( values() ).map( AnalyticsDimension::key ).collect( Collectors.joining( ", " ) ) ) );
+    }
+}
@@ -0,0 +1,17 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+/**
+ * Restricts an analytics query to rows with the given values, compared ignoring case. A null
+ * value does not restrict the query.
+ *
+ * @param method The disposal method.
+ * @param location The disposal location.
+ * @param category The category name.
+ */
+public record AnalyticsFilter(
+        String method,
+        String location,
+        String category
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The result of an analytics query.
+ *
+ * @param query The name of the query.
+ * @param snapshotTakenAt When the catalog snapshot the query ran against was read.
+ * @param rows The groups, largest first.
+ */
+public record AnalyticsResultDTO(
+        String query,
+        LocalDateTime snapshotTakenAt,
+        List<AnalyticsRowDTO> rows
+) {
+
+}
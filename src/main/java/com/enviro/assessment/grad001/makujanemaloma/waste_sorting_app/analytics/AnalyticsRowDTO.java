@@ -0,0 +1,16 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import java.util.Map;
+
+/**
+ * One group of an analytics result.
+ *
+ * @param group The value of each grouping dimension, e.g. {@code {"location": "Depot", "method": "Recycle"}}.
+ * @param count The number of rows in the group.
+ */
+public record AnalyticsRowDTO(
+        Map<String, String> group,
+        long count
+) {
+
+}
@@ -0,0 +1,155 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Runs analytics queries against a {@link CatalogSnapshot} instead of the operational database.
+ * <p>
+ * The snapshot is read when the application is ready and read again on a background thread
+ * {@code analytics.refresh-delay-ms} after a write, so a burst of writes costs one reload and
+ * analytics results lag the catalog by about that delay. Queries run in their own fork-join pool
+ * of {@code analytics.parallelism} threads, so they neither wait for database connections nor
+ * compete with request threads for the common pool.
+ */
+@Component
+public class CatalogAnalytics {
+    private static final Logger log = LoggerFactory.getLogger( CatalogAnalytics.class );
+    private static final Set<String> TABLES = Set.of( "Category", "Waste", "Disposal", "RecyclingTips" );
+
+    private final JdbcClient jdbcClient;
+    private final Shards shards;
+    private final long refreshDelayMillis;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "analytics-loader" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot = new CatalogSnapshot( LocalDateTime.now(), List.of(), List.of(), List.of(), List.of() );
+
+    /**
+     * Constructs CatalogAnalytics.
+     *
+     * @param jdbcClient The JdbcClient snapshots are read with.
+     * @param shards The shards the catalog is spread over.
+     * @param changeLog The change log that triggers reloads after local writes.
+     * @param cacheCoherence The coherence node that reports writes made by other instances.
+     * @param parallelism The number of query threads; 0 for one per available processor.
+     * @param refreshDelayMillis How long after a write the snapshot is reloaded.
+     */
+    public CatalogAnalytics(
+            JdbcClient jdbcClient,
+            Shards shards,
+            ChangeLog changeLog,
+            CacheCoherence cacheCoherence,
+            @Value( "${analytics.parallelism:0}" ) int parallelism,
+            @Value( "${analytics.refresh-delay-ms:1000}" ) long refreshDelayMillis
+    ) {
+        this.jdbcClient = jdbcClient;
+        this.shards = shards;
+        this.refreshDelayMillis = refreshDelayMillis;
+        this.pool = new ForkJoinPool( parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors() );
+        changeLog.subscribe( event -> {
+            if ( TABLES.contains( event.entity() ) ) {
+                scheduleRefresh();
+            }
+        } );
+        cacheCoherence.onRemoteInvalidation( TABLES, entity -> scheduleRefresh() );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    void loadSnapshot() {
+        loader.execute( this::refreshQuietly );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs a query against the current snapshot in the analytics pool.
+     *
+     * @param query The query; parallel streams it opens run in the analytics pool too.
+     * @param <R> The result type.
+     * @return The result of the query.
+     */
+    public <R> R query( Function<CatalogSnapshot, R> query ) {
+        CatalogSnapshot current = snapshot;
+        return pool.submit( () -> query.apply( current ) ).join();
+    }
+
+    /**
+     * Reads a new snapshot of the catalog and swaps it in.
+     */
+    public void refresh() {
+        LocalDateTime takenAt = LocalDateTime.now();
+        List<CatalogSnapshot.CategoryRow> categories = shards.on( 0, () -> jdbcClient.sql( "SELECT id, name FROM Category" )
+                .query( ( rs, rowNum ) -> new CatalogSnapshot.CategoryRow( rs.getInt( "id" ), rs.getString( "name" ) ) )
+                .list() );
+        List<CatalogSnapshot.WasteRow> waste = shards.gather( () -> jdbcClient.sql( "SELECT id, categoryId, name FROM Waste" )
+                .query( ( rs, rowNum ) -> new CatalogSnapshot.WasteRow( rs.getInt( "id" ), rs.getInt( "categoryId" ), rs.getString( "name" ) ) )
+                .list() );
+        List<CatalogSnapshot.DisposalRow> disposals = shards.gather( () -> jdbcClient.sql( "SELECT wasteId, method, location FROM Disposal" )
+                .query( ( rs, rowNum ) -> new CatalogSnapshot.DisposalRow( rs.getInt( "wasteId" ), rs.getString( "method" ), rs.getString( "location" ) ) )
+                .list() );
+        // Category-level tips are replicated to every shard; shard 0 holds the originals.
+        List<CatalogSnapshot.TipRow> tips = new ArrayList<>( shards.on( 0, () -> tips( "wasteId IS NULL" ) ) );
+        tips.addAll( shards.gather( () -> tips( "wasteId IS NOT NULL" ) ) );
+
+        snapshot = new CatalogSnapshot( takenAt, categories, waste, disposals, tips );
+        log.debug( "Analytics snapshot loaded: {} categories, {} waste items, {} disposals, {} tips",
+                categories.size(), waste.size(), disposals.size(), tips.size() );
+    }
+
+    private List<CatalogSnapshot.TipRow> tips( String condition ) {
+        return jdbcClient.sql( "SELECT categoryId, wasteId FROM RecyclingTips WHERE " + condition )
+                .query( ( rs, rowNum ) -> new CatalogSnapshot.TipRow(
+                        rs.getObject( "categoryId", Integer.class ), rs.getObject( "wasteId", Integer.class ) ) )
+                .list();
+    }
+
+    /**
+     * Queues a reload. Writes made before it starts collapse into it.
+     */
+    private void scheduleRefresh() {
+        if ( refreshQueued.compareAndSet( false, true ) ) {
+            loader.schedule( () -> {
+                refreshQueued.set( false );
+                refreshQuietly();
+            }, refreshDelayMillis, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch ( RuntimeException ex ) {
+            log.warn( "Failed to load the analytics snapshot; keeping the previous one", ex );
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, column-oriented copy of the catalog that analytics queries run against instead of
+ * the operational database.
+ * <p>
+ * Every table is held as parallel primitive arrays, one per column, and rows refer to their parent
+ * by array index, so a join is an array lookup. Disposal methods and locations are dictionary
+ * encoded: each distinct value is stored once and rows hold its code, so filters compare ints.
+ * Queries scan the rows with parallel streams; run them in a dedicated
+ * {@link java.util.concurrent.ForkJoinPool} to keep them off the common pool.
+ */
+public final class CatalogSnapshot {
+    private static final int NONE = -1;
+
+    private final LocalDateTime takenAt;
+
+    private final String[] categoryName;
+
+    private final int[] wasteCategory;
+    private final String[] wasteName;
+
+    private final int[] disposalWaste;
+    private final int[] disposalMethod;
+    private final int[] disposalLocation;
+    private final String[] methods;
+    private final String[] locations;
+
+    // The category index of each tip: its own category, or the category of its waste item.
+    private final int[] tipCategory;
+
+    /**
+     * A category row as read from the database.
+     */
+    public record CategoryRow( int id, String name ) {
+    }
+
+    /**
+     * A waste row as read from the database.
+     */
+    public record WasteRow( int id, int categoryId, String name ) {
+    }
+
+    /**
+     * A disposal row as read from the database.
+     */
+    public record DisposalRow( int wasteId, String method, String location ) {
+    }
+
+    /**
+     * A recycling tip row as read from the database; one of the IDs is null.
+     */
+    public record TipRow( Integer categoryId, Integer wasteId ) {
+    }
+
+    /**
+     * Builds a snapshot from rows read from the database. Rows whose parent is not in the
+     * snapshot, because it was deleted between the reads, are left out.
+     *
+     * @param takenAt When the rows were read.
+     * @param categories The categories.
+     * @param waste The waste items.
+     * @param disposals The disposals.
+     * @param tips The recycling tips.
+     */
+    public CatalogSnapshot(
+            LocalDateTime takenAt,
+            List<CategoryRow> categories,
+            List<WasteRow> waste,
+            List<DisposalRow> disposals,
+            List<TipRow> tips
+    ) {
+        this.takenAt = takenAt;
+
+        Map<Integer, Integer> categoryIndex = new HashMap<>();
+        this.categoryName = new String[ categories.size() ];
+        for ( int i = 0; i < categories.size(); i++ ) {
+            categoryIndex.put( categories.get( i ).id(), i );
+            categoryName[ i ] = categories.get( i ).name();
+        }
+
+        List<WasteRow> keptWaste = waste.stream()
+                .filter( row -> categoryIndex.containsKey( row.categoryId() ) )
+                .toList();
+        Map<Integer, Integer> wasteIndex = new HashMap<>();
+        this.wasteCategory = new int[ keptWaste.size() ];
+        this.wasteName = new String[ keptWaste.size() ];
+        for ( int i = 0; i < keptWaste.size(); i++ ) {
+            wasteIndex.put( keptWaste.get( i ).id(), i );
+            wasteCategory[ i ] = categoryIndex.get( keptWaste.get( i ).categoryId() );
+            wasteName[ i ] = keptWaste.get( i ).name();
+        }
+
+        List<DisposalRow> keptDisposals = disposals.stream()
+                .filter( row -> wasteIndex.containsKey( row.wasteId() ) )
+                .toList();
+        Map<String, Integer> methodCodes = new LinkedHashMap<>();
+        Map<String, Integer> locationCodes = new LinkedHashMap<>();
+        this.disposalWaste = new int[ keptDisposals.size() ];
+        this.disposalMethod = new int[ keptDisposals.size() ];
+        this.disposalLocation = new int[ keptDisposals.size() ];
+        for ( int i = 0; i < keptDisposals.size(); i++ ) {
+            DisposalRow row = keptDisposals.get( i );
+            disposalWaste[ i ] = wasteIndex.get( row.wasteId() );
+            disposalMethod[ i ] = encode( methodCodes, row.method() );
+            disposalLocation[ i ] = encode( locationCodes, row.location() );
+        }
+        this.methods = methodCodes.keySet().toArray( String[]::new );
+        this.locations = locationCodes.keySet().toArray( String[]::new );
+
+        this.tipCategory = tips.stream()
+                .mapToInt( tip -> {
+                    if ( tip.categoryId() != null ) {
+                        return categoryIndex.getOrDefault( tip.categoryId(), NONE );
+                    }
+                    Integer owner = tip.wasteId() != null ? wasteIndex.get( tip.wasteId() ) : null;
+                    return owner != null ? wasteCategory[ owner ] : NONE;
+                } )
+                .filter( category -> category != NONE )
+                .toArray();
+    }
+
+    /**
+     * @return When the rows of the snapshot were read.
+     */
+    public LocalDateTime takenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Counts the disposals that match a filter, grouped by one or more dimensions, largest groups first.
+     *
+     * @param groupBy The dimensions to group by, in the order they appear in each group.
+     * @param filter The filter disposals must match.
+     * @param limit The maximum number of groups to return.
+     * @return The largest groups with their counts.
+     */
+    public List<AnalyticsRowDTO> countDisposals( List<AnalyticsDimension> groupBy, AnalyticsFilter filter, int limit ) {
+        int[] methodCodes = codesOf( methods, filter.method() );
+        int[] locationCodes = codesOf( locations, filter.location() );
+        int[] categoryCodes = codesOf( categoryName, filter.category() );
+
+        ConcurrentMap<List<String>, Long> counts = IntStream.range( 0, disposalWaste.length )
+                .parallel()
+                .filter( row -> matches( row, methodCodes, locationCodes, categoryCodes ) )
+                .boxed()
+                .collect( Collectors.groupingByConcurrent(
+                        row -> groupBy.stream().map( dimension -> valueOf( dimension, row ) ).toList(),
+                        Collectors.counting() ) );
+
+        return top( counts.entrySet().stream()
+                .map( group -> new AnalyticsRowDTO( label( groupBy, group.getKey() ), group.getValue() ) ), limit );
+    }
+
+    /**
+     * Lists the waste items that have at least a number of disposals matching a filter, most first.
+     *
+     * @param minDisposals The minimum number of matching disposals.
+     * @param filter The filter disposals must match.
+     * @param limit The maximum number of waste items to return.
+     * @return The waste items with their category and number of matching disposals.
+     */
+    public List<AnalyticsRowDTO> wasteWithMultipleDisposals( int minDisposals, AnalyticsFilter filter, int limit ) {
+        int[] methodCodes = codesOf( methods, filter.method() );
+        int[] locationCodes = codesOf( locations, filter.location() );
+        int[] categoryCodes = codesOf( categoryName, filter.category() );
+
+        ConcurrentMap<Integer, Long> counts = IntStream.range( 0, disposalWaste.length )
+                .parallel()
+                .filter( row -> matches( row, methodCodes, locationCodes, categoryCodes ) )
+                .boxed()
+                .collect( Collectors.groupingByConcurrent( row -> disposalWaste[ row ], Collectors.counting() ) );
+
+        return top( counts.entrySet().parallelStream()
+                .filter( waste -> waste.getValue() >= minDisposals )
+                .map( waste -> new AnalyticsRowDTO( label(
+                        List.of( AnalyticsDimension.WASTE, AnalyticsDimension.CATEGORY ),
+                        List.of( wasteName[ waste.getKey() ], categoryName[ wasteCategory[ waste.getKey() ] ] ) ), waste.getValue() ) ), limit );
+    }
+
+    /**
+     * Lists the categories that have no recycling tips, neither their own nor on any of their waste items.
+     *
+     * @param filter The filter categories must match; only its category is used.
+     * @param limit The maximum number of categories to return.
+     * @return The categories, each with a count of 0, in name order.
+     */
+    public List<AnalyticsRowDTO> categoriesWithoutTips( AnalyticsFilter filter, int limit ) {
+        boolean[] hasTips = new boolean[ categoryName.length ];
+        // Racing writes all store true, so no synchronization is needed.
+        IntStream.of( tipCategory ).parallel().forEach( category -> hasTips[ category ] = true );
+        int[] categoryCodes = codesOf( categoryName, filter.category() );
+
+        return top( IntStream.range( 0, categoryName.length )
+                .parallel()
+                .filter( category -> !hasTips[ category ] && contains( categoryCodes, category ) )
+                .mapToObj( category -> new AnalyticsRowDTO(
+                        label( List.of( AnalyticsDimension.CATEGORY ), List.of( categoryName[ category ] ) ), 0 ) ), limit );
+    }
+
+    private boolean matches( int row, int[] methodCodes, int[] locationCodes, int[] categoryCodes ) {
+        return contains( methodCodes, disposalMethod[ row ] )
+                && contains( locationCodes, disposalLocation[ row ] )
+                && contains( categoryCodes, wasteCategory[ disposalWaste[ row ] ] );
+    }
+
+    private String valueOf( AnalyticsDimension dimension, int row ) {
+        return switch ( dimension ) {
+            case METHOD -> methods[ disposalMethod[ row ] ];
+            case LOCATION -> disposalLocation[ row ] == NONE ? null : locations[ disposalLocation[ row ] ];
+            case CATEGORY -> categoryName[ wasteCategory[ disposalWaste[ row ] ] ];
+            case WASTE -> wasteName[ disposalWaste[ row ] ];
+        };
+    }
+
+    private static List<AnalyticsRowDTO> top( Stream<AnalyticsRowDTO> rows, int limit ) {
+        return rows.sorted( Comparator.comparingLong( AnalyticsRowDTO::count ).reversed()
+                        .thenComparing( row -> row.group().values().toString() ) )
+                .limit( limit )
+                .toList();
+    }
+
+    private static Map<String, String> label( List<AnalyticsDimension> dimensions, List<String> values ) {
+        Map<String, String> group = new LinkedHashMap<>();
+        for ( int i = 0; i < dimensions.size(); i++ ) {
+            group.put( dimensions.get( i ).key(), values.get( i ) );
+        }
+        return group;
+    }
+
+    /**
+     * Resolves a filter value to the codes of the dictionary entries it matches, ignoring case;
+     * null when there is no filter.
+     */
+    private static int[] codesOf( String[] dictionary, String value ) {
+        if ( value == null ) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>();
+        for ( int code = 0; code < dictionary.length; code++ ) {
+            if ( value.equalsIgnoreCase( dictionary[ code ] ) ) {
+                codes.add( code );
+            }
+        }
+        return codes.stream().mapToInt( Integer::intValue ).toArray();
+    }
+
+    private static boolean contains( int[] codes, int code ) {
+        if ( codes == null ) {
+            return true;
+        }
+        for ( int candidate : codes ) {
+            if ( candidate == code ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int encode( Map<String, Integer> dictionary, String value ) {
+        if ( value == null ) {
+            return NONE;
+        }
+        return dictionary.computeIfAbsent( value, key -> dictionary.size() );
+    }
+}
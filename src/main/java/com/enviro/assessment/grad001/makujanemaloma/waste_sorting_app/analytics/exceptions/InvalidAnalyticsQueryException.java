@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.exceptions;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAnalyticsQueryException extends StacklessException {
+    public InvalidAnalyticsQueryException( String message ) {
+        super( message );
+    }
+}
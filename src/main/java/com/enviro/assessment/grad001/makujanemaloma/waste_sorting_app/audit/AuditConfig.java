@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code audit.*} settings of the {@link AuditLog}.
+ */
+@Configuration
+@EnableConfigurationProperties( AuditProperties.class )
+public class AuditConfig {
+}
@@ -0,0 +1,55 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.exceptions.UnknownHistoryResourceException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The AuditController serves the change history of catalog records, addressed by the same
+ * resource names as the API, e.g. {@code /api/history/waste/3}.
+ */
+@RestController
+@RequestMapping( "/api/history" )
+public class AuditController {
+    private static final Map<String, String> ENTITIES = Map.of(
+            "categories", "Category",
+            "waste", "Waste",
+            "disposals", "Disposal",
+            "recycling-tips", "RecyclingTips"
+    );
+
+    private final AuditLog auditLog;
+
+    /**
+     * Constructs an AuditController.
+     *
+     * @param auditLog The audit log history is read from.
+     */
+    public AuditController( AuditLog auditLog ) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Retrieves every recorded change of a record, oldest first. A record that has been deleted
+     * keeps its history.
+     *
+     * @param resource The resource name: categories, waste, disposals or recycling-tips.
+     * @param id The ID of the record.
+     * @return The changes, each with the record's before and after images.
+     * @throws UnknownHistoryResourceException if no history is kept for the resource.
+     */
+    @GetMapping( "/{resource}/{id}" )
+    public List<AuditEntryDTO> getHistory( @PathVariable String resource, @PathVariable Integer id ) {
+        String entity = ENTITIES.get( resource );
+        if ( entity == null ) {
+            throw new UnknownHistoryResourceException(
+                    "No history is kept for '" + resource + "'; expected one of categories, waste, disposals, recycling-tips" );
+        }
+        return auditLog.history( entity, id );
+    }
+}
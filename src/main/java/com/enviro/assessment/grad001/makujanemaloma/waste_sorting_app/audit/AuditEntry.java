@@ -0,0 +1,26 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A recorded catalog write as it is buffered, journaled and written to the {@code AuditHistory} table.
+ *
+ * @param entryId The unique ID of the entry, which makes writing it again after a crash or retry idempotent.
+ * @param entity The table the write touched.
+ * @param recordId The ID of the affected row.
+ * @param action The kind of write.
+ * @param before The row before the write, or null for an insert.
+ * @param after The row after the write, or null for a delete.
+ * @param changedAt When the write happened.
+ */
+record AuditEntry(
+        String entryId,
+        String entity,
+        Integer recordId,
+        String action,
+        Map<String, Object> before,
+        Map<String, Object> after,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One change in the history of a catalog record. The images hold the row's columns as stored in the database.
+ */
+public record AuditEntryDTO(
+        String entity,
+        Integer recordId,
+        String action,
+        Map<String, Object> before,
+        Map<String, Object> after,
+        LocalDateTime changedAt
+) {
+}
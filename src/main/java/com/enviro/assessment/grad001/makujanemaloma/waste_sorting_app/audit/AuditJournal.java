@@ -0,0 +1,62 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A local append-only file of audit entries, one JSON document per line. Every append is forced
+ * to disk before it returns, so an entry survives a crash of the process even if it never reached
+ * the database. It is emptied once everything in it has been written to the history table.
+ */
+class AuditJournal implements AutoCloseable {
+    private final Path path;
+    private final FileChannel channel;
+
+    AuditJournal( Path path ) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if ( parent != null ) {
+            Files.createDirectories( parent );
+        }
+        this.channel = FileChannel.open( path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+    }
+
+    /**
+     * Appends a line and forces it to disk.
+     */
+    void append( String line ) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap( ( line + "\n" ).getBytes( StandardCharsets.UTF_8 ) );
+        while ( buffer.hasRemaining() ) {
+            channel.write( buffer );
+        }
+        channel.force( false );
+    }
+
+    /**
+     * @return Every line in the journal, including a torn last line left by a crash.
+     */
+    List<String> readAll() throws IOException {
+        return Files.readAllLines( path, StandardCharsets.UTF_8 ).stream()
+                .filter( line -> !line.isBlank() )
+                .toList();
+    }
+
+    /**
+     * Discards the journal's contents.
+     */
+    void truncate() throws IOException {
+        channel.truncate( 0 );
+        channel.force( false );
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
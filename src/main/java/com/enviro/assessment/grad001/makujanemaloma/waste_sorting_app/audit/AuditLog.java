@@ -0,0 +1,339 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the change history of the catalog without adding a second INSERT to every write.
+ * <p>
+ * The repositories hand each write's before and after images to {@link #record}, which only
+ * appends them to a bounded in-memory buffer. A background writer drains the buffer every
+ * {@code audit.linger-millis}, or as soon as a batch is full, and writes the entries to the
+ * {@code AuditHistory} table in JDBC batches. When the buffer is full, writers wait for it to
+ * drain rather than lose history.
+ * <p>
+ * Buffered entries are lost if the process dies. In durable mode ({@code audit.durable=true})
+ * each entry is first appended to a local journal and fsynced, so the write's latency includes
+ * one local fsync instead of a database round trip; entries still in the journal at startup are
+ * written to the table before anything else. Entries are written with MERGE on their entry ID,
+ * so a batch that is written twice after a failure or a crash is recorded once.
+ */
+@Component
+public class AuditLog {
+    private static final Logger log = LoggerFactory.getLogger( AuditLog.class );
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos( 1 );
+    private static final TypeReference<Map<String, Object>> IMAGE = new TypeReference<>() { };
+    private static final String MERGE_ENTRY = "MERGE INTO AuditHistory ( entryId, entity, recordId, action, beforeImage, afterImage, changedAt )"
+            + " KEY ( entryId ) VALUES ( ?, ?, ?, ?, ?, ?, ? )";
+
+    private final AuditProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS )
+            .build();
+    private final BlockingQueue<AuditEntry> buffer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock; holds a drained batch until it has been written.
+    private final List<AuditEntry> pending = new ArrayList<>();
+    private final AuditJournal journal;
+    private final Counter written;
+    private final Thread writer;
+    private volatile boolean running;
+
+    /**
+     * Constructs the AuditLog and, if enabled, recovers the journal and starts the background writer.
+     *
+     * @param properties The audit settings.
+     * @param jdbcTemplate The JdbcTemplate the history table is written with.
+     * @param meterRegistry The registry buffer metrics are published to.
+     */
+    public AuditLog( AuditProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry ) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>( Math.max( 1, properties.bufferCapacity() ) );
+        this.written = Counter.builder( "audit.written" )
+                .description( "Audit entries written to the history table" )
+                .register( meterRegistry );
+        Gauge.builder( "audit.buffered", buffer, BlockingQueue::size )
+                .description( "Audit entries waiting to be written" )
+                .register( meterRegistry );
+
+        if ( !properties.enabled() ) {
+            this.journal = null;
+            this.writer = null;
+            return;
+        }
+        this.journal = properties.durable() ? openJournal( Path.of( properties.journalPath() ) ) : null;
+        this.running = true;
+        this.writer = new Thread( this::runWriter, "audit-writer" );
+        this.writer.setDaemon( true );
+        this.writer.start();
+    }
+
+    /**
+     * @return Whether writes are being recorded, so that callers can skip reading images otherwise.
+     */
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Records a catalog write. Returns once the entry is buffered, or in durable mode journaled.
+     *
+     * @param entity The table the write touched.
+     * @param action The kind of write.
+     * @param recordId The ID of the affected row.
+     * @param before The row before the write, or null for an insert.
+     * @param after The row after the write, or null for a delete.
+     */
+    public void record( String entity, ChangeEvent.Action action, Integer recordId, Map<String, Object> before, Map<String, Object> after ) {
+        if ( !properties.enabled() ) {
+            return;
+        }
+        AuditEntry entry = new AuditEntry(
+                UUID.randomUUID().toString(), entity, recordId, action.name(), normalize( before ), normalize( after ), LocalDateTime.now() );
+        if ( journal == null ) {
+            enqueue( entry );
+            return;
+        }
+        // Journal and buffer are updated together, so an empty buffer means everything journaled has been written.
+        synchronized ( journal ) {
+            try {
+                journal.append( objectMapper.writeValueAsString( entry ) );
+            } catch ( IOException ex ) {
+                log.error( "Failed to journal audit entry {} for {} {}; it is only buffered", entry.entryId(), entity, recordId, ex );
+            }
+            enqueue( entry );
+        }
+    }
+
+    /**
+     * Writes everything buffered so far to the history table on the calling thread.
+     */
+    public void flush() {
+        if ( properties.enabled() ) {
+            writeBuffered();
+        }
+    }
+
+    /**
+     * Returns the change history of a record, oldest first. Buffered entries are written first,
+     * so the history includes every write that has returned.
+     *
+     * @param entity The table of the record.
+     * @param recordId The ID of the record.
+     * @return The recorded changes.
+     */
+    public List<AuditEntryDTO> history( String entity, Integer recordId ) {
+        flush();
+        return jdbcTemplate.query(
+                "SELECT entity, recordId, action, beforeImage, afterImage, changedAt FROM AuditHistory"
+                        + " WHERE entity = ? AND recordId = ? ORDER BY id",
+                ( rs, rowNum ) -> new AuditEntryDTO(
+                        rs.getString( "entity" ),
+                        rs.getInt( "recordId" ),
+                        rs.getString( "action" ),
+                        fromJson( rs.getString( "beforeImage" ) ),
+                        fromJson( rs.getString( "afterImage" ) ),
+                        rs.getTimestamp( "changedAt" ).toLocalDateTime()
+                ),
+                entity,
+                recordId
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if ( writer == null ) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark( writer );
+        try {
+            writer.join( TimeUnit.SECONDS.toMillis( 5 ) );
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writeBuffered();
+        } catch ( RuntimeException ex ) {
+            log.error( "Failed to write {} buffered audit entries on shutdown", buffer.size() + pending.size(), ex );
+        }
+        if ( journal != null ) {
+            try {
+                journal.close();
+            } catch ( IOException ex ) {
+                log.warn( "Failed to close the audit journal", ex );
+            }
+        }
+    }
+
+    private void enqueue( AuditEntry entry ) {
+        try {
+            buffer.put( entry );
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            log.error( "Interrupted while buffering audit entry {} for {} {}", entry.entryId(), entry.entity(), entry.recordId() );
+            return;
+        }
+        if ( buffer.size() >= properties.batchSize() ) {
+            LockSupport.unpark( writer );
+        }
+    }
+
+    private void runWriter() {
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos( properties.lingerMillis() );
+        while ( running ) {
+            LockSupport.parkNanos( this, lingerNanos );
+            try {
+                writeBuffered();
+            } catch ( RuntimeException ex ) {
+                log.warn( "Failed to write audit history; retrying with {} entries buffered", buffer.size() + pending.size(), ex );
+                LockSupport.parkNanos( this, RETRY_DELAY_NANOS );
+            }
+        }
+    }
+
+    private void writeBuffered() {
+        writeLock.lock();
+        try {
+            // A batch that failed last time stays in pending and is written first.
+            while ( !pending.isEmpty() || buffer.drainTo( pending, properties.batchSize() ) > 0 ) {
+                writeBatch( pending );
+                pending.clear();
+            }
+            truncateJournalIfDrained();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeBatch( List<AuditEntry> entries ) {
+        List<Object[]> rows = new ArrayList<>( entries.size() );
+        for ( AuditEntry entry : entries ) {
+            rows.add( new Object[] {
+                    entry.entryId(),
+                    entry.entity(),
+                    entry.recordId(),
+                    entry.action(),
+                    toJson( entry.before() ),
+                    toJson( entry.after() ),
+                    Timestamp.valueOf( entry.changedAt() )
+            } );
+        }
+        jdbcTemplate.batchUpdate( MERGE_ENTRY, rows );
+        written.increment( entries.size() );
+    }
+
+    private void truncateJournalIfDrained() {
+        if ( journal == null ) {
+            return;
+        }
+        synchronized ( journal ) {
+            if ( !buffer.isEmpty() ) {
+                return;
+            }
+            try {
+                journal.truncate();
+            } catch ( IOException ex ) {
+                log.warn( "Failed to truncate the audit journal; its entries will be written again on the next start", ex );
+            }
+        }
+    }
+
+    private AuditJournal openJournal( Path path ) {
+        try {
+            AuditJournal opened = new AuditJournal( path );
+            List<AuditEntry> recovered = new ArrayList<>();
+            for ( String line : opened.readAll() ) {
+                try {
+                    recovered.add( objectMapper.readValue( line, AuditEntry.class ) );
+                } catch ( JsonProcessingException ex ) {
+                    // Only the last line can be torn, and its write never returned.
+                    log.warn( "Skipping unreadable audit journal line: {}", line );
+                }
+            }
+            for ( int from = 0; from < recovered.size(); from += properties.batchSize() ) {
+                writeBatch( recovered.subList( from, Math.min( recovered.size(), from + properties.batchSize() ) ) );
+            }
+            opened.truncate();
+            if ( !recovered.isEmpty() ) {
+                log.info( "Recovered {} audit entries from {}", recovered.size(), path );
+            }
+            return opened;
+        } catch ( IOException ex ) {
+            throw new UncheckedIOException( "Failed to open the audit journal " + path, ex );
+        }
+    }
+
+    /**
+     * Turns JDBC values that JSON cannot represent as they are, such as timestamps, into strings.
+     */
+    private static Map<String, Object> normalize( Map<String, Object> image ) {
+        if ( image == null ) {
+            return null;
+        }
+        Map<String, Object> normalized = new LinkedHashMap<>( image.size() );
+        image.forEach( ( column, value ) -> {
+            if ( value instanceof Timestamp timestamp ) {
+                normalized.put( column, timestamp.toLocalDateTime().toString() );
+            } else if ( value == null || value instanceof Number || value instanceof String || value instanceof Boolean ) {
+                normalized.put( column, value );
+            } else {
+                normalized.put( column, value.toString() );
+            }
+        } );
+        return normalized;
+    }
+
+    private String toJson( Map<String, Object> image ) {
+        if ( image == null ) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString( image );
+        } catch ( JsonProcessingException ex ) {
+            throw new IllegalStateException( "Failed to serialize audit image", ex );
+        }
+    }
+
+    private Map<String, Object> fromJson( String json ) {
+        if ( json == null ) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue( json, IMAGE );
+        } catch ( JsonProcessingException ex ) {
+            throw new IllegalStateException( "Failed to read audit image", ex );
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the write-behind audit history.
+ *
+ * @param enabled Whether before and after images of catalog writes are recorded.
+ * @param bufferCapacity The number of entries the in-memory buffer holds; writers wait when it is full.
+ * @param batchSize The maximum number of entries written to the history table in one JDBC batch.
+ * @param lingerMillis How long the background writer waits for more entries before writing a batch.
+ * @param durable Whether each entry is appended and fsynced to a local journal before the write returns.
+ * @param journalPath The path of the journal used in durable mode.
+ */
+@ConfigurationProperties( prefix = "audit" )
+public record AuditProperties(
+        @DefaultValue( "true" ) boolean enabled,
+        @DefaultValue( "10000" ) int bufferCapacity,
+        @DefaultValue( "500" ) int batchSize,
+        @DefaultValue( "50" ) long lingerMillis,
+        @DefaultValue( "false" ) boolean durable,
+        @DefaultValue( "audit-journal.log" ) String journalPath
+) {
+}
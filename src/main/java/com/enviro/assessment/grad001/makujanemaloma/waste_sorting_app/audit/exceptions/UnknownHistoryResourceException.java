@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.exceptions;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownHistoryResourceException extends StacklessException {
+    public UnknownHistoryResourceException( String message ) {
+        super( message );
+    }
+}
@@ -0,0 +1,150 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.exceptions.BulkheadFullException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.Deadline;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions.DeadlineExceededException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Span;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The Bulkhead keeps heavy catalog queries from starving point lookups.
+ * <p>
+ * Heavy work runs on a bounded executor whose threads are marked as {@link Lane#HEAVY}; the
+ * {@link LaneRoutingDataSource} hands those threads connections from the heavy pool only. When the
+ * executor and its queue are full, new heavy work is rejected with a {@link BulkheadFullException}
+ * rather than queueing behind it. Work that is still queued when the caller's {@link Deadline}
+ * passes is taken off the queue and rejected the same way, so a request never waits for the heavy
+ * lane beyond its budget. Everything else stays on the request thread in the point lane.
+ * Metrics: {@code bulkhead.active}, {@code bulkhead.queued} and {@code bulkhead.rejected}, tagged by lane.
+ */
+@Component
+public class Bulkhead {
+    private static final ThreadLocal<Lane> CURRENT_LANE = ThreadLocal.withInitial( () -> Lane.POINT );
+
+    private final ThreadPoolExecutor heavyExecutor;
+    private final Counter rejected;
+
+    /**
+     * Constructs the Bulkhead.
+     *
+     * @param properties The partition sizes.
+     * @param meterRegistry The registry saturation metrics are published to.
+     */
+    public Bulkhead( BulkheadProperties properties, MeterRegistry meterRegistry ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.heavyExecutor = new ThreadPoolExecutor(
+                properties.heavyThreads(),
+                properties.heavyThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>( properties.heavyQueueCapacity() ),
+                runnable -> {
+                    Thread thread = new Thread( runnable, "bulkhead-heavy-" + threadNumber.incrementAndGet() );
+                    thread.setDaemon( true );
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder( "bulkhead.active", heavyExecutor, ThreadPoolExecutor::getActiveCount )
+                .description( "Heavy queries currently executing" )
+                .tag( "lane", "heavy" )
+                .register( meterRegistry );
+        Gauge.builder( "bulkhead.queued", heavyExecutor, executor -> executor.getQueue().size() )
+                .description( "Heavy queries waiting for a thread" )
+                .tag( "lane", "heavy" )
+                .register( meterRegistry );
+        this.rejected = Counter.builder( "bulkhead.rejected" )
+                .description( "Heavy queries rejected because the bulkhead was saturated or did not start them in time" )
+                .tag( "lane", "heavy" )
+                .register( meterRegistry );
+    }
+
+    /**
+     * Returns the lane of the calling thread.
+     */
+    public static Lane currentLane() {
+        return CURRENT_LANE.get();
+    }
+
+    /**
+     * Runs heavy work on the heavy executor and waits for its result, under the caller's
+     * {@link Deadline} and current span. Work submitted from a thread that is already in the heavy lane runs inline.
+     * The wait is bounded by the deadline; without one, as outside requests, it is not.
+     *
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     * @throws BulkheadFullException if the heavy executor and its queue are saturated, or the work
+     *         was still queued when the deadline passed.
+     * @throws DeadlineExceededException if the work was still running when the deadline passed.
+     */
+    public <T> T runHeavy( Supplier<T> work ) {
+        if ( currentLane() == Lane.HEAVY ) {
+            return work.get();
+        }
+
+        Deadline deadline = Deadline.current();
+        Span span = Tracer.currentSpan();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            CURRENT_LANE.set( Lane.HEAVY );
+            try {
+                future.complete( Deadline.callWith( deadline, () -> Tracer.callWith( span, work ) ) );
+            } catch ( Throwable ex ) {
+                future.completeExceptionally( ex );
+            } finally {
+                CURRENT_LANE.remove();
+            }
+        };
+        try {
+            heavyExecutor.execute( task );
+        } catch ( RejectedExecutionException ex ) {
+            rejected.increment();
+            throw new BulkheadFullException( "Too many heavy queries in progress, please retry shortly" );
+        }
+
+        try {
+            return deadline != null ? future.get( deadline.remainingMillis(), TimeUnit.MILLISECONDS ) : future.join();
+        } catch ( TimeoutException ex ) {
+            if ( heavyExecutor.remove( task ) ) {
+                rejected.increment();
+                throw new BulkheadFullException( "Too many heavy queries in progress, please retry shortly" );
+            }
+            // The work has started; the deadline's watchdog is cancelling its statements.
+            throw deadline.exceeded();
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            heavyExecutor.remove( task );
+            throw deadline.exceeded();
+        } catch ( ExecutionException | CompletionException ex ) {
+            if ( ex.getCause() instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            if ( ex.getCause() instanceof Error error ) {
+                throw error;
+            }
+            throw new IllegalStateException( ex.getCause() );
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heavyExecutor.shutdown();
+    }
+}
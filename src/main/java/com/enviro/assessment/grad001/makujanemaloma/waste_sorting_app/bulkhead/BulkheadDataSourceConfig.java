@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.ObservedDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementListener;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRoutingDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions the database connections between the bulkhead lanes. Both pools point at the same
+ * database; the primary DataSource routes to one or the other based on the calling thread's lane,
+ * so JdbcClient and JdbcTemplate need no changes. With sharding enabled these lanes make up
+ * shard 0, and the primary DataSource routes by shard first. Every statement run through it is
+ * reported to the {@link StatementListener} beans.
+ */
+@Configuration
+@EnableConfigurationProperties( { BulkheadProperties.class, ShardingProperties.class } )
+public class BulkheadDataSourceConfig {
+
+    @Bean
+    public HikariDataSource pointDataSource( DataSourceProperties dataSourceProperties, BulkheadProperties bulkheadProperties ) {
+        return pool( dataSourceProperties, "point-pool", bulkheadProperties.pointPoolSize() );
+    }
+
+    @Bean
+    public HikariDataSource heavyDataSource( DataSourceProperties dataSourceProperties, BulkheadProperties bulkheadProperties ) {
+        return pool( dataSourceProperties, "heavy-pool", bulkheadProperties.heavyPoolSize() );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource pointDataSource,
+            HikariDataSource heavyDataSource,
+            ShardingProperties shardingProperties,
+            ObjectProvider<StatementListener> statementListeners
+    ) {
+        LaneRoutingDataSource routingDataSource = new LaneRoutingDataSource();
+        routingDataSource.setTargetDataSources( Map.of(
+                Lane.POINT, pointDataSource,
+                Lane.HEAVY, heavyDataSource
+        ) );
+        routingDataSource.setDefaultTargetDataSource( pointDataSource );
+        routingDataSource.afterPropertiesSet();
+        List<StatementListener> listeners = statementListeners.orderedStream().toList();
+        if ( !shardingProperties.enabled() ) {
+            return new ObservedDataSource( routingDataSource, listeners );
+        }
+        return new ObservedDataSource( ShardRoutingDataSource.create( routingDataSource, shardingProperties ), listeners );
+    }
+
+    private HikariDataSource pool( DataSourceProperties dataSourceProperties, String poolName, int size ) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type( HikariDataSource.class )
+                .build();
+        dataSource.setPoolName( poolName );
+        dataSource.setMaximumPoolSize( size );
+        return dataSource;
+    }
+}
@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sizes of the bulkhead partitions.
+ *
+ * @param heavyThreads The number of threads executing heavy queries.
+ * @param heavyQueueCapacity The number of heavy queries that may wait for a thread before new ones are rejected.
+ * @param heavyPoolSize The number of database connections reserved for heavy queries.
+ * @param pointPoolSize The number of database connections reserved for point reads and writes.
+ */
+@ConfigurationProperties( prefix = "bulkhead" )
+public record BulkheadProperties(
+        @DefaultValue( "8" ) int heavyThreads,
+        @DefaultValue( "32" ) int heavyQueueCapacity,
+        @DefaultValue( "8" ) int heavyPoolSize,
+        @DefaultValue( "10" ) int pointPoolSize
+) {
+}
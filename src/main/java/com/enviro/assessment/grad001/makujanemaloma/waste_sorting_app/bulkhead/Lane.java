@@ -0,0 +1,17 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead;
+
+/**
+ * The bulkhead partitions work runs in. Each lane has its own connection pool, and heavy work
+ * additionally runs on its own bounded executor.
+ */
+public enum Lane {
+    /**
+     * Point lookups and writes, executed on the request thread.
+     */
+    POINT,
+
+    /**
+     * Full-catalog lists, overviews and exports, executed on the heavy executor.
+     */
+    HEAVY
+}
@@ -0,0 +1,14 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes each connection request to the pool of the calling thread's {@link Lane}.
+ */
+public class LaneRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Bulkhead.currentLane();
+    }
+}
@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.exceptions;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends StacklessException {
+    public BulkheadFullException( String message ) {
+        super( message );
+    }
+}
@@ -1,7 +1,12 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.ETags;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -42,19 +47,28 @@ public class CategoryController {
         return categoryRepository.getAllCategories();
     }
 
+    /**
+     * Retrieves several categories by their IDs in one request, e.g. {@code /api/categories?ids=1,2,3}.
+     *
+     * @param ids The IDs of the categories to retrieve.
+     * @return The categories found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public BatchResultDTO<CategoryDTO> getCategoriesByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return categoryRepository.getCategoriesByIds( ids );
+    }
+
     /**
      * Retrieves a category by its ID.
      *
      * @param id The ID of the category to retrieve.
-     * @return A ResponseEntity containing the category if found, otherwise throws a CategoryNotFoundException.
+     * @return A ResponseEntity containing the category and its version as ETag if found, otherwise throws a CategoryNotFoundException.
      */
     @GetMapping( "/{id}" )
     public ResponseEntity<?> getCategoryById (@PathVariable Integer id ) {
-        Optional<CategoryDTO> category = categoryRepository.getCategoryById( id );
-        if ( category.isEmpty() ) {
-            throw new CategoryNotFoundException( "Category with id " + id + " not found" );
-        }
-        return ResponseEntity.ok( category.get() );
+        Versioned<CategoryDTO> category = categoryRepository.getVersionedCategoryById( id )
+                .orElseThrow( () -> new CategoryNotFoundException( "Category with id " + id + " not found" ) );
+        return ResponseEntity.ok().eTag( ETags.of( category.version() ) ).body( category.value() );
     }
 
     /**
@@ -78,18 +92,29 @@ public class CategoryController {
      *
      * @param categoryDTO The CategoryDTO object containing the updated information.
      * @param id The ID of the category to update.
+     * @param ifMatch The ETag of the version the client last read; without it the update is unconditional.
      * @return A ResponseEntity with status NO_CONTENT if the update was successful, or INTERNAL_SERVER_ERROR if failed.
+     * @throws VersionConflictException if the category has been modified since the version in If-Match.
      */
     @ResponseStatus( HttpStatus.NO_CONTENT )
     @PutMapping( "/{id}" )
-    ResponseEntity<?> updateCategory (@Valid @RequestBody CategoryDTO categoryDTO, @PathVariable Integer id ) {
+    ResponseEntity<?> updateCategory (
+            @Valid @RequestBody CategoryDTO categoryDTO,
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<CategoryDTO> category = categoryRepository.getCategoryById( id );
         if ( category.isEmpty() ) {
             throw new CategoryNotFoundException( "Category with id " + id + " not found" );
         }
-        boolean updated = categoryRepository.updateCategory(categoryDTO, id );
+        Long expectedVersion = ETags.expectedVersion( ifMatch, () -> categoryRepository.getCategoryVersion( id ) );
+        boolean updated = categoryRepository.updateCategory( categoryDTO, id, expectedVersion );
         if ( updated ) {
-            return ResponseEntity.ok().build();
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if ( expectedVersion != null ) {
+                response.eTag( ETags.of( expectedVersion + 1 ) );
+            }
+            return response.build();
         }
         return ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR )
                 .body( "Failed to update record" );
@@ -99,16 +124,21 @@ public class CategoryController {
      * Deletes a category by its ID.
      *
      * @param id The ID of the category to delete.
+     * @param ifMatch The ETag of the version the client last read; without it the delete is unconditional.
      * @throws CategoryNotFoundException if the category with the given ID does not exist.
+     * @throws VersionConflictException if the category has been modified since the version in If-Match.
      */
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
-    void deleteCategoryById(@PathVariable Integer id) {
+    void deleteCategoryById(
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<CategoryDTO> category = categoryRepository.getCategoryById( id );
         if ( category.isEmpty() ) {
             throw new CategoryNotFoundException( "Category with id " + id + " not found" );
         }
-        categoryRepository.deleteCategoryById( id );
+        categoryRepository.deleteCategoryById( id, ETags.expectedVersion( ifMatch, () -> categoryRepository.getCategoryVersion( id ) ) );
     }
 
     /**
@@ -1,7 +1,19 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category;
 
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CoherentCache;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.MapperEvent;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -18,16 +30,40 @@ import java.util.*;
 public class CategoryRepository extends BaseRepository<CategoryDTO> {
     private final String tableName = "Category";
     private final JdbcTemplate jdbcTemplate;
+    private final CoherentCache<Integer, Optional<Versioned<CategoryDTO>>> categoryCache;
 
     /**
      * Constructs a CategoryRepository with the provided JdbcClient and JdbcTemplate.
      *
      * @param jdbcClient The JdbcClient instance used for executing SQL queries.
      * @param jdbcTemplate The JdbcTemplate used for querying the database.
+     * @param changeLog The change log writes are published to.
+     * @param readCoalescer The coalescer shared by identical concurrent reads.
+     * @param bulkhead The bulkhead heavy reads are isolated in.
+     * @param cacheCoherence The coherence node that keeps the category cache current across instances.
+     * @param shards The shards categories are replicated to from shard 0.
+     * @param auditLog The audit log writes are recorded in.
+     * @param categoryStats The per-category counts writes are counted in.
      */
-    public CategoryRepository( JdbcClient jdbcClient, JdbcTemplate jdbcTemplate ) {
-        super( jdbcClient, CategoryDTO.class );
+    public CategoryRepository(
+            JdbcClient jdbcClient,
+            JdbcTemplate jdbcTemplate,
+            ChangeLog changeLog,
+            ReadCoalescer readCoalescer,
+            Bulkhead bulkhead,
+            CacheCoherence cacheCoherence,
+            Shards shards,
+            AuditLog auditLog,
+            CategoryStats categoryStats
+    ) {
+        super( jdbcClient, CategoryDTO.class, changeLog, readCoalescer, bulkhead, shards, auditLog, categoryStats );
         this.jdbcTemplate = jdbcTemplate;
+        this.categoryCache = cacheCoherence.newCache( Set.of( tableName ) );
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
     }
 
     /**
@@ -46,7 +82,37 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
      * @return An Optional containing the CategoryDTO if found, otherwise an empty Optional.
      */
     public Optional<CategoryDTO> getCategoryById( Integer id ) {
-        return getById( tableName, id );
+        return getVersionedCategoryById( id ).map( Versioned::value );
+    }
+
+    /**
+     * Retrieves a category by its ID together with the version it was read at.
+     *
+     * @param id The ID of the category to retrieve.
+     * @return The category and its version, or empty if the category does not exist.
+     */
+    public Optional<Versioned<CategoryDTO>> getVersionedCategoryById( Integer id ) {
+        return categoryCache.get( id, key -> getVersionedById( tableName, key ) );
+    }
+
+    /**
+     * Retrieves the current version of a category.
+     *
+     * @param id The ID of the category.
+     * @return The version, or empty if the category does not exist.
+     */
+    public Optional<Long> getCategoryVersion( Integer id ) {
+        return getVersion( tableName, id );
+    }
+
+    /**
+     * Retrieves the categories with the given IDs from the Category table in batched queries.
+     *
+     * @param ids The IDs of the categories to retrieve, in the order they should be returned.
+     * @return The categories found, in request order, and the IDs that do not exist.
+     */
+    public BatchResultDTO<CategoryDTO> getCategoriesByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, CategoryDTO::id );
     }
 
     /**
@@ -71,10 +137,26 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
      * @return true if the category was successfully updated, false otherwise.
      */
     public boolean updateCategory(CategoryDTO categoryDTO, Integer id ) {
+        return updateCategory( categoryDTO, id, null );
+    }
+
+    /**
+     * Updates an existing category record if it is still at the expected version.
+     *
+     * @param categoryDTO The CategoryDTO object containing the updated details.
+     * @param id The ID of the category to update.
+     * @param expectedVersion The version the category must have, or null to update unconditionally.
+     * @return true if the category was successfully updated, false otherwise.
+     * @throws VersionConflictException if the category has been modified since that version.
+     */
+    public boolean updateCategory( CategoryDTO categoryDTO, Integer id, Long expectedVersion ) {
         return updateRecord(
                 tableName,
+                0,
+                id,
+                expectedVersion,
                 List.of( categoryDTO.name(), categoryDTO.description(), id ),
-                "UPDATE " + tableName + " SET name = ?, description = ?, lastUpdated = CURRENT_TIMESTAMP WHERE id = ?"
+                "UPDATE " + tableName + " SET name = ?, description = ?, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?"
         );
     }
 
@@ -84,7 +166,18 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
      * @param id The ID of the category to delete.
      */
     public void deleteCategoryById( Integer id ) {
-        delete( tableName, id );
+        deleteCategoryById( id, null );
+    }
+
+    /**
+     * Deletes a category by its ID if it is still at the expected version.
+     *
+     * @param id The ID of the category to delete.
+     * @param expectedVersion The version the category must have, or null to delete unconditionally.
+     * @throws VersionConflictException if the category has been modified since that version.
+     */
+    public void deleteCategoryById( Integer id, Long expectedVersion ) {
+        delete( tableName, id, expectedVersion );
     }
 
     /**
@@ -100,15 +193,12 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
                    rt.id AS recyclingTipId,
                    rt.title AS title,
                    rt.tip AS tip,
-                   rt.categoryId AS categoryId,
                    rt.lastUpdated AS lastUpdated
             FROM Category c
             LEFT JOIN RecyclingTips rt ON c.id = rt.categoryId
         """;
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList( sql );
-
-        return sqlDataMapperForTips(rows);
+        return heavyRead( "Category.getCategoriesWithTips", () -> sqlDataMapperForTips( jdbcTemplate.queryForList( sql ) ) );
     }
 
     /**
@@ -125,18 +215,19 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
                    rt.id AS recyclingTipId,
                    rt.title AS title,
                    rt.tip AS tip,
-                   rt.categoryId AS categoryId,
                    rt.lastUpdated AS lastUpdated
             FROM Category c
             LEFT JOIN RecyclingTips rt ON c.id = rt.categoryId
             WHERE c.id = ?
         """;
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList( sql, wasteId );
-        if ( rows.isEmpty() ) {
-            return Optional.empty();
-        }
-        return Optional.of( sqlDataMapperForTips( rows ).get( 0 ) );
+        return coalesce( "Category.getCategoryWithTipsById", () -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList( sql, wasteId );
+            if ( rows.isEmpty() ) {
+                return Optional.<CategoryWithTipsDTO>empty();
+            }
+            return Optional.of( sqlDataMapperForTips( rows ).get( 0 ) );
+        }, wasteId );
     }
 
     /**
@@ -146,7 +237,7 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
      * @return A list of CategoryWithTipsDTO objects, each containing a category and its recycling tips.
      */
     private List<CategoryWithTipsDTO> sqlDataMapperForTips(List<Map<String, Object>> rows ) {
-
+        MapperEvent event = MapperEvent.start( "CategoryRepository.sqlDataMapperForTips", rows.size() );
         Map<Integer, CategoryWithTipsDTO> categoryMap = new HashMap<>();
 
         for (Map<String, Object> row : rows) {
@@ -184,6 +275,8 @@ public class CategoryRepository extends BaseRepository<CategoryDTO> {
             }
         }
 
-        return new ArrayList<>( categoryMap.values() );
+        List<CategoryWithTipsDTO> categories = new ArrayList<>( categoryMap.values() );
+        event.finish( categories.size() );
+        return categories;
     }
 }
@@ -1,10 +1,11 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class CategoryNotFoundException extends RuntimeException {
+public class CategoryNotFoundException extends StacklessException {
     public CategoryNotFoundException( String message ) {
         super( message );
     }
@@ -0,0 +1,26 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single committed write to one of the catalog tables.
+ *
+ * @param sequence Monotonically increasing position of the event in the change log.
+ * @param entity The table the write touched (Category, Waste, Disposal or RecyclingTips).
+ * @param action Whether the row was created, updated or deleted.
+ * @param id The ID of the affected row.
+ * @param timestamp When the change was published.
+ */
+public record ChangeEvent(
+        long sequence,
+        String entity,
+        Action action,
+        Integer id,
+        LocalDateTime timestamp
+) {
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,112 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The ChangeLog is the single in-process record of catalog writes. Repositories publish to it
+ * after every successful insert, update or delete, and consumers such as the SSE change stream
+ * subscribe to it instead of polling the database.
+ * The most recent events are kept in a fixed-size ring so that reconnecting clients can resume
+ * from the last sequence they saw.
+ */
+@Component
+public class ChangeLog {
+    private static final Logger log = LoggerFactory.getLogger( ChangeLog.class );
+
+    private final ChangeEvent[] ring;
+    private final Object delivering = new Object();
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private long sequence;
+
+    /**
+     * Constructs a ChangeLog retaining the given number of recent events for replay.
+     *
+     * @param replayCapacity The number of most recent events kept for resuming clients.
+     */
+    public ChangeLog( @Value( "${changes.replay-capacity:1024}" ) int replayCapacity ) {
+        this.ring = new ChangeEvent[ Math.max( 1, replayCapacity ) ];
+    }
+
+    /**
+     * Records a change and hands it to every subscribed listener on the calling thread.
+     * Listeners are expected to be cheap; a failing listener is logged and never fails the write.
+     * <p>
+     * Concurrent publishers are delivered one at a time, under a lock held from assigning the
+     * sequence until the last listener returns, so listeners see events strictly in sequence
+     * order. Replay and the current sequence are guarded by the ring alone and are not held up
+     * by a slow listener.
+     *
+     * @param entity The table the write touched.
+     * @param action The kind of write.
+     * @param id The ID of the affected row.
+     * @return The published event.
+     */
+    public ChangeEvent publish( String entity, ChangeEvent.Action action, Integer id ) {
+        synchronized ( delivering ) {
+            ChangeEvent event;
+            synchronized ( ring ) {
+                event = new ChangeEvent( ++sequence, entity, action, id, LocalDateTime.now() );
+                ring[ ( int ) ( event.sequence() % ring.length ) ] = event;
+            }
+            for ( Consumer<ChangeEvent> listener : listeners ) {
+                try {
+                    listener.accept( event );
+                } catch ( RuntimeException ex ) {
+                    log.warn( "Change listener failed for event {}", event, ex );
+                }
+            }
+            return event;
+        }
+    }
+
+    /**
+     * Registers a listener that is invoked for every event published after registration.
+     *
+     * @param listener The listener to register.
+     */
+    public void subscribe( Consumer<ChangeEvent> listener ) {
+        listeners.add( listener );
+    }
+
+    /**
+     * Returns the sequence of the most recently published event, or 0 if nothing has been published.
+     */
+    public long currentSequence() {
+        synchronized ( ring ) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Returns all events published after the given sequence, if they are still retained.
+     *
+     * @param lastSeen The last sequence the caller has processed.
+     * @return The missed events in order, or an empty Optional if some of them have already
+     *         been evicted and the caller has to resynchronise from the database.
+     */
+    public Optional<List<ChangeEvent>> since( long lastSeen ) {
+        synchronized ( ring ) {
+            if ( lastSeen > sequence ) {
+                return Optional.empty();
+            }
+            if ( sequence - lastSeen > ring.length ) {
+                return Optional.empty();
+            }
+            List<ChangeEvent> missed = new ArrayList<>( ( int ) ( sequence - lastSeen ) );
+            for ( long seq = lastSeen + 1; seq <= sequence; seq++ ) {
+                missed.add( ring[ ( int ) ( seq % ring.length ) ] );
+            }
+            return Optional.of( missed );
+        }
+    }
+}
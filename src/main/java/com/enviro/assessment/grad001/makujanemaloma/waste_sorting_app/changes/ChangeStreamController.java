@@ -0,0 +1,50 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The ChangeStreamController exposes catalog changes as a Server-Sent Events stream so that
+ * clients can react to creates, updates and deletes instead of polling the API.
+ */
+@RestController
+@RequestMapping( "/api/changes" )
+public class ChangeStreamController {
+
+    private final ChangeStreamDispatcher dispatcher;
+    private final long timeoutMillis;
+
+    /**
+     * Constructs a ChangeStreamController.
+     *
+     * @param dispatcher The dispatcher that fans events out to subscribers.
+     * @param timeoutMillis How long a stream stays open before the client has to reconnect.
+     */
+    public ChangeStreamController(
+            ChangeStreamDispatcher dispatcher,
+            @Value( "${changes.stream.timeout-millis:1800000}" ) long timeoutMillis
+    ) {
+        this.dispatcher = dispatcher;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Opens a change stream. Each event carries its change log sequence as the SSE id, so a
+     * reconnecting client that sends {@code Last-Event-ID} receives the events it missed, or a
+     * {@code resync} event if they are no longer retained.
+     *
+     * @param lastEventId The sequence of the last event the client processed, if reconnecting.
+     * @return The emitter streaming change events to the client.
+     */
+    @GetMapping( value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE )
+    public SseEmitter streamChanges( @RequestHeader( value = "Last-Event-ID", required = false ) Long lastEventId ) {
+        SseEmitter emitter = new SseEmitter( timeoutMillis );
+        dispatcher.register( emitter, lastEventId );
+        return emitter;
+    }
+}
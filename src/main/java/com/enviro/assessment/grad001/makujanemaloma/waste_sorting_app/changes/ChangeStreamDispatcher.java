@@ -0,0 +1,262 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans change log events out to Server-Sent Event subscribers.
+ * <p>
+ * A single dispatcher thread takes events off the change log, encodes each one exactly once into
+ * an SSE frame and offers that shared frame to every subscriber's bounded buffer. Writing to the
+ * sockets happens on a small shared writer pool, so a slow client only ever fills its own buffer.
+ * When a buffer overflows it is cleared and the subscriber receives a single {@code resync} event,
+ * telling it to refetch the catalog rather than replaying an unbounded backlog.
+ * <p>
+ * A reconnecting subscriber is replayed what it missed and attached under the same lock the
+ * dispatcher thread broadcasts under, and then skips the events its replay already covered, so
+ * that no event is delivered twice, out of order, or not at all.
+ */
+@Component
+public class ChangeStreamDispatcher {
+    private static final Logger log = LoggerFactory.getLogger( ChangeStreamDispatcher.class );
+
+    private static final Set<DataWithMediaType> RESYNC_FRAME = SseEmitter.event()
+            .name( "resync" )
+            .data( "{}" )
+            .build();
+    private static final Set<DataWithMediaType> HEARTBEAT_FRAME = SseEmitter.event()
+            .comment( "heartbeat" )
+            .build();
+
+    private final ChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final int subscriberBufferSize;
+    private final long heartbeatSeconds;
+    private final BlockingQueue<ChangeEvent> inbound;
+    private final AtomicBoolean inboundOverflowed = new AtomicBoolean();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Object broadcasting = new Object();
+    private final ExecutorService writers;
+    private Thread dispatcherThread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a ChangeStreamDispatcher.
+     *
+     * @param changeLog The change log to follow.
+     * @param objectMapper The mapper used to encode events, once per event.
+     * @param inboundCapacity The number of events that may wait for the dispatcher thread.
+     * @param subscriberBufferSize The number of frames buffered per subscriber before it is resynced.
+     * @param writerThreads The number of threads writing frames to subscriber connections.
+     * @param heartbeatSeconds The idle interval after which a heartbeat comment is sent.
+     */
+    public ChangeStreamDispatcher(
+            ChangeLog changeLog,
+            ObjectMapper objectMapper,
+            @Value( "${changes.stream.inbound-capacity:4096}" ) int inboundCapacity,
+            @Value( "${changes.stream.subscriber-buffer:256}" ) int subscriberBufferSize,
+            @Value( "${changes.stream.writer-threads:4}" ) int writerThreads,
+            @Value( "${changes.stream.heartbeat-seconds:15}" ) long heartbeatSeconds
+    ) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.inbound = new ArrayBlockingQueue<>( inboundCapacity );
+        this.writers = Executors.newFixedThreadPool( writerThreads, runnable -> {
+            Thread thread = new Thread( runnable, "change-stream-writer" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        changeLog.subscribe( this::enqueue );
+        dispatcherThread = new Thread( this::dispatchLoop, "change-stream-dispatcher" );
+        dispatcherThread.setDaemon( true );
+        dispatcherThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        dispatcherThread.interrupt();
+        writers.shutdownNow();
+        subscribers.forEach( subscriber -> subscriber.emitter.complete() );
+        subscribers.clear();
+    }
+
+    /**
+     * Registers a new subscriber. Events missed since {@code lastEventId} are replayed if they are
+     * still held by the change log; otherwise the subscriber starts with a {@code resync} event.
+     *
+     * @param emitter The emitter bound to the client connection.
+     * @param lastEventId The last sequence the client saw, or null for a fresh connection.
+     */
+    public void register( SseEmitter emitter, Long lastEventId ) {
+        Subscriber subscriber;
+        synchronized ( broadcasting ) {
+            // Events up to the current sequence are either replayed here or were missed for good; the
+            // dispatcher may still hold some of them, and skips them for this subscriber.
+            long current = changeLog.currentSequence();
+            Optional<List<ChangeEvent>> missed = lastEventId != null ? changeLog.since( lastEventId ) : Optional.of( List.of() );
+            long replayedThrough = missed.filter( events -> !events.isEmpty() )
+                    .map( events -> events.get( events.size() - 1 ).sequence() )
+                    .orElse( current );
+            subscriber = new Subscriber( emitter, subscriberBufferSize, replayedThrough );
+            missed.ifPresentOrElse(
+                    events -> events.forEach( event -> subscriber.offer( encode( event ) ) ),
+                    () -> subscriber.overflowed = true
+            );
+            subscribers.add( subscriber );
+        }
+        emitter.onCompletion( () -> subscribers.remove( subscriber ) );
+        emitter.onTimeout( () -> subscribers.remove( subscriber ) );
+        emitter.onError( error -> subscribers.remove( subscriber ) );
+
+        if ( lastEventId != null ) {
+            schedule( subscriber );
+        }
+    }
+
+    /**
+     * Returns the number of currently connected subscribers.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void enqueue( ChangeEvent event ) {
+        if ( !inbound.offer( event ) ) {
+            inboundOverflowed.set( true );
+        }
+    }
+
+    private void dispatchLoop() {
+        while ( running ) {
+            try {
+                ChangeEvent event = inbound.poll( heartbeatSeconds, TimeUnit.SECONDS );
+                if ( inboundOverflowed.getAndSet( false ) ) {
+                    inbound.clear();
+                    broadcastResync();
+                    continue;
+                }
+                if ( event != null ) {
+                    broadcast( event.sequence(), encode( event ) );
+                } else {
+                    // Heartbeats are never replayed, so every subscriber is sent them.
+                    broadcast( Long.MAX_VALUE, HEARTBEAT_FRAME );
+                }
+            } catch ( InterruptedException ex ) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch ( RuntimeException ex ) {
+                log.warn( "Change stream dispatch failed", ex );
+            }
+        }
+    }
+
+    private void broadcast( long sequence, Set<DataWithMediaType> frame ) {
+        synchronized ( broadcasting ) {
+            for ( Subscriber subscriber : subscribers ) {
+                if ( sequence > subscriber.replayedThrough ) {
+                    subscriber.offer( frame );
+                    schedule( subscriber );
+                }
+            }
+        }
+    }
+
+    private void broadcastResync() {
+        synchronized ( broadcasting ) {
+            for ( Subscriber subscriber : subscribers ) {
+                subscriber.buffer.clear();
+                subscriber.overflowed = true;
+                schedule( subscriber );
+            }
+        }
+    }
+
+    private Set<DataWithMediaType> encode( ChangeEvent event ) {
+        try {
+            return SseEmitter.event()
+                    .id( Long.toString( event.sequence() ) )
+                    .name( event.action().name().toLowerCase() )
+                    .data( objectMapper.writeValueAsString( event ) )
+                    .build();
+        } catch ( JsonProcessingException ex ) {
+            throw new IllegalStateException( "Failed to encode change event " + event.sequence(), ex );
+        }
+    }
+
+    private void schedule( Subscriber subscriber ) {
+        if ( subscriber.scheduled.compareAndSet( false, true ) ) {
+            writers.execute( () -> drain( subscriber ) );
+        }
+    }
+
+    private void drain( Subscriber subscriber ) {
+        try {
+            if ( subscriber.overflowed ) {
+                subscriber.overflowed = false;
+                subscriber.emitter.send( RESYNC_FRAME );
+            }
+            Set<DataWithMediaType> frame;
+            while ( ( frame = subscriber.buffer.poll() ) != null ) {
+                subscriber.emitter.send( frame );
+            }
+        } catch ( IOException | IllegalStateException ex ) {
+            subscribers.remove( subscriber );
+            subscriber.emitter.completeWithError( ex );
+            return;
+        } finally {
+            subscriber.scheduled.set( false );
+        }
+        if ( !subscriber.buffer.isEmpty() || subscriber.overflowed ) {
+            schedule( subscriber );
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final long replayedThrough;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber( SseEmitter emitter, int bufferSize, long replayedThrough ) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>( bufferSize );
+            this.replayedThrough = replayedThrough;
+        }
+
+        private void offer( Set<DataWithMediaType> frame ) {
+            if ( !buffer.offer( frame ) ) {
+                buffer.clear();
+                overflowed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+
+import java.util.List;
+
+/**
+ * The answer to "where does this go?": the best matching waste item with its category and
+ * disposal instructions, plus the runner-up candidates.
+ */
+public record ClassificationDTO(
+        String query,
+        double score,
+        WasteDTO waste,
+        CategoryDTO category,
+        List<DisposalDTO> disposals,
+        List<Candidate> alternatives
+) {
+    public record Candidate(
+            Integer wasteId,
+            String name,
+            double score
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.exceptions.NoMatchFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The ClassifyController answers "where does this go?" for free-text item descriptions.
+ */
+@RestController
+@RequestMapping( "/api/classify" )
+public class ClassifyController {
+
+    private final WasteClassifier wasteClassifier;
+
+    /**
+     * Constructs a ClassifyController.
+     *
+     * @param wasteClassifier The in-memory classifier.
+     */
+    public ClassifyController( WasteClassifier wasteClassifier ) {
+        this.wasteClassifier = wasteClassifier;
+    }
+
+    /**
+     * Classifies a free-text description, e.g. {@code /api/classify?q=greasy pizza box}.
+     *
+     * @param query The description of the item.
+     * @return A ResponseEntity containing the best matching waste item with its category and disposals.
+     * @throws NoMatchFoundException if no waste item matches the description.
+     */
+    @GetMapping( "" )
+    public ResponseEntity<?> classify( @RequestParam( "q" ) String query ) {
+        return ResponseEntity.ok( wasteClassifier.classify( query )
+                .orElseThrow( () -> new NoMatchFoundException( "No waste item matches '" + query + "'" ) ) );
+    }
+}
@@ -0,0 +1,164 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory inverted index over word tokens and character trigrams.
+ * <p>
+ * Each document is a set of weighted text fields. Whole tokens and the trigrams of each token
+ * (padded with word boundaries, so {@code box} yields {@code ^bo}, {@code box} and {@code ox$}) are
+ * posted with the field's weight. Queries are scored by summing, over their features, the document
+ * weight times the feature's inverse document frequency, normalised by document length. Trigrams
+ * make the match tolerant to plurals and small spelling differences.
+ * <p>
+ * Documents can be added, replaced and removed at any time; readers and writers are coordinated
+ * by a read-write lock.
+ */
+public class NGramIndex {
+    private static final float TOKEN_BOOST = 2.0f;
+
+    private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+    private final Map<Integer, Map<String, Float>> documents = new HashMap<>();
+    private final Map<Integer, Double> norms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A text field of a document together with its weight.
+     */
+    public record Field( String text, float weight ) {
+    }
+
+    /**
+     * A scored document.
+     */
+    public record Hit( int id, double score ) {
+    }
+
+    /**
+     * Adds a document, replacing any previous version with the same ID.
+     *
+     * @param id The document ID.
+     * @param fields The weighted text fields of the document.
+     */
+    public void put( int id, List<Field> fields ) {
+        Map<String, Float> features = new HashMap<>();
+        for ( Field field : fields ) {
+            addFeatures( field.text(), field.weight(), features );
+        }
+        double norm = Math.sqrt( features.values().stream().mapToDouble( weight -> weight * weight ).sum() );
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked( id );
+            documents.put( id, features );
+            norms.put( id, norm == 0 ? 1.0 : norm );
+            features.forEach( ( feature, weight ) -> postings.computeIfAbsent( feature, key -> new HashMap<>() ).put( id, weight ) );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document if it is present.
+     *
+     * @param id The document ID.
+     */
+    public void remove( int id ) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked( id );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores all documents against the query and returns the best ones.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of hits to return.
+     * @return The hits in descending score order; documents sharing no feature with the query are not returned.
+     */
+    public List<Hit> search( String query, int limit ) {
+        Map<String, Float> queryFeatures = new HashMap<>();
+        addFeatures( query, 1.0f, queryFeatures );
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            for ( Map.Entry<String, Float> queryFeature : queryFeatures.entrySet() ) {
+                Map<Integer, Float> posting = postings.get( queryFeature.getKey() );
+                if ( posting == null ) {
+                    continue;
+                }
+                double idf = Math.log( 1.0 + ( double ) documentCount / posting.size() );
+                double queryWeight = queryFeature.getValue() * idf;
+                for ( Map.Entry<Integer, Float> entry : posting.entrySet() ) {
+                    scores.merge( entry.getKey(), queryWeight * entry.getValue() * idf, Double::sum );
+                }
+            }
+            List<Hit> hits = new ArrayList<>( scores.size() );
+            scores.forEach( ( id, score ) -> hits.add( new Hit( id, score / norms.get( id ) ) ) );
+            hits.sort( Comparator.comparingDouble( Hit::score ).reversed() );
+            return hits.size() > limit ? new ArrayList<>( hits.subList( 0, limit ) ) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeUnlocked( int id ) {
+        Map<String, Float> features = documents.remove( id );
+        norms.remove( id );
+        if ( features == null ) {
+            return;
+        }
+        for ( String feature : features.keySet() ) {
+            Map<Integer, Float> posting = postings.get( feature );
+            if ( posting != null ) {
+                posting.remove( id );
+                if ( posting.isEmpty() ) {
+                    postings.remove( feature );
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-case alphanumeric tokens and posts each token and its trigrams.
+     */
+    static void addFeatures( String text, float weight, Map<String, Float> features ) {
+        if ( text == null ) {
+            return;
+        }
+        for ( String token : text.toLowerCase( Locale.ROOT ).split( "[^\\p{Alnum}]+" ) ) {
+            if ( token.length() < 2 ) {
+                continue;
+            }
+            features.merge( "w:" + token, weight * TOKEN_BOOST, Float::sum );
+            String padded = "^" + token + "$";
+            for ( int i = 0; i + 3 <= padded.length(); i++ ) {
+                features.merge( padded.substring( i, i + 3 ), weight, Float::sum );
+            }
+        }
+    }
+}
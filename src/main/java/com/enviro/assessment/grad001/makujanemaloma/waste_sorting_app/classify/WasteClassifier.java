@@ -0,0 +1,244 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Classifies free-text item descriptions such as "greasy pizza box" against the waste catalog.
+ * <p>
+ * The classifier keeps an {@link NGramIndex} over waste names, waste descriptions and category
+ * descriptions, plus the category and disposals of every waste item, entirely in memory, so a
+ * classification never touches the database. The index is built when the application is ready and
+ * then maintained incrementally from the {@link ChangeLog} on a single background thread.
+ */
+@Component
+public class WasteClassifier {
+    private static final Logger log = LoggerFactory.getLogger( WasteClassifier.class );
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float CATEGORY_WEIGHT = 0.5f;
+    private static final int ALTERNATIVES = 3;
+
+    private final WasteRepository wasteRepository;
+    private final CategoryRepository categoryRepository;
+    private final DisposalRepository disposalRepository;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "classifier-indexer" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    private volatile NGramIndex index = new NGramIndex();
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> disposalOwners = new ConcurrentHashMap<>();
+    private final AtomicBoolean remoteRebuildQueued = new AtomicBoolean();
+
+    private record Entry( WasteDTO waste, CategoryDTO category, List<DisposalDTO> disposals ) {
+    }
+
+    /**
+     * Constructs a WasteClassifier.
+     *
+     * @param wasteRepository The repository waste items are indexed from.
+     * @param categoryRepository The repository categories are indexed from.
+     * @param disposalRepository The repository disposals are loaded from.
+     * @param changeLog The change log that keeps the index current.
+     * @param cacheCoherence The coherence node that reports writes made by other instances.
+     */
+    public WasteClassifier(
+            WasteRepository wasteRepository,
+            CategoryRepository categoryRepository,
+            DisposalRepository disposalRepository,
+            ChangeLog changeLog,
+            CacheCoherence cacheCoherence
+    ) {
+        this.wasteRepository = wasteRepository;
+        this.categoryRepository = categoryRepository;
+        this.disposalRepository = disposalRepository;
+        changeLog.subscribe( event -> indexer.execute( () -> apply( event ) ) );
+        cacheCoherence.onRemoteInvalidation( Set.of( "Waste", "Category", "Disposal" ), entity -> scheduleRemoteRebuild() );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    void buildIndex() {
+        indexer.execute( this::rebuild );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    /**
+     * Finds the waste item that best matches a free-text description.
+     *
+     * @param query The description, e.g. "greasy pizza box".
+     * @return The best match with its category and disposals, or empty if nothing matches.
+     */
+    public Optional<ClassificationDTO> classify( String query ) {
+        List<NGramIndex.Hit> hits = index.search( query, ALTERNATIVES + 1 );
+        List<Entry> matched = new ArrayList<>( hits.size() );
+        List<NGramIndex.Hit> matchedHits = new ArrayList<>( hits.size() );
+        for ( NGramIndex.Hit hit : hits ) {
+            Entry entry = entries.get( hit.id() );
+            if ( entry != null ) {
+                matched.add( entry );
+                matchedHits.add( hit );
+            }
+        }
+        if ( matched.isEmpty() ) {
+            return Optional.empty();
+        }
+
+        List<ClassificationDTO.Candidate> alternatives = new ArrayList<>();
+        for ( int i = 1; i < matched.size(); i++ ) {
+            WasteDTO waste = matched.get( i ).waste();
+            alternatives.add( new ClassificationDTO.Candidate( waste.id(), waste.name(), matchedHits.get( i ).score() ) );
+        }
+        Entry best = matched.get( 0 );
+        return Optional.of( new ClassificationDTO(
+                query,
+                matchedHits.get( 0 ).score(),
+                best.waste(),
+                best.category(),
+                best.disposals(),
+                alternatives
+        ) );
+    }
+
+    /**
+     * Rebuilds the whole index from the database and swaps it in.
+     */
+    void rebuild() {
+        Map<Integer, CategoryDTO> categories = categoryRepository.getAllCategories().stream()
+                .collect( Collectors.toMap( CategoryDTO::id, category -> category ) );
+        Map<Integer, List<DisposalDTO>> disposals = disposalRepository.getAllDisposals().stream()
+                .collect( Collectors.groupingBy( DisposalDTO::wasteId ) );
+
+        NGramIndex rebuilt = new NGramIndex();
+        Map<Integer, Entry> rebuiltEntries = new ConcurrentHashMap<>();
+        for ( WasteDTO waste : wasteRepository.getAllWaste() ) {
+            Entry entry = new Entry( waste, categories.get( waste.categoryId() ), disposals.getOrDefault( waste.id(), List.of() ) );
+            rebuilt.put( waste.id(), fields( entry ) );
+            rebuiltEntries.put( waste.id(), entry );
+        }
+
+        index = rebuilt;
+        entries.keySet().retainAll( rebuiltEntries.keySet() );
+        entries.putAll( rebuiltEntries );
+        disposalOwners.clear();
+        disposals.values().forEach( list -> list.forEach( disposal -> disposalOwners.put( disposal.id(), disposal.wasteId() ) ) );
+        log.info( "Classifier index built with {} waste items", rebuilt.size() );
+    }
+
+    /**
+     * Queues a full rebuild after another instance wrote the catalog: its change events never
+     * reach this instance's ChangeLog. A burst of invalidations collapses into one rebuild.
+     */
+    private void scheduleRemoteRebuild() {
+        if ( remoteRebuildQueued.compareAndSet( false, true ) ) {
+            indexer.execute( () -> {
+                remoteRebuildQueued.set( false );
+                rebuild();
+            } );
+        }
+    }
+
+    private void apply( ChangeEvent event ) {
+        try {
+            switch ( event.entity() ) {
+                case "Waste" -> refreshWaste( event.id() );
+                case "Category" -> rebuild();
+                case "Disposal" -> refreshDisposal( event );
+                default -> { }
+            }
+        } catch ( RuntimeException ex ) {
+            log.warn( "Failed to apply {} to the classifier index, rebuilding", event, ex );
+            rebuild();
+        }
+    }
+
+    /**
+     * Deleting a waste item publishes a DELETED event for each of its disposals before its own, so a
+     * deleted disposal is simply dropped from its owner's entry without reading the database; the
+     * owner itself is removed by its own event.
+     */
+    private void refreshDisposal( ChangeEvent event ) {
+        Integer previousOwner = disposalOwners.remove( event.id() );
+        if ( event.action() == ChangeEvent.Action.DELETED ) {
+            if ( previousOwner != null ) {
+                entries.computeIfPresent( previousOwner, ( wasteId, entry ) -> new Entry( entry.waste(), entry.category(),
+                        entry.disposals().stream().filter( disposal -> !disposal.id().equals( event.id() ) ).toList() ) );
+            }
+            return;
+        }
+        disposalRepository.getDisposal( event.id() ).ifPresent( disposal -> refreshWaste( disposal.wasteId() ) );
+        if ( previousOwner != null ) {
+            refreshWaste( previousOwner );
+        }
+    }
+
+    /**
+     * Reloads one waste item. The owners of its disposals are kept in step with its entry, so that
+     * they are forgotten with it when it is deleted.
+     */
+    private void refreshWaste( Integer wasteId ) {
+        Optional<WasteDTO> waste = wasteRepository.getWaste( wasteId );
+        if ( waste.isEmpty() ) {
+            index.remove( wasteId );
+            forgetDisposals( wasteId, entries.remove( wasteId ) );
+            return;
+        }
+        CategoryDTO category = categoryRepository.getCategoryById( waste.get().categoryId() ).orElse( null );
+        List<DisposalDTO> disposals = disposalRepository.getDisposalsByWasteIds( List.of( wasteId ) ).getOrDefault( wasteId, List.of() );
+        Entry entry = new Entry( waste.get(), category, disposals );
+        forgetDisposals( wasteId, entries.put( wasteId, entry ) );
+        disposals.forEach( disposal -> disposalOwners.put( disposal.id(), wasteId ) );
+        index.put( wasteId, fields( entry ) );
+    }
+
+    /**
+     * Forgets the owner of every disposal of a previous entry that still points at it; a disposal
+     * that moved to another waste item keeps its new owner.
+     */
+    private void forgetDisposals( Integer wasteId, Entry previous ) {
+        if ( previous != null ) {
+            previous.disposals().forEach( disposal -> disposalOwners.remove( disposal.id(), wasteId ) );
+        }
+    }
+
+    private static List<NGramIndex.Field> fields( Entry entry ) {
+        List<NGramIndex.Field> fields = new ArrayList<>( 3 );
+        fields.add( new NGramIndex.Field( entry.waste().name(), NAME_WEIGHT ) );
+        fields.add( new NGramIndex.Field( entry.waste().description(), DESCRIPTION_WEIGHT ) );
+        if ( entry.category() != null ) {
+            fields.add( new NGramIndex.Field( entry.category().name() + " " + entry.category().description(), CATEGORY_WEIGHT ) );
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.exceptions;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class NoMatchFoundException extends StacklessException {
+    public NoMatchFoundException( String message ) {
+        super( message );
+    }
+}
@@ -0,0 +1,110 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The ReadCoalescer collapses concurrent identical repository reads into a single execution.
+ * <p>
+ * Calls are keyed by method name and arguments. The first caller runs the query; callers arriving
+ * while it is in flight wait for and share its result, or its exception. Nothing is cached once the
+ * query completes. Every write published to the {@link ChangeLog} advances a generation that is part
+ * of the key, so a read that starts after a write never joins a query that started before it.
+ * <p>
+ * Shared results are handed to several callers and must be treated as read-only.
+ * Metrics are exported as {@code repository.coalescing.calls}, tagged by method and by whether the
+ * call {@code executed} the query or {@code joined} one already in flight.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> joinedCounters = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a ReadCoalescer.
+     *
+     * @param changeLog The change log whose writes invalidate in-flight reads for new callers.
+     * @param meterRegistry The registry coalescing metrics are published to.
+     */
+    public ReadCoalescer( ChangeLog changeLog, MeterRegistry meterRegistry ) {
+        this.meterRegistry = meterRegistry;
+        changeLog.subscribe( event -> generation.incrementAndGet() );
+        Gauge.builder( "repository.coalescing.in-flight", inFlight, Map::size )
+                .description( "Distinct repository reads currently executing" )
+                .register( meterRegistry );
+    }
+
+    /**
+     * Runs the loader, or joins an identical call that is already in flight.
+     *
+     * @param method The name identifying the read, usually the repository method.
+     * @param loader The query to run if no identical call is in flight.
+     * @param args The arguments of the read; together with the method they form the key.
+     * @param <T> The result type.
+     * @return The result of the shared execution.
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T coalesce( String method, Supplier<T> loader, Object... args ) {
+        Key key = new Key( method, Arrays.asList( args ), generation.get() );
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent( key, mine );
+        if ( existing != null ) {
+            counter( joinedCounters, method, "joined" ).increment();
+            return ( T ) await( existing );
+        }
+
+        counter( executedCounters, method, "executed" ).increment();
+        try {
+            T result = loader.get();
+            mine.complete( result );
+            return result;
+        } catch ( RuntimeException | Error ex ) {
+            mine.completeExceptionally( ex );
+            throw ex;
+        } finally {
+            inFlight.remove( key, mine );
+        }
+    }
+
+    private Object await( CompletableFuture<Object> future ) {
+        try {
+            return future.join();
+        } catch ( CompletionException ex ) {
+            Throwable cause = ex.getCause();
+            if ( cause instanceof RuntimeException runtimeException ) {
+                throw runtimeException;
+            }
+            if ( cause instanceof Error error ) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter( Map<String, Counter> counters, String method, String outcome ) {
+        return counters.computeIfAbsent( method, name -> Counter.builder( "repository.coalescing.calls" )
+                .description( "Repository reads, by whether they executed a query or joined one in flight" )
+                .tag( "method", name )
+                .tag( "outcome", outcome )
+                .register( meterRegistry ) );
+    }
+
+    private record Key( String method, List<Object> args, long generation ) {
+    }
+}
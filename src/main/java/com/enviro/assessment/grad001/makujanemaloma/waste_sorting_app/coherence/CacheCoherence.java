@@ -0,0 +1,210 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps in-process caches coherent when several instances share one database.
+ * <p>
+ * Every local write published to the {@link ChangeLog} bumps the entity's counter in the
+ * {@link GenerationTable} and is announced to the other instances over the
+ * {@link InvalidationTransport}. Each instance remembers the last generation it has seen per
+ * entity and invalidates its caches of an entity when a message or a poll of the table shows a
+ * newer one. Messages make invalidation fast; the poll, every {@code coherence.poll-interval-ms},
+ * makes it certain. A cache that consults {@link #isFresh()} therefore never serves data older
+ * than about one poll interval, and stops serving from memory altogether while the table cannot
+ * be read.
+ */
+@Component
+public class CacheCoherence {
+    private static final Logger log = LoggerFactory.getLogger( CacheCoherence.class );
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final GenerationTable generationTable;
+    private final InvalidationTransport transport;
+    private final long pollIntervalMillis;
+    private final boolean cachesEnabled;
+    private final int cacheMaxEntries;
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "coherence-poller" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    private volatile long lastPollNanos = Long.MIN_VALUE;
+    private volatile boolean polled;
+
+    private record Registration( Set<String> entities, Consumer<String> listener, boolean remoteOnly ) {
+    }
+
+    /**
+     * Constructs a CacheCoherence node.
+     *
+     * @param changeLog The change log local writes are read from.
+     * @param generationTable The shared table of entity generations.
+     * @param transport The transport invalidations are exchanged over.
+     * @param pollIntervalMillis How often the generation table is polled, which bounds staleness.
+     * @param cachesEnabled Whether caches created by {@link #newCache(Set)} hold values at all.
+     * @param cacheMaxEntries The size at which a cache created by {@link #newCache(Set)} is cleared.
+     */
+    public CacheCoherence(
+            ChangeLog changeLog,
+            GenerationTable generationTable,
+            InvalidationTransport transport,
+            @Value( "${coherence.poll-interval-ms:1000}" ) long pollIntervalMillis,
+            @Value( "${coherence.cache.enabled:false}" ) boolean cachesEnabled,
+            @Value( "${coherence.cache.max-entries:10000}" ) int cacheMaxEntries
+    ) {
+        this.generationTable = generationTable;
+        this.transport = transport;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.cachesEnabled = cachesEnabled;
+        this.cacheMaxEntries = cacheMaxEntries;
+        changeLog.subscribe( this::onLocalWrite );
+        transport.subscribe( this::onInvalidation );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    void startPolling() {
+        poller.scheduleWithFixedDelay( this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Creates a cache that is invalidated with the given entities. Whether it holds values is
+     * controlled by {@code coherence.cache.enabled}.
+     *
+     * @param entities The entities the cached values are built from.
+     * @return The cache.
+     */
+    public <K, V> CoherentCache<K, V> newCache( Set<String> entities ) {
+        return new CoherentCache<>( this, entities, cachesEnabled, cacheMaxEntries );
+    }
+
+    /**
+     * Registers a listener invoked whenever an entity's caches become stale, whether the write
+     * happened on this instance or another one. Intended for caches.
+     *
+     * @param entities The entities the listener depends on.
+     * @param listener Receives the name of the stale entity; must be cheap.
+     */
+    public void onInvalidation( Set<String> entities, Consumer<String> listener ) {
+        registrations.add( new Registration( Set.copyOf( entities ), listener, false ) );
+    }
+
+    /**
+     * Registers a listener invoked only when another instance wrote an entity. Intended for
+     * read models that already follow local writes through the {@link ChangeLog}.
+     *
+     * @param entities The entities the listener depends on.
+     * @param listener Receives the name of the stale entity; must be cheap.
+     */
+    public void onRemoteInvalidation( Set<String> entities, Consumer<String> listener ) {
+        registrations.add( new Registration( Set.copyOf( entities ), listener, true ) );
+    }
+
+    /**
+     * @return true if the generation table was read successfully within the last two poll
+     *         intervals, so that remote writes are known to be reflected within the staleness bound.
+     */
+    public boolean isFresh() {
+        return polled && System.nanoTime() - lastPollNanos <= TimeUnit.MILLISECONDS.toNanos( 2 * pollIntervalMillis );
+    }
+
+    /**
+     * @return The ID identifying this instance in invalidation messages.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Reads the generation table and invalidates every entity that moved since it was last seen.
+     * Runs every poll interval once the application is ready.
+     */
+    public void poll() {
+        try {
+            generationTable.generations().forEach( ( entity, generation ) -> advance( entity, generation, true ) );
+            lastPollNanos = System.nanoTime();
+            polled = true;
+        } catch ( RuntimeException ex ) {
+            log.warn( "Failed to poll cache generations", ex );
+        }
+    }
+
+    private void onLocalWrite( ChangeEvent event ) {
+        notify( event.entity(), false );
+        long generation;
+        try {
+            generation = generationTable.bump( event.entity() );
+        } catch ( RuntimeException ex ) {
+            // Without a bump other instances cannot see the write; the write itself has succeeded.
+            log.warn( "Failed to bump the cache generation for {}", event, ex );
+            return;
+        }
+        seen.merge( event.entity(), generation, Math::max );
+        transport.publish( new Invalidation( nodeId, event.entity(), generation ) );
+    }
+
+    private void onInvalidation( Invalidation invalidation ) {
+        if ( !nodeId.equals( invalidation.nodeId() ) ) {
+            advance( invalidation.entity(), invalidation.generation(), true );
+        }
+    }
+
+    /**
+     * Records a generation and notifies listeners if it is newer than the last one seen.
+     */
+    private void advance( String entity, long generation, boolean remote ) {
+        Long previous = seen.get( entity );
+        while ( previous == null || previous < generation ) {
+            boolean updated = previous == null
+                    ? seen.putIfAbsent( entity, generation ) == null
+                    : seen.replace( entity, previous, generation );
+            if ( updated ) {
+                // The first poll only establishes the baseline; nothing cached before it is served.
+                if ( previous != null || polled ) {
+                    notify( entity, remote );
+                }
+                return;
+            }
+            previous = seen.get( entity );
+        }
+    }
+
+    private void notify( String entity, boolean remote ) {
+        for ( Registration registration : registrations ) {
+            if ( registration.entities().contains( entity ) && ( remote || !registration.remoteOnly() ) ) {
+                try {
+                    registration.listener().accept( entity );
+                } catch ( RuntimeException ex ) {
+                    log.warn( "Invalidation listener failed for {}", entity, ex );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the in-JVM invalidation transport unless another {@link InvalidationTransport} bean,
+ * such as one backed by a message broker, is defined. With the in-JVM transport instances only
+ * learn about each other's writes by polling the generation table.
+ */
+@Configuration
+public class CoherenceConfig {
+
+    /**
+     * @return The default invalidation transport.
+     */
+    @Bean
+    @ConditionalOnMissingBean( InvalidationTransport.class )
+    public InvalidationTransport invalidationTransport() {
+        return new InJvmInvalidationTransport();
+    }
+}
@@ -0,0 +1,94 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * An in-process read-through cache that is dropped whenever one of the entities its values are
+ * built from is written, on this instance or any other. Values are only served while
+ * {@link CacheCoherence#isFresh()} holds; otherwise every read goes to the loader.
+ * <p>
+ * A load that overlaps an invalidation is returned to its caller but not stored, so a value read
+ * before a write can never be cached after the invalidation for that write.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class CoherentCache<K, V> {
+    private final CacheCoherence coherence;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * Constructs a CoherentCache and registers it for invalidation.
+     *
+     * @param coherence The coherence node that reports stale entities.
+     * @param entities The entities the cached values are built from.
+     * @param enabled Whether values are cached at all; a disabled cache always calls the loader.
+     * @param maxEntries The number of entries after which the cache is cleared rather than grown.
+     */
+    public CoherentCache( CacheCoherence coherence, Set<String> entities, boolean enabled, int maxEntries ) {
+        this.coherence = coherence;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        if ( enabled ) {
+            coherence.onInvalidation( entities, entity -> invalidateAll() );
+        }
+    }
+
+    /**
+     * Returns the cached value for a key, loading and caching it if absent.
+     *
+     * @param key The key.
+     * @param loader Loads the value on a miss. Null values are returned but not cached.
+     * @return The value.
+     */
+    public V get( K key, Function<K, V> loader ) {
+        if ( !enabled ) {
+            return loader.apply( key );
+        }
+        if ( !coherence.isFresh() ) {
+            if ( !values.isEmpty() ) {
+                invalidateAll();
+            }
+            return loader.apply( key );
+        }
+
+        V value = values.get( key );
+        if ( value != null ) {
+            return value;
+        }
+        long loadEpoch = epoch.get();
+        value = loader.apply( key );
+        if ( value != null ) {
+            if ( values.size() >= maxEntries ) {
+                values.clear();
+            }
+            values.put( key, value );
+            if ( epoch.get() != loadEpoch ) {
+                values.remove( key, value );
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        values.clear();
+    }
+
+    /**
+     * @return The number of cached values.
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The CacheGeneration table holds one counter per entity, bumped on every write to that entity by
+ * any instance. Because the table lives in the shared database, comparing it with the generations
+ * an instance has already seen tells the instance which of its caches are stale, whatever
+ * happened to the invalidation messages.
+ */
+@Component
+public class GenerationTable {
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Constructs a GenerationTable.
+     *
+     * @param jdbcClient The JdbcClient used for executing SQL queries.
+     */
+    public GenerationTable( JdbcClient jdbcClient ) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Increments the generation of an entity, creating its row on first use.
+     *
+     * @param entity The entity that was written.
+     * @return The generation after the increment; a concurrent bump by another instance may make it larger than one more than before.
+     */
+    public long bump( String entity ) {
+        if ( increment( entity ) == 0 ) {
+            try {
+                jdbcClient.sql( "INSERT INTO CacheGeneration ( entity, generation, lastUpdated ) VALUES ( :entity, 1, CURRENT_TIMESTAMP )" )
+                        .param( "entity", entity )
+                        .update();
+                return 1;
+            } catch ( DuplicateKeyException ex ) {
+                // Another instance created the row first.
+                increment( entity );
+            }
+        }
+        return jdbcClient.sql( "SELECT generation FROM CacheGeneration WHERE entity = :entity" )
+                .param( "entity", entity )
+                .query( Long.class )
+                .single();
+    }
+
+    /**
+     * @return The current generation of every entity that has been written.
+     */
+    public Map<String, Long> generations() {
+        Map<String, Long> generations = new HashMap<>();
+        jdbcClient.sql( "SELECT entity, generation FROM CacheGeneration" )
+                .query( rs -> {
+                    generations.put( rs.getString( "entity" ), rs.getLong( "generation" ) );
+                } );
+        return generations;
+    }
+
+    private int increment( String entity ) {
+        return jdbcClient.sql( "UPDATE CacheGeneration SET generation = generation + 1, lastUpdated = CURRENT_TIMESTAMP WHERE entity = :entity" )
+                .param( "entity", entity )
+                .update();
+    }
+}
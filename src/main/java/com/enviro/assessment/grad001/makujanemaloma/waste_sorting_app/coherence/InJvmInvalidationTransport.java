@@ -0,0 +1,35 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to listeners in the same JVM, synchronously on the publishing thread.
+ * It is the default transport for a single instance, where it only loops back, and the stand-in
+ * for tests that run several {@link CacheCoherence} nodes against one shared transport.
+ */
+public class InJvmInvalidationTransport implements InvalidationTransport {
+    private static final Logger log = LoggerFactory.getLogger( InJvmInvalidationTransport.class );
+
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish( Invalidation invalidation ) {
+        for ( Consumer<Invalidation> listener : listeners ) {
+            try {
+                listener.accept( invalidation );
+            } catch ( RuntimeException ex ) {
+                log.warn( "Invalidation listener failed for {}", invalidation, ex );
+            }
+        }
+    }
+
+    @Override
+    public void subscribe( Consumer<Invalidation> listener ) {
+        listeners.add( listener );
+    }
+}
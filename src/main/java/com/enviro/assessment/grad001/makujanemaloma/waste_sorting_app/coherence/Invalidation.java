@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+/**
+ * Tells the other instances that an entity was written and their caches of it are stale.
+ *
+ * @param nodeId The instance that took the write.
+ * @param entity The table the write touched, e.g. {@code Category}.
+ * @param generation The generation of the entity after the write.
+ */
+public record Invalidation( String nodeId, String entity, long generation ) {
+}
@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidations between instances. Delivery is best effort: a lost or late message only
+ * delays invalidation until the next poll of the {@link GenerationTable}, which bounds staleness
+ * on its own. Implementations may deliver an instance's own messages back to it.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends an invalidation to every instance.
+     *
+     * @param invalidation The invalidation to send.
+     */
+    void publish( Invalidation invalidation );
+
+    /**
+     * Registers a listener for invalidations sent by any instance.
+     *
+     * @param listener The listener to register.
+     */
+    void subscribe( Consumer<Invalidation> listener );
+}
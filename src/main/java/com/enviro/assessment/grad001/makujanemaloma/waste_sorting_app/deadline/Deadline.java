@@ -0,0 +1,164 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions.DeadlineExceededException;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The time budget of one request.
+ * <p>
+ * Like the bulkhead lane and the shard, the deadline is a property of the calling thread: the
+ * {@link DeadlineFilter} starts one per API request, and every statement the {@link DeadlineJdbcTemplate}
+ * runs on that thread gets the remaining budget as its query timeout. Work handed to another
+ * thread carries the deadline along with {@link #callWith(Deadline, Supplier)}. Cancelling a
+ * deadline cancels the statements still running under it and fails any that start afterwards.
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private Deadline( long expiresAtNanos ) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param millis The budget in milliseconds.
+     * @return A deadline that expires that long from now.
+     */
+    public static Deadline in( long millis ) {
+        return new Deadline( System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( millis ) );
+    }
+
+    /**
+     * Returns the deadline of the calling thread, or null if it has none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work on the calling thread under a deadline, restoring the previous one afterwards.
+     *
+     * @param deadline The deadline, or null to run without one.
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     */
+    public static <T> T callWith( Deadline deadline, Supplier<T> work ) {
+        if ( CURRENT.get() == deadline ) {
+            return work.get();
+        }
+        Deadline previous = swap( deadline );
+        try {
+            return work.get();
+        } finally {
+            swap( previous );
+        }
+    }
+
+    /**
+     * Makes a deadline the calling thread's.
+     *
+     * @param deadline The deadline, or null to remove it.
+     * @return The deadline the thread had before.
+     */
+    static Deadline swap( Deadline deadline ) {
+        Deadline previous = CURRENT.get();
+        if ( deadline == null ) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set( deadline );
+        }
+        return previous;
+    }
+
+    /**
+     * @return The milliseconds left, 0 once the deadline has passed.
+     */
+    public long remainingMillis() {
+        return Math.max( 0, TimeUnit.NANOSECONDS.toMillis( expiresAtNanos - System.nanoTime() ) );
+    }
+
+    /**
+     * @return Whether the deadline has passed or was cancelled.
+     */
+    public boolean expired() {
+        return cancelled || System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * @return Whether the deadline was cancelled, e.g. because the client went away.
+     */
+    public boolean cancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Applies the remaining budget to a statement about to run, and tracks it for the rest of the
+     * request so that {@link #cancel()} can reach it. A timeout already set on the statement is kept
+     * if it is tighter.
+     *
+     * @param statement The statement.
+     * @throws SQLException if the timeout cannot be set.
+     * @throws DeadlineExceededException if no budget is left.
+     */
+    public void bind( Statement statement ) throws SQLException {
+        if ( expired() ) {
+            throw exceeded();
+        }
+        // JDBC timeouts are in whole seconds; round up so a short remainder is not 0, meaning none.
+        int seconds = ( int ) Math.max( 1, ( remainingMillis() + 999 ) / 1000 );
+        int existing = statement.getQueryTimeout();
+        if ( existing == 0 || seconds < existing ) {
+            statement.setQueryTimeout( seconds );
+        }
+        statements.add( statement );
+        // A cancel or expiry racing with the add may have missed this statement.
+        if ( expired() ) {
+            statement.cancel();
+        }
+    }
+
+    /**
+     * Cancels the deadline and every statement still running under it.
+     */
+    public void cancel() {
+        cancelled = true;
+        cancelStatements();
+    }
+
+    /**
+     * Cancels the statements still running under the deadline once it has passed. Their query
+     * timeout would stop them too, but only at a whole second.
+     */
+    public void expire() {
+        cancelStatements();
+    }
+
+    private void cancelStatements() {
+        for ( Statement statement : statements ) {
+            try {
+                statement.cancel();
+            } catch ( SQLException ignored ) {
+                // The statement has been closed or its connection is gone; either way it no longer runs.
+            }
+        }
+    }
+
+    /**
+     * @return The exception reporting that this deadline ran out.
+     */
+    public DeadlineExceededException exceeded() {
+        return new DeadlineExceededException( cancelled
+                ? "The request was cancelled before it completed"
+                : "The request did not complete within its deadline" );
+    }
+}
@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Applies request deadlines to the API. The JdbcTemplate defined here replaces Spring Boot's, so
+ * the auto-configured NamedParameterJdbcTemplate and JdbcClient are built on it as well.
+ */
+@Configuration
+@EnableConfigurationProperties( { DeadlineProperties.class, AdmissionProperties.class, JdbcProperties.class } )
+@ConditionalOnProperty( prefix = "deadline", name = "enabled", havingValue = "true", matchIfMissing = true )
+public class DeadlineConfig {
+
+    @Bean
+    public DeadlineJdbcTemplate jdbcTemplate( DataSource dataSource, JdbcProperties jdbcProperties ) {
+        DeadlineJdbcTemplate jdbcTemplate = new DeadlineJdbcTemplate( dataSource );
+        JdbcProperties.Template template = jdbcProperties.getTemplate();
+        jdbcTemplate.setFetchSize( template.getFetchSize() );
+        jdbcTemplate.setMaxRows( template.getMaxRows() );
+        if ( template.getQueryTimeout() != null ) {
+            jdbcTemplate.setQueryTimeout( ( int ) template.getQueryTimeout().getSeconds() );
+        }
+        return jdbcTemplate;
+    }
+
+    @Bean
+    public DeadlineFilter deadlineFilter(
+            DeadlineProperties deadlineProperties,
+            AdmissionProperties admissionProperties,
+            MeterRegistry meterRegistry
+    ) {
+        return new DeadlineFilter( deadlineProperties, admissionProperties, meterRegistry );
+    }
+
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilterRegistration( DeadlineFilter deadlineFilter ) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>( deadlineFilter );
+        registration.addUrlPatterns( "/api/*" );
+        registration.setOrder( Ordered.HIGHEST_PRECEDENCE + 100 );
+        return registration;
+    }
+}
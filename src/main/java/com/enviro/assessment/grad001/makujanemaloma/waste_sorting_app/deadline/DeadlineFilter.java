@@ -0,0 +1,168 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every API request a {@link Deadline} for its endpoint class.
+ * <p>
+ * The class is resolved from the request path with the admission control patterns, and its
+ * budget comes from {@code deadline.classes}. A watchdog cancels the statement in flight the moment
+ * the deadline expires; the statement then fails with a {@code QueryTimeoutException}, which is
+ * answered with a 504 because the deadline has passed. The change stream is excluded because its
+ * connections are long-lived by design.
+ * <p>
+ * A client that goes away is only noticed when a write to the response fails, which cancels the
+ * deadline and any statements still running under it. Servlet containers do not read a socket
+ * while a request thread is busy with it, and the servlet API has no portable way to ask whether
+ * the client is still connected, so a disconnect during a query is not seen until the response is
+ * written; the deadline is what bounds the work done for a client that has left.
+ * Metrics: {@code deadline.exceeded}, tagged by class and by reason, {@code timeout} or {@code disconnect}.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final DeadlineProperties deadlineProperties;
+    private final AdmissionProperties admissionProperties;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor( 1, runnable -> {
+        Thread thread = new Thread( runnable, "deadline-watchdog" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    /**
+     * Constructs a DeadlineFilter.
+     *
+     * @param deadlineProperties The deadline of each endpoint class.
+     * @param admissionProperties The endpoint classes.
+     * @param meterRegistry The registry exceeded deadlines are counted in.
+     */
+    public DeadlineFilter( DeadlineProperties deadlineProperties, AdmissionProperties admissionProperties, MeterRegistry meterRegistry ) {
+        this.deadlineProperties = deadlineProperties;
+        this.admissionProperties = admissionProperties;
+        this.meterRegistry = meterRegistry;
+        watchdog.setRemoveOnCancelPolicy( true );
+    }
+
+    @Override
+    protected boolean shouldNotFilter( HttpServletRequest request ) {
+        return request.getRequestURI().startsWith( "/api/changes" );
+    }
+
+    @Override
+    protected void doFilterInternal( HttpServletRequest request, HttpServletResponse response, FilterChain filterChain )
+            throws ServletException, IOException {
+        String endpointClass = admissionProperties.classFor( request.getRequestURI() );
+        Deadline deadline = Deadline.in( deadlineProperties.millisFor( endpointClass ) );
+        ScheduledFuture<?> expiry = watchdog.schedule( deadline::expire, deadline.remainingMillis(), TimeUnit.MILLISECONDS );
+        Deadline previous = Deadline.swap( deadline );
+        try {
+            filterChain.doFilter( request, new CancellingResponse( response, deadline ) );
+        } finally {
+            Deadline.swap( previous );
+            expiry.cancel( false );
+            if ( deadline.expired() ) {
+                Counter.builder( "deadline.exceeded" )
+                        .description( "Requests that ran out of time or whose client went away" )
+                        .tag( "class", endpointClass )
+                        .tag( "reason", deadline.cancelled() ? "disconnect" : "timeout" )
+                        .register( meterRegistry )
+                        .increment();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Cancels the deadline when writing the response fails.
+     */
+    private static final class CancellingResponse extends HttpServletResponseWrapper {
+        private final Deadline deadline;
+        private ServletOutputStream outputStream;
+
+        CancellingResponse( HttpServletResponse response, Deadline deadline ) {
+            super( response );
+            this.deadline = deadline;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if ( outputStream == null ) {
+                outputStream = new CancellingOutputStream( super.getOutputStream(), deadline );
+            }
+            return outputStream;
+        }
+    }
+
+    private static final class CancellingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final Deadline deadline;
+
+        CancellingOutputStream( ServletOutputStream delegate, Deadline deadline ) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void write( int b ) throws IOException {
+            try {
+                delegate.write( b );
+            } catch ( IOException ex ) {
+                deadline.cancel();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len ) throws IOException {
+            try {
+                delegate.write( b, off, len );
+            } catch ( IOException ex ) {
+                deadline.cancel();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                delegate.flush();
+            } catch ( IOException ex ) {
+                deadline.cancel();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener( WriteListener writeListener ) {
+            delegate.setWriteListener( writeListener );
+        }
+    }
+}
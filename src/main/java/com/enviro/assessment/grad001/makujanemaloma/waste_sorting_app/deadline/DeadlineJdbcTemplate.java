@@ -0,0 +1,32 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A JdbcTemplate that applies the calling thread's {@link Deadline} to every statement it runs.
+ * JdbcClient and NamedParameterJdbcTemplate delegate to it, so all repository SQL is covered.
+ */
+public class DeadlineJdbcTemplate extends JdbcTemplate {
+
+    /**
+     * Constructs a DeadlineJdbcTemplate.
+     *
+     * @param dataSource The DataSource statements run against.
+     */
+    public DeadlineJdbcTemplate( DataSource dataSource ) {
+        super( dataSource );
+    }
+
+    @Override
+    protected void applyStatementSettings( Statement statement ) throws SQLException {
+        super.applyStatementSettings( statement );
+        Deadline deadline = Deadline.current();
+        if ( deadline != null ) {
+            deadline.bind( statement );
+        }
+    }
+}
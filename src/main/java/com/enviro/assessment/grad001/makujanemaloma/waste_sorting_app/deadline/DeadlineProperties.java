@@ -0,0 +1,33 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Configuration for request deadlines. Endpoints are grouped into the classes configured for
+ * admission control, see {@code admission.classes}, and each class can have its own deadline.
+ *
+ * @param enabled Whether deadlines are applied at all.
+ * @param defaultMillis The deadline of endpoint classes without one of their own.
+ * @param classes The deadline of each endpoint class in milliseconds, by class name.
+ */
+@ConfigurationProperties( prefix = "deadline" )
+public record DeadlineProperties(
+        @DefaultValue( "true" ) boolean enabled,
+        @DefaultValue( "10000" ) long defaultMillis,
+        Map<String, Long> classes
+) {
+    public DeadlineProperties {
+        classes = classes != null ? classes : Map.of();
+    }
+
+    /**
+     * @param endpointClass The name of an endpoint class.
+     * @return The deadline of the class in milliseconds.
+     */
+    public long millisFor( String endpointClass ) {
+        return classes.getOrDefault( endpointClass, defaultMillis );
+    }
+}
@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends StacklessException {
+    public DeadlineExceededException( String message ) {
+        super( message );
+    }
+}
@@ -1,7 +1,12 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.exceptions.DisposalNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.ETags;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -41,19 +46,28 @@ public class DisposalController {
         return disposalRepository.getAllDisposals();
     }
 
+    /**
+     * Retrieves several disposal records by their IDs in one request, e.g. {@code /api/disposals?ids=1,2,3}.
+     *
+     * @param ids The IDs of the disposals to retrieve.
+     * @return The disposals found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public BatchResultDTO<DisposalDTO> getDisposalsByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return disposalRepository.getDisposalsByIds( ids );
+    }
+
     /**
      * Retrieves a disposal record by its ID.
      *
      * @param id The ID of the disposal to retrieve.
-     * @return A ResponseEntity containing the DisposalDTO if found, or an error response if not found.
+     * @return A ResponseEntity containing the DisposalDTO and its version as ETag if found, or an error response if not found.
      */
     @GetMapping( "/{id}" )
     public ResponseEntity<?> getDisposal(@PathVariable Integer id ) {
-        Optional<DisposalDTO> disposal = disposalRepository.getDisposal( id );
-        if ( disposal.isEmpty() ) {
-            throw new DisposalNotFoundException( "Disposal with id " + id + " not found" );
-        }
-        return ResponseEntity.ok( disposal.get() );
+        Versioned<DisposalDTO> disposal = disposalRepository.getVersionedDisposal( id )
+                .orElseThrow( () -> new DisposalNotFoundException( "Disposal with id " + id + " not found" ) );
+        return ResponseEntity.ok().eTag( ETags.of( disposal.version() ) ).body( disposal.value() );
     }
 
     /**
@@ -79,19 +93,30 @@ public class DisposalController {
      *
      * @param id The ID of the disposal to update.
      * @param disposalDTO The DisposalDTO object containing the updated details.
+     * @param ifMatch The ETag of the version the client last read; without it the update is unconditional.
      * @return A ResponseEntity indicating the success or failure of the update operation.
+     * @throws VersionConflictException if the disposal has been modified since the version in If-Match.
      */
     @ResponseStatus( HttpStatus.NO_CONTENT )
     @PutMapping( "/{id}" )
-    public ResponseEntity<?> updateDisposal( @PathVariable Integer id, @Valid @RequestBody DisposalDTO disposalDTO) {
+    public ResponseEntity<?> updateDisposal(
+            @PathVariable Integer id,
+            @Valid @RequestBody DisposalDTO disposalDTO,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<DisposalDTO> disposal = disposalRepository.getDisposal( id );
         if ( disposal.isEmpty() ) {
             throw new DisposalNotFoundException( "Disposal with id " + id + " not found" );
         }
 
-        boolean updated  = disposalRepository.updateDisposal(disposalDTO, id );
+        Long expectedVersion = ETags.expectedVersion( ifMatch, () -> disposalRepository.getDisposalVersion( id ) );
+        boolean updated  = disposalRepository.updateDisposal( disposalDTO, id, expectedVersion );
         if ( updated ) {
-            return ResponseEntity.ok().build();
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if ( expectedVersion != null ) {
+                response.eTag( ETags.of( expectedVersion + 1 ) );
+            }
+            return response.build();
         }
 
         return ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR )
@@ -102,15 +127,20 @@ public class DisposalController {
      * Deletes a disposal record by its ID.
      *
      * @param id The ID of the disposal to delete.
+     * @param ifMatch The ETag of the version the client last read; without it the delete is unconditional.
+     * @throws VersionConflictException if the disposal has been modified since the version in If-Match.
      */
     @ResponseStatus( HttpStatus.NO_CONTENT )
     @DeleteMapping( "/{id}" )
-    public void deleteDisposalById( @PathVariable Integer id ) {
+    public void deleteDisposalById(
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<DisposalDTO> disposal = disposalRepository.getDisposal( id );
         if ( disposal.isEmpty() ) {
             throw new DisposalNotFoundException( "Disposal with id " + id + " not found" );
         }
 
-        disposalRepository.deleteDisposal( id );
+        disposalRepository.deleteDisposal( id, ETags.expectedVersion( ifMatch, () -> disposalRepository.getDisposalVersion( id ) ) );
     }
 }
@@ -1,5 +1,7 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -21,7 +23,21 @@ public record DisposalDTO(
 
         @NotNull( message = "Disposal location cannot be null" )
         String location,
+
+        @DecimalMin( value = "-90.0", message = "Latitude must be between -90 and 90" )
+        @DecimalMax( value = "90.0", message = "Latitude must be between -90 and 90" )
+        Double latitude,
+
+        @DecimalMin( value = "-180.0", message = "Longitude must be between -180 and 180" )
+        @DecimalMax( value = "180.0", message = "Longitude must be between -180 and 180" )
+        Double longitude,
         LocalDateTime lastUpdated
 ) {
 
+    /**
+     * Creates a disposal guideline without coordinates, for locations that are not a fixed site.
+     */
+    public DisposalDTO( Integer id, Integer wasteId, String method, String instructions, String location, LocalDateTime lastUpdated ) {
+        this( id, wasteId, method, instructions, location, null, null, lastUpdated );
+    }
 }
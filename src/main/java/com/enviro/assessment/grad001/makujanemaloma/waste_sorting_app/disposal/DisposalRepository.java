@@ -1,27 +1,70 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal;
 
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRebalancer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * The DisposalRepository class provides methods to interact with the Disposal table in the database.
  * It extends the BaseRepository class to perform CRUD operations on Disposal data.
+ * Disposals are sharded with the waste item they belong to.
  */
 @Repository
 public class DisposalRepository extends BaseRepository<DisposalDTO> {
     private final String tableName = "Disposal";
+    private final ShardRebalancer shardRebalancer;
 
     /**
      * Constructs a DisposalRepository with the provided JdbcClient.
      *
      * @param jdbcClient The JdbcClient instance used for executing SQL queries.
+     * @param changeLog The change log writes are published to.
+     * @param readCoalescer The coalescer shared by identical concurrent reads.
+     * @param bulkhead The bulkhead heavy reads are isolated in.
+     * @param shards The shards disposals are spread over.
+     * @param shardRebalancer The rebalancer that moves a disposal to the shard of its new waste item.
+     * @param auditLog The audit log writes are recorded in.
+     * @param categoryStats The per-category counts writes are counted in.
      */
-    public DisposalRepository(JdbcClient jdbcClient )   {
-        super( jdbcClient, DisposalDTO.class );
+    public DisposalRepository(
+            JdbcClient jdbcClient,
+            ChangeLog changeLog,
+            ReadCoalescer readCoalescer,
+            Bulkhead bulkhead,
+            Shards shards,
+            ShardRebalancer shardRebalancer,
+            AuditLog auditLog,
+            CategoryStats categoryStats
+    )   {
+        super( jdbcClient, DisposalDTO.class, changeLog, readCoalescer, bulkhead, shards, auditLog, categoryStats );
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    protected boolean isSharded() {
+        return true;
     }
 
     /**
@@ -43,6 +86,50 @@ public class DisposalRepository extends BaseRepository<DisposalDTO> {
         return getById( tableName, id );
     }
 
+    /**
+     * Retrieves a disposal record by its ID together with the version it was read at.
+     *
+     * @param id The ID of the disposal record to retrieve.
+     * @return The disposal record and its version, or empty if it does not exist.
+     */
+    public Optional<Versioned<DisposalDTO>> getVersionedDisposal( Integer id ) {
+        return getVersionedById( tableName, id );
+    }
+
+    /**
+     * Retrieves the current version of a disposal record.
+     *
+     * @param id The ID of the disposal.
+     * @return The version, or empty if the disposal does not exist.
+     */
+    public Optional<Long> getDisposalVersion( Integer id ) {
+        return getVersion( tableName, id );
+    }
+
+    /**
+     * Retrieves the disposal records with the given IDs from the Disposal table in batched queries.
+     *
+     * @param ids The IDs of the disposals to retrieve, in the order they should be returned.
+     * @return The disposals found, in request order, and the IDs that do not exist.
+     */
+    public BatchResultDTO<DisposalDTO> getDisposalsByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, DisposalDTO::id );
+    }
+
+    /**
+     * Retrieves the disposal records of several waste items with batched queries.
+     *
+     * @param wasteIds The IDs of the waste items.
+     * @return The disposals grouped by waste ID; waste items without disposals are absent.
+     */
+    public Map<Integer, List<DisposalDTO>> getDisposalsByWasteIds( List<Integer> wasteIds ) {
+        if ( wasteIds.isEmpty() ) {
+            return Map.of();
+        }
+        return getAllWhereIn( tableName, "wasteId", wasteIds ).stream()
+                .collect( Collectors.groupingBy( DisposalDTO::wasteId ) );
+    }
+
     /**
      * Inserts a new disposal record into the Disposal table.
      *
@@ -52,8 +139,10 @@ public class DisposalRepository extends BaseRepository<DisposalDTO> {
     public boolean insertNewDisposal( DisposalDTO disposalDTO) {
         return createRecord(
                 tableName,
-                List.of( disposalDTO.wasteId(), disposalDTO.method(), disposalDTO.instructions(), disposalDTO.location()  ),
-                "INSERT INTO " + tableName + " ( wasteId, method, instructions, location, lastUpdated ) VALUES ( ?, ?, ?, ?, CURRENT_TIMESTAMP )"
+                shards.locate( "Waste", disposalDTO.wasteId() ).orElse( 0 ),
+                Arrays.asList( disposalDTO.wasteId(), disposalDTO.method(), disposalDTO.instructions(), disposalDTO.location(),
+                        disposalDTO.latitude(), disposalDTO.longitude() ),
+                "INSERT INTO " + tableName + " ( wasteId, method, instructions, location, latitude, longitude, lastUpdated ) VALUES ( ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP )"
         );
     }
 
@@ -65,10 +154,31 @@ public class DisposalRepository extends BaseRepository<DisposalDTO> {
      * @return true if the disposal was successfully updated, false otherwise.
      */
     public boolean updateDisposal(DisposalDTO disposalDTO, Integer id ) {
+        return updateDisposal( disposalDTO, id, null );
+    }
+
+    /**
+     * Updates an existing disposal record if it is still at the expected version.
+     *
+     * @param disposalDTO The DisposalDTO object containing the updated details.
+     * @param id The ID of the disposal to update.
+     * @param expectedVersion The version the disposal must have, or null to update unconditionally.
+     * @return true if the disposal was successfully updated, false otherwise.
+     * @throws VersionConflictException if the disposal has been modified since that version.
+     */
+    public boolean updateDisposal( DisposalDTO disposalDTO, Integer id, Long expectedVersion ) {
+        int shard = shards.locate( "Waste", disposalDTO.wasteId() ).orElse( 0 );
+        Map<String, Object> foreignKeys = new HashMap<>();
+        foreignKeys.put( "wasteId", disposalDTO.wasteId() );
+        shardRebalancer.relocate( tableName, id, shard, foreignKeys, expectedVersion );
         return updateRecord(
                 tableName,
-                List.of( disposalDTO.wasteId(), disposalDTO.method(), disposalDTO.instructions(), disposalDTO.location(), id ),
-                "UPDATE " + tableName + " SET wasteId = ?, method = ?, instructions = ?, location = ?, lastUpdated = CURRENT_TIMESTAMP where id = ?"
+                shard,
+                id,
+                expectedVersion,
+                Arrays.asList( disposalDTO.wasteId(), disposalDTO.method(), disposalDTO.instructions(), disposalDTO.location(),
+                        disposalDTO.latitude(), disposalDTO.longitude(), id ),
+                "UPDATE " + tableName + " SET wasteId = ?, method = ?, instructions = ?, location = ?, latitude = ?, longitude = ?, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 where id = ?"
         );
     }
 
@@ -78,6 +188,17 @@ public class DisposalRepository extends BaseRepository<DisposalDTO> {
      * @param id The ID of the disposal to delete.
      */
     public void deleteDisposal( Integer id ) {
-        delete( tableName, id );
+        deleteDisposal( id, null );
+    }
+
+    /**
+     * Deletes a disposal record by its ID if it is still at the expected version.
+     *
+     * @param id The ID of the disposal to delete.
+     * @param expectedVersion The version the disposal must have, or null to delete unconditionally.
+     * @throws VersionConflictException if the disposal has been modified since that version.
+     */
+    public void deleteDisposal( Integer id, Long expectedVersion ) {
+        delete( tableName, id, expectedVersion );
     }
 }
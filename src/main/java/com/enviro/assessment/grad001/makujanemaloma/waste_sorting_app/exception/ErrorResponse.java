@@ -0,0 +1,38 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The body of an error response.
+ */
+public record ErrorResponse(
+        LocalDateTime timestamp,
+        int status,
+        String error,
+        String message,
+        String path
+) {
+
+    private record Stamp( long millis, LocalDateTime value ) {
+    }
+
+    private static volatile Stamp last = new Stamp( Long.MIN_VALUE, null );
+
+    /**
+     * The current time to millisecond precision. Errors arriving in bursts share the same
+     * instance, so it is only converted to a local date-time once per millisecond.
+     *
+     * @return The current local date-time, truncated to milliseconds.
+     */
+    static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Stamp stamp = last;
+        if ( stamp.millis() != millis ) {
+            stamp = new Stamp( millis, LocalDateTime.ofInstant( Instant.ofEpochMilli( millis ), ZoneId.systemDefault() ) );
+            last = stamp;
+        }
+        return stamp.value();
+    }
+}
@@ -0,0 +1,64 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+/**
+ * The fixed parts of an error response, built once per kind of error: the status, the error title,
+ * the path for errors that report a fixed one, and the response headers. Producing a response
+ * only adds the message and timestamp.
+ */
+record ErrorTemplate( HttpStatus status, String error, String path, HttpHeaders headers ) {
+
+    static ErrorTemplate of( HttpStatus status, String error ) {
+        return of( status, error, null, Map.of() );
+    }
+
+    static ErrorTemplate of( HttpStatus status, String error, String path ) {
+        return of( status, error, path, Map.of() );
+    }
+
+    static ErrorTemplate of( HttpStatus status, String error, String path, Map<String, String> extraHeaders ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType( MediaType.APPLICATION_JSON );
+        extraHeaders.forEach( headers::set );
+        return new ErrorTemplate( status, error, path, HttpHeaders.readOnlyHttpHeaders( headers ) );
+    }
+
+    /**
+     * @param message The error message.
+     * @return An error response reporting the template's fixed path.
+     */
+    ResponseEntity<ErrorResponse> respond( String message ) {
+        return respond( message, path );
+    }
+
+    /**
+     * @param message The error message.
+     * @param requestPath The path to report.
+     * @return An error response.
+     */
+    ResponseEntity<ErrorResponse> respond( String message, String requestPath ) {
+        return new ResponseEntity<>(
+                new ErrorResponse( ErrorResponse.now(), status.value(), error, message, requestPath ),
+                headers,
+                status
+        );
+    }
+
+    /**
+     * @param errors The message for each invalid field.
+     * @return A validation error response.
+     */
+    ResponseEntity<ValidationErrorResponse> respondWithErrors( Map<String, String> errors ) {
+        return new ResponseEntity<>(
+                new ValidationErrorResponse( ErrorResponse.now(), status.value(), error, errors ),
+                headers,
+                status
+        );
+    }
+}
@@ -1,13 +1,26 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.exceptions.InvalidAnalyticsQueryException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.exceptions.UnknownHistoryResourceException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.exceptions.BulkheadFullException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.exceptions.NoMatchFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.Deadline;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions.DeadlineExceededException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.exceptions.DisposalNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo.exceptions.InvalidCoordinatesException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions.RecyclingTipNotFound;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.exceptions.InvalidSlowQueryRequestException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.exceptions.InvalidTraceRequestException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.InvalidIncludeException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -18,18 +31,42 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Turns exceptions into error responses. The fixed parts of every response are prepared once in
+ * an {@link ErrorTemplate}, so handling an error costs about as much as a successful response.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private static final ErrorTemplate VALIDATION_FAILED = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Validation Failed" );
+    private static final ErrorTemplate CATEGORY_NOT_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "Category Not Found", "/api/categories" );
+    private static final ErrorTemplate DISPOSAL_NOT_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "Disposal Not Found", "/api/disposal" );
+    private static final ErrorTemplate WASTE_NOT_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "Waste Not Found", "/api/waste" );
+    private static final ErrorTemplate RECYCLING_TIP_NOT_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "Recycling Tip Not Found", "/api/recycling-tip" );
+    private static final ErrorTemplate NO_MATCH_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "No Match Found", "/api/classify" );
+    private static final ErrorTemplate INVALID_INCLUDE = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Invalid Include" );
+    private static final ErrorTemplate UNKNOWN_HISTORY_RESOURCE = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Unknown History Resource" );
+    private static final ErrorTemplate INVALID_COORDINATES = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Invalid Coordinates" );
+    private static final ErrorTemplate INVALID_ANALYTICS_QUERY = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Invalid Analytics Query" );
+    private static final ErrorTemplate INVALID_SLOW_QUERY_REQUEST = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Invalid Slow Query Request" );
+    private static final ErrorTemplate INVALID_TRACE_REQUEST = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Invalid Trace Request" );
+    private static final ErrorTemplate TYPE_MISMATCH = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Method Argument Type Mismatch" );
+    private static final ErrorTemplate METHOD_NOT_ALLOWED = ErrorTemplate.of( HttpStatus.METHOD_NOT_ALLOWED, "Method Not Allowed" );
+    private static final ErrorTemplate CONSTRAINT_VIOLATIONS = ErrorTemplate.of( HttpStatus.BAD_REQUEST, "Constraint Violations" );
+    private static final ErrorTemplate DUPLICATE_KEY = ErrorTemplate.of( HttpStatus.CONFLICT, "Duplicate Key Error" );
+    private static final ErrorTemplate PRECONDITION_FAILED = ErrorTemplate.of( HttpStatus.PRECONDITION_FAILED, "Precondition Failed" );
+    private static final ErrorTemplate RESOURCE_NOT_FOUND = ErrorTemplate.of( HttpStatus.NOT_FOUND, "Resource Not Found" );
+    private static final ErrorTemplate SERVICE_UNAVAILABLE = ErrorTemplate.of(
+            HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, Map.of( HttpHeaders.RETRY_AFTER, "1" ) );
+    private static final ErrorTemplate GATEWAY_TIMEOUT = ErrorTemplate.of( HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout" );
 
     /**
      * Handles validation exceptions.
      */
     @ExceptionHandler( MethodArgumentNotValidException.class )
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
+    public ResponseEntity<ValidationErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex
     ) {
         Map<String, String> errors = new HashMap<>();
@@ -39,46 +76,120 @@ public class GlobalExceptionHandler {
             errors.put( fieldName, errorMessage );
         });
 
-        return buildErrorResponse( "Validation Failed", HttpStatus.BAD_REQUEST, errors );
+        return VALIDATION_FAILED.respondWithErrors( errors );
     }
 
     /**
      * Handles `CategoryNotFoundException`.
      */
     @ExceptionHandler( CategoryNotFoundException.class )
-    public ResponseEntity<Map<String, Object>> handleCategoryNotFoundException( CategoryNotFoundException ex ) {
-        return buildErrorResponse( "Category Not Found", HttpStatus.NOT_FOUND, ex.getMessage(),  "/api/categories" );
+    public ResponseEntity<ErrorResponse> handleCategoryNotFoundException( CategoryNotFoundException ex ) {
+        return CATEGORY_NOT_FOUND.respond( ex.getMessage() );
     }
 
     /**
      * Handles `DisposalNotFoundException`.
      */
     @ExceptionHandler( DisposalNotFoundException.class )
-    public ResponseEntity<Map<String, Object>> handleDisposalNotFoundException( DisposalNotFoundException ex ) {
-        return buildErrorResponse( "Disposal Not Found", HttpStatus.NOT_FOUND, ex.getMessage(), "/api/disposal" );
+    public ResponseEntity<ErrorResponse> handleDisposalNotFoundException( DisposalNotFoundException ex ) {
+        return DISPOSAL_NOT_FOUND.respond( ex.getMessage() );
     }
 
     /**
      * Handles `WasteNotFoundException`.
      */
     @ExceptionHandler( WasteNotFoundException.class )
-    public ResponseEntity<Map<String, Object>> handleWasteNotFoundException( WasteNotFoundException ex ) {
-        return buildErrorResponse( "Waste Not Found", HttpStatus.NOT_FOUND, ex.getMessage(),  "/api/waste" );
+    public ResponseEntity<ErrorResponse> handleWasteNotFoundException( WasteNotFoundException ex ) {
+        return WASTE_NOT_FOUND.respond( ex.getMessage() );
     }
 
     /**
      * Handles `WasteNotFoundException`.
      */
     @ExceptionHandler( RecyclingTipNotFound.class )
-    public ResponseEntity<Map<String, Object>> handleRecyclingTipNotFoundException( RecyclingTipNotFound ex ) {
-        return buildErrorResponse( "Recycling Tip Not Found", HttpStatus.NOT_FOUND, ex.getMessage(),  "/api/recycling-tip" );
+    public ResponseEntity<ErrorResponse> handleRecyclingTipNotFoundException( RecyclingTipNotFound ex ) {
+        return RECYCLING_TIP_NOT_FOUND.respond( ex.getMessage() );
+    }
+
+    /**
+     * Handles `NoMatchFoundException`.
+     */
+    @ExceptionHandler( NoMatchFoundException.class )
+    public ResponseEntity<ErrorResponse> handleNoMatchFoundException( NoMatchFoundException ex ) {
+        return NO_MATCH_FOUND.respond( ex.getMessage() );
+    }
+
+    /**
+     * Handles `InvalidIncludeException`.
+     */
+    @ExceptionHandler( InvalidIncludeException.class )
+    public ResponseEntity<ErrorResponse> handleInvalidIncludeException(
+            InvalidIncludeException ex,
+            HttpServletRequest request
+    ) {
+        return INVALID_INCLUDE.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `UnknownHistoryResourceException`.
+     */
+    @ExceptionHandler( UnknownHistoryResourceException.class )
+    public ResponseEntity<ErrorResponse> handleUnknownHistoryResourceException(
+            UnknownHistoryResourceException ex,
+            HttpServletRequest request
+    ) {
+        return UNKNOWN_HISTORY_RESOURCE.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `InvalidCoordinatesException`.
+     */
+    @ExceptionHandler( InvalidCoordinatesException.class )
+    public ResponseEntity<ErrorResponse> handleInvalidCoordinatesException(
+            InvalidCoordinatesException ex,
+            HttpServletRequest request
+    ) {
+        return INVALID_COORDINATES.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `InvalidAnalyticsQueryException`.
+     */
+    @ExceptionHandler( InvalidAnalyticsQueryException.class )
+    public ResponseEntity<ErrorResponse> handleInvalidAnalyticsQueryException(
+            InvalidAnalyticsQueryException ex,
+            HttpServletRequest request
+    ) {
+        return INVALID_ANALYTICS_QUERY.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `InvalidSlowQueryRequestException`.
+     */
+    @ExceptionHandler( InvalidSlowQueryRequestException.class )
+    public ResponseEntity<ErrorResponse> handleInvalidSlowQueryRequestException(
+            InvalidSlowQueryRequestException ex,
+            HttpServletRequest request
+    ) {
+        return INVALID_SLOW_QUERY_REQUEST.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `InvalidTraceRequestException`.
+     */
+    @ExceptionHandler( InvalidTraceRequestException.class )
+    public ResponseEntity<ErrorResponse> handleInvalidTraceRequestException(
+            InvalidTraceRequestException ex,
+            HttpServletRequest request
+    ) {
+        return INVALID_TRACE_REQUEST.respond( ex.getMessage(), request.getRequestURI() );
     }
 
     /**
      * Handles `MethodArgumentTypeMismatchException`.
      */
     @ExceptionHandler( MethodArgumentTypeMismatchException.class )
-    public ResponseEntity<Map<String, Object>> handleMethodArgumentTypeMismatchException(
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
             MethodArgumentTypeMismatchException ex,
             HttpServletRequest request
     ) {
@@ -88,19 +199,14 @@ public class GlobalExceptionHandler {
                 ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "unknown"
         );
 
-        return buildErrorResponse(
-                "Method Argument Type Mismatch",
-                HttpStatus.BAD_REQUEST,
-                errorMessage,
-                request.getRequestURI()
-        );
+        return TYPE_MISMATCH.respond( errorMessage, request.getRequestURI() );
     }
 
     /**
      * Handles `HttpRequestMethodNotSupportedException`.
      */
     @ExceptionHandler( HttpRequestMethodNotSupportedException.class )
-    public ResponseEntity<Map<String, Object>> handleHttpRequestMethodNotSupportedException(
+    public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException(
             HttpRequestMethodNotSupportedException ex,
             HttpServletRequest request
     ) {
@@ -108,19 +214,14 @@ public class GlobalExceptionHandler {
                 ex.getMethod(),
                 ex.getSupportedHttpMethods() != null ? ex.getSupportedHttpMethods() : "unknown" );
 
-        return buildErrorResponse(
-                "Method Not Allowed",
-                HttpStatus.METHOD_NOT_ALLOWED,
-                errorMessage,
-                request.getRequestURI()
-        );
+        return METHOD_NOT_ALLOWED.respond( errorMessage, request.getRequestURI() );
     }
 
     /**
      * Handles `ConstraintViolationException`.
      */
     @ExceptionHandler( ConstraintViolationException.class )
-    public ResponseEntity<Map<String, Object>> handleConstraintViolationException( ConstraintViolationException ex ) {
+    public ResponseEntity<ValidationErrorResponse> handleConstraintViolationException( ConstraintViolationException ex ) {
         Map<String, String> errors = new HashMap<>();
         for ( ConstraintViolation<?> violation : ex.getConstraintViolations() ) {
             String fieldName = violation.getPropertyPath().toString();
@@ -128,78 +229,79 @@ public class GlobalExceptionHandler {
             errors.put( fieldName, errorMessage );
         }
 
-        return buildErrorResponse(
-                "Constraint Violations",
-                HttpStatus.BAD_REQUEST,
-                errors
-        );
+        return CONSTRAINT_VIOLATIONS.respondWithErrors( errors );
     }
 
     /**
      * Handles `DuplicateKeyException`.
      */
     @ExceptionHandler( DuplicateKeyException.class )
-    public ResponseEntity<Map<String, Object>> handleDuplicateKeyException(
+    public ResponseEntity<ErrorResponse> handleDuplicateKeyException(
             DuplicateKeyException ex,
             HttpServletRequest request
     ) {
         String errorMessage = "A record with the same key already exists.";
 
-        return buildErrorResponse(
-                "Duplicate Key Error",
-                HttpStatus.CONFLICT,
-                errorMessage,
-                request.getRequestURI()
-        );
+        return DUPLICATE_KEY.respond( errorMessage, request.getRequestURI() );
+    }
+
+    /**
+     * Handles `VersionConflictException`.
+     */
+    @ExceptionHandler( VersionConflictException.class )
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(
+            VersionConflictException ex,
+            HttpServletRequest request
+    ) {
+        return PRECONDITION_FAILED.respond( ex.getMessage(), request.getRequestURI() );
     }
 
     /**
      * Handles `NoResourceFoundException`.
      */
     @ExceptionHandler( NoResourceFoundException.class )
-    public ResponseEntity<Map<String, Object>> handleNoResourceFoundException(
+    public ResponseEntity<ErrorResponse> handleNoResourceFoundException(
             NoResourceFoundException ex,
             HttpServletRequest request
     ) {
-        return buildErrorResponse(
-                "Resource Not Found",
-                HttpStatus.NOT_FOUND,
-                ex.getMessage(),
-                request.getRequestURI()
-        );
+        return RESOURCE_NOT_FOUND.respond( ex.getMessage(), request.getRequestURI() );
     }
 
     /**
-     * Builds a standard error response for validation errors.
+     * Handles `BulkheadFullException`.
      */
-    private ResponseEntity<Map<String, Object>> buildErrorResponse(
-            String error,
-            HttpStatus status,
-            Map<String, String> errors
+    @ExceptionHandler( BulkheadFullException.class )
+    public ResponseEntity<ErrorResponse> handleBulkheadFullException(
+            BulkheadFullException ex,
+            HttpServletRequest request
     ) {
-        Map<String, Object> response = new HashMap<>();
-        response.put( "timestamp", LocalDateTime.now() );
-        response.put( "status", status.value() );
-        response.put( "error", error );
-        response.put( "errors", errors );
-        return new ResponseEntity<>( response, status );
+        return SERVICE_UNAVAILABLE.respond( ex.getMessage(), request.getRequestURI() );
     }
 
     /**
-     * Builds a standard error response for general exceptions.
+     * Handles `DeadlineExceededException`.
      */
-    private ResponseEntity<Map<String, Object>> buildErrorResponse(
-            String error,
-            HttpStatus status,
-            String message,
-            String path
+    @ExceptionHandler( DeadlineExceededException.class )
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(
+            DeadlineExceededException ex,
+            HttpServletRequest request
     ) {
-        Map<String, Object> response = new HashMap<>();
-        response.put( "timestamp", LocalDateTime.now() );
-        response.put( "status", status.value() );
-        response.put( "error", error );
-        response.put( "message", message );
-        response.put( "path", path );
-        return new ResponseEntity<>( response, status );
+        return GATEWAY_TIMEOUT.respond( ex.getMessage(), request.getRequestURI() );
+    }
+
+    /**
+     * Handles `QueryTimeoutException`. A statement stopped because the request ran out of time is
+     * a 504; one that timed out within the request's budget points at an overloaded database, a 503.
+     */
+    @ExceptionHandler( QueryTimeoutException.class )
+    public ResponseEntity<ErrorResponse> handleQueryTimeoutException(
+            QueryTimeoutException ex,
+            HttpServletRequest request
+    ) {
+        Deadline deadline = Deadline.current();
+        if ( deadline != null && deadline.expired() ) {
+            return GATEWAY_TIMEOUT.respond( deadline.exceeded().getMessage(), request.getRequestURI() );
+        }
+        return SERVICE_UNAVAILABLE.respond( "The database did not answer in time, please retry shortly", request.getRequestURI() );
     }
 }
@@ -0,0 +1,14 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception;
+
+/**
+ * Base class for exceptions that only ever end up as an error response, such as "not found" and
+ * bad request errors. They are thrown on expected, high-volume paths (crawlers probing ids that
+ * do not exist, overloaded bulkheads), so they skip filling in a stack trace and suppression
+ * support: the handler only needs the type and the message.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException( String message ) {
+        super( message, null, false, false );
+    }
+}
@@ -0,0 +1,15 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The body of a validation error response, with one message per invalid field.
+ */
+public record ValidationErrorResponse(
+        LocalDateTime timestamp,
+        int status,
+        String error,
+        Map<String, String> errors
+) {
+}
@@ -0,0 +1,90 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Registers binary message converters so clients can ask for {@code application/cbor},
+ * {@code application/x-jackson-smile} or {@code application/x-protobuf} through {@code Accept}.
+ * <p>
+ * The mappers are built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so they carry the
+ * same modules and settings as the JSON mapper, including the hand-written DTO serializers.
+ * Spring Boot puts the CBOR and Smile beans in place of its default converters, after JSON. The
+ * Protobuf converter is appended last rather than declared as a bean, because Spring Boot would
+ * put an extra converter bean first and make Protobuf the answer to {@code Accept: *}{@code /*}.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    static final String PROTOBUF_SCHEMA = "proto/waste_sorting.proto";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    /**
+     * Constructs a BinaryFormatsConfig.
+     *
+     * @param builders Spring Boot's ObjectMapper builders.
+     */
+    public BinaryFormatsConfig( ObjectProvider<Jackson2ObjectMapperBuilder> builders ) {
+        this.builders = builders;
+    }
+
+    /**
+     * @return The CBOR converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter( builders.getObject().factory( new CBORFactory() ).build() );
+    }
+
+    /**
+     * @return The Smile converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter( builders.getObject().factory( new SmileFactory() ).build() );
+    }
+
+    @Override
+    public void extendMessageConverters( List<HttpMessageConverter<?>> converters ) {
+        converters.add( protobufHttpMessageConverter( builders.getObject() ) );
+    }
+
+    /**
+     * Creates the Protobuf converter for the schema in {@value #PROTOBUF_SCHEMA}.
+     *
+     * @param builder An ObjectMapper builder to take modules and settings from; dates are always written as strings.
+     * @return The Protobuf converter.
+     */
+    public static JacksonProtobufHttpMessageConverter protobufHttpMessageConverter( Jackson2ObjectMapperBuilder builder ) {
+        ProtobufSchema schema;
+        try ( InputStream in = new ClassPathResource( PROTOBUF_SCHEMA ).getInputStream() ) {
+            schema = ProtobufSchemaLoader.std.load( in );
+        } catch ( IOException ex ) {
+            throw new UncheckedIOException( "Could not load " + PROTOBUF_SCHEMA, ex );
+        }
+        ObjectMapper mapper = builder.factory( new ProtobufFactory() ).build();
+        // The schema declares timestamps as ISO-8601 strings, whatever the builder's date settings.
+        mapper.disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
+        return new JacksonProtobufHttpMessageConverter( mapper, schema );
+    }
+}
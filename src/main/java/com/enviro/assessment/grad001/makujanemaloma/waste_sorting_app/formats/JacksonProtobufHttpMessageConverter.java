@@ -0,0 +1,147 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteExpandedDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteWithCategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the API's DTO records as Protobuf, following {@code proto/waste_sorting.proto}.
+ * <p>
+ * Single records map to the message of the same shape, lists to the matching {@code <Message>List}
+ * wrapper and batch results to the matching {@code <Message>Batch}. Values without a message are
+ * not writable; error responses set their content type to JSON, so they never reach this converter.
+ * Request bodies are not read as Protobuf.
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType( "application", "x-protobuf" );
+
+    private static final Map<Class<?>, String> MESSAGES = Map.of(
+            CategoryDTO.class, "Category",
+            DisposalDTO.class, "Disposal",
+            RecyclingTipDTO.class, "RecyclingTip",
+            WasteWithCategoryDTO.class, "WasteWithCategory",
+            WasteOverviewDTO.class, "WasteOverview",
+            WasteWithTipsDTO.class, "WasteWithTips",
+            CategoryWithTipsDTO.class, "CategoryWithTips",
+            WasteExpandedDTO.class, "WasteExpanded"
+    );
+
+    // An empty list or batch encodes the same in every wrapper message, because they all use the same field numbers.
+    private static final String ANY_LIST = "CategoryList";
+    private static final String ANY_BATCH = "CategoryBatch";
+
+    private final ObjectMapper objectMapper;
+    private final ProtobufSchema schema;
+    private final Map<String, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a JacksonProtobufHttpMessageConverter.
+     *
+     * @param objectMapper An ObjectMapper backed by a {@link ProtobufFactory}.
+     * @param schema The schema holding a message for every DTO and wrapper.
+     */
+    public JacksonProtobufHttpMessageConverter( ObjectMapper objectMapper, ProtobufSchema schema ) {
+        super( APPLICATION_PROTOBUF );
+        if ( !( objectMapper.getFactory() instanceof ProtobufFactory ) ) {
+            throw new IllegalArgumentException( "ObjectMapper must be configured with a ProtobufFactory" );
+        }
+        this.objectMapper = objectMapper;
+        this.schema = schema;
+    }
+
+    @Override
+    public boolean canRead( Type type, Class<?> contextClass, MediaType mediaType ) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead( MediaType mediaType ) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite( Type type, Class<?> clazz, MediaType mediaType ) {
+        return canWrite( mediaType ) && messageFor( type != null ? type : clazz, clazz, null ) != null;
+    }
+
+    @Override
+    protected boolean supports( Class<?> clazz ) {
+        return MESSAGES.containsKey( clazz ) || List.class.isAssignableFrom( clazz ) || clazz == BatchResultDTO.class;
+    }
+
+    @Override
+    protected void writeInternal( Object value, Type type, HttpOutputMessage outputMessage ) throws IOException {
+        String message = messageFor( type != null ? type : value.getClass(), value.getClass(), value );
+        if ( message == null ) {
+            throw new IllegalArgumentException( "No Protobuf message for " + value.getClass().getName() );
+        }
+        Object payload = value instanceof List<?> ? Map.of( "items", value ) : value;
+        writers.computeIfAbsent( message, name -> objectMapper.writer( schema.withRootType( name ) ) )
+                .writeValue( StreamUtils.nonClosing( outputMessage.getBody() ), payload );
+    }
+
+    @Override
+    public Object read( Type type, Class<?> contextClass, HttpInputMessage inputMessage ) {
+        throw new HttpMessageNotReadableException( "Protobuf request bodies are not supported", inputMessage );
+    }
+
+    @Override
+    protected Object readInternal( Class<?> clazz, HttpInputMessage inputMessage ) {
+        throw new HttpMessageNotReadableException( "Protobuf request bodies are not supported", inputMessage );
+    }
+
+    /**
+     * Resolves the root message for a value, using the declared type where it is known and the
+     * runtime value otherwise.
+     *
+     * @return The message name, or null if the type has no message.
+     */
+    private static String messageFor( Type type, Class<?> clazz, Object value ) {
+        ResolvableType resolved = ResolvableType.forType( type );
+        Class<?> raw = resolved.resolve( clazz );
+        if ( List.class.isAssignableFrom( raw ) ) {
+            Class<?> element = resolved.asCollection().resolveGeneric( 0 );
+            return wrapper( element, value instanceof List<?> list ? list : null, "List", ANY_LIST );
+        }
+        if ( BatchResultDTO.class.isAssignableFrom( raw ) ) {
+            Class<?> element = resolved.as( BatchResultDTO.class ).resolveGeneric( 0 );
+            return wrapper( element, value instanceof BatchResultDTO<?> batch ? batch.items() : null, "Batch", ANY_BATCH );
+        }
+        return MESSAGES.get( raw );
+    }
+
+    private static String wrapper( Class<?> element, List<?> items, String suffix, String anyWrapper ) {
+        if ( element == null && items != null ) {
+            if ( items.isEmpty() ) {
+                return anyWrapper;
+            }
+            element = items.get( 0 ).getClass();
+        }
+        String message = MESSAGES.get( element );
+        return message != null ? message + suffix : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo.exceptions.InvalidCoordinatesException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The NearestDisposalController finds the closest disposal sites for a waste item.
+ */
+@RestController
+@RequestMapping( "/api/waste/{id}/disposals/nearest" )
+public class NearestDisposalController {
+    private static final int MAX_RESULTS = 100;
+
+    private final NearestDisposalFinder nearestDisposalFinder;
+    private final WasteRepository wasteRepository;
+
+    /**
+     * Constructs a NearestDisposalController.
+     *
+     * @param nearestDisposalFinder The in-memory spatial lookup.
+     * @param wasteRepository The repository used to check that the waste item exists.
+     */
+    public NearestDisposalController( NearestDisposalFinder nearestDisposalFinder, WasteRepository wasteRepository ) {
+        this.nearestDisposalFinder = nearestDisposalFinder;
+        this.wasteRepository = wasteRepository;
+    }
+
+    /**
+     * Retrieves the disposal sites of a waste item nearest to a position,
+     * e.g. {@code /api/waste/9/disposals/nearest?lat=-26.2&lon=28.04&k=3}.
+     *
+     * @param id The ID of the waste item.
+     * @param latitude The latitude of the position, between -90 and 90.
+     * @param longitude The longitude of the position, between -180 and 180.
+     * @param k The maximum number of sites to return, between 1 and 100.
+     * @return The nearest sites with their distances in kilometres, nearest first.
+     * @throws WasteNotFoundException if the waste item does not exist.
+     * @throws InvalidCoordinatesException if the position or k is out of range.
+     */
+    @GetMapping( "" )
+    public List<NearestDisposalDTO> getNearestDisposals(
+            @PathVariable Integer id,
+            @RequestParam( "lat" ) double latitude,
+            @RequestParam( "lon" ) double longitude,
+            @RequestParam( value = "k", defaultValue = "5" ) int k
+    ) {
+        if ( !( latitude >= -90 && latitude <= 90 ) || !( longitude >= -180 && longitude <= 180 ) ) {
+            throw new InvalidCoordinatesException( "Latitude must be between -90 and 90 and longitude between -180 and 180" );
+        }
+        if ( k < 1 || k > MAX_RESULTS ) {
+            throw new InvalidCoordinatesException( "k must be between 1 and " + MAX_RESULTS );
+        }
+        wasteRepository.getWaste( id )
+                .orElseThrow( () -> new WasteNotFoundException( "Waste with id " + id + " not found" ) );
+        return nearestDisposalFinder.findNearest( id, latitude, longitude, k );
+    }
+}
@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+
+/**
+ * A disposal site together with its great-circle distance from the requested point.
+ */
+public record NearestDisposalDTO(
+        DisposalDTO disposal,
+        double distanceKm
+) {
+}
@@ -0,0 +1,172 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers "where is the nearest place to drop this off?" for a waste item and a user's position.
+ * <p>
+ * Every disposal with coordinates is kept in a {@link SpatialIndex} partitioned by waste item.
+ * The index is built when the application is ready and then maintained incrementally from the
+ * {@link ChangeLog} on a single background thread, so lookups never touch the database.
+ */
+@Component
+public class NearestDisposalFinder {
+    private static final Logger log = LoggerFactory.getLogger( NearestDisposalFinder.class );
+
+    private final DisposalRepository disposalRepository;
+    private final double cellDegrees;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "spatial-indexer" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    private volatile SpatialIndex index;
+    private final Map<Integer, DisposalDTO> disposals = new ConcurrentHashMap<>();
+    private final AtomicBoolean remoteRebuildQueued = new AtomicBoolean();
+
+    /**
+     * Constructs a NearestDisposalFinder.
+     *
+     * @param disposalRepository The repository disposals are indexed from.
+     * @param changeLog The change log that keeps the index current.
+     * @param cacheCoherence The coherence node that reports writes made by other instances.
+     * @param cellDegrees The size of a spatial index cell in degrees.
+     */
+    public NearestDisposalFinder(
+            DisposalRepository disposalRepository,
+            ChangeLog changeLog,
+            CacheCoherence cacheCoherence,
+            @Value( "${geo.cell-degrees:0.1}" ) double cellDegrees
+    ) {
+        this.disposalRepository = disposalRepository;
+        this.cellDegrees = cellDegrees;
+        this.index = new SpatialIndex( cellDegrees );
+        changeLog.subscribe( event -> indexer.execute( () -> apply( event ) ) );
+        cacheCoherence.onRemoteInvalidation( Set.of( "Disposal", "Waste", "Category" ), entity -> scheduleRemoteRebuild() );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    void buildIndex() {
+        indexer.execute( this::rebuild );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    /**
+     * Finds the disposal sites of a waste item closest to a position.
+     *
+     * @param wasteId The ID of the waste item.
+     * @param latitude The latitude of the position in degrees.
+     * @param longitude The longitude of the position in degrees.
+     * @param k The maximum number of sites to return.
+     * @return Up to k sites with their distances, nearest first. Disposals without coordinates are never returned.
+     */
+    public List<NearestDisposalDTO> findNearest( Integer wasteId, double latitude, double longitude, int k ) {
+        List<SpatialIndex.Hit> hits = index.nearest( wasteId, latitude, longitude, k );
+        List<NearestDisposalDTO> nearest = new ArrayList<>( hits.size() );
+        for ( SpatialIndex.Hit hit : hits ) {
+            DisposalDTO disposal = disposals.get( hit.id() );
+            if ( disposal != null ) {
+                nearest.add( new NearestDisposalDTO( disposal, hit.distanceKm() ) );
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Rebuilds the whole index from the database and swaps it in.
+     */
+    void rebuild() {
+        SpatialIndex rebuilt = new SpatialIndex( cellDegrees );
+        Map<Integer, DisposalDTO> located = new ConcurrentHashMap<>();
+        for ( DisposalDTO disposal : disposalRepository.getAllDisposals() ) {
+            if ( hasCoordinates( disposal ) ) {
+                rebuilt.put( disposal.id(), disposal.wasteId(), disposal.latitude(), disposal.longitude() );
+                located.put( disposal.id(), disposal );
+            }
+        }
+
+        index = rebuilt;
+        disposals.keySet().retainAll( located.keySet() );
+        disposals.putAll( located );
+        log.info( "Spatial index built with {} disposal sites", rebuilt.size() );
+    }
+
+    /**
+     * Queues a full rebuild after another instance wrote the catalog: its change events never
+     * reach this instance's ChangeLog. A burst of invalidations collapses into one rebuild.
+     */
+    private void scheduleRemoteRebuild() {
+        if ( remoteRebuildQueued.compareAndSet( false, true ) ) {
+            indexer.execute( () -> {
+                remoteRebuildQueued.set( false );
+                rebuild();
+            } );
+        }
+    }
+
+    private void apply( ChangeEvent event ) {
+        try {
+            switch ( event.entity() ) {
+                case "Disposal" -> refreshDisposal( event );
+                // The disposals a waste item or category cascades to publish their own events too; dropping them here keeps the index right until those arrive.
+                case "Waste" -> {
+                    if ( event.action() == ChangeEvent.Action.DELETED ) {
+                        index.removeOwner( event.id() );
+                        disposals.values().removeIf( disposal -> disposal.wasteId().equals( event.id() ) );
+                    }
+                }
+                case "Category" -> {
+                    if ( event.action() == ChangeEvent.Action.DELETED ) {
+                        rebuild();
+                    }
+                }
+                default -> { }
+            }
+        } catch ( RuntimeException ex ) {
+            log.warn( "Failed to apply {} to the spatial index, rebuilding", event, ex );
+            rebuild();
+        }
+    }
+
+    private void refreshDisposal( ChangeEvent event ) {
+        if ( event.action() != ChangeEvent.Action.DELETED ) {
+            DisposalDTO disposal = disposalRepository.getDisposal( event.id() ).orElse( null );
+            if ( disposal != null && hasCoordinates( disposal ) ) {
+                index.put( disposal.id(), disposal.wasteId(), disposal.latitude(), disposal.longitude() );
+                disposals.put( disposal.id(), disposal );
+                return;
+            }
+        }
+        index.remove( event.id() );
+        disposals.remove( event.id() );
+    }
+
+    private static boolean hasCoordinates( DisposalDTO disposal ) {
+        return disposal.latitude() != null && disposal.longitude() != null;
+    }
+}
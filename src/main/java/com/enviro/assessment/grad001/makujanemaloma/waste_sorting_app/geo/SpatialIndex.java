@@ -0,0 +1,271 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory k-nearest-neighbour index over points on the globe, partitioned by owner.
+ * <p>
+ * Every owner (a waste item) gets its own uniform latitude/longitude grid, so a query only ever
+ * looks at the sites of one owner. A query starts in the cell containing the query point and
+ * visits rings of cells around it, keeping the k closest points by haversine distance, until the
+ * k-th distance is no larger than the smallest possible distance to any cell outside the rings
+ * visited so far. The work done is therefore proportional to the density of sites near the query
+ * point rather than to the total number of sites. Small grids, and queries that would otherwise
+ * visit more cells than the grid holds, fall back to scanning every point of the owner.
+ * <p>
+ * Points can be added, moved and removed at any time; readers and writers are coordinated by a
+ * read-write lock.
+ */
+public class SpatialIndex {
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians( EARTH_RADIUS_KM );
+    private static final int BRUTE_FORCE_LIMIT = 64;
+    private static final Comparator<Hit> FARTHEST_FIRST =
+            Comparator.comparingDouble( Hit::distanceKm ).thenComparingInt( Hit::id ).reversed();
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Integer, Point> points = new HashMap<>();
+    private final Map<Integer, Grid> grids = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A point found by a query, with its distance from the query point.
+     */
+    public record Hit( int id, double distanceKm ) {
+    }
+
+    private record Point( int id, int ownerId, double latitude, double longitude, long cell ) {
+    }
+
+    private static final class Grid {
+        private final Map<Long, List<Point>> cells = new HashMap<>();
+        private int size;
+        // Only ever widened, so it may cover rows that are empty again; that is safe for the search.
+        private int minRow = Integer.MAX_VALUE;
+        private int maxRow = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Constructs a SpatialIndex.
+     *
+     * @param cellDegrees The width and height of a grid cell in degrees.
+     */
+    public SpatialIndex( double cellDegrees ) {
+        if ( !( cellDegrees > 0 && cellDegrees <= 90 ) ) {
+            throw new IllegalArgumentException( "Cell size must be between 0 and 90 degrees" );
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = ( int ) Math.ceil( 180 / cellDegrees );
+        this.columns = ( int ) Math.ceil( 360 / cellDegrees );
+    }
+
+    /**
+     * Adds a point, replacing any previous position of the point with the same ID.
+     *
+     * @param id The point ID.
+     * @param ownerId The ID of the owner the point belongs to.
+     * @param latitude The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     */
+    public void put( int id, int ownerId, double latitude, double longitude ) {
+        int row = rowOf( latitude );
+        Point point = new Point( id, ownerId, latitude, longitude, ( long ) row * columns + columnOf( longitude ) );
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked( id );
+            points.put( id, point );
+            Grid grid = grids.computeIfAbsent( ownerId, owner -> new Grid() );
+            grid.cells.computeIfAbsent( point.cell(), cell -> new ArrayList<>( 2 ) ).add( point );
+            grid.size++;
+            grid.minRow = Math.min( grid.minRow, row );
+            grid.maxRow = Math.max( grid.maxRow, row );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a point if it is indexed.
+     *
+     * @param id The point ID.
+     */
+    public void remove( int id ) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked( id );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every point of an owner.
+     *
+     * @param ownerId The owner ID.
+     */
+    public void removeOwner( int ownerId ) {
+        lock.writeLock().lock();
+        try {
+            Grid grid = grids.remove( ownerId );
+            if ( grid != null ) {
+                grid.cells.values().forEach( cell -> cell.forEach( point -> points.remove( point.id() ) ) );
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed points.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the points of an owner closest to a query point.
+     *
+     * @param ownerId The owner whose points are searched.
+     * @param latitude The latitude of the query point in degrees.
+     * @param longitude The longitude of the query point in degrees.
+     * @param k The maximum number of points to return.
+     * @return Up to k points, nearest first.
+     */
+    public List<Hit> nearest( int ownerId, double latitude, double longitude, int k ) {
+        if ( k <= 0 ) {
+            return List.of();
+        }
+        PriorityQueue<Hit> best = new PriorityQueue<>( k + 1, FARTHEST_FIRST );
+
+        lock.readLock().lock();
+        try {
+            Grid grid = grids.get( ownerId );
+            if ( grid == null || grid.size == 0 ) {
+                return List.of();
+            }
+            if ( grid.size <= BRUTE_FORCE_LIMIT || !searchRings( grid, latitude, longitude, k, best ) ) {
+                best.clear();
+                grid.cells.values().forEach( cell -> offerAll( cell, latitude, longitude, k, best ) );
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>( best );
+        hits.sort( FARTHEST_FIRST.reversed() );
+        return hits;
+    }
+
+    /**
+     * Great-circle distance between two points by the haversine formula.
+     *
+     * @return The distance in kilometres.
+     */
+    public static double distanceKm( double latitude1, double longitude1, double latitude2, double longitude2 ) {
+        double deltaLatitude = Math.toRadians( latitude2 - latitude1 );
+        double deltaLongitude = Math.toRadians( longitude2 - longitude1 );
+        double a = haversine( deltaLatitude )
+                + Math.cos( Math.toRadians( latitude1 ) ) * Math.cos( Math.toRadians( latitude2 ) ) * haversine( deltaLongitude );
+        return 2 * EARTH_RADIUS_KM * Math.asin( Math.min( 1.0, Math.sqrt( a ) ) );
+    }
+
+    /**
+     * Visits rings of cells around the query point until the k nearest points are known.
+     *
+     * @return false if the search gave up because a full scan of the grid is cheaper.
+     */
+    private boolean searchRings( Grid grid, double latitude, double longitude, int k, PriorityQueue<Hit> best ) {
+        int row = rowOf( latitude );
+        int column = columnOf( longitude );
+        double cosQuery = Math.cos( Math.toRadians( latitude ) );
+        double maxAbsLatitude = Math.min( 90, Math.max(
+                Math.abs( grid.minRow * cellDegrees - 90 ),
+                Math.abs( ( grid.maxRow + 1 ) * cellDegrees - 90 ) ) );
+        double cosGrid = Math.cos( Math.toRadians( maxAbsLatitude ) );
+        int lookups = 0;
+
+        for ( int ring = 0; ; ring++ ) {
+            if ( 2 * ring + 1 >= columns ) {
+                return false;
+            }
+            for ( int r = Math.max( row - ring, grid.minRow ); r <= Math.min( row + ring, grid.maxRow ); r++ ) {
+                boolean edgeRow = Math.abs( r - row ) == ring;
+                int step = edgeRow ? 1 : Math.max( 1, 2 * ring );
+                for ( int c = column - ring; c <= column + ring; c += step ) {
+                    List<Point> cell = grid.cells.get( ( long ) r * columns + Math.floorMod( c, columns ) );
+                    if ( cell != null ) {
+                        offerAll( cell, latitude, longitude, k, best );
+                    }
+                    if ( ++lookups > grid.cells.size() ) {
+                        return false;
+                    }
+                }
+            }
+
+            boolean rowsCovered = row - ring <= grid.minRow && row + ring >= grid.maxRow;
+            double latitudeBound = rowsCovered ? Double.POSITIVE_INFINITY : ring * cellDegrees * KM_PER_DEGREE;
+            double longitudeBound = 2 * EARTH_RADIUS_KM * Math.asin( Math.min( 1.0, Math.sqrt(
+                    Math.max( 0, cosQuery * cosGrid ) * haversine( Math.toRadians( Math.min( 180, ring * cellDegrees ) ) ) ) ) );
+            double outsideBound = Math.min( latitudeBound, longitudeBound );
+            if ( best.size() == k && best.peek().distanceKm() <= outsideBound ) {
+                return true;
+            }
+        }
+    }
+
+    private static void offerAll( List<Point> cell, double latitude, double longitude, int k, PriorityQueue<Hit> best ) {
+        for ( Point point : cell ) {
+            Hit hit = new Hit( point.id(), distanceKm( latitude, longitude, point.latitude(), point.longitude() ) );
+            if ( best.size() < k ) {
+                best.add( hit );
+            } else if ( FARTHEST_FIRST.compare( hit, best.peek() ) > 0 ) {
+                best.poll();
+                best.add( hit );
+            }
+        }
+    }
+
+    private void removeUnlocked( int id ) {
+        Point point = points.remove( id );
+        if ( point == null ) {
+            return;
+        }
+        Grid grid = grids.get( point.ownerId() );
+        List<Point> cell = grid.cells.get( point.cell() );
+        cell.removeIf( candidate -> candidate.id() == id );
+        if ( cell.isEmpty() ) {
+            grid.cells.remove( point.cell() );
+        }
+        if ( --grid.size == 0 ) {
+            grids.remove( point.ownerId() );
+        }
+    }
+
+    private int rowOf( double latitude ) {
+        return Math.min( rows - 1, Math.max( 0, ( int ) Math.floor( ( latitude + 90 ) / cellDegrees ) ) );
+    }
+
+    private int columnOf( double longitude ) {
+        return Math.floorMod( ( int ) Math.floor( ( longitude + 180 ) / cellDegrees ), columns );
+    }
+
+    private static double haversine( double radians ) {
+        double sin = Math.sin( radians / 2 );
+        return sin * sin;
+    }
+}
@@ -0,0 +1,294 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports every statement run on its connections to the {@link StatementListener}s.
+ * <p>
+ * Connections and statements are wrapped in proxies that time the calls into the driver, and
+ * result sets in an {@link ObservedResultSet} that counts the rows read, so the same SQL is
+ * observed whether it comes from JdbcClient, JdbcTemplate or plain JDBC. Result sets are not
+ * proxied, since their getters run once per column of every row. A query is reported when its result set is closed, with the time
+ * spent executing it and fetching its rows. Bound parameters are only recorded for statements a
+ * listener asked them for. Without listeners, connections are handed out unwrapped.
+ */
+public class ObservedDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger( ObservedDataSource.class );
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final List<StatementListener> listeners;
+    private final Map<String, SqlFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an ObservedDataSource.
+     *
+     * @param targetDataSource The DataSource connections come from.
+     * @param listeners The listeners told about each statement.
+     */
+    public ObservedDataSource( DataSource targetDataSource, List<StatementListener> listeners ) {
+        super( targetDataSource );
+        this.listeners = List.copyOf( listeners );
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observe( super.getConnection() );
+    }
+
+    @Override
+    public Connection getConnection( String username, String password ) throws SQLException {
+        return observe( super.getConnection( username, password ) );
+    }
+
+    @Override
+    public void close() throws Exception {
+        if ( getTargetDataSource() instanceof AutoCloseable closeable ) {
+            closeable.close();
+        }
+    }
+
+    private Connection observe( Connection connection ) {
+        if ( listeners.isEmpty() ) {
+            return connection;
+        }
+        return proxy( Connection.class, new ConnectionHandler( connection ) );
+    }
+
+    private SqlFingerprint fingerprint( String sql ) {
+        SqlFingerprint fingerprint = fingerprints.get( sql );
+        if ( fingerprint != null ) {
+            return fingerprint;
+        }
+        fingerprint = SqlFingerprint.of( sql );
+        // Statements with inlined values never repeat; stop caching rather than grow without bound.
+        if ( fingerprints.size() < MAX_CACHED_FINGERPRINTS ) {
+            fingerprints.put( sql, fingerprint );
+        }
+        return fingerprint;
+    }
+
+    private void report( Execution execution, long finishNanos, boolean failed ) {
+        StatementExecution completed = new StatementExecution(
+                execution.sql,
+                fingerprint( execution.sql ),
+                execution.startNanos,
+                finishNanos,
+                execution.databaseNanos,
+                execution.rows,
+                execution.parameters,
+                failed
+        );
+        for ( StatementListener listener : listeners ) {
+            try {
+                listener.executed( completed );
+            } catch ( RuntimeException ex ) {
+                log.debug( "Statement listener {} failed", listener, ex );
+            }
+        }
+    }
+
+    private boolean wantsParameters() {
+        for ( StatementListener listener : listeners ) {
+            if ( listener.wantsParameters() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T proxy( Class<T> type, InvocationHandler handler ) {
+        return ( T ) Proxy.newProxyInstance( ObservedDataSource.class.getClassLoader(), new Class<?>[]{ type }, handler );
+    }
+
+    /**
+     * Proxies compare by identity, so that they can be kept in sets and maps.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        @Override
+        public final Object invoke( Object proxy, Method method, Object[] args ) throws Throwable {
+            if ( method.getName().equals( "equals" ) && args != null && args.length == 1 ) {
+                return proxy == args[ 0 ];
+            }
+            if ( method.getName().equals( "hashCode" ) && args == null ) {
+                return System.identityHashCode( proxy );
+            }
+            return handle( method, args );
+        }
+
+        abstract Object handle( Method method, Object[] args ) throws Throwable;
+    }
+
+    private static Object invoke( Object target, Method method, Object[] args ) throws Throwable {
+        try {
+            return method.invoke( target, args );
+        } catch ( InvocationTargetException ex ) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Renders a parameter for logs, leaving out the content of streams and large objects.
+     */
+    private static String describe( Object value ) {
+        if ( value == null ) {
+            return "null";
+        }
+        if ( value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof TemporalAccessor || value instanceof java.util.Date || value instanceof UUID ) {
+            String text = value instanceof CharSequence ? "'" + value + "'" : value.toString();
+            return text.length() > MAX_PARAMETER_LENGTH ? text.substring( 0, MAX_PARAMETER_LENGTH ) + "..." : text;
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    /**
+     * One execution of a statement, completed when its results are closed.
+     */
+    static final class Execution {
+        final String sql;
+        final long startNanos;
+        final List<String> parameters;
+        long databaseNanos;
+        long rows;
+        boolean finished;
+
+        Execution( String sql, long startNanos, List<String> parameters ) {
+            this.sql = sql;
+            this.startNanos = startNanos;
+            this.parameters = parameters;
+        }
+    }
+
+    private final class ConnectionHandler extends Handler {
+        private final Connection connection;
+
+        ConnectionHandler( Connection connection ) {
+            this.connection = connection;
+        }
+
+        @Override
+        Object handle( Method method, Object[] args ) throws Throwable {
+            Object result = ObservedDataSource.invoke( connection, method, args );
+            return switch ( method.getName() ) {
+                case "prepareStatement", "prepareCall" -> proxy( method.getReturnType(),
+                        new StatementHandler( ( Statement ) result, ( String ) args[ 0 ], wantsParameters() ) );
+                case "createStatement" -> proxy( Statement.class, new StatementHandler( ( Statement ) result, null, false ) );
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+        private final Statement statement;
+        private final String sql;
+        private final List<String> parameters;
+        private Execution pending;
+
+        StatementHandler( Statement statement, String sql, boolean captureParameters ) {
+            this.statement = statement;
+            this.sql = sql;
+            this.parameters = captureParameters ? new ArrayList<>() : null;
+        }
+
+        @Override
+        Object handle( Method method, Object[] args ) throws Throwable {
+            String name = method.getName();
+            if ( name.startsWith( "execute" ) ) {
+                return execute( method, args );
+            }
+            if ( parameters != null && name.startsWith( "set" ) && args != null && args.length >= 2 && args[ 0 ] instanceof Integer index ) {
+                bind( index, name.equals( "setNull" ) ? null : args[ 1 ] );
+            } else if ( parameters != null && name.equals( "clearParameters" ) ) {
+                parameters.clear();
+            } else if ( name.equals( "getResultSet" ) && pending != null ) {
+                ResultSet resultSet = ( ResultSet ) ObservedDataSource.invoke( statement, method, args );
+                return resultSet != null ? new ObservedResultSet( resultSet, pending, ObservedDataSource.this ) : null;
+            } else if ( name.equals( "close" ) ) {
+                finish( pending, false );
+            }
+            return ObservedDataSource.invoke( statement, method, args );
+        }
+
+        private Object execute( Method method, Object[] args ) throws Throwable {
+            finish( pending, false );
+            String executed = args != null && args.length > 0 && args[ 0 ] instanceof String text ? text : sql;
+            Execution execution = new Execution( executed, System.nanoTime(), parameters != null ? Collections.unmodifiableList( new ArrayList<>( parameters ) ) : null );
+            Object result;
+            try {
+                result = ObservedDataSource.invoke( statement, method, args );
+            } catch ( Throwable ex ) {
+                execution.databaseNanos = System.nanoTime() - execution.startNanos;
+                finish( execution, true );
+                throw ex;
+            }
+            execution.databaseNanos = System.nanoTime() - execution.startNanos;
+
+            if ( result instanceof ResultSet resultSet ) {
+                pending = execution;
+                return new ObservedResultSet( resultSet, execution, ObservedDataSource.this );
+            }
+            if ( Boolean.TRUE.equals( result ) ) {
+                // execute() returned a result set; it is counted once the caller fetches it.
+                pending = execution;
+                return result;
+            }
+            execution.rows = rowsOf( result );
+            finish( execution, false );
+            return result;
+        }
+
+        private long rowsOf( Object result ) throws SQLException {
+            if ( result instanceof Number count ) {
+                return Math.max( 0, count.longValue() );
+            }
+            if ( result instanceof int[] counts ) {
+                return Arrays.stream( counts ).filter( count -> count > 0 ).sum();
+            }
+            if ( result instanceof long[] counts ) {
+                return Arrays.stream( counts ).filter( count -> count > 0 ).sum();
+            }
+            if ( result instanceof Boolean ) {
+                return Math.max( 0, statement.getUpdateCount() );
+            }
+            return 0;
+        }
+
+        private void bind( int index, Object value ) {
+            while ( parameters.size() < index ) {
+                parameters.add( null );
+            }
+            parameters.set( index - 1, describe( value ) );
+        }
+    }
+
+    void finish( Execution execution, boolean failed ) {
+        if ( execution == null || execution.finished ) {
+            return;
+        }
+        execution.finished = true;
+        report( execution, System.nanoTime(), failed );
+    }
+}
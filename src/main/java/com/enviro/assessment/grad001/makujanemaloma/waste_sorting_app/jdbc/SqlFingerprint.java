@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The shape of a SQL statement with its values taken out, so that executions of the same
+ * statement with different parameters or literals are counted together.
+ *
+ * @param text The normalized statement: comments dropped, whitespace collapsed, string and number
+ *             literals replaced by {@code ?} and {@code IN} lists of any length reduced to {@code (?+)}.
+ * @param table The first table the statement reads or writes, as written in it, or null if it names none.
+ */
+public record SqlFingerprint( String text, String table ) {
+    private static final Pattern BLOCK_COMMENT = Pattern.compile( "/\\*.*?\\*/", Pattern.DOTALL );
+    private static final Pattern LINE_COMMENT = Pattern.compile( "--[^\\n]*" );
+    private static final Pattern STRING_LITERAL = Pattern.compile( "'(?:[^']|'')*'" );
+    private static final Pattern NUMBER_LITERAL = Pattern.compile( "(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])" );
+    private static final Pattern IN_LIST = Pattern.compile( "(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)" );
+    private static final Pattern WHITESPACE = Pattern.compile( "\\s+" );
+    private static final Pattern TABLE = Pattern.compile( "(?i)\\b(?:FROM|INTO|UPDATE|JOIN|TABLE)\\s+([A-Za-z_][\\w.]*)" );
+
+    /**
+     * Fingerprints a statement.
+     *
+     * @param sql The statement as sent to the database.
+     * @return Its fingerprint.
+     */
+    public static SqlFingerprint of( String sql ) {
+        if ( sql == null ) {
+            return new SqlFingerprint( "", null );
+        }
+        String text = BLOCK_COMMENT.matcher( sql ).replaceAll( " " );
+        text = LINE_COMMENT.matcher( text ).replaceAll( " " );
+        text = STRING_LITERAL.matcher( text ).replaceAll( "?" );
+        text = NUMBER_LITERAL.matcher( text ).replaceAll( "?" );
+        text = IN_LIST.matcher( text ).replaceAll( "IN (?+)" );
+        text = WHITESPACE.matcher( text ).replaceAll( " " ).trim();
+
+        Matcher table = TABLE.matcher( text );
+        return new SqlFingerprint( text, table.find() ? table.group( 1 ) : null );
+    }
+}
@@ -0,0 +1,28 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc;
+
+import java.util.List;
+
+/**
+ * One completed execution of a SQL statement.
+ *
+ * @param sql The statement as sent to the database.
+ * @param fingerprint The statement's fingerprint.
+ * @param startNanos When the statement was executed, on the {@link System#nanoTime()} clock.
+ * @param finishNanos When its results were closed, on the same clock.
+ * @param databaseNanos The time spent inside the driver: executing, and fetching rows. Time the
+ *                      caller spent mapping rows in between is not included.
+ * @param rows The number of rows read, or the update count of a write.
+ * @param parameters The bound parameters, or null if they were not sampled.
+ * @param failed Whether the statement threw.
+ */
+public record StatementExecution(
+        String sql,
+        SqlFingerprint fingerprint,
+        long startNanos,
+        long finishNanos,
+        long databaseNanos,
+        long rows,
+        List<String> parameters,
+        boolean failed
+) {
+}
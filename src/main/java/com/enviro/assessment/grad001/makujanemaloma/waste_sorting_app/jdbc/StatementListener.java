@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc;
+
+/**
+ * Is told about every SQL statement run through the {@link ObservedDataSource}. Listeners are
+ * called on the thread that ran the statement, once its results are closed, and must be cheap.
+ */
+public interface StatementListener {
+
+    /**
+     * Called when a statement is prepared; the bound parameters of its executions are captured
+     * if any listener answers true.
+     *
+     * @return Whether this listener wants the parameters of the statement.
+     */
+    default boolean wantsParameters() {
+        return false;
+    }
+
+    /**
+     * @param execution The execution that completed.
+     */
+    void executed( StatementExecution execution );
+}
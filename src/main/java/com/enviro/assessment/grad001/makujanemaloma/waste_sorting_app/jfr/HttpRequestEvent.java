@@ -0,0 +1,29 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An API request, from the time it reached {@link HttpRequestEventFilter} until its response was complete.
+ */
+@Name( HttpRequestEvent.NAME )
+@Label( "HTTP Request" )
+@Category( { "Enviro", "HTTP" } )
+@Description( "An API request handled by the application" )
+@StackTrace( false )
+public class HttpRequestEvent extends jdk.jfr.Event {
+    public static final String NAME = "enviro.HttpRequest";
+
+    @Label( "Method" )
+    String method;
+
+    @Label( "Endpoint" )
+    @Description( "The route the request matched, e.g. /api/waste/{id}, or its path if it matched none" )
+    String endpoint;
+
+    @Label( "Status" )
+    int status;
+}
@@ -0,0 +1,51 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records an {@link HttpRequestEvent} for every API request while a flight recording with the
+ * event enabled is running. The change stream is excluded because its connections are long-lived by design.
+ */
+public class HttpRequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter( HttpServletRequest request ) {
+        return request.getRequestURI().startsWith( "/api/changes" );
+    }
+
+    @Override
+    protected void doFilterInternal( HttpServletRequest request, HttpServletResponse response, FilterChain filterChain )
+            throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if ( !event.isEnabled() ) {
+            filterChain.doFilter( request, response );
+            return;
+        }
+
+        event.begin();
+        boolean failed = false;
+        try {
+            filterChain.doFilter( request, response );
+        } catch ( IOException | ServletException | RuntimeException ex ) {
+            failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if ( event.shouldCommit() ) {
+                Object route = request.getAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE );
+                event.method = request.getMethod();
+                event.endpoint = route != null ? route.toString() : request.getRequestURI();
+                event.status = failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jdk.jfr.FlightRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Emits the application's JDK Flight Recorder events: {@link HttpRequestEvent},
+ * {@link RepositoryEvent} and {@link MapperEvent}. They cost a check of a flag unless a recording
+ * with them enabled is running, e.g. one started with {@code jfr/enviro.jfc}.
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "jfr.events", name = "enabled", havingValue = "true", matchIfMissing = true )
+public class JfrEventsConfig {
+
+    static {
+        // Registered up front so that recordings list the events and their settings before the first one is emitted.
+        FlightRecorder.register( HttpRequestEvent.class );
+        FlightRecorder.register( RepositoryEvent.class );
+        FlightRecorder.register( MapperEvent.class );
+    }
+
+    @Bean
+    public static RepositoryEventPostProcessor repositoryEventPostProcessor() {
+        return new RepositoryEventPostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<HttpRequestEventFilter> httpRequestEventFilterRegistration() {
+        FilterRegistrationBean<HttpRequestEventFilter> registration = new FilterRegistrationBean<>( new HttpRequestEventFilter() );
+        registration.addUrlPatterns( "/api/*" );
+        registration.setOrder( Ordered.HIGHEST_PRECEDENCE + 40 );
+        return registration;
+    }
+}
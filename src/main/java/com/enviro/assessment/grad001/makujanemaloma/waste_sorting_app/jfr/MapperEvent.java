@@ -0,0 +1,95 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The mapping of SQL result rows to DTOs by one of the repositories' {@code sqlDataMapper*} methods.
+ * <pre>{@code
+ * MapperEvent event = MapperEvent.start( "WasteRepository.sqlDataMapperForEffectiveTips", rows.size() );
+ * ...
+ * event.finish( wastes.size() );
+ * }</pre>
+ * When the event is not enabled in the running recording, both calls do nothing.
+ */
+@Name( MapperEvent.NAME )
+@Label( "Row Mapping" )
+@Category( { "Enviro", "Database" } )
+@Description( "Rows read from the database being mapped to DTOs" )
+@StackTrace( false )
+public class MapperEvent extends jdk.jfr.Event {
+    public static final String NAME = "enviro.RowMapping";
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    @Label( "Mapper" )
+    String mapper;
+
+    @Label( "Rows In" )
+    long rowsIn;
+
+    @Label( "DTOs Out" )
+    long dtosOut;
+
+    @Label( "Allocated" )
+    @Description( "Bytes allocated by the mapping thread while mapping, or -1 if the JVM does not count them" )
+    @DataAmount
+    long allocated;
+
+    private transient long allocatedBefore;
+
+    /**
+     * Starts timing a mapping.
+     *
+     * @param mapper The mapper, as {@code <Repository>.<method>}.
+     * @param rowsIn The number of rows to map.
+     * @return The event, to {@link #finish(int)} when the mapping is done.
+     */
+    public static MapperEvent start( String mapper, int rowsIn ) {
+        MapperEvent event = new MapperEvent();
+        if ( event.isEnabled() ) {
+            event.mapper = mapper;
+            event.rowsIn = rowsIn;
+            event.allocatedBefore = allocatedBytes();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the mapping and commits the event if it passes the recording's threshold.
+     *
+     * @param dtosOut The number of DTOs the rows were mapped to.
+     */
+    public void finish( int dtosOut ) {
+        if ( !isEnabled() ) {
+            return;
+        }
+        end();
+        if ( shouldCommit() ) {
+            this.dtosOut = dtosOut;
+            this.allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+            commit();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if ( threads instanceof com.sun.management.ThreadMXBean counter
+                && counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled() ) {
+            return counter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,301 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes a flight recording of the application into a breakdown per endpoint: request count,
+ * server errors, latency percentiles, and how much of the requests' time was spent in repository
+ * calls and in row mapping, with the repository methods each endpoint called.
+ * <p>
+ * Repository and mapping events are attributed to the request that was running on the same thread
+ * when they started. Work the bulkhead or the shards ran on their own threads, and work done
+ * outside any request, is listed under {@value #OUTSIDE_REQUESTS}.
+ * <p>
+ * The analyzer only depends on the JDK, so it runs straight from source:
+ * <pre>{@code
+ * java src/main/java/com/enviro/assessment/grad001/makujanemaloma/waste_sorting_app/jfr/RecordingAnalyzer.java enviro.jfr
+ * }</pre>
+ */
+public final class RecordingAnalyzer {
+    /**
+     * The endpoint repository and mapping events outside any request are attributed to.
+     */
+    public static final String OUTSIDE_REQUESTS = "(outside requests)";
+
+    // The event names are repeated here rather than read from the event classes so that the analyzer runs on its own.
+    private static final String HTTP_REQUEST = "enviro.HttpRequest";
+    private static final String REPOSITORY_OPERATION = "enviro.RepositoryOperation";
+    private static final String ROW_MAPPING = "enviro.RowMapping";
+
+    /**
+     * The breakdown of one endpoint.
+     *
+     * @param endpoint The request method and route, e.g. {@code GET /api/waste/{id}}.
+     * @param requests The number of requests.
+     * @param serverErrors The number of requests answered with a 5xx status.
+     * @param p50 The median request duration.
+     * @param p99 The 99th percentile request duration.
+     * @param max The longest request duration.
+     * @param total The sum of the request durations.
+     * @param repository The time spent in repository calls, including the mapping they did.
+     * @param mapping The time spent mapping rows to DTOs.
+     * @param rowsMapped The number of rows mapped.
+     * @param bytesAllocatedMapping The bytes allocated while mapping, where the JVM counted them.
+     * @param repositoryMethods The repository methods called, most time first.
+     */
+    public record EndpointBreakdown(
+            String endpoint,
+            long requests,
+            long serverErrors,
+            Duration p50,
+            Duration p99,
+            Duration max,
+            Duration total,
+            Duration repository,
+            Duration mapping,
+            long rowsMapped,
+            long bytesAllocatedMapping,
+            List<MethodBreakdown> repositoryMethods
+    ) {
+    }
+
+    /**
+     * The calls an endpoint made to one repository method.
+     *
+     * @param method The method, as {@code <Repository>.<method>}.
+     * @param table The table of the repository, or null if it is not a {@code BaseRepository}.
+     * @param calls The number of calls.
+     * @param rows The number of rows or DTOs the calls returned.
+     * @param total The time spent in the calls.
+     */
+    public record MethodBreakdown( String method, String table, long calls, long rows, Duration total ) {
+    }
+
+    private RecordingAnalyzer() {
+    }
+
+    /**
+     * Prints the breakdown of a recording, busiest endpoints first.
+     *
+     * @param args The path of the recording.
+     * @throws IOException if the recording cannot be read.
+     */
+    public static void main( String[] args ) throws IOException {
+        if ( args.length != 1 ) {
+            System.err.println( "Usage: RecordingAnalyzer <recording.jfr>" );
+            System.exit( 2 );
+        }
+        for ( EndpointBreakdown endpoint : analyze( Path.of( args[ 0 ] ) ) ) {
+            System.out.println( format( endpoint ) );
+        }
+    }
+
+    /**
+     * Reads a recording and breaks it down per endpoint.
+     *
+     * @param recording The path of the recording.
+     * @return The endpoints, the one with the most total request time first.
+     * @throws IOException if the recording cannot be read.
+     */
+    public static List<EndpointBreakdown> analyze( Path recording ) throws IOException {
+        Map<Long, List<RecordedEvent>> requestsByThread = new HashMap<>();
+        List<RecordedEvent> work = new ArrayList<>();
+        try ( RecordingFile file = new RecordingFile( recording ) ) {
+            while ( file.hasMoreEvents() ) {
+                RecordedEvent event = file.readEvent();
+                switch ( event.getEventType().getName() ) {
+                    case HTTP_REQUEST -> requestsByThread.computeIfAbsent( threadOf( event ), thread -> new ArrayList<>() ).add( event );
+                    case REPOSITORY_OPERATION, ROW_MAPPING -> work.add( event );
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Map<String, Accumulator> endpoints = new TreeMap<>();
+        for ( List<RecordedEvent> requests : requestsByThread.values() ) {
+            requests.sort( Comparator.comparing( RecordedEvent::getStartTime ) );
+            for ( RecordedEvent request : requests ) {
+                endpoints.computeIfAbsent( endpointOf( request ), Accumulator::new ).addRequest( request );
+            }
+        }
+        for ( RecordedEvent event : work ) {
+            RecordedEvent request = enclosingRequest( requestsByThread.get( threadOf( event ) ), event.getStartTime() );
+            Accumulator endpoint = endpoints.computeIfAbsent( request != null ? endpointOf( request ) : OUTSIDE_REQUESTS, Accumulator::new );
+            if ( event.getEventType().getName().equals( REPOSITORY_OPERATION ) ) {
+                endpoint.addRepositoryCall( event );
+            } else {
+                endpoint.addMapping( event );
+            }
+        }
+
+        return endpoints.values().stream()
+                .map( Accumulator::toBreakdown )
+                .sorted( Comparator.comparing( EndpointBreakdown::total ).reversed() )
+                .toList();
+    }
+
+    /**
+     * Renders a breakdown as a line for the endpoint followed by an indented line per repository method.
+     *
+     * @param endpoint The breakdown.
+     * @return The text.
+     */
+    public static String format( EndpointBreakdown endpoint ) {
+        StringBuilder out = new StringBuilder( endpoint.endpoint() );
+        if ( endpoint.requests() > 0 ) {
+            out.append( String.format( Locale.ROOT, "  requests=%d 5xx=%d p50=%s p99=%s max=%s total=%s",
+                    endpoint.requests(), endpoint.serverErrors(), millis( endpoint.p50() ), millis( endpoint.p99() ),
+                    millis( endpoint.max() ), millis( endpoint.total() ) ) );
+        }
+        out.append( String.format( Locale.ROOT, "  repository=%s%s mapping=%s%s rows=%d allocated=%d KiB",
+                millis( endpoint.repository() ), share( endpoint.repository(), endpoint.total() ),
+                millis( endpoint.mapping() ), share( endpoint.mapping(), endpoint.total() ),
+                endpoint.rowsMapped(), endpoint.bytesAllocatedMapping() / 1024 ) );
+        for ( MethodBreakdown method : endpoint.repositoryMethods() ) {
+            out.append( String.format( Locale.ROOT, "%n    %s%s  calls=%d rows=%d total=%s",
+                    method.method(), method.table() != null ? " (" + method.table() + ")" : "", method.calls(), method.rows(), millis( method.total() ) ) );
+        }
+        return out.toString();
+    }
+
+    /**
+     * Finds the request that was running on a thread at a given time. Requests on one thread do not overlap.
+     */
+    private static RecordedEvent enclosingRequest( List<RecordedEvent> requests, Instant time ) {
+        if ( requests == null ) {
+            return null;
+        }
+        int low = 0;
+        int high = requests.size() - 1;
+        RecordedEvent candidate = null;
+        while ( low <= high ) {
+            int middle = ( low + high ) >>> 1;
+            if ( requests.get( middle ).getStartTime().isAfter( time ) ) {
+                high = middle - 1;
+            } else {
+                candidate = requests.get( middle );
+                low = middle + 1;
+            }
+        }
+        return candidate != null && !candidate.getEndTime().isBefore( time ) ? candidate : null;
+    }
+
+    private static long threadOf( RecordedEvent event ) {
+        RecordedThread thread = event.getThread();
+        return thread != null ? thread.getJavaThreadId() : -1;
+    }
+
+    private static String endpointOf( RecordedEvent request ) {
+        return request.getString( "method" ) + " " + request.getString( "endpoint" );
+    }
+
+    private static String millis( Duration duration ) {
+        return String.format( Locale.ROOT, "%.1fms", duration.toNanos() / 1e6 );
+    }
+
+    private static String share( Duration part, Duration whole ) {
+        return whole.isZero() ? "" : String.format( Locale.ROOT, " (%d%%)", Math.round( 100.0 * part.toNanos() / whole.toNanos() ) );
+    }
+
+    private static final class Accumulator {
+        private final String endpoint;
+        private final List<Duration> durations = new ArrayList<>();
+        private final Map<String, MethodAccumulator> methods = new HashMap<>();
+        private long serverErrors;
+        private Duration total = Duration.ZERO;
+        private Duration repository = Duration.ZERO;
+        private Duration mapping = Duration.ZERO;
+        private long rowsMapped;
+        private long bytesAllocatedMapping;
+
+        Accumulator( String endpoint ) {
+            this.endpoint = endpoint;
+        }
+
+        void addRequest( RecordedEvent request ) {
+            durations.add( request.getDuration() );
+            total = total.plus( request.getDuration() );
+            if ( request.getInt( "status" ) >= 500 ) {
+                serverErrors++;
+            }
+        }
+
+        void addRepositoryCall( RecordedEvent call ) {
+            repository = repository.plus( call.getDuration() );
+            methods.computeIfAbsent( call.getString( "method" ), method -> new MethodAccumulator( method, call.getString( "table" ) ) ).add( call );
+        }
+
+        void addMapping( RecordedEvent mapper ) {
+            mapping = mapping.plus( mapper.getDuration() );
+            rowsMapped += mapper.getLong( "rowsIn" );
+            bytesAllocatedMapping += Math.max( 0, mapper.getLong( "allocated" ) );
+        }
+
+        EndpointBreakdown toBreakdown() {
+            durations.sort( null );
+            return new EndpointBreakdown(
+                    endpoint,
+                    durations.size(),
+                    serverErrors,
+                    percentile( 0.50 ),
+                    percentile( 0.99 ),
+                    percentile( 1.0 ),
+                    total,
+                    repository,
+                    mapping,
+                    rowsMapped,
+                    bytesAllocatedMapping,
+                    methods.values().stream()
+                            .map( MethodAccumulator::toBreakdown )
+                            .sorted( Comparator.comparing( MethodBreakdown::total ).reversed() )
+                            .toList()
+            );
+        }
+
+        private Duration percentile( double quantile ) {
+            if ( durations.isEmpty() ) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil( quantile * durations.size() );
+            return durations.get( Math.max( 0, rank - 1 ) );
+        }
+    }
+
+    private static final class MethodAccumulator {
+        private final String method;
+        private final String table;
+        private long calls;
+        private long rows;
+        private Duration total = Duration.ZERO;
+
+        MethodAccumulator( String method, String table ) {
+            this.method = method;
+            this.table = table;
+        }
+
+        void add( RecordedEvent call ) {
+            calls++;
+            rows += Math.max( 0, call.getLong( "rows" ) );
+            total = total.plus( call.getDuration() );
+        }
+
+        MethodBreakdown toBreakdown() {
+            return new MethodBreakdown( method, table, calls, rows, total );
+        }
+    }
+}
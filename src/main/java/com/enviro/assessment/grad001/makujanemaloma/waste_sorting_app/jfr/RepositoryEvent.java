@@ -0,0 +1,29 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to a public method of a repository, recorded by {@link RepositoryEventPostProcessor}.
+ */
+@Name( RepositoryEvent.NAME )
+@Label( "Repository Operation" )
+@Category( { "Enviro", "Database" } )
+@Description( "A call to a repository method, including the queries it ran and the mapping of their rows" )
+@StackTrace( false )
+public class RepositoryEvent extends jdk.jfr.Event {
+    public static final String NAME = "enviro.RepositoryOperation";
+
+    @Label( "Table" )
+    String table;
+
+    @Label( "Method" )
+    String method;
+
+    @Label( "Rows" )
+    @Description( "The number of rows or DTOs returned, or -1 if the method does not return any" )
+    long rows;
+}
@@ -0,0 +1,67 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BaseRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Records a {@link RepositoryEvent} for every call to a public method of the {@link Repository}
+ * beans while a flight recording with the event enabled is running. Calls a repository makes to
+ * its own methods are not recorded separately.
+ */
+public class RepositoryEventPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    /**
+     * Constructs a RepositoryEventPostProcessor.
+     */
+    public RepositoryEventPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor( new AnnotationMatchingPointcut( Repository.class, true ), new RepositoryEventInterceptor() );
+        setBeforeExistingAdvisors( true );
+        setProxyTargetClass( true );
+    }
+
+    private static final class RepositoryEventInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke( MethodInvocation invocation ) throws Throwable {
+            RepositoryEvent event = new RepositoryEvent();
+            if ( !event.isEnabled() ) {
+                return invocation.proceed();
+            }
+
+            event.begin();
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                return result;
+            } finally {
+                event.end();
+                if ( event.shouldCommit() ) {
+                    Object repository = invocation.getThis();
+                    event.table = repository instanceof BaseRepository<?> base ? base.getTableName() : null;
+                    event.method = AopUtils.getTargetClass( repository ).getSimpleName() + "." + invocation.getMethod().getName();
+                    event.rows = rowsOf( result );
+                    event.commit();
+                }
+            }
+        }
+
+        private static long rowsOf( Object result ) {
+            if ( result instanceof Collection<?> rows ) {
+                return rows.size();
+            }
+            if ( result instanceof Optional<?> row ) {
+                return row.isPresent() ? 1 : 0;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.ErrorResponse;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hand-written Jackson serializers for the DTOs returned by the large list endpoints
+ * ({@code /api/waste/overview}, {@code /api/waste/recycling-tips}, {@code /api/categories/recycling-tips}),
+ * and for {@link ErrorResponse}, which is written for every "not found" lookup.
+ * <p>
+ * The serializers write each record component in declaration order straight to the generator,
+ * with field names encoded once up front and nested disposals and tips written without a
+ * serializer lookup per element. The output is byte-for-byte what reflective serialization
+ * produces with Spring Boot's default ObjectMapper settings (nulls included, dates as ISO
+ * strings); if {@link SerializationFeature#WRITE_DATES_AS_TIMESTAMPS} is turned on, timestamps
+ * are handed back to the configured serializer. When a record gains a component, its serializer
+ * here must be updated too; {@code HotDtoModuleTest} fails until it is.
+ */
+public class HotDtoModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString( "id" );
+    private static final SerializableString NAME = new SerializedString( "name" );
+    private static final SerializableString DESCRIPTION = new SerializedString( "description" );
+    private static final SerializableString CATEGORY = new SerializedString( "category" );
+    private static final SerializableString CATEGORY_NAME = new SerializedString( "categoryName" );
+    private static final SerializableString CATEGORY_DESCRIPTION = new SerializedString( "categoryDescription" );
+    private static final SerializableString CATEGORY_ID = new SerializedString( "categoryId" );
+    private static final SerializableString DISPOSALS = new SerializedString( "disposals" );
+    private static final SerializableString RECYCLING_TIPS = new SerializedString( "recyclingTips" );
+    private static final SerializableString WASTE_ID = new SerializedString( "wasteId" );
+    private static final SerializableString METHOD = new SerializedString( "method" );
+    private static final SerializableString INSTRUCTIONS = new SerializedString( "instructions" );
+    private static final SerializableString LOCATION = new SerializedString( "location" );
+    private static final SerializableString LATITUDE = new SerializedString( "latitude" );
+    private static final SerializableString LONGITUDE = new SerializedString( "longitude" );
+    private static final SerializableString TITLE = new SerializedString( "title" );
+    private static final SerializableString TIP = new SerializedString( "tip" );
+    private static final SerializableString LAST_UPDATED = new SerializedString( "lastUpdated" );
+    private static final SerializableString TIMESTAMP = new SerializedString( "timestamp" );
+    private static final SerializableString STATUS = new SerializedString( "status" );
+    private static final SerializableString ERROR = new SerializedString( "error" );
+    private static final SerializableString MESSAGE = new SerializedString( "message" );
+    private static final SerializableString PATH = new SerializedString( "path" );
+
+    /**
+     * Constructs a HotDtoModule.
+     */
+    public HotDtoModule() {
+        super( "HotDtoModule" );
+        TimestampFormatter timestamps = new TimestampFormatter();
+        DisposalSerializer disposalSerializer = new DisposalSerializer( timestamps );
+        RecyclingTipSerializer recyclingTipSerializer = new RecyclingTipSerializer( timestamps );
+        addSerializer( DisposalDTO.class, disposalSerializer );
+        addSerializer( RecyclingTipDTO.class, recyclingTipSerializer );
+        addSerializer( WasteOverviewDTO.class, new WasteOverviewSerializer( disposalSerializer ) );
+        addSerializer( WasteWithTipsDTO.class, new WasteWithTipsSerializer( recyclingTipSerializer ) );
+        addSerializer( CategoryWithTipsDTO.class, new CategoryWithTipsSerializer( recyclingTipSerializer ) );
+        addSerializer( ErrorResponse.class, new ErrorResponseSerializer( timestamps ) );
+    }
+
+    static final class DisposalSerializer extends StdSerializer<DisposalDTO> {
+        private final TimestampFormatter timestamps;
+
+        DisposalSerializer( TimestampFormatter timestamps ) {
+            super( DisposalDTO.class );
+            this.timestamps = timestamps;
+        }
+
+        @Override
+        public void serialize( DisposalDTO value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeInteger( gen, ID, value.id() );
+            writeInteger( gen, WASTE_ID, value.wasteId() );
+            writeString( gen, METHOD, value.method() );
+            writeString( gen, INSTRUCTIONS, value.instructions() );
+            writeString( gen, LOCATION, value.location() );
+            writeDouble( gen, LATITUDE, value.latitude() );
+            writeDouble( gen, LONGITUDE, value.longitude() );
+            writeTimestamp( gen, provider, timestamps, LAST_UPDATED, value.lastUpdated() );
+            gen.writeEndObject();
+        }
+    }
+
+    static final class RecyclingTipSerializer extends StdSerializer<RecyclingTipDTO> {
+        private final TimestampFormatter timestamps;
+
+        RecyclingTipSerializer( TimestampFormatter timestamps ) {
+            super( RecyclingTipDTO.class );
+            this.timestamps = timestamps;
+        }
+
+        @Override
+        public void serialize( RecyclingTipDTO value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeInteger( gen, ID, value.id() );
+            writeString( gen, TITLE, value.title() );
+            writeString( gen, TIP, value.tip() );
+            writeInteger( gen, CATEGORY_ID, value.categoryId() );
+            writeInteger( gen, WASTE_ID, value.wasteId() );
+            writeTimestamp( gen, provider, timestamps, LAST_UPDATED, value.lastUpdated() );
+            gen.writeEndObject();
+        }
+    }
+
+    static final class WasteOverviewSerializer extends StdSerializer<WasteOverviewDTO> {
+        private final DisposalSerializer disposalSerializer;
+
+        WasteOverviewSerializer( DisposalSerializer disposalSerializer ) {
+            super( WasteOverviewDTO.class );
+            this.disposalSerializer = disposalSerializer;
+        }
+
+        @Override
+        public void serialize( WasteOverviewDTO value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeInteger( gen, ID, value.id() );
+            writeString( gen, NAME, value.name() );
+            writeString( gen, DESCRIPTION, value.description() );
+            writeString( gen, CATEGORY, value.category() );
+            writeString( gen, CATEGORY_DESCRIPTION, value.categoryDescription() );
+            gen.writeFieldName( DISPOSALS );
+            writeList( gen, provider, value.disposals(), disposalSerializer );
+            gen.writeEndObject();
+        }
+    }
+
+    static final class WasteWithTipsSerializer extends StdSerializer<WasteWithTipsDTO> {
+        private final RecyclingTipSerializer recyclingTipSerializer;
+
+        WasteWithTipsSerializer( RecyclingTipSerializer recyclingTipSerializer ) {
+            super( WasteWithTipsDTO.class );
+            this.recyclingTipSerializer = recyclingTipSerializer;
+        }
+
+        @Override
+        public void serialize( WasteWithTipsDTO value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeInteger( gen, ID, value.id() );
+            writeString( gen, NAME, value.name() );
+            writeString( gen, DESCRIPTION, value.description() );
+            writeString( gen, CATEGORY_NAME, value.categoryName() );
+            gen.writeFieldName( RECYCLING_TIPS );
+            writeList( gen, provider, value.recyclingTips(), recyclingTipSerializer );
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CategoryWithTipsSerializer extends StdSerializer<CategoryWithTipsDTO> {
+        private final RecyclingTipSerializer recyclingTipSerializer;
+
+        CategoryWithTipsSerializer( RecyclingTipSerializer recyclingTipSerializer ) {
+            super( CategoryWithTipsDTO.class );
+            this.recyclingTipSerializer = recyclingTipSerializer;
+        }
+
+        @Override
+        public void serialize( CategoryWithTipsDTO value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeInteger( gen, ID, value.id() );
+            writeString( gen, NAME, value.name() );
+            writeString( gen, DESCRIPTION, value.description() );
+            gen.writeFieldName( RECYCLING_TIPS );
+            writeList( gen, provider, value.recyclingTips(), recyclingTipSerializer );
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+        private final TimestampFormatter timestamps;
+
+        ErrorResponseSerializer( TimestampFormatter timestamps ) {
+            super( ErrorResponse.class );
+            this.timestamps = timestamps;
+        }
+
+        @Override
+        public void serialize( ErrorResponse value, JsonGenerator gen, SerializerProvider provider ) throws IOException {
+            gen.writeStartObject( value );
+            writeTimestamp( gen, provider, timestamps, TIMESTAMP, value.timestamp() );
+            gen.writeFieldName( STATUS );
+            gen.writeNumber( value.status() );
+            writeString( gen, ERROR, value.error() );
+            writeString( gen, MESSAGE, value.message() );
+            writeString( gen, PATH, value.path() );
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeInteger( JsonGenerator gen, SerializableString name, Integer value ) throws IOException {
+        gen.writeFieldName( name );
+        if ( value == null ) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber( value.intValue() );
+        }
+    }
+
+    private static void writeDouble( JsonGenerator gen, SerializableString name, Double value ) throws IOException {
+        gen.writeFieldName( name );
+        if ( value == null ) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber( value.doubleValue() );
+        }
+    }
+
+    private static void writeString( JsonGenerator gen, SerializableString name, String value ) throws IOException {
+        gen.writeFieldName( name );
+        if ( value == null ) {
+            gen.writeNull();
+        } else {
+            gen.writeString( value );
+        }
+    }
+
+    private static void writeTimestamp(
+            JsonGenerator gen,
+            SerializerProvider provider,
+            TimestampFormatter timestamps,
+            SerializableString name,
+            LocalDateTime value
+    ) throws IOException {
+        gen.writeFieldName( name );
+        if ( value == null ) {
+            gen.writeNull();
+        } else if ( provider.isEnabled( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS ) ) {
+            provider.defaultSerializeValue( value, gen );
+        } else {
+            gen.writeString( timestamps.format( value ) );
+        }
+    }
+
+    private static <T> void writeList(
+            JsonGenerator gen,
+            SerializerProvider provider,
+            List<T> values,
+            StdSerializer<T> elementSerializer
+    ) throws IOException {
+        if ( values == null ) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray( values, values.size() );
+        for ( T value : values ) {
+            if ( value == null ) {
+                gen.writeNull();
+            } else {
+                elementSerializer.serialize( value, gen, provider );
+            }
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json;
+
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand-written serializers with Spring Boot's ObjectMapper. Set
+ * {@code json.hot-serializers.enabled=false} to fall back to reflective serialization.
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * @return The module holding the serializers for the large list DTOs.
+     */
+    @Bean
+    @ConditionalOnProperty( prefix = "json.hot-serializers", name = "enabled", matchIfMissing = true )
+    public Module hotDtoModule() {
+        return new HotDtoModule();
+    }
+}
@@ -0,0 +1,30 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats timestamps the way Jackson's default {@code LocalDateTime} serializer does
+ * ({@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}), remembering the last value formatted.
+ * <p>
+ * Rows written in the same statement share a {@code lastUpdated} value, and data loaded together
+ * tends to share it as well, so consecutive records usually repeat the same timestamp and the
+ * formatted text can be reused instead of formatting it again.
+ */
+final class TimestampFormatter {
+
+    private record Entry( LocalDateTime value, String text ) {
+    }
+
+    private volatile Entry last = new Entry( LocalDateTime.MIN, LocalDateTime.MIN.format( DateTimeFormatter.ISO_LOCAL_DATE_TIME ) );
+
+    String format( LocalDateTime value ) {
+        Entry entry = last;
+        if ( entry.value().equals( value ) ) {
+            return entry.text();
+        }
+        String text = value.format( DateTimeFormatter.ISO_LOCAL_DATE_TIME );
+        last = new Entry( value, text );
+        return text;
+    }
+}
@@ -0,0 +1,74 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes free-form item names from collection manifests so that spelling variants of the same
+ * item produce the same key: {@code "BOTTLES, PLASTIC 500ml x12"} and {@code "Plastic Bottle"} both
+ * normalize to {@code "bottle plastic"}.
+ * <p>
+ * Normalization folds case, drops quantities and units of measure, singularizes each word and
+ * sorts the words so that their order does not matter.
+ */
+public final class ItemNameNormalizer {
+    private static final Pattern QUANTITY = Pattern.compile(
+            "\\b(?:x\\s*)?\\d+(?:[.,]\\d+)?\\s*(?:x|kg|kgs|g|gr|mg|t|l|lt|ml|cl|lb|lbs|oz|pc|pcs|pk|pack|packs|unit|units)?\\b" );
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile( "[^\\p{Alnum}]+" );
+    private static final Set<String> UNIT_WORDS = Set.of(
+            "kg", "kgs", "g", "gr", "mg", "l", "lt", "ml", "cl", "lb", "lbs", "oz", "pc", "pcs", "pk", "pack", "packs",
+            "unit", "units", "x", "of", "the", "a", "an"
+    );
+
+    private ItemNameNormalizer() {
+    }
+
+    /**
+     * Normalizes an item name.
+     *
+     * @param name The raw item name.
+     * @return The normalized key, or an empty string if nothing meaningful remains.
+     */
+    public static String normalize( String name ) {
+        if ( name == null ) {
+            return "";
+        }
+        String folded = name.toLowerCase( Locale.ROOT );
+        folded = QUANTITY.matcher( folded ).replaceAll( " " );
+        String[] words = NON_ALPHANUMERIC.split( folded.trim() );
+
+        List<String> kept = new ArrayList<>( words.length );
+        for ( String word : words ) {
+            if ( word.isEmpty() || UNIT_WORDS.contains( word ) ) {
+                continue;
+            }
+            kept.add( singular( word ) );
+        }
+        String[] sorted = kept.toArray( new String[ 0 ] );
+        Arrays.sort( sorted );
+        return String.join( " ", sorted );
+    }
+
+    /**
+     * Strips common English plural endings from a single lower-case word.
+     */
+    static String singular( String word ) {
+        if ( word.length() <= 3 ) {
+            return word;
+        }
+        if ( word.endsWith( "ies" ) ) {
+            return word.substring( 0, word.length() - 3 ) + "y";
+        }
+        if ( word.endsWith( "ches" ) || word.endsWith( "shes" ) || word.endsWith( "sses" ) || word.endsWith( "xes" ) || word.endsWith( "zes" ) ) {
+            return word.substring( 0, word.length() - 2 );
+        }
+        if ( word.endsWith( "s" ) && !word.endsWith( "ss" ) && !word.endsWith( "us" ) && !word.endsWith( "is" ) ) {
+            return word.substring( 0, word.length() - 1 );
+        }
+        return word;
+    }
+}
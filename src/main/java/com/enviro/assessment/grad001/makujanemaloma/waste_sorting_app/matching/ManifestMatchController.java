@@ -0,0 +1,75 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * The ManifestMatchController maps the lines of commercial pickup manifests to waste records
+ * and their disposal instructions.
+ */
+@RestController
+@RequestMapping( "/api/waste/match" )
+public class ManifestMatchController {
+    private static final int BLOCK_SIZE = 4096;
+    private static final MediaType NDJSON = MediaType.parseMediaType( "application/x-ndjson" );
+
+    private final ManifestMatcher manifestMatcher;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a ManifestMatchController.
+     *
+     * @param manifestMatcher The matcher mapping item names to waste records.
+     * @param objectMapper The mapper used to write the streamed results.
+     */
+    public ManifestMatchController( ManifestMatcher manifestMatcher, ObjectMapper objectMapper ) {
+        this.manifestMatcher = manifestMatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Matches a plain-text manifest with one item name per line.
+     *
+     * @param manifest The manifest text.
+     * @return A stream of newline-delimited JSON `ManifestMatchDTO` objects, one per line, in line order.
+     */
+    @PostMapping( value = "", consumes = MediaType.TEXT_PLAIN_VALUE )
+    public ResponseEntity<StreamingResponseBody> matchText( @RequestBody String manifest ) {
+        return stream( manifest.lines().toList() );
+    }
+
+    /**
+     * Matches a manifest submitted as a JSON array of item names.
+     *
+     * @param manifest The item names.
+     * @return A stream of newline-delimited JSON `ManifestMatchDTO` objects, one per item, in order.
+     */
+    @PostMapping( value = "", consumes = MediaType.APPLICATION_JSON_VALUE )
+    public ResponseEntity<StreamingResponseBody> matchJson( @RequestBody List<String> manifest ) {
+        return stream( manifest );
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream( List<String> lines ) {
+        StreamingResponseBody body = outputStream -> {
+            try ( JsonGenerator generator = objectMapper.getFactory().createGenerator( outputStream ) ) {
+                generator.setPrettyPrinter( new MinimalPrettyPrinter( "\n" ) );
+                for ( int from = 0; from < lines.size(); from += BLOCK_SIZE ) {
+                    int to = Math.min( from + BLOCK_SIZE, lines.size() );
+                    for ( ManifestMatchDTO match : manifestMatcher.matchBlock( lines, from, to ) ) {
+                        objectMapper.writeValue( generator, match );
+                    }
+                    generator.flush();
+                }
+                generator.writeRaw( '\n' );
+            }
+        };
+        return ResponseEntity.ok().contentType( NDJSON ).body( body );
+    }
+}
@@ -0,0 +1,34 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+
+import java.util.List;
+
+/**
+ * The match for one line of a collection manifest.
+ *
+ * @param line The 1-based line number in the manifest.
+ * @param input The item name as submitted.
+ * @param normalized The normalized key the item was looked up by.
+ * @param matchType Whether the item matched exactly, fuzzily or not at all.
+ * @param score The similarity of the match, 1.0 for exact matches and 0.0 when unmatched.
+ * @param wasteId The ID of the matched waste item, or null.
+ * @param wasteName The name of the matched waste item, or null.
+ * @param disposals The disposal instructions of the matched waste item.
+ */
+public record ManifestMatchDTO(
+        int line,
+        String input,
+        String normalized,
+        MatchType matchType,
+        double score,
+        Integer wasteId,
+        String wasteName,
+        List<DisposalDTO> disposals
+) {
+    public enum MatchType {
+        EXACT,
+        FUZZY,
+        NONE
+    }
+}
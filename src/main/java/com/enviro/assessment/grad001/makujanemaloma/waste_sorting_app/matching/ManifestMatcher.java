@@ -0,0 +1,199 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.NGramIndex;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Maps manifest item names to waste records.
+ * <p>
+ * Matching works on an immutable snapshot holding a hash index from normalized waste name to
+ * waste item, and an {@link NGramIndex} over the normalized names for the fuzzy fallback. Exact
+ * hits cost one hash lookup; misses take the best trigram candidates and accept the first whose
+ * Dice similarity reaches the configured threshold. Lines are matched in parallel on a dedicated
+ * fork-join pool. Catalog writes advance a generation, and the next request rebuilds the snapshot
+ * under a lock if it was built for an older generation. A write that lands while a snapshot is
+ * being built leaves it stale, so the following request builds it again.
+ */
+@Component
+public class ManifestMatcher {
+    private static final int FUZZY_CANDIDATES = 3;
+
+    private final WasteRepository wasteRepository;
+    private final DisposalRepository disposalRepository;
+    private final ForkJoinPool pool;
+    private final double fuzzyThreshold;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private record Target( WasteDTO waste, List<DisposalDTO> disposals, Set<String> trigrams ) {
+    }
+
+    private record Snapshot( long generation, Map<String, Target> exact, Map<Integer, Target> byId, NGramIndex fuzzy ) {
+    }
+
+    /**
+     * Constructs a ManifestMatcher.
+     *
+     * @param wasteRepository The repository waste names are indexed from.
+     * @param disposalRepository The repository disposal instructions are loaded from.
+     * @param changeLog The change log whose writes make the snapshot stale.
+     * @param parallelism The parallelism of the matching fork-join pool.
+     * @param fuzzyThreshold The minimum Dice similarity, between 0 and 1, for a fuzzy match.
+     */
+    public ManifestMatcher(
+            WasteRepository wasteRepository,
+            DisposalRepository disposalRepository,
+            ChangeLog changeLog,
+            @Value( "${matching.parallelism:0}" ) int parallelism,
+            @Value( "${matching.fuzzy-threshold:0.5}" ) double fuzzyThreshold
+    ) {
+        this.wasteRepository = wasteRepository;
+        this.disposalRepository = disposalRepository;
+        this.pool = new ForkJoinPool( parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors() );
+        this.fuzzyThreshold = fuzzyThreshold;
+        changeLog.subscribe( event -> {
+            if ( !"RecyclingTips".equals( event.entity() ) ) {
+                generation.incrementAndGet();
+            }
+        } );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Matches a contiguous block of manifest lines in parallel.
+     *
+     * @param lines The whole manifest.
+     * @param from The index of the first line to match.
+     * @param to The index after the last line to match.
+     * @return The matches for the block, in line order.
+     */
+    public List<ManifestMatchDTO> matchBlock( List<String> lines, int from, int to ) {
+        Snapshot current = currentSnapshot();
+        return pool.submit( () -> IntStream.range( from, to )
+                .parallel()
+                .mapToObj( i -> match( current, i + 1, lines.get( i ) ) )
+                .toList()
+        ).join();
+    }
+
+    private ManifestMatchDTO match( Snapshot current, int line, String input ) {
+        String normalized = ItemNameNormalizer.normalize( input );
+        if ( normalized.isEmpty() ) {
+            return new ManifestMatchDTO( line, input, normalized, ManifestMatchDTO.MatchType.NONE, 0.0, null, null, List.of() );
+        }
+
+        Target exact = current.exact().get( normalized );
+        if ( exact != null ) {
+            return result( line, input, normalized, ManifestMatchDTO.MatchType.EXACT, 1.0, exact );
+        }
+
+        Set<String> trigrams = trigrams( normalized );
+        Target best = null;
+        double bestScore = 0.0;
+        for ( NGramIndex.Hit hit : current.fuzzy().search( normalized, FUZZY_CANDIDATES ) ) {
+            Target candidate = current.byId().get( hit.id() );
+            double score = dice( trigrams, candidate.trigrams() );
+            if ( score > bestScore ) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        if ( best != null && bestScore >= fuzzyThreshold ) {
+            return result( line, input, normalized, ManifestMatchDTO.MatchType.FUZZY, bestScore, best );
+        }
+        return new ManifestMatchDTO( line, input, normalized, ManifestMatchDTO.MatchType.NONE, bestScore, null, null, List.of() );
+    }
+
+    private static ManifestMatchDTO result(
+            int line,
+            String input,
+            String normalized,
+            ManifestMatchDTO.MatchType matchType,
+            double score,
+            Target target
+    ) {
+        return new ManifestMatchDTO( line, input, normalized, matchType, score, target.waste().id(), target.waste().name(), target.disposals() );
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if ( current != null && current.generation() == generation.get() ) {
+            return current;
+        }
+        synchronized ( this ) {
+            // Read before loading, so that a write during the build leaves the snapshot stale.
+            long wanted = generation.get();
+            current = snapshot;
+            if ( current == null || current.generation() != wanted ) {
+                current = build( wanted );
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build( long generation ) {
+        Map<Integer, List<DisposalDTO>> disposals = disposalRepository.getAllDisposals().stream()
+                .collect( Collectors.groupingBy( DisposalDTO::wasteId ) );
+
+        Map<String, Target> exact = new HashMap<>();
+        Map<Integer, Target> byId = new HashMap<>();
+        NGramIndex fuzzy = new NGramIndex();
+        for ( WasteDTO waste : wasteRepository.getAllWaste() ) {
+            String normalized = ItemNameNormalizer.normalize( waste.name() );
+            Target target = new Target( waste, disposals.getOrDefault( waste.id(), List.of() ), trigrams( normalized ) );
+            Target existing = exact.get( normalized );
+            if ( existing == null || existing.waste().id() > waste.id() ) {
+                exact.put( normalized, target );
+            }
+            byId.put( waste.id(), target );
+            fuzzy.put( waste.id(), List.of( new NGramIndex.Field( normalized, 1.0f ) ) );
+        }
+        return new Snapshot( generation, exact, byId, fuzzy );
+    }
+
+    private static Set<String> trigrams( String normalized ) {
+        Set<String> trigrams = new HashSet<>();
+        String padded = " " + normalized + " ";
+        for ( int i = 0; i + 3 <= padded.length(); i++ ) {
+            trigrams.add( padded.substring( i, i + 3 ) );
+        }
+        return trigrams;
+    }
+
+    private static double dice( Set<String> a, Set<String> b ) {
+        if ( a.isEmpty() || b.isEmpty() ) {
+            return 0.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for ( String trigram : smaller ) {
+            if ( larger.contains( trigram ) ) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / ( a.size() + b.size() );
+    }
+}
@@ -1,9 +1,14 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions.RecyclingTipNotFound;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.ETags;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -43,19 +48,28 @@ public class RecyclingTipController {
         return recyclingTipRepository.getAllRecyclingTips();
     }
 
+    /**
+     * Retrieves several recycling tips by their IDs in one request, e.g. {@code /api/recycling-tips?ids=1,2,3}.
+     *
+     * @param ids The IDs of the recycling tips to retrieve.
+     * @return The recycling tips found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = "ids" )
+    public BatchResultDTO<RecyclingTipDTO> getRecyclingTipsByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return recyclingTipRepository.getRecyclingTipsByIds( ids );
+    }
+
     /**
      * Retrieves a recycling tip by its ID.
      *
      * @param id The ID of the recycling tip to retrieve.
-     * @return A ResponseEntity containing the RecyclingTipDTO if found, otherwise throws RecyclingTipNotFound exception.
+     * @return A ResponseEntity containing the RecyclingTipDTO and its version as ETag if found, otherwise throws RecyclingTipNotFound exception.
      */
     @GetMapping( "/{id}" )
     public ResponseEntity<?> getRecyclingTipById( @PathVariable Integer id ) {
-        Optional<RecyclingTipDTO> recyclingTipDTO = recyclingTipRepository.getRecyclingTipById( id );
-        if ( recyclingTipDTO.isEmpty() ) {
-            throw new RecyclingTipNotFound( "Recycling Tip with id " + id + " not found"  );
-        }
-        return ResponseEntity.ok( recyclingTipDTO.get() );
+        Versioned<RecyclingTipDTO> recyclingTip = recyclingTipRepository.getVersionedRecyclingTipById( id )
+                .orElseThrow( () -> new RecyclingTipNotFound( "Recycling Tip with id " + id + " not found"  ) );
+        return ResponseEntity.ok().eTag( ETags.of( recyclingTip.version() ) ).body( recyclingTip.value() );
     }
 
     /**
@@ -80,18 +94,29 @@ public class RecyclingTipController {
      *
      * @param recyclingTipDTO The RecyclingTipDTO object containing the updated details.
      * @param id The ID of the recycling tip to update.
+     * @param ifMatch The ETag of the version the client last read; without it the update is unconditional.
      * @return A ResponseEntity indicating whether the recycling tip was successfully updated or not.
+     * @throws VersionConflictException if the recycling tip has been modified since the version in If-Match.
      */
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PutMapping( "/{id}" )
-    public ResponseEntity<?> updateCategory ( @Valid @RequestBody RecyclingTipDTO recyclingTipDTO, @PathVariable Integer id ) {
+    public ResponseEntity<?> updateCategory (
+            @Valid @RequestBody RecyclingTipDTO recyclingTipDTO,
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<RecyclingTipDTO> recyclingTip = recyclingTipRepository.getRecyclingTipById( id );
         if ( recyclingTip.isEmpty() ) {
             throw new RecyclingTipNotFound( "Recycling Tip with id " + id + " not found" );
         }
-        boolean updated = recyclingTipRepository.updateRecyclingTip(recyclingTipDTO, id );
+        Long expectedVersion = ETags.expectedVersion( ifMatch, () -> recyclingTipRepository.getRecyclingTipVersion( id ) );
+        boolean updated = recyclingTipRepository.updateRecyclingTip( recyclingTipDTO, id, expectedVersion );
         if ( updated ) {
-            return ResponseEntity.ok().build();
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if ( expectedVersion != null ) {
+                response.eTag( ETags.of( expectedVersion + 1 ) );
+            }
+            return response.build();
         }
         return ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR )
                 .body( "Failed to update record" );
@@ -101,14 +126,19 @@ public class RecyclingTipController {
      * Deletes a recycling tip record by its ID.
      *
      * @param id The ID of the recycling tip to delete.
+     * @param ifMatch The ETag of the version the client last read; without it the delete is unconditional.
+     * @throws VersionConflictException if the recycling tip has been modified since the version in If-Match.
      */
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
-    public void deleteCategoryById(@PathVariable Integer id) {
+    public void deleteCategoryById(
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<RecyclingTipDTO> recyclingTip = recyclingTipRepository.getRecyclingTipById( id );
         if ( recyclingTip.isEmpty() ) {
             throw new RecyclingTipNotFound( "Recycling Tip with id " + id + " not found" );
         }
-        recyclingTipRepository.deleteRecyclingTip( id );
+        recyclingTipRepository.deleteRecyclingTip( id, ETags.expectedVersion( ifMatch, () -> recyclingTipRepository.getRecyclingTipVersion( id ) ) );
     }
 }
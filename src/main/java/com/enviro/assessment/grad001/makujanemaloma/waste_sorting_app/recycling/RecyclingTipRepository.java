@@ -1,28 +1,73 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling;
 
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BaseRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRebalancer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * The RecyclingTipRepository class provides methods for interacting with the recyclingTips table in the database.
  * It extends BaseRepository and contains CRUD operations for managing recycling tips.
+ * Waste-level tips are sharded with their waste item; category-level tips are written to shard 0
+ * and replicated to every shard, so reads drop the replicas by ID.
  */
 @Repository
 public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
-    private final String tableName = "recyclingTips";
+    private final String tableName = "RecyclingTips";
+    private final ShardRebalancer shardRebalancer;
 
     /**
      * Constructs a RecyclingTipRepository with the provided JdbcClient.
      *
      * @param jdbcClient The JdbcClient instance used for executing SQL queries.
+     * @param changeLog The change log writes are published to.
+     * @param readCoalescer The coalescer shared by identical concurrent reads.
+     * @param bulkhead The bulkhead heavy reads are isolated in.
+     * @param shards The shards waste-level tips are spread over.
+     * @param shardRebalancer The rebalancer that moves a tip to the shard of its new waste item.
+     * @param auditLog The audit log writes are recorded in.
+     * @param categoryStats The per-category counts writes are counted in.
      */
-    public RecyclingTipRepository( JdbcClient jdbcClient ) {
-        super( jdbcClient, RecyclingTipDTO.class );
+    public RecyclingTipRepository(
+            JdbcClient jdbcClient,
+            ChangeLog changeLog,
+            ReadCoalescer readCoalescer,
+            Bulkhead bulkhead,
+            Shards shards,
+            ShardRebalancer shardRebalancer,
+            AuditLog auditLog,
+            CategoryStats categoryStats
+    ) {
+        super( jdbcClient, RecyclingTipDTO.class, changeLog, readCoalescer, bulkhead, shards, auditLog, categoryStats );
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    protected boolean isSharded() {
+        return true;
     }
 
     /**
@@ -31,7 +76,14 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
      * @return A list of RecyclingTipDTO objects representing all recycling tips.
      */
     public List<RecyclingTipDTO> getAllRecyclingTips() {
-        return getAll( tableName );
+        List<RecyclingTipDTO> tips = getAll( tableName );
+        if ( !shards.enabled() ) {
+            return tips;
+        }
+        Set<Integer> seen = new HashSet<>();
+        return tips.stream()
+                .filter( tip -> seen.add( tip.id() ) )
+                .toList();
     }
 
     /**
@@ -44,6 +96,50 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
         return getById( tableName, id );
     }
 
+    /**
+     * Retrieves a recycling tip by its ID together with the version it was read at.
+     *
+     * @param id The ID of the recycling tip to retrieve.
+     * @return The recycling tip and its version, or empty if it does not exist.
+     */
+    public Optional<Versioned<RecyclingTipDTO>> getVersionedRecyclingTipById( Integer id ) {
+        return getVersionedById( tableName, id );
+    }
+
+    /**
+     * Retrieves the current version of a recycling tip.
+     *
+     * @param id The ID of the recycling tip.
+     * @return The version, or empty if the recycling tip does not exist.
+     */
+    public Optional<Long> getRecyclingTipVersion( Integer id ) {
+        return getVersion( tableName, id );
+    }
+
+    /**
+     * Retrieves the recycling tips with the given IDs in batched queries.
+     *
+     * @param ids The IDs of the recycling tips to retrieve, in the order they should be returned.
+     * @return The recycling tips found, in request order, and the IDs that do not exist.
+     */
+    public BatchResultDTO<RecyclingTipDTO> getRecyclingTipsByIds( List<Integer> ids ) {
+        return getByIds( tableName, ids, RecyclingTipDTO::id );
+    }
+
+    /**
+     * Retrieves the recycling tips attached directly to several waste items with batched queries.
+     *
+     * @param wasteIds The IDs of the waste items.
+     * @return The recycling tips grouped by waste ID; waste items without tips are absent.
+     */
+    public Map<Integer, List<RecyclingTipDTO>> getRecyclingTipsByWasteIds( List<Integer> wasteIds ) {
+        if ( wasteIds.isEmpty() ) {
+            return Map.of();
+        }
+        return getAllWhereIn( tableName, "wasteId", wasteIds ).stream()
+                .collect( Collectors.groupingBy( RecyclingTipDTO::wasteId ) );
+    }
+
     /**
      * Creates a new recycling tip record in the database.
      *
@@ -64,7 +160,7 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
         );
 
         String sql = "INSERT INTO " + tableName + " (title, tip, categoryId, wasteId, lastUpdated) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
-        return createRecord(tableName, params, sql);
+        return createRecord(tableName, shardOf( recyclingTipDTO ), params, sql);
     }
 
     /**
@@ -75,6 +171,19 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
      * @return A boolean indicating whether the record was successfully updated.
      */
     public boolean updateRecyclingTip( RecyclingTipDTO recyclingTipDTO, Integer id ) {
+        return updateRecyclingTip( recyclingTipDTO, id, null );
+    }
+
+    /**
+     * Updates an existing recycling tip record if it is still at the expected version.
+     *
+     * @param recyclingTipDTO The RecyclingTipDTO object containing the updated details.
+     * @param id The ID of the recycling tip to update.
+     * @param expectedVersion The version the recycling tip must have, or null to update unconditionally.
+     * @return A boolean indicating whether the record was successfully updated.
+     * @throws VersionConflictException if the recycling tip has been modified since that version.
+     */
+    public boolean updateRecyclingTip( RecyclingTipDTO recyclingTipDTO, Integer id, Long expectedVersion ) {
         List<Object> params = Arrays.asList(
                 recyclingTipDTO.title(),
                 recyclingTipDTO.tip(),
@@ -82,10 +191,18 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
                 recyclingTipDTO.wasteId(),
                 id
         );
+        int shard = shardOf( recyclingTipDTO );
+        Map<String, Object> foreignKeys = new HashMap<>();
+        foreignKeys.put( "categoryId", recyclingTipDTO.categoryId() );
+        foreignKeys.put( "wasteId", recyclingTipDTO.wasteId() );
+        shardRebalancer.relocate( tableName, id, shard, foreignKeys, expectedVersion );
         return updateRecord(
                 tableName,
+                shard,
+                id,
+                expectedVersion,
                 params,
-                "UPDATE " + tableName + " SET  title = ?, tip = ?, categoryId = ?, wasteId = ?, lastUpdated = CURRENT_TIMESTAMP where id = ?"
+                "UPDATE " + tableName + " SET  title = ?, tip = ?, categoryId = ?, wasteId = ?, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 where id = ?"
         );
     }
 
@@ -95,6 +212,27 @@ public class RecyclingTipRepository extends BaseRepository<RecyclingTipDTO> {
      * @param id The ID of the recycling tip to delete.
      */
     public void deleteRecyclingTip( Integer id ) {
-        delete( tableName, id );
+        deleteRecyclingTip( id, null );
+    }
+
+    /**
+     * Deletes a recycling tip record by its ID if it is still at the expected version.
+     *
+     * @param id The ID of the recycling tip to delete.
+     * @param expectedVersion The version the recycling tip must have, or null to delete unconditionally.
+     * @throws VersionConflictException if the recycling tip has been modified since that version.
+     */
+    public void deleteRecyclingTip( Integer id, Long expectedVersion ) {
+        delete( tableName, id, expectedVersion );
+    }
+
+    /**
+     * Returns the shard a tip is written to: that of its waste item, or shard 0 for a category-level tip.
+     */
+    private int shardOf( RecyclingTipDTO recyclingTipDTO ) {
+        if ( recyclingTipDTO.wasteId() == null ) {
+            return 0;
+        }
+        return shards.locate( "Waste", recyclingTipDTO.wasteId() ).orElse( 0 );
     }
 }
@@ -1,6 +1,8 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions;
 
-public class RecyclingTipNotFound extends RuntimeException {
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
+
+public class RecyclingTipNotFound extends StacklessException {
     public RecyclingTipNotFound(String message) {
         super(message);
     }
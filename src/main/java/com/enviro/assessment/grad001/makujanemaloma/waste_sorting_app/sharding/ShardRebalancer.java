@@ -0,0 +1,249 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every row on the shard it belongs to.
+ * <p>
+ * Categories and category-level recycling tips are written to shard 0 and copied to every other
+ * shard as soon as the write is published to the {@link ChangeLog}, before the writing request
+ * returns, so a waste item can be inserted on its shard right after its category is created.
+ * Waste items, with their disposals and waste-level tips, are moved when their category, or the
+ * configured placement, points at another shard. A move copies the rows first and then deletes
+ * the originals; the shards do not share a transaction, so a failure in between leaves a copy on
+ * both shards until the next start rebalances again.
+ */
+@Component
+public class ShardRebalancer {
+    private static final Logger log = LoggerFactory.getLogger( ShardRebalancer.class );
+
+    private final Shards shards;
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Constructs a ShardRebalancer.
+     *
+     * @param shards The shards rows are kept on.
+     * @param jdbcClient The JdbcClient over the shard routing DataSource.
+     * @param changeLog The change log reference data writes are replicated from.
+     */
+    public ShardRebalancer( Shards shards, JdbcClient jdbcClient, ChangeLog changeLog ) {
+        this.shards = shards;
+        this.jdbcClient = jdbcClient;
+        if ( shards.enabled() ) {
+            changeLog.subscribe( this::replicate );
+        }
+    }
+
+    /**
+     * Copies all reference data to every shard and moves waste items that are on the wrong shard,
+     * such as the seed data, which is always loaded into shard 0. Runs before the in-memory read
+     * models are built.
+     */
+    @EventListener( ApplicationReadyEvent.class )
+    @Order( Ordered.HIGHEST_PRECEDENCE )
+    public void rebalance() {
+        if ( !shards.enabled() ) {
+            return;
+        }
+
+        List<Map<String, Object>> categories = shards.on( 0, () -> rows( "SELECT * FROM Category" ) );
+        List<Map<String, Object>> categoryTips = shards.on( 0, () -> rows( "SELECT * FROM RecyclingTips WHERE wasteId IS NULL" ) );
+        for ( int shard = 1; shard < shards.count(); shard++ ) {
+            merge( shard, "Category", categories );
+            merge( shard, "RecyclingTips", categoryTips );
+        }
+
+        int moved = 0;
+        for ( int shard = 0; shard < shards.count(); shard++ ) {
+            for ( Map<String, Object> waste : shards.on( shard, () -> rows( "SELECT id, categoryId FROM Waste" ) ) ) {
+                int target = shards.shardFor( ( Integer ) waste.get( "categoryId" ) );
+                if ( target != shard ) {
+                    moveWaste( ( Integer ) waste.get( "id" ), shard, target );
+                    moved++;
+                }
+            }
+        }
+        log.info( "Shards rebalanced: {} categories replicated, {} waste items moved", categories.size(), moved );
+    }
+
+    /**
+     * Moves a waste item, with its disposals and waste-level tips, to a shard if it is elsewhere.
+     *
+     * @param wasteId The ID of the waste item.
+     * @param target The shard it should be on.
+     */
+    public void relocateWaste( Integer wasteId, int target ) {
+        relocateWaste( wasteId, target, null );
+    }
+
+    /**
+     * Moves a waste item, with its disposals and waste-level tips, to a shard if it is elsewhere
+     * and still at the expected version. The version is checked before the move, so a stale update
+     * does not move the row it is about to be rejected for.
+     *
+     * @param wasteId The ID of the waste item.
+     * @param target The shard it should be on.
+     * @param expectedVersion The version the waste item must have, or null to move it unconditionally.
+     * @throws VersionConflictException if the waste item has been modified since that version.
+     */
+    public void relocateWaste( Integer wasteId, int target, Long expectedVersion ) {
+        if ( !shards.enabled() ) {
+            return;
+        }
+        Optional<Integer> from = shards.locate( "Waste", wasteId ).filter( shard -> shard != target );
+        if ( from.isEmpty() ) {
+            return;
+        }
+        checkVersion( from.get(), "Waste", wasteId, expectedVersion );
+        moveWaste( wasteId, from.get(), target );
+    }
+
+    /**
+     * Moves a single disposal or recycling tip to a shard if it is elsewhere. The foreign keys
+     * the row is about to be updated with are applied to the copy, so that it is valid on the target shard.
+     *
+     * @param table The table of the row.
+     * @param id The ID of the row.
+     * @param target The shard it should be on.
+     * @param foreignKeys The new values of the row's foreign key columns.
+     */
+    public void relocate( String table, Integer id, int target, Map<String, Object> foreignKeys ) {
+        relocate( table, id, target, foreignKeys, null );
+    }
+
+    /**
+     * Moves a single disposal or recycling tip to a shard if it is elsewhere and still at the
+     * expected version.
+     *
+     * @param table The table of the row.
+     * @param id The ID of the row.
+     * @param target The shard it should be on.
+     * @param foreignKeys The new values of the row's foreign key columns.
+     * @param expectedVersion The version the row must have, or null to move it unconditionally.
+     * @throws VersionConflictException if the row has been modified since that version.
+     */
+    public void relocate( String table, Integer id, int target, Map<String, Object> foreignKeys, Long expectedVersion ) {
+        if ( !shards.enabled() ) {
+            return;
+        }
+        Optional<Integer> from = shards.locate( table, id ).filter( shard -> shard != target );
+        if ( from.isEmpty() ) {
+            return;
+        }
+        checkVersion( from.get(), table, id, expectedVersion );
+
+        List<Map<String, Object>> row = shards.on( from.get(), () -> rows( "SELECT * FROM " + table + " WHERE id = ?", id ) );
+        row.forEach( copy -> copy.putAll( foreignKeys ) );
+        merge( target, table, row );
+        shards.on( from.get(), () -> jdbcClient.sql( "DELETE FROM " + table + " WHERE id = ?" )
+                .param( 1, id )
+                .update() );
+    }
+
+    private void checkVersion( int shard, String table, Integer id, Long expectedVersion ) {
+        if ( expectedVersion == null ) {
+            return;
+        }
+        Optional<Long> version = shards.on( shard, () -> jdbcClient.sql( "SELECT version FROM " + table + " WHERE id = ?" )
+                .param( 1, id )
+                .query( Long.class )
+                .optional() );
+        if ( version.isPresent() && !version.get().equals( expectedVersion ) ) {
+            throw new VersionConflictException(
+                    "Record with id " + id + " in table " + table + " has been modified; its current version is " + version.get() );
+        }
+    }
+
+    private void moveWaste( Integer wasteId, int from, int target ) {
+        List<Map<String, Object>> waste = shards.on( from, () -> rows( "SELECT * FROM Waste WHERE id = ?", wasteId ) );
+        List<Map<String, Object>> disposals = shards.on( from, () -> rows( "SELECT * FROM Disposal WHERE wasteId = ?", wasteId ) );
+        List<Map<String, Object>> tips = shards.on( from, () -> rows( "SELECT * FROM RecyclingTips WHERE wasteId = ?", wasteId ) );
+
+        merge( target, "Waste", waste );
+        merge( target, "Disposal", disposals );
+        merge( target, "RecyclingTips", tips );
+        // Cascades to the disposals and tips left behind.
+        shards.on( from, () -> jdbcClient.sql( "DELETE FROM Waste WHERE id = ?" )
+                .param( 1, wasteId )
+                .update() );
+    }
+
+    private void replicate( ChangeEvent event ) {
+        if ( event.id() == null ) {
+            return;
+        }
+        switch ( event.entity() ) {
+            case "Category" -> {
+                Optional<Map<String, Object>> category = shards.on( 0, () -> rows( "SELECT * FROM Category WHERE id = ?", event.id() ) )
+                        .stream()
+                        .findFirst();
+                for ( int shard = 1; shard < shards.count(); shard++ ) {
+                    if ( category.isPresent() ) {
+                        merge( shard, "Category", List.of( category.get() ) );
+                    } else {
+                        // Cascades to the shard's waste items, as the delete did on shard 0.
+                        deleteWhere( shard, "DELETE FROM Category WHERE id = ?", event.id() );
+                    }
+                }
+            }
+            case "RecyclingTips" -> {
+                Optional<Map<String, Object>> categoryTip = shards.on( 0, () -> rows( "SELECT * FROM RecyclingTips WHERE id = ?", event.id() ) )
+                        .stream()
+                        .filter( tip -> tip.get( "wasteId" ) == null )
+                        .findFirst();
+                for ( int shard = 1; shard < shards.count(); shard++ ) {
+                    if ( categoryTip.isPresent() ) {
+                        merge( shard, "RecyclingTips", List.of( categoryTip.get() ) );
+                    } else {
+                        // Only removes replicas; a waste-level tip with this ID is the original.
+                        deleteWhere( shard, "DELETE FROM RecyclingTips WHERE id = ? AND wasteId IS NULL", event.id() );
+                    }
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private List<Map<String, Object>> rows( String sql, Object... params ) {
+        return jdbcClient.sql( sql )
+                .params( params )
+                .query()
+                .listOfRows();
+    }
+
+    private void deleteWhere( int shard, String sql, Integer id ) {
+        shards.on( shard, () -> jdbcClient.sql( sql )
+                .param( 1, id )
+                .update() );
+    }
+
+    private void merge( int shard, String table, List<Map<String, Object>> rows ) {
+        shards.on( shard, () -> {
+            for ( Map<String, Object> row : rows ) {
+                String columns = String.join( ", ", row.keySet() );
+                String values = row.keySet().stream()
+                        .map( column -> ":" + column )
+                        .collect( Collectors.joining( ", " ) );
+                jdbcClient.sql( "MERGE INTO " + table + " ( " + columns + " ) KEY ( id ) VALUES ( " + values + " )" )
+                        .params( row )
+                        .update();
+            }
+        } );
+    }
+}
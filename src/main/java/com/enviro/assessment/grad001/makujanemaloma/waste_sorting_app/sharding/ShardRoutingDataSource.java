@@ -0,0 +1,78 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes each connection request to the database of the calling thread's shard, see
+ * {@link Shards#currentShard()}. Shard 0 is the primary DataSource with its bulkhead lanes; every
+ * other shard is a pool of its own.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final List<String> SHARDED_TABLES = List.of( "Waste", "Disposal", "RecyclingTips" );
+
+    private final List<HikariDataSource> additionalShards;
+
+    private ShardRoutingDataSource( DataSource firstShard, List<HikariDataSource> additionalShards ) {
+        this.additionalShards = additionalShards;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put( 0, firstShard );
+        for ( int shard = 1; shard <= additionalShards.size(); shard++ ) {
+            targets.put( shard, additionalShards.get( shard - 1 ) );
+        }
+        setTargetDataSources( targets );
+        setDefaultTargetDataSource( firstShard );
+        afterPropertiesSet();
+    }
+
+    /**
+     * Opens a pool for every additional shard, creates the schema in it and moves its ID sequences
+     * into the shard's own range, so that rows keep globally unique IDs when they move between shards.
+     *
+     * @param firstShard The primary DataSource, which is shard 0 and is initialised by Spring Boot.
+     * @param properties The shard layout.
+     * @return The routing DataSource.
+     */
+    public static ShardRoutingDataSource create( DataSource firstShard, ShardingProperties properties ) {
+        List<HikariDataSource> additionalShards = new ArrayList<>();
+        for ( int shard = 1; shard <= properties.shardUrls().size(); shard++ ) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName( "shard-" + shard + "-pool" );
+            pool.setJdbcUrl( properties.shardUrls().get( shard - 1 ) );
+            pool.setUsername( properties.username() );
+            pool.setPassword( properties.password() );
+            pool.setMaximumPoolSize( properties.poolSize() );
+
+            new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( pool );
+            JdbcTemplate jdbcTemplate = new JdbcTemplate( pool );
+            long firstId = ( long ) shard * properties.idStride() + 1;
+            for ( String table : SHARDED_TABLES ) {
+                // A persistent shard may already hold rows; never restart below them.
+                Long maxId = jdbcTemplate.queryForObject( "SELECT COALESCE( MAX( id ), 0 ) FROM " + table, Long.class );
+                long nextId = Math.max( firstId, maxId + 1 );
+                jdbcTemplate.execute( "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId );
+            }
+            additionalShards.add( pool );
+        }
+        return new ShardRoutingDataSource( firstShard, additionalShards );
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Shards.currentShard();
+    }
+
+    @Override
+    public void close() {
+        additionalShards.forEach( HikariDataSource::close );
+    }
+}
@@ -0,0 +1,39 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of the category shards.
+ *
+ * @param enabled Whether waste items and their disposals and tips are spread over several databases.
+ * @param shardUrls The JDBC URLs of the shards after the first; shard 0 is always the primary DataSource.
+ * @param username The user name for the additional shards.
+ * @param password The password for the additional shards.
+ * @param poolSize The number of connections of each additional shard's pool.
+ * @param scatterThreads The number of threads running the per-shard parts of fanned-out queries.
+ * @param idStride The width of each shard's ID range: shard n generates IDs from {@code n * idStride + 1}.
+ * @param placement Pins category IDs to shard numbers; other categories are placed by {@code categoryId mod shardCount}.
+ */
+@ConfigurationProperties( prefix = "sharding" )
+public record ShardingProperties(
+        @DefaultValue( "false" ) boolean enabled,
+        @DefaultValue List<String> shardUrls,
+        @DefaultValue( "sa" ) String username,
+        @DefaultValue( "" ) String password,
+        @DefaultValue( "4" ) int poolSize,
+        @DefaultValue( "8" ) int scatterThreads,
+        @DefaultValue( "100000000" ) int idStride,
+        @DefaultValue Map<Integer, Integer> placement
+) {
+
+    /**
+     * @return The number of shards, including the primary DataSource.
+     */
+    public int shardCount() {
+        return enabled ? 1 + shardUrls.size() : 1;
+    }
+}
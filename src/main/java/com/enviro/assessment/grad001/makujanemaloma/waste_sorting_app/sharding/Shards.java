@@ -0,0 +1,293 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.Deadline;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Span;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shards places waste items, with their disposals and waste-level recycling tips, on one of
+ * several databases by category, and runs queries against one shard or all of them.
+ * <p>
+ * The shard a query runs against is a property of the calling thread, like the bulkhead lane:
+ * {@link #on(int, Supplier)} selects it and the {@link ShardRoutingDataSource} hands out a
+ * connection to that shard, so the repository SQL is the same whether sharding is on or off.
+ * Categories and category-level tips are small reference data; they are written to shard 0 and
+ * replicated to the others by the {@link ShardRebalancer}, so every join stays within one shard.
+ * <p>
+ * With sharding disabled there is a single shard and every method runs its work inline.
+ */
+@Component
+public class Shards {
+    private static final ThreadLocal<Integer> CURRENT_SHARD = ThreadLocal.withInitial( () -> 0 );
+
+    private final ShardingProperties properties;
+    private final JdbcClient jdbcClient;
+    private final int shardCount;
+    private final ExecutorService scatterExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs Shards.
+     *
+     * @param properties The shard layout.
+     * @param jdbcClient The JdbcClient over the shard routing DataSource.
+     * @param transactionManager The transaction manager of the shard routing DataSource.
+     */
+    public Shards( ShardingProperties properties, JdbcClient jdbcClient, PlatformTransactionManager transactionManager ) {
+        this.properties = properties;
+        this.jdbcClient = jdbcClient;
+        this.transactionTemplate = new TransactionTemplate( transactionManager );
+        this.shardCount = properties.shardCount();
+        if ( shardCount > 1 ) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.scatterExecutor = Executors.newFixedThreadPool( properties.scatterThreads(), runnable -> {
+                Thread thread = new Thread( runnable, "shard-scatter-" + threadNumber.incrementAndGet() );
+                thread.setDaemon( true );
+                return thread;
+            } );
+        } else {
+            this.scatterExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the shard the calling thread's queries run against.
+     */
+    public static int currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * @return Whether there is more than one shard.
+     */
+    public boolean enabled() {
+        return shardCount > 1;
+    }
+
+    /**
+     * @return The number of shards.
+     */
+    public int count() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard that holds the waste items of a category.
+     *
+     * @param categoryId The category ID.
+     * @return The configured shard of the category, or {@code categoryId mod shardCount}.
+     */
+    public int shardFor( Integer categoryId ) {
+        if ( !enabled() || categoryId == null ) {
+            return 0;
+        }
+        Integer pinned = properties.placement().get( categoryId );
+        if ( pinned != null && pinned >= 0 && pinned < shardCount ) {
+            return pinned;
+        }
+        return Math.floorMod( categoryId, shardCount );
+    }
+
+    /**
+     * Returns the shard that holds the waste items of a category, looked up by name.
+     *
+     * @param categoryName The category name.
+     * @return The shard of the category; shard 0 if no category has that name, where a query finds nothing either.
+     */
+    public int shardForCategoryName( String categoryName ) {
+        if ( !enabled() ) {
+            return 0;
+        }
+        return on( 0, () -> jdbcClient.sql( "SELECT id FROM Category WHERE name = ?" )
+                .param( 1, categoryName )
+                .query( Integer.class )
+                .optional() )
+                .map( this::shardFor )
+                .orElse( 0 );
+    }
+
+    /**
+     * Finds the shard holding a row. A replicated row is reported on the lowest shard, which is
+     * where it is written.
+     *
+     * @param table The table name.
+     * @param id The row ID.
+     * @return The shard, or empty if no shard has the row. Without sharding this is always shard 0, without a query.
+     */
+    public Optional<Integer> locate( String table, Integer id ) {
+        if ( !enabled() ) {
+            return Optional.of( 0 );
+        }
+        List<Integer> holders = gather( () -> jdbcClient.sql( "SELECT COUNT(*) FROM " + table + " WHERE id = ?" )
+                .param( 1, id )
+                .query( Integer.class )
+                .single() > 0 ? List.of( currentShard() ) : List.<Integer>of() );
+        return holders.stream().findFirst();
+    }
+
+    /**
+     * Runs work against one shard on the calling thread.
+     *
+     * @param shard The shard.
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     */
+    public <T> T on( int shard, Supplier<T> work ) {
+        int previous = CURRENT_SHARD.get();
+        if ( previous == shard ) {
+            return work.get();
+        }
+        CURRENT_SHARD.set( shard );
+        try {
+            return work.get();
+        } finally {
+            CURRENT_SHARD.set( previous );
+        }
+    }
+
+    /**
+     * Runs work against one shard on the calling thread.
+     *
+     * @param shard The shard.
+     * @param work The work to run.
+     */
+    public void on( int shard, Runnable work ) {
+        on( shard, () -> {
+            work.run();
+            return null;
+        } );
+    }
+
+    /**
+     * Runs work against one shard in a single transaction on the calling thread, committed when the
+     * work returns and rolled back when it throws. The transaction holds one connection to the shard,
+     * so the work must not switch to another shard.
+     *
+     * @param shard The shard.
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     */
+    public <T> T inTransaction( int shard, Supplier<T> work ) {
+        return on( shard, () -> transactionTemplate.execute( status -> work.get() ) );
+    }
+
+    /**
+     * Runs a query against every shard in parallel and concatenates the results in shard order.
+     * Shard 0 is queried on the calling thread, so it keeps the caller's bulkhead lane; every shard
+     * keeps the caller's {@link Deadline} and current span.
+     *
+     * @param query The query to run on each shard.
+     * @param <T> The element type.
+     * @return The results of all shards.
+     */
+    public <T> List<T> gather( Supplier<List<T>> query ) {
+        if ( !enabled() ) {
+            return query.get();
+        }
+        List<T> merged = new ArrayList<>();
+        gatherEach( query ).forEach( merged::addAll );
+        return merged;
+    }
+
+    /**
+     * Runs a sorted query against every shard in parallel, as {@link #gather(Supplier)} does, and
+     * merges the shards' results into one sorted list. Concatenating them instead would break the
+     * query's ORDER BY wherever the shards' rows interleave.
+     *
+     * @param query The query to run on each shard, returning its rows in {@code order}.
+     * @param order The order of the query's ORDER BY.
+     * @param <T> The element type.
+     * @return The results of all shards, in {@code order}; rows that compare equal keep shard order.
+     */
+    public <T> List<T> gather( Supplier<List<T>> query, Comparator<? super T> order ) {
+        if ( !enabled() ) {
+            return query.get();
+        }
+        List<List<T>> results = gatherEach( query );
+        List<T> merged = new ArrayList<>( results.stream().mapToInt( List::size ).sum() );
+        // Heads of the shards' lists, as { shard, index }; ties go to the lower shard.
+        PriorityQueue<int[]> heads = new PriorityQueue<>( Comparator.<int[], T>comparing( head -> results.get( head[ 0 ] ).get( head[ 1 ] ), order )
+                .thenComparingInt( head -> head[ 0 ] ) );
+        for ( int shard = 0; shard < results.size(); shard++ ) {
+            if ( !results.get( shard ).isEmpty() ) {
+                heads.add( new int[]{ shard, 0 } );
+            }
+        }
+        while ( !heads.isEmpty() ) {
+            int[] head = heads.poll();
+            List<T> result = results.get( head[ 0 ] );
+            merged.add( result.get( head[ 1 ] ) );
+            if ( ++head[ 1 ] < result.size() ) {
+                heads.add( head );
+            }
+        }
+        return merged;
+    }
+
+    private <T> List<List<T>> gatherEach( Supplier<List<T>> query ) {
+        Deadline deadline = Deadline.current();
+        Span span = Tracer.currentSpan();
+        List<CompletableFuture<List<T>>> others = new ArrayList<>( shardCount - 1 );
+        for ( int shard = 1; shard < shardCount; shard++ ) {
+            int target = shard;
+            others.add( CompletableFuture.supplyAsync( () -> Deadline.callWith( deadline, () -> Tracer.callWith( span, () -> on( target, query ) ) ), scatterExecutor ) );
+        }
+
+        List<List<T>> results = new ArrayList<>( shardCount );
+        results.add( on( 0, query ) );
+        for ( CompletableFuture<List<T>> other : others ) {
+            try {
+                results.add( other.join() );
+            } catch ( CompletionException ex ) {
+                if ( ex.getCause() instanceof RuntimeException runtimeException ) {
+                    throw runtimeException;
+                }
+                if ( ex.getCause() instanceof Error error ) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs a point query against every shard in parallel and returns the first result found, in shard order.
+     *
+     * @param query The query to run on each shard.
+     * @param <T> The result type.
+     * @return The first result found.
+     */
+    public <T> Optional<T> gatherFirst( Supplier<Optional<T>> query ) {
+        if ( !enabled() ) {
+            return query.get();
+        }
+        return gather( () -> query.get().stream().toList() ).stream().findFirst();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if ( scatterExecutor != null ) {
+            scatterExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values with log-linear buckets: every power of two is
+ * split into eight buckets, so any percentile it reports is within 12.5% of the true value.
+ * Recording a value is a few atomic additions and never allocates.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = ( 64 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value The value to record; negative values are recorded as 0.
+     */
+    public void record( long value ) {
+        long recorded = Math.max( 0, value );
+        counts.incrementAndGet( bucketOf( recorded ) );
+        count.increment();
+        sum.add( recorded );
+        if ( recorded > max.get() ) {
+            max.accumulateAndGet( recorded, Math::max );
+        }
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of the values recorded.
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return The largest value recorded, 0 if there is none.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return The mean of the values recorded, 0 if there is none.
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : ( double ) sum() / n;
+    }
+
+    /**
+     * @param quantile The quantile, between 0 and 1, e.g. 0.99.
+     * @return An upper bound of the value at that quantile, 0 if nothing was recorded.
+     */
+    public long percentile( double quantile ) {
+        long total = 0;
+        for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+            total += counts.get( bucket );
+        }
+        if ( total == 0 ) {
+            return 0;
+        }
+        long rank = Math.max( 1, ( long ) Math.ceil( quantile * total ) );
+        long seen = 0;
+        for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+            seen += counts.get( bucket );
+            if ( seen >= rank ) {
+                return Math.min( upperBoundOf( bucket ), max() );
+            }
+        }
+        return max();
+    }
+
+    static int bucketOf( long value ) {
+        if ( value < SUB_BUCKETS ) {
+            return ( int ) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros( value );
+        int subBucket = ( int ) ( value >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKETS - 1 );
+        return ( exponent - SUB_BUCKET_BITS + 1 ) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf( int bucket ) {
+        if ( bucket < SUB_BUCKETS ) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long upper = ( ( SUB_BUCKETS + subBucket + 1 ) << ( exponent - SUB_BUCKET_BITS ) ) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
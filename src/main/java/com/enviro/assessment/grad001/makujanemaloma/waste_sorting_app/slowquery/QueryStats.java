@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.SqlFingerprint;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementExecution;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of one statement fingerprint: latency in microseconds and rows per execution.
+ */
+final class QueryStats {
+    private final SqlFingerprint fingerprint;
+    private final Histogram latencyMicros = new Histogram();
+    private final Histogram rows = new Histogram();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile SlowQuerySampleDTO lastSlow;
+
+    QueryStats( SqlFingerprint fingerprint ) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record( StatementExecution execution ) {
+        latencyMicros.record( TimeUnit.NANOSECONDS.toMicros( execution.databaseNanos() ) );
+        rows.record( execution.rows() );
+        if ( execution.failed() ) {
+            failed.increment();
+        }
+    }
+
+    void recordSlow( SlowQuerySampleDTO sample ) {
+        slow.increment();
+        lastSlow = sample;
+    }
+
+    SlowQueryDTO toDTO() {
+        return new SlowQueryDTO(
+                fingerprint.text(),
+                fingerprint.table(),
+                latencyMicros.count(),
+                slow.sum(),
+                failed.sum(),
+                millis( latencyMicros.sum() ),
+                latencyMicros.mean() / 1000,
+                millis( latencyMicros.percentile( 0.5 ) ),
+                millis( latencyMicros.percentile( 0.95 ) ),
+                millis( latencyMicros.percentile( 0.99 ) ),
+                millis( latencyMicros.max() ),
+                rows.percentile( 0.5 ),
+                rows.percentile( 0.99 ),
+                rows.max(),
+                lastSlow
+        );
+    }
+
+    static SlowQuerySampleDTO sample( StatementExecution execution ) {
+        return new SlowQuerySampleDTO(
+                LocalDateTime.now(),
+                millis( TimeUnit.NANOSECONDS.toMicros( execution.databaseNanos() ) ),
+                execution.rows(),
+                execution.parameters()
+        );
+    }
+
+    private static double millis( long micros ) {
+        return micros / 1000.0;
+    }
+}
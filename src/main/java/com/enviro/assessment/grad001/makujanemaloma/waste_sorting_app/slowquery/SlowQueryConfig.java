@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code slow-query.*} settings of the {@link SlowQueryLog}.
+ */
+@Configuration
+@EnableConfigurationProperties( SlowQueryProperties.class )
+public class SlowQueryConfig {
+}
@@ -0,0 +1,55 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.exceptions.InvalidSlowQueryRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The SlowQueryController lists the statements that cost the most, for tracking down latency regressions.
+ */
+@RestController
+@RequestMapping( "/api/admin/slow-queries" )
+public class SlowQueryController {
+    private static final int MAX_LIMIT = 100;
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Constructs a SlowQueryController.
+     *
+     * @param slowQueryLog The per-statement statistics.
+     */
+    public SlowQueryController( SlowQueryLog slowQueryLog ) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Retrieves the top offenders, e.g. {@code /api/admin/slow-queries?orderBy=p99&limit=5}.
+     *
+     * @param orderBy What makes a statement costly: total, mean, p99, max, slow or rows.
+     * @param limit The maximum number of statements, between 1 and 100.
+     * @return The statistics of the costliest statements, worst first.
+     * @throws InvalidSlowQueryRequestException if orderBy is unknown or limit is out of range.
+     */
+    @GetMapping( "" )
+    public List<SlowQueryDTO> getTopOffenders(
+            @RequestParam( value = "orderBy", defaultValue = "total" ) String orderBy,
+            @RequestParam( value = "limit", defaultValue = "10" ) int limit
+    ) {
+        if ( limit < 1 || limit > MAX_LIMIT ) {
+            throw new InvalidSlowQueryRequestException( "limit must be between 1 and " + MAX_LIMIT );
+        }
+        return slowQueryLog.top( SlowQueryOrder.of( orderBy ), limit );
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    @ResponseStatus( HttpStatus.NO_CONTENT )
+    @DeleteMapping( "" )
+    public void resetStatistics() {
+        slowQueryLog.reset();
+    }
+}
@@ -0,0 +1,40 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+/**
+ * The statistics of one statement fingerprint. Percentiles are accurate to within 12.5%.
+ *
+ * @param fingerprint The normalized statement.
+ * @param table The first table the statement names.
+ * @param executions The number of executions.
+ * @param slowExecutions The number of executions at or above the threshold.
+ * @param failedExecutions The number of executions that threw.
+ * @param totalMillis The time all executions spent in the database.
+ * @param meanMillis The mean time per execution.
+ * @param p50Millis The median time per execution.
+ * @param p95Millis The 95th percentile time per execution.
+ * @param p99Millis The 99th percentile time per execution.
+ * @param maxMillis The longest execution.
+ * @param p50Rows The median number of rows per execution.
+ * @param p99Rows The 99th percentile number of rows per execution.
+ * @param maxRows The largest number of rows of one execution.
+ * @param lastSlow The most recent slow execution, or null if there was none.
+ */
+public record SlowQueryDTO(
+        String fingerprint,
+        String table,
+        long executions,
+        long slowExecutions,
+        long failedExecutions,
+        double totalMillis,
+        double meanMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis,
+        long p50Rows,
+        long p99Rows,
+        long maxRows,
+        SlowQuerySampleDTO lastSlow
+) {
+
+}
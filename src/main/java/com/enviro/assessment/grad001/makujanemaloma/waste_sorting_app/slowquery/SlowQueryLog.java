@@ -0,0 +1,98 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementExecution;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps latency and row-count histograms of every statement, by fingerprint, and logs the
+ * statements that spend at least {@code slow-query.threshold-ms} in the database.
+ * <p>
+ * Statements are observed by the {@link com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.ObservedDataSource},
+ * so repository SQL, JdbcTemplate queries and plain JDBC are all covered. Recording a statement
+ * that is not slow is a map lookup and a few atomic additions. The bound parameters of
+ * {@code slow-query.parameter-sample-rate} of the statements are captured, and logged with them
+ * if they turn out to be slow.
+ */
+@Component
+public class SlowQueryLog implements StatementListener {
+    private static final Logger log = LoggerFactory.getLogger( SlowQueryLog.class );
+
+    private final SlowQueryProperties properties;
+    private final long thresholdNanos;
+    private final ConcurrentMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a SlowQueryLog.
+     *
+     * @param properties The slow-query settings.
+     */
+    public SlowQueryLog( SlowQueryProperties properties ) {
+        this.properties = properties;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos( properties.thresholdMillis() );
+    }
+
+    @Override
+    public boolean wantsParameters() {
+        return properties.enabled() && ThreadLocalRandom.current().nextDouble() < properties.parameterSampleRate();
+    }
+
+    @Override
+    public void executed( StatementExecution execution ) {
+        if ( !properties.enabled() ) {
+            return;
+        }
+        String fingerprint = execution.fingerprint().text();
+        QueryStats queryStats = stats.get( fingerprint );
+        if ( queryStats == null && stats.size() < properties.maxFingerprints() ) {
+            queryStats = stats.computeIfAbsent( fingerprint, key -> new QueryStats( execution.fingerprint() ) );
+        }
+        if ( queryStats != null ) {
+            queryStats.record( execution );
+        }
+
+        if ( execution.databaseNanos() >= thresholdNanos ) {
+            SlowQuerySampleDTO sample = QueryStats.sample( execution );
+            if ( queryStats != null ) {
+                queryStats.recordSlow( sample );
+            }
+            if ( sample.parameters() != null ) {
+                log.warn( "Slow query: {} ms, {} rows{}: {} with parameters {}", sample.millis(), sample.rows(),
+                        execution.failed() ? ", failed" : "", execution.sql(), sample.parameters() );
+            } else {
+                log.warn( "Slow query: {} ms, {} rows{}: {}", sample.millis(), sample.rows(),
+                        execution.failed() ? ", failed" : "", execution.sql() );
+            }
+        }
+    }
+
+    /**
+     * Lists the statements that cost the most.
+     *
+     * @param order What makes a statement costly.
+     * @param limit The maximum number of statements.
+     * @return The statistics of the costliest statements, worst first.
+     */
+    public List<SlowQueryDTO> top( SlowQueryOrder order, int limit ) {
+        return stats.values().stream()
+                .map( QueryStats::toDTO )
+                .sorted( order.worstFirst() )
+                .limit( limit )
+                .toList();
+    }
+
+    /**
+     * Forgets all statistics, e.g. to measure a regression from a clean start.
+     */
+    public void reset() {
+        stats.clear();
+    }
+}
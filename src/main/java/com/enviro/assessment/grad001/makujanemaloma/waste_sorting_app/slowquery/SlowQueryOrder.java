@@ -0,0 +1,56 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.exceptions.InvalidSlowQueryRequestException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * The orders the top offenders can be listed in, worst first.
+ */
+public enum SlowQueryOrder {
+    TOTAL( "total", Comparator.comparingDouble( SlowQueryDTO::totalMillis ) ),
+    MEAN( "mean", Comparator.comparingDouble( SlowQueryDTO::meanMillis ) ),
+    P99( "p99", Comparator.comparingDouble( SlowQueryDTO::p99Millis ) ),
+    MAX( "max", Comparator.comparingDouble( SlowQueryDTO::maxMillis ) ),
+    SLOW( "slow", Comparator.comparingLong( SlowQueryDTO::slowExecutions ) ),
+    ROWS( "rows", Comparator.comparingLong( SlowQueryDTO::p99Rows ) );
+
+    private final String key;
+    private final Comparator<SlowQueryDTO> worstFirst;
+
+    SlowQueryOrder( String key, Comparator<SlowQueryDTO> ascending ) {
+        this.key = key;
+        this.worstFirst = ascending.reversed();
+    }
+
+    /**
+     * @return The name of the order in requests.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return A comparator that puts the worst statements first.
+     */
+    public Comparator<SlowQueryDTO> worstFirst() {
+        return worstFirst;
+    }
+
+    /**
+     * Looks up an order by its name.
+     *
+     * @param key The name, as used in requests.
+     * @return The order.
+     * @throws InvalidSlowQueryRequestException if no order has that name.
+     */
+    public static SlowQueryOrder of( String key ) {
+        return Arrays.stream( values() )
+                .filter( order -> order.key.equalsIgnoreCase( key.trim() ) )
+                .findFirst()
+                .orElseThrow( () -> new InvalidSlowQueryRequestException( "Cannot order by '" + key + "'; expected one of "
+                        + Arrays.stream( values() ).map( SlowQueryOrder::key ).collect( Collectors.joining( ", " ) ) ) );
+    }
+}
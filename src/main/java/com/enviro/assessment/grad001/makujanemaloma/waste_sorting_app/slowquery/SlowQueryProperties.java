@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the slow-query log.
+ *
+ * @param enabled Whether statements are timed at all.
+ * @param thresholdMillis Statements that spend at least this long in the database are logged.
+ * @param parameterSampleRate The share of statements whose bound parameters are captured, between 0 and 1.
+ * @param maxFingerprints The number of distinct statements statistics are kept for; further ones are only logged.
+ */
+@ConfigurationProperties( prefix = "slow-query" )
+public record SlowQueryProperties(
+        @DefaultValue( "true" ) boolean enabled,
+        @DefaultValue( "200" ) long thresholdMillis,
+        @DefaultValue( "0.1" ) double parameterSampleRate,
+        @DefaultValue( "1000" ) int maxFingerprints
+) {
+}
@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The most recent slow execution of a statement.
+ *
+ * @param at When it completed.
+ * @param millis The time it spent in the database.
+ * @param rows The number of rows it read or wrote.
+ * @param parameters Its bound parameters, or null if they were not sampled.
+ */
+public record SlowQuerySampleDTO(
+        LocalDateTime at,
+        double millis,
+        long rows,
+        List<String> parameters
+) {
+
+}
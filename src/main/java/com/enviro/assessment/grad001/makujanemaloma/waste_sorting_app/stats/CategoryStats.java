@@ -0,0 +1,352 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Counts waste items, disposal methods and recycling tips per category without querying the
+ * database on read.
+ * <p>
+ * The repositories hand every write's row, as returned by the write itself, to {@link #record}.
+ * CategoryStats remembers the category each row was counted in, so an update or delete moves the
+ * row's count from that category to its new one on striped {@link LongAdder} counters without
+ * reading the row's previous state, and concurrent writers never contend on a shared count.
+ * Reads walk one entry per category. Rows a delete cascades to are recorded one by one.
+ * <p>
+ * One change cannot be counted from the written row alone: moving a waste item to another
+ * category moves its disposals and tips with it. That write, writes to rows not seen yet, and
+ * writes made by other instances queue a reconciliation against the database, which also runs
+ * every {@code stats.reconcile-interval-ms}. A write recorded while a reconciliation is running
+ * can be miscounted until the next one.
+ */
+@Component
+public class CategoryStats {
+    private static final Logger log = LoggerFactory.getLogger( CategoryStats.class );
+    private static final Set<String> TRACKED = Set.of( "Category", "Waste", "Disposal", "RecyclingTips" );
+
+    private final JdbcClient jdbcClient;
+    private final Shards shards;
+    private final boolean enabled;
+    private final long reconcileIntervalMillis;
+    private final Map<Integer, Counters> counters = new ConcurrentSkipListMap<>();
+    // The category each row is counted in, by row ID.
+    private final Map<Integer, Integer> wasteCategories = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> disposalCategories = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> tipCategories = new ConcurrentHashMap<>();
+    private final AtomicBoolean reconcileQueued = new AtomicBoolean();
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "category-stats" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+
+    private static final class Counters {
+        private volatile String name;
+        private final LongAdder wasteItems = new LongAdder();
+        private final LongAdder disposals = new LongAdder();
+        private final LongAdder recyclingTips = new LongAdder();
+    }
+
+    /**
+     * Constructs CategoryStats.
+     *
+     * @param jdbcClient The JdbcClient the reconciliation queries run on.
+     * @param shards The shards the catalog is spread over.
+     * @param cacheCoherence The coherence node that reports writes made by other instances.
+     * @param enabled Whether writes are counted at all.
+     * @param reconcileIntervalMillis How often the counters are checked against the database.
+     */
+    public CategoryStats(
+            JdbcClient jdbcClient,
+            Shards shards,
+            CacheCoherence cacheCoherence,
+            @Value( "${stats.enabled:true}" ) boolean enabled,
+            @Value( "${stats.reconcile-interval-ms:60000}" ) long reconcileIntervalMillis
+    ) {
+        this.jdbcClient = jdbcClient;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        if ( enabled ) {
+            cacheCoherence.onRemoteInvalidation( TRACKED, entity -> scheduleReconcile() );
+        }
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    void startReconciling() {
+        if ( enabled ) {
+            reconciler.scheduleWithFixedDelay( this::reconcileQuietly, 0, reconcileIntervalMillis, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    /**
+     * Stops reconciling. Reconciliations already queued or running are let finish, so that none of
+     * them is still querying the database when the DataSource is closed; a periodic run that has
+     * not started yet is dropped. Writes recorded afterwards are still counted, but no longer queue
+     * a reconciliation.
+     */
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdown();
+        try {
+            if ( !reconciler.awaitTermination( 10, TimeUnit.SECONDS ) ) {
+                log.warn( "Category stats reconciliation did not finish before shutdown" );
+                reconciler.shutdownNow();
+            }
+        } catch ( InterruptedException ex ) {
+            reconciler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param tableName The table a write touched.
+     * @return Whether writes to the table are counted.
+     */
+    public boolean tracks( String tableName ) {
+        return enabled && TRACKED.contains( tableName );
+    }
+
+    /**
+     * Counts a write.
+     *
+     * @param tableName The table the write touched.
+     * @param action The kind of write.
+     * @param row The row after the write, or for a delete the deleted row.
+     */
+    public void record( String tableName, ChangeEvent.Action action, Map<String, Object> row ) {
+        if ( !tracks( tableName ) || row == null ) {
+            return;
+        }
+        boolean deleted = action == ChangeEvent.Action.DELETED;
+        Integer id = id( row, "id" );
+        switch ( tableName ) {
+            case "Category" -> {
+                if ( deleted ) {
+                    // Its waste items, disposals and tips were recorded as deleted before it.
+                    counters.remove( id );
+                } else {
+                    counters( id ).name = ( String ) row.get( "name" );
+                }
+            }
+            case "Waste" -> {
+                Integer from = wasteCategories.get( id );
+                Integer to = deleted ? null : id( row, "categoryId" );
+                count( wasteCategories, category -> category.wasteItems, action, id, to );
+                // The item's disposals and tips moved with it.
+                if ( from != null && to != null && !from.equals( to ) ) {
+                    scheduleReconcile();
+                }
+            }
+            case "Disposal" -> count( disposalCategories, category -> category.disposals, action, id,
+                    deleted ? null : categoryOfWaste( id( row, "wasteId" ) ) );
+            case "RecyclingTips" -> count( tipCategories, category -> category.recyclingTips, action, id,
+                    deleted ? null : categoryOfTip( row ) );
+            default -> { }
+        }
+    }
+
+    /**
+     * Returns the current counts of every category, in category ID order.
+     *
+     * @return The counts.
+     */
+    public List<CategoryStatsDTO> snapshot() {
+        List<CategoryStatsDTO> stats = new ArrayList<>( counters.size() );
+        counters.forEach( ( categoryId, category ) -> stats.add( new CategoryStatsDTO(
+                categoryId,
+                category.name,
+                category.wasteItems.sum(),
+                category.disposals.sum(),
+                category.recyclingTips.sum()
+        ) ) );
+        return stats;
+    }
+
+    /**
+     * Recounts every category with SQL aggregates and corrects the counters that drifted.
+     *
+     * @return The number of counters that were corrected.
+     */
+    public int reconcile() {
+        Map<Integer, String> names = new HashMap<>();
+        shards.on( 0, () -> jdbcClient.sql( "SELECT id, name FROM Category" )
+                .query( ( rs, rowNum ) -> Map.entry( rs.getInt( "id" ), rs.getString( "name" ) ) )
+                .list() )
+                .forEach( category -> names.put( category.getKey(), category.getValue() ) );
+        Map<Integer, Integer> wasteToCategory = categoryByRow( true, "SELECT id, categoryId FROM Waste" );
+        Map<Integer, Integer> disposalToCategory = categoryByRow( true,
+                "SELECT d.id, w.categoryId FROM Disposal d JOIN Waste w ON d.wasteId = w.id" );
+        Map<Integer, Integer> tipToCategory = categoryByRow( true,
+                "SELECT rt.id, w.categoryId FROM RecyclingTips rt JOIN Waste w ON rt.wasteId = w.id" );
+        // Category-level tips are replicated to every shard; shard 0 holds the originals.
+        tipToCategory.putAll( categoryByRow( false, "SELECT id, categoryId FROM RecyclingTips WHERE wasteId IS NULL" ) );
+
+        replace( wasteCategories, wasteToCategory );
+        replace( disposalCategories, disposalToCategory );
+        replace( tipCategories, tipToCategory );
+        Map<Integer, Long> items = countByCategory( wasteToCategory );
+        Map<Integer, Long> disposals = countByCategory( disposalToCategory );
+        Map<Integer, Long> tips = countByCategory( tipToCategory );
+        counters.keySet().retainAll( names.keySet() );
+        int corrected = 0;
+        for ( Map.Entry<Integer, String> category : names.entrySet() ) {
+            Counters current = counters( category.getKey() );
+            current.name = category.getValue();
+            corrected += correct( current.wasteItems, items.getOrDefault( category.getKey(), 0L ) );
+            corrected += correct( current.disposals, disposals.getOrDefault( category.getKey(), 0L ) );
+            corrected += correct( current.recyclingTips, tips.getOrDefault( category.getKey(), 0L ) );
+        }
+        return corrected;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            int corrected = reconcile();
+            if ( corrected > 0 ) {
+                log.info( "Category stats reconciled; {} counters corrected", corrected );
+            }
+        } catch ( RuntimeException ex ) {
+            log.warn( "Failed to reconcile category stats", ex );
+        }
+    }
+
+    /**
+     * Queues a reconciliation. A burst of requests collapses into one run.
+     */
+    private void scheduleReconcile() {
+        if ( reconcileQueued.compareAndSet( false, true ) ) {
+            try {
+                reconciler.execute( () -> {
+                    reconcileQueued.set( false );
+                    reconcileQuietly();
+                } );
+            } catch ( RejectedExecutionException ex ) {
+                // Shutting down; the write itself has succeeded.
+                reconcileQueued.set( false );
+            }
+        }
+    }
+
+    /**
+     * Runs a query returning row IDs and category IDs on every shard or on shard 0 only.
+     */
+    private Map<Integer, Integer> categoryByRow( boolean allShards, String sql ) {
+        Supplier<List<int[]>> query = () -> jdbcClient.sql( sql )
+                .query( ( rs, rowNum ) -> new int[] { rs.getInt( 1 ), rs.getInt( 2 ) } )
+                .list();
+        Map<Integer, Integer> categories = new HashMap<>();
+        for ( int[] row : allShards ? shards.gather( query ) : shards.on( 0, query ) ) {
+            categories.put( row[ 0 ], row[ 1 ] );
+        }
+        return categories;
+    }
+
+    private static Map<Integer, Long> countByCategory( Map<Integer, Integer> categories ) {
+        Map<Integer, Long> counts = new HashMap<>();
+        categories.values().forEach( categoryId -> counts.merge( categoryId, 1L, Long::sum ) );
+        return counts;
+    }
+
+    private static void replace( Map<Integer, Integer> current, Map<Integer, Integer> fresh ) {
+        current.putAll( fresh );
+        current.keySet().retainAll( fresh.keySet() );
+    }
+
+    /**
+     * Moves a row's count from the category it was counted in to its new one, or out of it if it was deleted.
+     */
+    private void count( Map<Integer, Integer> countedIn, Function<Counters, LongAdder> counter, ChangeEvent.Action action, Integer id, Integer to ) {
+        Integer from = countedIn.get( id );
+        if ( from == null && action != ChangeEvent.Action.CREATED ) {
+            // Written before the first reconciliation saw the row.
+            scheduleReconcile();
+            return;
+        }
+        if ( to != null ) {
+            countedIn.put( id, to );
+        } else {
+            countedIn.remove( id );
+        }
+        move( counter, from, to );
+    }
+
+    private void move( Function<Counters, LongAdder> counter, Integer from, Integer to ) {
+        if ( Objects.equals( from, to ) ) {
+            return;
+        }
+        if ( from != null ) {
+            counter.apply( counters( from ) ).decrement();
+        }
+        if ( to != null ) {
+            counter.apply( counters( to ) ).increment();
+        }
+    }
+
+    private Integer categoryOfWaste( Integer wasteId ) {
+        if ( wasteId == null ) {
+            return null;
+        }
+        Integer categoryId = wasteCategories.get( wasteId );
+        if ( categoryId == null ) {
+            // Written before the first reconciliation saw the waste item.
+            scheduleReconcile();
+        }
+        return categoryId;
+    }
+
+    /**
+     * A waste-level tip counts in its waste item's category, as in the reconciliation; a category-level tip in its own.
+     */
+    private Integer categoryOfTip( Map<String, Object> row ) {
+        Integer wasteId = id( row, "wasteId" );
+        return wasteId != null ? categoryOfWaste( wasteId ) : id( row, "categoryId" );
+    }
+
+    private Counters counters( Integer categoryId ) {
+        return counters.computeIfAbsent( categoryId, key -> new Counters() );
+    }
+
+    private static int correct( LongAdder counter, long expected ) {
+        long drift = expected - counter.sum();
+        if ( drift == 0 ) {
+            return 0;
+        }
+        counter.add( drift );
+        return 1;
+    }
+
+    private static Integer id( Map<String, Object> row, String column ) {
+        if ( row == null ) {
+            return null;
+        }
+        Object value = row.get( column );
+        return value != null ? ( ( Number ) value ).intValue() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The CategoryStatsController serves the per-category catalog counts used by dashboards.
+ */
+@RestController
+@RequestMapping( "/api/categories/stats" )
+public class CategoryStatsController {
+    private final CategoryStats categoryStats;
+
+    /**
+     * Constructs a CategoryStatsController.
+     *
+     * @param categoryStats The in-memory per-category counts.
+     */
+    public CategoryStatsController( CategoryStats categoryStats ) {
+        this.categoryStats = categoryStats;
+    }
+
+    /**
+     * Retrieves the number of waste items, disposal methods and recycling tips of every category.
+     *
+     * @return The counts of every category, in category ID order.
+     */
+    @GetMapping( "" )
+    public List<CategoryStatsDTO> getCategoryStats() {
+        return categoryStats.snapshot();
+    }
+}
@@ -0,0 +1,20 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats;
+
+/**
+ * The catalog counts of one category.
+ *
+ * @param categoryId The ID of the category.
+ * @param categoryName The name of the category.
+ * @param wasteItems The number of waste items in the category.
+ * @param disposals The number of disposal methods of those waste items.
+ * @param recyclingTips The number of recycling tips of the category and of its waste items.
+ */
+public record CategoryStatsDTO(
+        Integer categoryId,
+        String categoryName,
+        long wasteItems,
+        long disposals,
+        long recyclingTips
+) {
+
+}
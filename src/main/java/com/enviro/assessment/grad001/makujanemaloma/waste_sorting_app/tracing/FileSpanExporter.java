@@ -0,0 +1,101 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends every span to a local file as one line of JSON, so traces can be read without a collector.
+ * <p>
+ * Spans are queued and written by a background thread, so exporting never waits for the disk.
+ * When the queue is full, spans are dropped and counted instead.
+ */
+public class FileSpanExporter implements SpanExporter, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger( FileSpanExporter.class );
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final BlockingQueue<SpanDTO> queue = new ArrayBlockingQueue<>( QUEUE_CAPACITY );
+    private final AtomicLong dropped = new AtomicLong();
+    private final BufferedWriter writer;
+    private final Thread thread;
+
+    /**
+     * Opens the file for appending and starts the writer thread.
+     *
+     * @param path The file spans are appended to.
+     * @throws IOException if the file cannot be opened.
+     */
+    public FileSpanExporter( Path path ) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if ( parent != null ) {
+            Files.createDirectories( parent );
+        }
+        this.writer = Files.newBufferedWriter( path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND );
+        this.thread = new Thread( this::writeSpans, "tracing-file-exporter" );
+        thread.setDaemon( true );
+        thread.start();
+    }
+
+    @Override
+    public void export( SpanDTO span ) {
+        if ( !queue.offer( span ) ) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return The number of spans dropped because the queue was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        try {
+            thread.join( TimeUnit.SECONDS.toMillis( 5 ) );
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+
+    private void writeSpans() {
+        List<SpanDTO> batch = new ArrayList<>();
+        boolean running = true;
+        while ( running ) {
+            try {
+                batch.add( queue.take() );
+            } catch ( InterruptedException ex ) {
+                running = false;
+            }
+            queue.drainTo( batch );
+            try {
+                for ( SpanDTO span : batch ) {
+                    writer.write( objectMapper.writeValueAsString( span ) );
+                    writer.newLine();
+                }
+                writer.flush();
+            } catch ( IOException ex ) {
+                log.warn( "Failed to write {} spans to the trace file", batch.size(), ex );
+            }
+            batch.clear();
+        }
+    }
+}
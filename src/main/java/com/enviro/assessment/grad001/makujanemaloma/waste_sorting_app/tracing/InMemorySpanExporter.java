@@ -0,0 +1,85 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the most recent finished spans in memory, dropping the oldest beyond its capacity.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final int capacity;
+    private final ArrayDeque<SpanDTO> spans;
+
+    /**
+     * Constructs an InMemorySpanExporter.
+     *
+     * @param capacity The number of spans kept.
+     */
+    public InMemorySpanExporter( int capacity ) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>( Math.min( capacity, 1024 ) );
+    }
+
+    @Override
+    public synchronized void export( SpanDTO span ) {
+        if ( capacity <= 0 ) {
+            return;
+        }
+        if ( spans.size() == capacity ) {
+            spans.removeFirst();
+        }
+        spans.addLast( span );
+    }
+
+    /**
+     * @return The spans kept, in the order they finished.
+     */
+    public synchronized List<SpanDTO> getFinishedSpans() {
+        return List.copyOf( spans );
+    }
+
+    /**
+     * Groups the spans kept by trace.
+     *
+     * @param limit The maximum number of traces.
+     * @return The most recently finished traces first, each with its spans in start order.
+     */
+    public List<TraceDTO> traces( int limit ) {
+        Map<String, List<SpanDTO>> byTrace = new LinkedHashMap<>();
+        List<SpanDTO> finished = getFinishedSpans();
+        for ( int i = finished.size() - 1; i >= 0; i-- ) {
+            SpanDTO span = finished.get( i );
+            List<SpanDTO> trace = byTrace.get( span.traceId() );
+            if ( trace == null && byTrace.size() < limit ) {
+                trace = new ArrayList<>();
+                byTrace.put( span.traceId(), trace );
+            }
+            if ( trace != null ) {
+                trace.add( span );
+            }
+        }
+        return byTrace.entrySet().stream()
+                .map( trace -> {
+                    List<SpanDTO> spans = trace.getValue().stream()
+                            .sorted( Comparator.comparingLong( SpanDTO::startEpochMicros ) )
+                            .toList();
+                    SpanDTO root = spans.stream()
+                            .filter( span -> span.parentSpanId() == null )
+                            .findFirst()
+                            .orElse( spans.get( 0 ) );
+                    return new TraceDTO( trace.getKey(), root.name(), root.durationMicros(), spans );
+                } )
+                .toList();
+    }
+
+    /**
+     * Forgets all spans.
+     */
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
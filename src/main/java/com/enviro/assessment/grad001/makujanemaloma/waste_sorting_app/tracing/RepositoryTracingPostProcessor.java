@@ -0,0 +1,65 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every public method of the {@link Repository} beans in a span named after it, e.g.
+ * {@code WasteRepository.getWasteById}, tagged with the number of rows returned. Calls a
+ * repository makes to its own methods are not traced separately.
+ */
+public class RepositoryTracingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    /**
+     * Constructs a RepositoryTracingPostProcessor.
+     *
+     * @param tracer Supplies the tracer spans are started with, once the first repository method is called.
+     */
+    public RepositoryTracingPostProcessor( Supplier<Tracer> tracer ) {
+        this.advisor = new DefaultPointcutAdvisor( new AnnotationMatchingPointcut( Repository.class, true ), new TracingInterceptor( tracer ) );
+        setBeforeExistingAdvisors( true );
+        setProxyTargetClass( true );
+    }
+
+    private static final class TracingInterceptor implements MethodInterceptor {
+        private final Supplier<Tracer> tracer;
+
+        TracingInterceptor( Supplier<Tracer> tracer ) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object invoke( MethodInvocation invocation ) throws Throwable {
+            String name = AopUtils.getTargetClass( invocation.getThis() ).getSimpleName() + "." + invocation.getMethod().getName();
+            try ( Span span = tracer.get().startSpan( name ) ) {
+                try {
+                    Object result = invocation.proceed();
+                    span.setAttribute( "db.rows", rowsOf( result ) );
+                    return result;
+                } catch ( Throwable ex ) {
+                    span.recordError( ex );
+                    throw ex;
+                }
+            }
+        }
+
+        private static Integer rowsOf( Object result ) {
+            if ( result instanceof Collection<?> rows ) {
+                return rows.size();
+            }
+            if ( result instanceof Optional<?> row ) {
+                return row.isPresent() ? 1 : 0;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed operation within a trace, such as a controller method or a SQL statement.
+ * <p>
+ * Spans are started with {@link Tracer#startSpan(String)}, which makes them the calling thread's
+ * current span, and ended by closing them, which makes their parent current again. Attributes set
+ * on a span that is not sampled are dropped, so instrumentation need not check.
+ */
+public final class Span implements AutoCloseable {
+    private static final long EPOCH_OFFSET_NANOS = TimeUnit.MILLISECONDS.toNanos( System.currentTimeMillis() ) - System.nanoTime();
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final String traceId;
+    private final String spanId;
+    private final long startNanos;
+    private String name;
+    private Map<String, Object> attributes;
+    private boolean failed;
+    private boolean ended;
+
+    Span( Tracer tracer, Span parent, String traceId, String spanId, String name, long startNanos ) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @return Whether the span is recorded.
+     */
+    public boolean sampled() {
+        return tracer != null;
+    }
+
+    /**
+     * @return The ID of the trace, or null if the span is not sampled.
+     */
+    public String traceId() {
+        return traceId;
+    }
+
+    /**
+     * @return The ID of the span, or null if the span is not sampled.
+     */
+    public String spanId() {
+        return spanId;
+    }
+
+    /**
+     * @return The parent span, or null for the root of a trace.
+     */
+    public Span parent() {
+        return parent;
+    }
+
+    /**
+     * Renames the span, e.g. once the route of a request is known.
+     *
+     * @param name The new name.
+     * @return This span.
+     */
+    public synchronized Span updateName( String name ) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @param key The attribute name, e.g. {@code db.rows}.
+     * @param value The value; null values are dropped.
+     * @return This span.
+     */
+    public synchronized Span setAttribute( String key, Object value ) {
+        if ( sampled() && value != null ) {
+            if ( attributes == null ) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put( key, value );
+        }
+        return this;
+    }
+
+    /**
+     * Marks the span as failed, e.g. because its request was answered with a server error.
+     *
+     * @return This span.
+     */
+    public synchronized Span markFailed() {
+        failed = true;
+        return this;
+    }
+
+    /**
+     * Marks the span as failed with an error.
+     *
+     * @param error The error the operation failed with.
+     * @return This span.
+     */
+    public synchronized Span recordError( Throwable error ) {
+        markFailed();
+        setAttribute( "exception.type", error.getClass().getName() );
+        return setAttribute( "exception.message", error.getMessage() );
+    }
+
+    /**
+     * Ends the span and makes its parent the current span again.
+     */
+    @Override
+    public void close() {
+        SpanDTO finished = finish( System.nanoTime() );
+        Tracer.restore( this, parent );
+        if ( finished != null ) {
+            tracer.export( finished );
+        }
+    }
+
+    private synchronized SpanDTO finish( long endNanos ) {
+        if ( ended ) {
+            return null;
+        }
+        ended = true;
+        if ( !sampled() ) {
+            return null;
+        }
+        return new SpanDTO(
+                traceId,
+                spanId,
+                parent != null ? parent.spanId : null,
+                name,
+                epochMicros( startNanos ),
+                TimeUnit.NANOSECONDS.toMicros( endNanos - startNanos ),
+                failed ? "ERROR" : "OK",
+                attributes != null ? Collections.unmodifiableMap( attributes ) : Map.of()
+        );
+    }
+
+    /**
+     * Converts a {@link System#nanoTime()} reading to microseconds since the epoch.
+     */
+    static long epochMicros( long nanos ) {
+        return TimeUnit.NANOSECONDS.toMicros( nanos + EPOCH_OFFSET_NANOS );
+    }
+}
@@ -0,0 +1,28 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import java.util.Map;
+
+/**
+ * A finished span, as exported.
+ *
+ * @param traceId The ID of the trace the span belongs to, 32 hex digits.
+ * @param spanId The ID of the span, 16 hex digits.
+ * @param parentSpanId The ID of the parent span, or null for the root of a trace.
+ * @param name What the span measured, e.g. {@code GET /api/waste/{id}} or {@code SELECT Waste}.
+ * @param startEpochMicros When the span started, in microseconds since the epoch.
+ * @param durationMicros How long the span took, in microseconds.
+ * @param status {@code OK} or {@code ERROR}.
+ * @param attributes The span's tags, e.g. {@code db.rows}.
+ */
+public record SpanDTO(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        long startEpochMicros,
+        long durationMicros,
+        String status,
+        Map<String, Object> attributes
+) {
+
+}
@@ -0,0 +1,13 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+/**
+ * Receives every sampled span when it ends. Exporters are called on the thread that ended the
+ * span and must not block it.
+ */
+public interface SpanExporter {
+
+    /**
+     * @param span The finished span.
+     */
+    void export( SpanDTO span );
+}
@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.exceptions.InvalidTraceRequestException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The TraceController shows where the time of recent requests went, from the spans kept in memory.
+ */
+@RestController
+@RequestMapping( "/api/admin/traces" )
+@ConditionalOnProperty( prefix = "tracing", name = "enabled", havingValue = "true", matchIfMissing = true )
+public class TraceController {
+    private static final int MAX_LIMIT = 100;
+
+    private final InMemorySpanExporter inMemorySpanExporter;
+
+    /**
+     * Constructs a TraceController.
+     *
+     * @param inMemorySpanExporter The recent spans.
+     */
+    public TraceController( InMemorySpanExporter inMemorySpanExporter ) {
+        this.inMemorySpanExporter = inMemorySpanExporter;
+    }
+
+    /**
+     * Retrieves the most recent sampled traces, e.g. {@code /api/admin/traces?limit=5}.
+     *
+     * @param limit The maximum number of traces, between 1 and 100.
+     * @return The traces, most recent first, each with its spans in start order.
+     * @throws InvalidTraceRequestException if limit is out of range.
+     */
+    @GetMapping( "" )
+    public List<TraceDTO> getRecentTraces( @RequestParam( value = "limit", defaultValue = "20" ) int limit ) {
+        if ( limit < 1 || limit > MAX_LIMIT ) {
+            throw new InvalidTraceRequestException( "limit must be between 1 and " + MAX_LIMIT );
+        }
+        return inMemorySpanExporter.traces( limit );
+    }
+}
@@ -0,0 +1,20 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import java.util.List;
+
+/**
+ * The spans of one trace.
+ *
+ * @param traceId The ID of the trace.
+ * @param name The name of the root span, or of the earliest span if the root is not finished.
+ * @param durationMicros The duration of the root span.
+ * @param spans The spans of the trace, in start order.
+ */
+public record TraceDTO(
+        String traceId,
+        String name,
+        long durationMicros,
+        List<SpanDTO> spans
+) {
+
+}
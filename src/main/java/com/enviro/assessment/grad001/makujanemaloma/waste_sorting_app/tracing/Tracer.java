@@ -0,0 +1,142 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Starts spans and hands finished ones to the {@link SpanExporter}s.
+ * <p>
+ * Like the bulkhead lane and the request deadline, the current span is a property of the calling
+ * thread. A span started while another is current becomes its child; one started without a current
+ * span begins a new trace, which is sampled with probability {@code tracing.sample-rate}, and its
+ * descendants share that decision. Work handed to another thread carries the current span along
+ * with {@link #callWith(Span, Supplier)}.
+ */
+public class Tracer {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final List<SpanExporter> exporters;
+
+    /**
+     * Constructs a Tracer.
+     *
+     * @param sampleRate The share of traces that are recorded, between 0 and 1.
+     * @param exporters The exporters finished spans are handed to.
+     */
+    public Tracer( double sampleRate, List<SpanExporter> exporters ) {
+        this.sampleRate = sampleRate;
+        this.exporters = List.copyOf( exporters );
+    }
+
+    /**
+     * Returns the calling thread's current span, or null if there is none.
+     */
+    public static Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work on the calling thread with a span as its current span, restoring the previous one afterwards.
+     *
+     * @param span The span, or null to run outside any trace.
+     * @param work The work to run.
+     * @param <T> The result type.
+     * @return The result of the work.
+     */
+    public static <T> T callWith( Span span, Supplier<T> work ) {
+        Span previous = CURRENT.get();
+        if ( previous == span ) {
+            return work.get();
+        }
+        set( span );
+        try {
+            return work.get();
+        } finally {
+            set( previous );
+        }
+    }
+
+    /**
+     * Starts a span as a child of the current span, or as the root of a new trace, and makes it current.
+     * Close the span to end it, preferably with try-with-resources.
+     *
+     * @param name What the span measures.
+     * @return The span.
+     */
+    public Span startSpan( String name ) {
+        Span parent = CURRENT.get();
+        boolean sampled = parent != null ? parent.sampled() : sample();
+        Span span = sampled
+                ? new Span( this, parent, parent != null ? parent.traceId() : randomId( 2 ), randomId( 1 ), name, System.nanoTime() )
+                : new Span( null, parent, null, null, name, 0 );
+        CURRENT.set( span );
+        return span;
+    }
+
+    /**
+     * Records a span that has already finished as a child of a sampled span, e.g. a SQL statement
+     * reported once its results were read.
+     *
+     * @param parent The parent span.
+     * @param name What the span measured.
+     * @param startNanos When it started, on the {@link System#nanoTime()} clock.
+     * @param endNanos When it ended, on the same clock.
+     * @param failed Whether the operation failed.
+     * @param attributes The span's tags.
+     */
+    public void recordSpan( Span parent, String name, long startNanos, long endNanos, boolean failed, Map<String, Object> attributes ) {
+        if ( parent == null || !parent.sampled() ) {
+            return;
+        }
+        export( new SpanDTO(
+                parent.traceId(),
+                randomId( 1 ),
+                parent.spanId(),
+                name,
+                Span.epochMicros( startNanos ),
+                TimeUnit.NANOSECONDS.toMicros( endNanos - startNanos ),
+                failed ? "ERROR" : "OK",
+                attributes
+        ) );
+    }
+
+    void export( SpanDTO span ) {
+        for ( SpanExporter exporter : exporters ) {
+            exporter.export( span );
+        }
+    }
+
+    /**
+     * Makes a span's parent current again once the span ends, unless the thread has moved on to another span.
+     */
+    static void restore( Span span, Span parent ) {
+        if ( CURRENT.get() == span ) {
+            set( parent );
+        }
+    }
+
+    private static void set( Span span ) {
+        if ( span == null ) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set( span );
+        }
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1 || ( sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate );
+    }
+
+    private static String randomId( int longs ) {
+        StringBuilder id = new StringBuilder( longs * 16 );
+        for ( int i = 0; i < longs; i++ ) {
+            String hex = Long.toHexString( ThreadLocalRandom.current().nextLong() );
+            id.append( "0".repeat( 16 - hex.length() ) ).append( hex );
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Traces API requests: a root span per request, spans around the phases of each controller call,
+ * one per repository method and one per SQL statement. Spans are kept in memory for
+ * {@code /api/admin/traces} and, if {@code tracing.file-path} is set, appended to that file.
+ */
+@Configuration
+@EnableConfigurationProperties( TracingProperties.class )
+@ConditionalOnProperty( prefix = "tracing", name = "enabled", havingValue = "true", matchIfMissing = true )
+public class TracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter( TracingProperties properties ) {
+        return new InMemorySpanExporter( properties.memoryCapacity() );
+    }
+
+    @Bean
+    @ConditionalOnProperty( prefix = "tracing", name = "file-path" )
+    public FileSpanExporter fileSpanExporter( TracingProperties properties ) throws IOException {
+        return new FileSpanExporter( Path.of( properties.filePath() ) );
+    }
+
+    @Bean
+    public Tracer tracer( TracingProperties properties, List<SpanExporter> exporters ) {
+        return new Tracer( properties.sampleRate(), exporters );
+    }
+
+    @Bean
+    public TracingStatementListener tracingStatementListener( Tracer tracer ) {
+        return new TracingStatementListener( tracer );
+    }
+
+    @Bean
+    public static RepositoryTracingPostProcessor repositoryTracingPostProcessor( ObjectProvider<Tracer> tracer ) {
+        return new RepositoryTracingPostProcessor( SingletonSupplier.of( tracer::getObject ) );
+    }
+
+    @Bean
+    public WebMvcRegistrations tracingWebMvcRegistrations( Tracer tracer ) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new TracingHandlerAdapter( tracer );
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilterRegistration( Tracer tracer ) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>( new TracingFilter( tracer ) );
+        registration.addUrlPatterns( "/api/*" );
+        registration.setOrder( Ordered.HIGHEST_PRECEDENCE + 50 );
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Starts the root span of every API request. The span is named after the request's route once it
+ * is known, e.g. {@code GET /api/waste/{id}}, and covers everything up to the last byte written.
+ * The change stream is excluded because its connections are long-lived by design.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+    private final Tracer tracer;
+
+    /**
+     * Constructs a TracingFilter.
+     *
+     * @param tracer The tracer spans are started with.
+     */
+    public TracingFilter( Tracer tracer ) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter( HttpServletRequest request ) {
+        return request.getRequestURI().startsWith( "/api/changes" );
+    }
+
+    @Override
+    protected void doFilterInternal( HttpServletRequest request, HttpServletResponse response, FilterChain filterChain )
+            throws ServletException, IOException {
+        try ( Span span = tracer.startSpan( request.getMethod() + " " + request.getRequestURI() ) ) {
+            span.setAttribute( "http.method", request.getMethod() )
+                    .setAttribute( "http.target", request.getRequestURI() );
+            try {
+                filterChain.doFilter( request, response );
+            } catch ( IOException | ServletException | RuntimeException ex ) {
+                span.recordError( ex );
+                throw ex;
+            } finally {
+                Object route = request.getAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE );
+                if ( route != null ) {
+                    span.updateName( request.getMethod() + " " + route ).setAttribute( "http.route", route.toString() );
+                }
+                span.setAttribute( "http.status_code", response.getStatus() );
+                if ( response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value() ) {
+                    span.markFailed();
+                }
+            }
+        }
+    }
+}
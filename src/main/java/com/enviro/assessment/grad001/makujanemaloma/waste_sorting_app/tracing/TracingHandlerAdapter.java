@@ -0,0 +1,117 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * Invokes controller methods with three spans around the phases of a call: {@code bind-and-validate}
+ * for reading and validating the arguments, one named after the controller method, e.g.
+ * {@code WasteController.getWasteById}, for the method itself, and {@code serialize} for writing
+ * its result to the response.
+ */
+public class TracingHandlerAdapter extends RequestMappingHandlerAdapter {
+    private final Tracer tracer;
+    private volatile TracingReturnValueHandlers returnValueHandlers;
+
+    /**
+     * Constructs a TracingHandlerAdapter.
+     *
+     * @param tracer The tracer spans are started with.
+     */
+    public TracingHandlerAdapter( Tracer tracer ) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod( HandlerMethod handlerMethod ) {
+        return new TracingHandlerMethod( handlerMethod );
+    }
+
+    /**
+     * Wraps the adapter's return value handlers, which are the same for every call, once.
+     */
+    private TracingReturnValueHandlers tracing( HandlerMethodReturnValueHandlerComposite handlers ) {
+        TracingReturnValueHandlers wrapped = returnValueHandlers;
+        if ( wrapped == null || wrapped.delegate != handlers ) {
+            wrapped = new TracingReturnValueHandlers( handlers );
+            returnValueHandlers = wrapped;
+        }
+        return wrapped;
+    }
+
+    private final class TracingHandlerMethod extends ServletInvocableHandlerMethod {
+        private final String spanName;
+
+        TracingHandlerMethod( HandlerMethod handlerMethod ) {
+            super( handlerMethod );
+            this.spanName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+
+        @Override
+        public void setHandlerMethodReturnValueHandlers( HandlerMethodReturnValueHandlerComposite handlers ) {
+            super.setHandlerMethodReturnValueHandlers( tracing( handlers ) );
+        }
+
+        @Override
+        protected Object[] getMethodArgumentValues( NativeWebRequest request, ModelAndViewContainer mavContainer, Object... providedArgs )
+                throws Exception {
+            if ( getMethodParameters().length == 0 ) {
+                return super.getMethodArgumentValues( request, mavContainer, providedArgs );
+            }
+            try ( Span span = tracer.startSpan( "bind-and-validate" ) ) {
+                try {
+                    return super.getMethodArgumentValues( request, mavContainer, providedArgs );
+                } catch ( Exception ex ) {
+                    span.recordError( ex );
+                    throw ex;
+                }
+            }
+        }
+
+        @Override
+        protected Object doInvoke( Object... args ) throws Exception {
+            try ( Span span = tracer.startSpan( spanName ) ) {
+                span.setAttribute( "code.namespace", getBeanType().getName() )
+                        .setAttribute( "code.function", getMethod().getName() );
+                try {
+                    return super.doInvoke( args );
+                } catch ( Exception ex ) {
+                    span.recordError( ex );
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private final class TracingReturnValueHandlers extends HandlerMethodReturnValueHandlerComposite {
+        private final HandlerMethodReturnValueHandlerComposite delegate;
+
+        TracingReturnValueHandlers( HandlerMethodReturnValueHandlerComposite delegate ) {
+            this.delegate = delegate;
+            addHandlers( delegate.getHandlers() );
+        }
+
+        @Override
+        public void handleReturnValue(
+                Object returnValue,
+                MethodParameter returnType,
+                ModelAndViewContainer mavContainer,
+                NativeWebRequest webRequest
+        ) throws Exception {
+            try ( Span span = tracer.startSpan( "serialize" ) ) {
+                span.setAttribute( "code.return_type", returnType.getParameterType().getSimpleName() );
+                try {
+                    super.handleReturnValue( returnValue, returnType, mavContainer, webRequest );
+                } catch ( Exception ex ) {
+                    span.recordError( ex );
+                    throw ex;
+                }
+            }
+        }
+    }
+}
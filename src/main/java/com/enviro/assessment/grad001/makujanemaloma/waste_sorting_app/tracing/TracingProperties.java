@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of request tracing.
+ *
+ * @param enabled Whether spans are recorded at all.
+ * @param sampleRate The share of requests that are traced, between 0 and 1.
+ * @param memoryCapacity The number of most recent spans kept in memory for {@code /api/admin/traces}.
+ * @param filePath A file every span is also appended to as a line of JSON; unset for none.
+ */
+@ConfigurationProperties( prefix = "tracing" )
+public record TracingProperties(
+        @DefaultValue( "true" ) boolean enabled,
+        @DefaultValue( "0.1" ) double sampleRate,
+        @DefaultValue( "10000" ) int memoryCapacity,
+        String filePath
+) {
+}
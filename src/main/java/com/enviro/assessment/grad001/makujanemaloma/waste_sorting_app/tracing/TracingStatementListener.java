@@ -0,0 +1,56 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementExecution;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementListener;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a span for every SQL statement run within a sampled trace, as a child of the span that
+ * was current when its results were closed. The span is named after the operation and table,
+ * e.g. {@code SELECT Waste}, and covers the statement from execution until its results were
+ * closed; {@code db.duration_us} is the part spent in the driver and {@code mapping.duration_us}
+ * the part spent mapping rows in between. Statements run outside a trace are not recorded.
+ */
+public class TracingStatementListener implements StatementListener {
+    private final Tracer tracer;
+
+    /**
+     * Constructs a TracingStatementListener.
+     *
+     * @param tracer The tracer spans are recorded with.
+     */
+    public TracingStatementListener( Tracer tracer ) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void executed( StatementExecution execution ) {
+        Span parent = Tracer.currentSpan();
+        if ( parent == null || !parent.sampled() ) {
+            return;
+        }
+        String fingerprint = execution.fingerprint().text();
+        int firstSpace = fingerprint.indexOf( ' ' );
+        String operation = ( firstSpace > 0 ? fingerprint.substring( 0, firstSpace ) : fingerprint ).toUpperCase( Locale.ROOT );
+        String table = execution.fingerprint().table();
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put( "db.system", "h2" );
+        attributes.put( "db.operation", operation );
+        if ( table != null ) {
+            attributes.put( "db.sql.table", table );
+        }
+        attributes.put( "db.statement", fingerprint );
+        attributes.put( "db.rows", execution.rows() );
+        attributes.put( "db.duration_us", TimeUnit.NANOSECONDS.toMicros( execution.databaseNanos() ) );
+        attributes.put( "mapping.duration_us",
+                TimeUnit.NANOSECONDS.toMicros( Math.max( 0, execution.finishNanos() - execution.startNanos() - execution.databaseNanos() ) ) );
+
+        tracer.recordSpan( parent, table != null ? operation + " " + table : operation, execution.startNanos(), execution.finishNanos(),
+                execution.failed(), attributes );
+    }
+}
@@ -0,0 +1,97 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Converts between record versions and HTTP entity tags. Every catalog row carries a
+ * {@code version} column that each update increments; it is sent as a strong ETag such as
+ * {@code "3"} and expected back in {@code If-Match} on PUT and DELETE.
+ * <p>
+ * A body that also carries the fields of a related row, such as a waste item with its category,
+ * is tagged with both versions, e.g. {@code "3-7"}, so that a change to either changes the tag.
+ * A write only changes the record itself, so If-Match is checked against the first version.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param version The record version.
+     * @return The strong entity tag of the version.
+     */
+    public static String of( long version ) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param version The record version.
+     * @param relatedVersion The version of the related row the body also carries, or null if none.
+     * @return The strong entity tag of both versions.
+     */
+    public static String of( long version, Long relatedVersion ) {
+        return relatedVersion != null ? "\"" + version + "-" + relatedVersion + "\"" : of( version );
+    }
+
+    /**
+     * Reads the version a client expects from an {@code If-Match} header, which may list several tags,
+     * e.g. {@code "3", "4"}. A single tag is returned as is, so the conditional write checks it
+     * atomically. With several tags the current version is read: if it is one of them, it is returned
+     * for the write to check again, otherwise the precondition has already failed.
+     *
+     * @param ifMatch The header value, or null if the request has none.
+     * @param currentVersion Reads the record's current version; only called when several tags are listed.
+     * @return The expected version, or null if any version is acceptable (no header, or {@code *}).
+     * @throws VersionConflictException if no listed tag can match the current version, e.g. because
+     * they are weak tags, which If-Match does not accept.
+     */
+    public static Long expectedVersion( String ifMatch, Supplier<Optional<Long>> currentVersion ) {
+        if ( ifMatch == null || ifMatch.isBlank() ) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for ( String part : ifMatch.split( "," ) ) {
+            String tag = part.trim();
+            if ( tag.equals( "*" ) ) {
+                return null;
+            }
+            Long version = versionOf( tag );
+            if ( version != null ) {
+                versions.add( version );
+            }
+        }
+
+        if ( versions.size() == 1 ) {
+            return versions.get( 0 );
+        }
+        Optional<Long> current = versions.isEmpty() ? Optional.empty() : currentVersion.get();
+        if ( current.isPresent() && versions.contains( current.get() ) ) {
+            return current.get();
+        }
+        throw new VersionConflictException( "If-Match " + ifMatch + " does not match the current version" );
+    }
+
+    /**
+     * @return The record version of a strong tag such as {@code "3"} or {@code "3-7"}, or null if the
+     * tag is weak or not a version.
+     */
+    private static Long versionOf( String tag ) {
+        if ( tag.length() >= 2 && tag.startsWith( "\"" ) && tag.endsWith( "\"" ) ) {
+            tag = tag.substring( 1, tag.length() - 1 );
+        }
+        int related = tag.indexOf( '-' );
+        if ( related > 0 ) {
+            tag = tag.substring( 0, related );
+        }
+        try {
+            return Long.parseLong( tag );
+        } catch ( NumberFormatException ex ) {
+            return null;
+        }
+    }
+}
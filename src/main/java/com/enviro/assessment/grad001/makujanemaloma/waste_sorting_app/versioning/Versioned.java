@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning;
+
+/**
+ * A record together with the version it had when it was read. Both come from the same row read, so
+ * an ETag derived from the version always describes exactly the body that is returned.
+ *
+ * @param value The record.
+ * @param version The record's version.
+ * @param relatedVersion The version of a related row whose fields the body also carries, such as
+ * the category of a waste item, or null if the body only carries the record's own fields.
+ * @param <T> The record type.
+ */
+public record Versioned<T>( T value, long version, Long relatedVersion ) {
+
+    public Versioned( T value, long version ) {
+        this( value, version, null );
+    }
+
+    /**
+     * @return The strong entity tag of the versions the body was read at.
+     */
+    public String eTag() {
+        return ETags.of( version, relatedVersion );
+    }
+}
@@ -1,11 +1,16 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.ETags;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.simple.JdbcClient;
@@ -14,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.swing.text.html.Option;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The `WasteController` class handles HTTP requests related to waste management,
@@ -29,6 +35,7 @@ public class WasteController {
     private final WasteRepository wasteRepository;
     private final JdbcClient jdbcClient;
     private final CategoryRepository categoryRepository;
+    private final WasteRelationLoader wasteRelationLoader;
 
     /**
      * Constructs a `WasteController` with the provided repositories.
@@ -36,15 +43,18 @@ public class WasteController {
      * @param wasteRepository The repository for interacting with the waste data.
      * @param jdbcClient The client for running SQL queries.
      * @param categoryRepository The repository for interacting with category data.
+     * @param wasteRelationLoader The loader resolving `include` relations in batches.
      */
     public WasteController(
             WasteRepository wasteRepository,
             JdbcClient jdbcClient,
-            CategoryRepository categoryRepository
+            CategoryRepository categoryRepository,
+            WasteRelationLoader wasteRelationLoader
     ) {
         this.wasteRepository = wasteRepository;
         this.jdbcClient = jdbcClient;
         this.categoryRepository = categoryRepository;
+        this.wasteRelationLoader = wasteRelationLoader;
     }
 
     /**
@@ -61,20 +71,87 @@ public class WasteController {
     }
 
     /**
-     * Retrieves a specific waste record by its ID.
+     * Retrieves all waste records with the requested relations, optionally filtered by category,
+     * e.g. {@code /api/waste?include=category,disposals,tips}. Each relation costs one batched query
+     * for the whole list.
+     *
+     * @param category The category filter for waste records. If null, no filtering occurs.
+     * @param include The relations to include: `category`, `disposals` and/or `tips`.
+     * @return A list of `WasteExpandedDTO` objects carrying the requested relations.
+     */
+    @GetMapping( value = "", params = { "include", "!ids" } )
+    public List<WasteExpandedDTO> getAllWasteWithRelations(
+            @RequestParam( value = "category", required = false ) String category,
+            @RequestParam( "include" ) List<String> include
+    ) {
+        Set<WasteRelation> relations = WasteRelation.parse( include );
+        List<WasteDTO> waste = wasteRepository.getAllWaste( category != null ? category.toLowerCase() : category );
+        return wasteRelationLoader.expand( waste, relations );
+    }
+
+    /**
+     * Retrieves a specific waste record with the requested relations,
+     * e.g. {@code /api/waste/1?include=disposals,tips}.
      *
      * @param id The ID of the waste record.
-     * @return A `ResponseEntity` containing the `WasteWithCategoryDTO` object for the specified waste.
+     * @param include The relations to include: `category`, `disposals` and/or `tips`.
+     * @return A `ResponseEntity` containing the `WasteExpandedDTO` for the specified waste.
      * @throws WasteNotFoundException if no waste record is found with the given ID.
      */
-    @GetMapping( "/{id}" )
-    public ResponseEntity<?> getWaste( @PathVariable Integer id ) {
-        Optional<WasteWithCategoryDTO> waste = wasteRepository.getWasteWithCategory( id );
+    @GetMapping( value = "/{id}", params = "include" )
+    public ResponseEntity<?> getWasteWithRelations( @PathVariable Integer id, @RequestParam( "include" ) List<String> include ) {
+        Set<WasteRelation> relations = WasteRelation.parse( include );
+        Optional<WasteDTO> waste = wasteRepository.getWaste( id );
         if ( waste.isEmpty() ) {
             throw new WasteNotFoundException( "Waste with id " + id + " not found" );
         }
+        return ResponseEntity.ok( wasteRelationLoader.expand( List.of( waste.get() ), relations ).get( 0 ) );
+    }
 
-        return ResponseEntity.ok( waste.get() );
+    /**
+     * Retrieves several waste records by their IDs in one request, e.g. {@code /api/waste?ids=1,2,3}.
+     *
+     * @param ids The IDs of the waste records to retrieve.
+     * @return The waste records found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = { "ids", "!include" } )
+    public BatchResultDTO<WasteWithCategoryDTO> getWasteByIds( @RequestParam( "ids" ) List<Integer> ids ) {
+        return wasteRepository.getWasteWithCategoryByIds( ids );
+    }
+
+    /**
+     * Retrieves several waste records by their IDs with the requested relations,
+     * e.g. {@code /api/waste?ids=1,2,3&include=disposals}. Each relation costs one batched query
+     * for all the IDs found.
+     *
+     * @param ids The IDs of the waste records to retrieve.
+     * @param include The relations to include: `category`, `disposals` and/or `tips`.
+     * @return The expanded waste records found, in request order, and the IDs that do not exist.
+     */
+    @GetMapping( value = "", params = { "ids", "include" } )
+    public BatchResultDTO<WasteExpandedDTO> getWasteByIdsWithRelations(
+            @RequestParam( "ids" ) List<Integer> ids,
+            @RequestParam( "include" ) List<String> include
+    ) {
+        Set<WasteRelation> relations = WasteRelation.parse( include );
+        BatchResultDTO<WasteDTO> waste = wasteRepository.getWasteByIds( ids );
+        return new BatchResultDTO<>( wasteRelationLoader.expand( waste.items(), relations ), waste.missing() );
+    }
+
+    /**
+     * Retrieves a specific waste record by its ID.
+     *
+     * @param id The ID of the waste record.
+     * @return A `ResponseEntity` containing the `WasteWithCategoryDTO` object for the specified waste, tagged with the
+     * versions of the waste and of its category, since the body carries both.
+     * @throws WasteNotFoundException if no waste record is found with the given ID.
+     */
+    @GetMapping( "/{id}" )
+    public ResponseEntity<?> getWaste( @PathVariable Integer id ) {
+        Versioned<WasteWithCategoryDTO> waste = wasteRepository.getVersionedWasteWithCategory( id )
+                .orElseThrow( () -> new WasteNotFoundException( "Waste with id " + id + " not found" ) );
+
+        return ResponseEntity.ok().eTag( waste.eTag() ).body( waste.value() );
     }
 
     /**
@@ -130,20 +207,31 @@ public class WasteController {
      *
      * @param id The ID of the waste record to update.
      * @param wasteDTO The data transfer object containing the updated waste information.
+     * @param ifMatch The ETag of the version the client last read; without it the update is unconditional.
      * @return A `ResponseEntity` with the appropriate HTTP status based on the result.
      * @throws WasteNotFoundException if no waste record is found with the given ID.
+     * @throws VersionConflictException if the waste record has been modified since the version in If-Match.
      */
     @ResponseStatus( HttpStatus.NO_CONTENT )
     @PutMapping( "/{id}" )
-    public ResponseEntity<?> updateWaste( @PathVariable Integer id, @Valid @RequestBody WasteDTO wasteDTO) {
+    public ResponseEntity<?> updateWaste(
+            @PathVariable Integer id,
+            @Valid @RequestBody WasteDTO wasteDTO,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<WasteWithCategoryDTO> waste = wasteRepository.getWasteWithCategory( id );
         if ( waste.isEmpty() ) {
             throw new WasteNotFoundException( "Waste with id " + id + " not found" );
         }
 
-        boolean updated = wasteRepository.updateWaste(wasteDTO, id );
+        Long expectedVersion = ETags.expectedVersion( ifMatch, () -> wasteRepository.getWasteVersion( id ) );
+        boolean updated = wasteRepository.updateWaste( wasteDTO, id, expectedVersion );
         if ( updated ) {
-            return ResponseEntity.status( HttpStatus.NO_CONTENT ).build();
+            ResponseEntity.BodyBuilder response = ResponseEntity.status( HttpStatus.NO_CONTENT );
+            if ( expectedVersion != null ) {
+                response.eTag( ETags.of( expectedVersion + 1, categoryRepository.getCategoryVersion( wasteDTO.categoryId() ).orElse( 0L ) ) );
+            }
+            return response.build();
         }
         return ResponseEntity.status( HttpStatus.INTERNAL_SERVER_ERROR )
                 .body( "Failed to update record" );
@@ -153,16 +241,21 @@ public class WasteController {
      * Deletes a specific waste record by its ID.
      *
      * @param id The ID of the waste record to delete.
+     * @param ifMatch The ETag of the version the client last read; without it the delete is unconditional.
      * @throws WasteNotFoundException if no waste record is found with the given ID.
+     * @throws VersionConflictException if the waste record has been modified since the version in If-Match.
      */
     @ResponseStatus( HttpStatus.NO_CONTENT )
     @DeleteMapping( "/{id}" )
-    public ResponseEntity<?> deleteWasteById( @PathVariable Integer id ) {
+    public ResponseEntity<?> deleteWasteById(
+            @PathVariable Integer id,
+            @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch
+    ) {
         Optional<WasteWithCategoryDTO> waste = wasteRepository.getWasteWithCategory( id );
         if ( waste.isEmpty() ) {
             throw new WasteNotFoundException( "Waste with id " + id + " not found" );
         }
-        wasteRepository.deleteWasteById( id );
+        wasteRepository.deleteWasteById( id, ETags.expectedVersion( ifMatch, () -> wasteRepository.getWasteVersion( id ) ) );
         return ResponseEntity.status( HttpStatus.NO_CONTENT ).build();
     }
 
@@ -176,6 +269,34 @@ public class WasteController {
         return wasteRepository.getAllWasteWithTips();
     }
 
+    /**
+     * Retrieves all waste records with their effective recycling tips: their own tips followed by
+     * the tips of their category.
+     *
+     * @return A list of `WasteWithTipsDTO` objects representing waste with effective recycling tips.
+     */
+    @GetMapping( "/effective-tips" )
+    public List<WasteWithTipsDTO> getWasteWithEffectiveTips() {
+        return wasteRepository.getAllWasteWithEffectiveTips();
+    }
+
+    /**
+     * Retrieves the effective recycling tips for a specific waste record by its ID: its own tips
+     * followed by the tips of its category.
+     *
+     * @param id The ID of the waste record.
+     * @return A `ResponseEntity` containing the `WasteWithTipsDTO` object for the specified waste.
+     * @throws WasteNotFoundException if no waste record is found for the given ID.
+     */
+    @GetMapping( "/{id}/effective-tips" )
+    public ResponseEntity<?> getWasteWithEffectiveTipsById( @PathVariable Integer id ) {
+        Optional<WasteWithTipsDTO> waste = wasteRepository.getWasteWithEffectiveTipsById( id );
+        if ( waste.isEmpty() ) {
+            throw new WasteNotFoundException( "Waste with id " + id + " not found" );
+        }
+        return ResponseEntity.ok( waste.get() );
+    }
+
     /**
      * Retrieves the recycling tips for a specific waste record by its ID.
      *
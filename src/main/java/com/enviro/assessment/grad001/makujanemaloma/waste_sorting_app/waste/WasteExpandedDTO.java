@@ -0,0 +1,26 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A waste item with the relations requested through {@code include}. Relations that were not
+ * requested are null and omitted from the JSON.
+ */
+@JsonInclude( JsonInclude.Include.NON_NULL )
+public record WasteExpandedDTO(
+        Integer id,
+        String name,
+        String description,
+        Integer categoryId,
+        LocalDateTime lastUpdated,
+        CategoryDTO category,
+        List<DisposalDTO> disposals,
+        List<RecyclingTipDTO> recyclingTips
+) {
+}
@@ -0,0 +1,39 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Management endpoint that rebuilds the waste overview read table. It rewrites the table on every
+ * shard, so it is an operator action rather than part of the public API: it is only reachable
+ * once {@code wasteoverview} is added to {@code management.endpoints.web.exposure.include}, as
+ * {@code POST /actuator/wasteoverview}.
+ */
+@Component
+@Endpoint( id = "wasteoverview" )
+public class WasteOverviewEndpoint {
+    private final WasteRepository wasteRepository;
+
+    /**
+     * Constructs a WasteOverviewEndpoint.
+     *
+     * @param wasteRepository The repository owning the overview table.
+     */
+    public WasteOverviewEndpoint( WasteRepository wasteRepository ) {
+        this.wasteRepository = wasteRepository;
+    }
+
+    /**
+     * Rebuilds the waste overview read table from the waste, category, disposal and recycling tip
+     * tables. Only needed for recovery; the table is otherwise kept current on every write.
+     *
+     * @return The number of waste records whose overview was rebuilt.
+     */
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of( "rebuilt", wasteRepository.rebuildOverview() );
+    }
+}
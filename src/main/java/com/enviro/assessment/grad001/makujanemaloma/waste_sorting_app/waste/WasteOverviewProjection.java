@@ -0,0 +1,197 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the rows of the {@code WasteOverview} read table: one row per waste item with its
+ * category and with its disposals and waste-level recycling tips serialized as JSON, so that the
+ * overview and tips endpoints read a single table instead of joining four.
+ * <p>
+ * Rows are refreshed by the {@link WasteOverviewTrigger} inside the transaction of every write to
+ * the source tables, and can be rebuilt from scratch with {@link #rebuild(Connection)}. The class
+ * only uses plain JDBC so that it can run inside the database.
+ */
+public final class WasteOverviewProjection {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS )
+            .build();
+    private static final TypeReference<List<DisposalDTO>> DISPOSALS = new TypeReference<>() { };
+    private static final TypeReference<List<RecyclingTipDTO>> TIPS = new TypeReference<>() { };
+
+    private WasteOverviewProjection() {
+    }
+
+    /**
+     * Recomputes the overview row of one waste item, or removes it if the waste item no longer exists.
+     *
+     * @param connection The connection of the writing transaction.
+     * @param wasteId The ID of the waste item.
+     * @throws SQLException if a statement fails, which fails the write that triggered the refresh.
+     */
+    public static void refresh( Connection connection, int wasteId ) throws SQLException {
+        try ( PreparedStatement waste = connection.prepareStatement(
+                "SELECT w.categoryId, w.name, w.description, c.name AS categoryName, c.description AS categoryDescription "
+                        + "FROM Waste w LEFT JOIN Category c ON w.categoryId = c.id WHERE w.id = ?" ) ) {
+            waste.setInt( 1, wasteId );
+            try ( ResultSet rs = waste.executeQuery() ) {
+                if ( !rs.next() ) {
+                    try ( PreparedStatement delete = connection.prepareStatement( "DELETE FROM WasteOverview WHERE wasteId = ?" ) ) {
+                        delete.setInt( 1, wasteId );
+                        delete.executeUpdate();
+                    }
+                    return;
+                }
+                try ( PreparedStatement merge = connection.prepareStatement(
+                        "MERGE INTO WasteOverview ( wasteId, categoryId, name, description, categoryName, categoryDescription, disposals, recyclingTips ) "
+                                + "KEY ( wasteId ) VALUES ( ?, ?, ?, ?, ?, ?, ?, ? )" ) ) {
+                    merge.setInt( 1, wasteId );
+                    merge.setInt( 2, rs.getInt( "categoryId" ) );
+                    merge.setString( 3, rs.getString( "name" ) );
+                    merge.setString( 4, rs.getString( "description" ) );
+                    merge.setString( 5, rs.getString( "categoryName" ) );
+                    merge.setString( 6, rs.getString( "categoryDescription" ) );
+                    merge.setString( 7, toJson( loadDisposals( connection, wasteId ) ) );
+                    merge.setString( 8, toJson( loadTips( connection, wasteId ) ) );
+                    merge.executeUpdate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Refreshes the overview rows of every waste item in a category, after the category changed.
+     *
+     * @param connection The connection of the writing transaction.
+     * @param categoryId The ID of the category.
+     * @throws SQLException if a statement fails.
+     */
+    public static void refreshCategory( Connection connection, int categoryId ) throws SQLException {
+        for ( int wasteId : ids( connection, "SELECT id FROM Waste WHERE categoryId = ?", categoryId ) ) {
+            refresh( connection, wasteId );
+        }
+    }
+
+    /**
+     * Discards the whole table and recomputes it from the source tables, for recovery.
+     *
+     * @param connection A connection; the caller decides on the transaction.
+     * @return The number of rows rebuilt.
+     * @throws SQLException if a statement fails.
+     */
+    public static int rebuild( Connection connection ) throws SQLException {
+        try ( PreparedStatement clear = connection.prepareStatement( "DELETE FROM WasteOverview" ) ) {
+            clear.executeUpdate();
+        }
+        List<Integer> wasteIds = ids( connection, "SELECT id FROM Waste", null );
+        for ( int wasteId : wasteIds ) {
+            refresh( connection, wasteId );
+        }
+        return wasteIds.size();
+    }
+
+    /**
+     * @param json The serialized disposals of an overview row.
+     * @return The disposals.
+     */
+    public static List<DisposalDTO> disposals( String json ) {
+        return fromJson( json, DISPOSALS );
+    }
+
+    /**
+     * @param json The serialized recycling tips of an overview row.
+     * @return The recycling tips.
+     */
+    public static List<RecyclingTipDTO> recyclingTips( String json ) {
+        return fromJson( json, TIPS );
+    }
+
+    private static List<DisposalDTO> loadDisposals( Connection connection, int wasteId ) throws SQLException {
+        List<DisposalDTO> disposals = new ArrayList<>();
+        try ( PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, wasteId, method, instructions, location, latitude, longitude, lastUpdated FROM Disposal WHERE wasteId = ? ORDER BY id" ) ) {
+            statement.setInt( 1, wasteId );
+            try ( ResultSet rs = statement.executeQuery() ) {
+                while ( rs.next() ) {
+                    disposals.add( new DisposalDTO(
+                            rs.getInt( "id" ),
+                            rs.getInt( "wasteId" ),
+                            rs.getString( "method" ),
+                            rs.getString( "instructions" ),
+                            rs.getString( "location" ),
+                            rs.getObject( "latitude", Double.class ),
+                            rs.getObject( "longitude", Double.class ),
+                            rs.getObject( "lastUpdated", LocalDateTime.class )
+                    ) );
+                }
+            }
+        }
+        return disposals;
+    }
+
+    private static List<RecyclingTipDTO> loadTips( Connection connection, int wasteId ) throws SQLException {
+        List<RecyclingTipDTO> tips = new ArrayList<>();
+        try ( PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, title, tip, wasteId, lastUpdated FROM RecyclingTips WHERE wasteId = ? ORDER BY id" ) ) {
+            statement.setInt( 1, wasteId );
+            try ( ResultSet rs = statement.executeQuery() ) {
+                while ( rs.next() ) {
+                    tips.add( new RecyclingTipDTO(
+                            rs.getInt( "id" ),
+                            rs.getString( "title" ),
+                            rs.getString( "tip" ),
+                            null,
+                            rs.getInt( "wasteId" ),
+                            rs.getObject( "lastUpdated", LocalDateTime.class )
+                    ) );
+                }
+            }
+        }
+        return tips;
+    }
+
+    private static List<Integer> ids( Connection connection, String sql, Integer param ) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try ( PreparedStatement statement = connection.prepareStatement( sql ) ) {
+            if ( param != null ) {
+                statement.setInt( 1, param );
+            }
+            try ( ResultSet rs = statement.executeQuery() ) {
+                while ( rs.next() ) {
+                    ids.add( rs.getInt( 1 ) );
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String toJson( Object value ) throws SQLException {
+        try {
+            return MAPPER.writeValueAsString( value );
+        } catch ( JsonProcessingException ex ) {
+            throw new SQLException( "Failed to serialize waste overview", ex );
+        }
+    }
+
+    private static <R> R fromJson( String json, TypeReference<R> type ) {
+        try {
+            return MAPPER.readValue( json, type );
+        } catch ( JsonProcessingException ex ) {
+            throw new IllegalStateException( "Failed to read waste overview", ex );
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Keeps the {@code WasteOverview} table in step with Category, Waste, Disposal and RecyclingTips.
+ * H2 calls it for every changed row inside the writing transaction, so the overview commits or
+ * rolls back with the write, and every write path is covered: the repositories, the seed data,
+ * shard moves and the reactive variant. Deleted waste items leave the table through its foreign key.
+ */
+public class WasteOverviewTrigger implements Trigger {
+    private String table;
+    private int idColumn;
+    private int wasteIdColumn = -1;
+
+    @Override
+    public void init( Connection conn, String schemaName, String triggerName, String tableName, boolean before, int type ) throws SQLException {
+        this.table = tableName;
+        this.idColumn = columnIndex( conn, schemaName, tableName, "ID" );
+        if ( tableName.equalsIgnoreCase( "Disposal" ) || tableName.equalsIgnoreCase( "RecyclingTips" ) ) {
+            this.wasteIdColumn = columnIndex( conn, schemaName, tableName, "WASTEID" );
+        }
+    }
+
+    @Override
+    public void fire( Connection conn, Object[] oldRow, Object[] newRow ) throws SQLException {
+        if ( table.equalsIgnoreCase( "Category" ) ) {
+            if ( newRow != null ) {
+                WasteOverviewProjection.refreshCategory( conn, ( ( Number ) newRow[ idColumn ] ).intValue() );
+            }
+        } else if ( table.equalsIgnoreCase( "Waste" ) ) {
+            if ( newRow != null ) {
+                WasteOverviewProjection.refresh( conn, ( ( Number ) newRow[ idColumn ] ).intValue() );
+            }
+        } else {
+            // A disposal or tip can move to another waste item; both overviews change.
+            Object oldWasteId = oldRow != null ? oldRow[ wasteIdColumn ] : null;
+            Object newWasteId = newRow != null ? newRow[ wasteIdColumn ] : null;
+            if ( oldWasteId != null ) {
+                WasteOverviewProjection.refresh( conn, ( ( Number ) oldWasteId ).intValue() );
+            }
+            if ( newWasteId != null && !Objects.equals( oldWasteId, newWasteId ) ) {
+                WasteOverviewProjection.refresh( conn, ( ( Number ) newWasteId ).intValue() );
+            }
+        }
+    }
+
+    private static int columnIndex( Connection conn, String schemaName, String tableName, String column ) throws SQLException {
+        try ( ResultSet columns = conn.getMetaData().getColumns( null, schemaName, tableName, column ) ) {
+            if ( !columns.next() ) {
+                throw new SQLException( "Column " + column + " not found in " + tableName );
+            }
+            return columns.getInt( "ORDINAL_POSITION" ) - 1;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.InvalidIncludeException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The relations of a waste item that can be requested with the {@code include} parameter.
+ */
+public enum WasteRelation {
+    CATEGORY,
+    DISPOSALS,
+    TIPS;
+
+    /**
+     * Parses the values of an {@code include} parameter, e.g. {@code category,disposals}.
+     *
+     * @param values The requested relation names, case-insensitive.
+     * @return The requested relations.
+     * @throws InvalidIncludeException if a value does not name a relation.
+     */
+    public static Set<WasteRelation> parse( List<String> values ) {
+        Set<WasteRelation> relations = EnumSet.noneOf( WasteRelation.class );
+        for ( String value : values ) {
+            String name = value.trim();
+            if ( name.isEmpty() ) {
+                continue;
+            }
+            try {
+                relations.add( WasteRelation.valueOf( name.toUpperCase() ) );
+            } catch ( IllegalArgumentException ex ) {
+                throw new InvalidIncludeException( "Unknown relation '" + name + "'. Supported relations are: category, disposals, tips" );
+            }
+        }
+        return relations;
+    }
+}
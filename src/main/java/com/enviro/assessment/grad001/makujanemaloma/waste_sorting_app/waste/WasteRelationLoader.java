@@ -0,0 +1,84 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the relations requested with {@code include} for a whole page of waste items at once,
+ * in the style of a DataLoader: the keys needed by every item are collected first, and each
+ * relation is then fetched with a single batched {@code IN} query, regardless of page size.
+ */
+@Component
+public class WasteRelationLoader {
+
+    private final CategoryRepository categoryRepository;
+    private final DisposalRepository disposalRepository;
+    private final RecyclingTipRepository recyclingTipRepository;
+
+    /**
+     * Constructs a WasteRelationLoader.
+     *
+     * @param categoryRepository The repository categories are loaded from.
+     * @param disposalRepository The repository disposals are loaded from.
+     * @param recyclingTipRepository The repository recycling tips are loaded from.
+     */
+    public WasteRelationLoader(
+            CategoryRepository categoryRepository,
+            DisposalRepository disposalRepository,
+            RecyclingTipRepository recyclingTipRepository
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.disposalRepository = disposalRepository;
+        this.recyclingTipRepository = recyclingTipRepository;
+    }
+
+    /**
+     * Expands a page of waste items with the requested relations.
+     *
+     * @param page The waste items to expand.
+     * @param include The relations to load.
+     * @return The expanded waste items, in the order of the page.
+     */
+    public List<WasteExpandedDTO> expand( List<WasteDTO> page, Set<WasteRelation> include ) {
+        List<Integer> wasteIds = page.stream().map( WasteDTO::id ).toList();
+
+        Map<Integer, CategoryDTO> categories = include.contains( WasteRelation.CATEGORY )
+                ? categoryRepository.getCategoriesByIds( page.stream().map( WasteDTO::categoryId ).distinct().toList() )
+                        .items().stream()
+                        .collect( Collectors.toMap( CategoryDTO::id, Function.identity() ) )
+                : null;
+        Map<Integer, List<DisposalDTO>> disposals = include.contains( WasteRelation.DISPOSALS )
+                ? disposalRepository.getDisposalsByWasteIds( wasteIds )
+                : null;
+        Map<Integer, List<RecyclingTipDTO>> tips = include.contains( WasteRelation.TIPS )
+                ? recyclingTipRepository.getRecyclingTipsByWasteIds( wasteIds )
+                : null;
+
+        List<WasteExpandedDTO> expanded = new ArrayList<>( page.size() );
+        for ( WasteDTO waste : page ) {
+            expanded.add( new WasteExpandedDTO(
+                    waste.id(),
+                    waste.name(),
+                    waste.description(),
+                    waste.categoryId(),
+                    waste.lastUpdated(),
+                    categories != null ? categories.get( waste.categoryId() ) : null,
+                    disposals != null ? disposals.getOrDefault( waste.id(), List.of() ) : null,
+                    tips != null ? tips.getOrDefault( waste.id(), List.of() ) : null
+            ) );
+        }
+        return expanded;
+    }
+}
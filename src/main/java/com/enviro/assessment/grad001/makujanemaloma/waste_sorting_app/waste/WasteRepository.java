@@ -1,34 +1,96 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste;
 
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BaseRepository;
-import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.BatchResultDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CoherentCache;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.MapperEvent;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRebalancer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SimplePropertyRowMapper;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.*;
 
 /**
  * Repository for handling Waste-related database operations.
  * Extends the base repository for CRUD operations and specific database queries related to Waste entities.
+ * Waste items are sharded by category: queries for one category run on its shard only, and the
+ * others fan out to every shard.
  */
 @Repository
 public class WasteRepository extends BaseRepository<WasteDTO> {
+    /**
+     * The ORDER BY of the effective tips query, which merges the shards' rows so that each waste
+     * item's rows stay together. Waste items without tips have a null tip ID, which H2 sorts first.
+     */
+    private static final Comparator<Map<String, Object>> EFFECTIVE_TIPS_ORDER =
+            Comparator.<Map<String, Object>, Integer>comparing( row -> ( Integer ) row.get( "wasteId" ) )
+                    .thenComparing( row -> ( Integer ) row.get( "tipScope" ) )
+                    .thenComparing( row -> ( Integer ) row.get( "recycleTipId" ), Comparator.nullsFirst( Comparator.naturalOrder() ) );
+
     private final String tableName = "Waste";
     private final JdbcTemplate jdbcTemplate;
+    private final CoherentCache<Integer, Optional<Versioned<WasteWithCategoryDTO>>> wasteWithCategoryCache;
+    private final ShardRebalancer shardRebalancer;
 
     /**
      * Constructs a new WasteRepository.
      *
      * @param jdbcClient the JdbcClient instance used for database operations
      * @param jdbcTemplate the JdbcTemplate instance used for querying the database
+     * @param changeLog the change log writes are published to
+     * @param readCoalescer the coalescer shared by identical concurrent reads
+     * @param bulkhead the bulkhead heavy reads are isolated in
+     * @param cacheCoherence the coherence node that keeps the waste cache current across instances
+     * @param shards the shards waste items are spread over
+     * @param shardRebalancer the rebalancer that moves a waste item when its category changes shard
+     * @param auditLog the audit log writes are recorded in
+     * @param categoryStats the per-category counts writes are counted in
      */
-    public WasteRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
-        super( jdbcClient, WasteDTO.class );
+    public WasteRepository(
+            JdbcClient jdbcClient,
+            JdbcTemplate jdbcTemplate,
+            ChangeLog changeLog,
+            ReadCoalescer readCoalescer,
+            Bulkhead bulkhead,
+            CacheCoherence cacheCoherence,
+            Shards shards,
+            ShardRebalancer shardRebalancer,
+            AuditLog auditLog,
+            CategoryStats categoryStats
+    ) {
+        super( jdbcClient, WasteDTO.class, changeLog, readCoalescer, bulkhead, shards, auditLog, categoryStats );
         this.jdbcTemplate = jdbcTemplate;
+        this.wasteWithCategoryCache = cacheCoherence.newCache( Set.of( tableName, "Category" ) );
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    protected boolean isSharded() {
+        return true;
     }
 
     /**
@@ -40,6 +102,29 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
         return getAll( tableName );
     }
 
+    /**
+     * Retrieves all waste items, optionally restricted to one category.
+     *
+     * @param category the category name to filter by, or null for all waste items
+     * @return a list of WasteDTO objects
+     */
+    public List<WasteDTO> getAllWaste( String category ) {
+        if ( category == null ) {
+            return getAllWaste();
+        }
+        String sql = """
+            SELECT w.*
+            FROM Waste w
+            JOIN Category c ON w.categoryId = c.id
+            WHERE c.name = ?
+            """;
+
+        return heavyRead( "Waste.getAllWasteByCategory", () -> forCategory( category, () -> jdbcClient.sql( sql )
+                .param( 1, category )
+                .query( WasteDTO.class )
+                .list() ), category );
+    }
+
     /**
      * Retrieves a specific waste item by its ID.
      *
@@ -50,6 +135,16 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
         return getById( tableName, id );
     }
 
+    /**
+     * Retrieves the current version of a waste item.
+     *
+     * @param id the ID of the waste item
+     * @return the version, or empty if the waste item does not exist
+     */
+    public Optional<Long> getWasteVersion( Integer id ) {
+        return getVersion( tableName, id );
+    }
+
     /**
      * Inserts a new waste item into the database.
      *
@@ -59,6 +154,7 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
     public boolean insertNewWaste( WasteDTO wasteDTO) {
         return createRecord(
                 tableName,
+                shards.shardFor( wasteDTO.categoryId() ),
                 List.of( wasteDTO.name(), wasteDTO.description(), wasteDTO.categoryId() ),
                 "INSERT INTO " + tableName + " ( name, description, categoryId, lastUpdated ) VALUES ( ?, ?, ?, CURRENT_TIMESTAMP )"
         );
@@ -72,10 +168,28 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      * @return true if the waste item was successfully updated, false otherwise
      */
     public boolean updateWaste(WasteDTO wasteDTO, Integer id ) {
+        return updateWaste( wasteDTO, id, null );
+    }
+
+    /**
+     * Updates an existing waste item if it is still at the expected version.
+     *
+     * @param wasteDTO the WasteDTO object containing the updated data
+     * @param id the ID of the waste item to update
+     * @param expectedVersion the version the waste item must have, or null to update unconditionally
+     * @return true if the waste item was successfully updated, false otherwise
+     * @throws VersionConflictException if the waste item has been modified since that version
+     */
+    public boolean updateWaste( WasteDTO wasteDTO, Integer id, Long expectedVersion ) {
+        int shard = shards.shardFor( wasteDTO.categoryId() );
+        shardRebalancer.relocateWaste( id, shard, expectedVersion );
         return updateRecord(
                 tableName,
+                shard,
+                id,
+                expectedVersion,
                 List.of( wasteDTO.name(), wasteDTO.description(), wasteDTO.categoryId(), id ),
-                "UPDATE " + tableName + " SET name = ?, description = ?, categoryId = ?, lastUpdated = CURRENT_TIMESTAMP WHERE id = ?"
+                "UPDATE " + tableName + " SET name = ?, description = ?, categoryId = ?, lastUpdated = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?"
         );
     }
 
@@ -85,60 +199,18 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      * @param id the ID of the waste item to delete
      */
     public void deleteWasteById( Integer id ) {
-        delete( tableName, id );
+        deleteWasteById( id, null );
     }
 
     /**
-     * Maps SQL query result rows to a list of WasteOverviewDTO objects.
+     * Deletes a waste item by its ID if it is still at the expected version.
      *
-     * @param rows a list of rows returned from the SQL query
-     * @return a list of WasteOverviewDTO objects representing waste items with disposal information
+     * @param id the ID of the waste item to delete
+     * @param expectedVersion the version the waste item must have, or null to delete unconditionally
+     * @throws VersionConflictException if the waste item has been modified since that version
      */
-    private List<WasteOverviewDTO> sqlDataMapper(List<Map<String, Object>> rows ) {
-
-        Map<Integer, WasteOverviewDTO> wasteMap = new HashMap<>();
-
-        for (Map<String, Object> row : rows) {
-            Integer id = ( Integer ) row.get( "wasteId" );
-            String name = ( String ) row.get("wasteName");
-            String description = ( String ) row.get( "wasteDescription" );
-            String categoryName = ( String ) row.get( "categoryName" );
-            String categoryDescription = ( String ) row.get( "categoryDescription" );
-
-
-            DisposalDTO disposal = null;
-            if ( row.get( "disposalId" ) != null ) {
-                disposal = new DisposalDTO(
-                        ( Integer ) row.get( "disposalId" ),
-                        ( Integer ) row.get( "disposalWasteId" ),
-                        ( String ) row.get( "disposalMethod" ),
-                        ( String ) row.get( "disposalInstructions" ),
-                        ( String ) row.get( "disposalLocation" ),
-                        row.get("disposalLastUpdated" ) != null
-                                ? ( ( Timestamp ) row.get( "disposalLastUpdated" ) ).toLocalDateTime()
-                                : null
-                );
-            }
-
-            WasteOverviewDTO waste = wasteMap.get( id );
-            if ( waste == null ) {
-                waste = new WasteOverviewDTO(
-                        id,
-                        name,
-                        description,
-                        categoryName,
-                        categoryDescription,
-                        new ArrayList<>()
-                );
-                wasteMap.put( id, waste );
-            }
-
-            if ( disposal != null ) {
-                waste.disposals().add( disposal );
-            }
-        }
-
-        return new ArrayList<>( wasteMap.values() );
+    public void deleteWasteById( Integer id, Long expectedVersion ) {
+        delete( tableName, id, expectedVersion );
     }
 
     /**
@@ -148,28 +220,17 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      * @return a list of WasteOverviewDTO objects with associated disposal data
      */
     public List<WasteOverviewDTO> getAllWasteWithDisposal(String categoryId ) {
-
         String sql = """
-                SELECT w.id AS wasteId,
-                       w.name AS wasteName,
-                       w.description AS wasteDescription,
-                       c.name AS categoryName,
-                       c.description AS categoryDescription,
-                       d.id AS disposalId,
-                       d.wasteId AS disposalWasteId,
-                       d.method AS disposalMethod,
-                       d.instructions AS disposalInstructions,
-                       d.location AS disposalLocation,
-                       d.lastUpdated AS disposalLastUpdated
-                FROM Waste w
-                LEFT JOIN Category c ON w.categoryId = c.id
-                LEFT JOIN Disposal d ON w.id = d.wasteId
-                WHERE ( ? IS NULL OR c.name = ? )
+            SELECT wasteId, name, description, categoryName, categoryDescription, disposals
+            FROM WasteOverview
+            WHERE ( :category IS NULL OR categoryName = :category )
+            ORDER BY wasteId
             """;
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, categoryId, categoryId);
-
-        return sqlDataMapper( rows );
+        return heavyRead( "Waste.getAllWasteWithDisposal", () -> forCategory( categoryId, () -> jdbcClient.sql( sql )
+                .param( "category", categoryId )
+                .query( this::mapOverview )
+                .list(), Comparator.comparing( WasteOverviewDTO::id ) ), categoryId );
     }
 
     /**
@@ -180,28 +241,15 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      */
     public Optional<WasteOverviewDTO> getWasteOverviewById( Integer wasteId ) {
         String sql = """
-                SELECT w.id AS wasteId,
-                       w.name AS wasteName,
-                       w.description AS wasteDescription,
-                       c.name AS categoryName,
-                       c.description AS categoryDescription,
-                       d.id AS disposalId,
-                       d.wasteId AS disposalWasteId,
-                       d.method AS disposalMethod,
-                       d.instructions AS disposalInstructions,
-                       d.location AS disposalLocation,
-                       d.lastUpdated AS disposalLastUpdated
-                FROM Waste w
-                LEFT JOIN Category c ON w.categoryId = c.id
-                LEFT JOIN Disposal d ON w.id = d.wasteId
-                WHERE w.id = ?
+            SELECT wasteId, name, description, categoryName, categoryDescription, disposals
+            FROM WasteOverview
+            WHERE wasteId = ?
             """;
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, wasteId);
-        if ( rows.isEmpty() ) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable( sqlDataMapper( rows ).get( 0 ) );
+        return coalesce( "Waste.getWasteOverviewById", () -> scatterFirst( () -> jdbcClient.sql( sql )
+                .param( 1, wasteId )
+                .query( this::mapOverview )
+                .optional() ), wasteId );
     }
 
     /**
@@ -222,11 +270,11 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
             WHERE ( ? IS NULL OR c.name = ? )
             """;
 
-        return jdbcClient.sql( sql )
+        return heavyRead( "Waste.getAllWasteWithCategory", () -> forCategory( categoryId, () -> jdbcClient.sql( sql )
                 .param( 1, categoryId )
                 .param( 2, categoryId )
                 .query( WasteWithCategoryDTO.class )
-                .list();
+                .list() ), categoryId );
     }
 
     /**
@@ -236,47 +284,86 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      * @return an Optional containing the WasteWithCategoryDTO if found, or empty if not
      */
     public Optional<WasteWithCategoryDTO> getWasteWithCategory( Integer wasteId ) {
+        return getVersionedWasteWithCategory( wasteId ).map( Versioned::value );
+    }
+
+    /**
+     * Retrieves a specific waste item with its category information, together with the versions of the
+     * waste item and of its category read in the same row.
+     *
+     * @param wasteId the ID of the waste item to retrieve
+     * @return the waste item, its version and its category's version, or empty if it does not exist
+     */
+    public Optional<Versioned<WasteWithCategoryDTO>> getVersionedWasteWithCategory( Integer wasteId ) {
         String sql = """
             SELECT w.id AS wasteId,
                    w.name AS wasteName,
                    w.description AS wasteDescription,
                    c.name AS categoryName,
-                   c.description AS categoryDescription
+                   c.description AS categoryDescription,
+                   w.version AS version,
+                   COALESCE( c.version, 0 ) AS categoryVersion
             FROM Waste w
             LEFT JOIN Category c ON w.categoryId = c.id
             WHERE w.id = ?
             """;
+        RowMapper<WasteWithCategoryDTO> mapper = new SimplePropertyRowMapper<>( WasteWithCategoryDTO.class );
 
-        return jdbcClient.sql( sql )
-                .param( 1, wasteId )
-                .query( WasteWithCategoryDTO.class )
-                .optional();
+        return wasteWithCategoryCache.get( wasteId, key -> coalesce( "Waste.getVersionedWasteWithCategory", () -> scatterFirst( () -> jdbcClient.sql( sql )
+                .param( 1, key )
+                .query( ( rs, rowNum ) -> new Versioned<>( mapper.mapRow( rs, rowNum ), rs.getLong( "version" ), rs.getLong( "categoryVersion" ) ) )
+                .optional() ), key ) );
     }
 
     /**
-     * Retrieves all waste items with their associated recycling tips.
+     * Retrieves the waste items with the given IDs, with their category information, in batched queries.
      *
-     * @return a list of WasteWithTipsDTO objects with associated recycling tips
+     * @param wasteIds the IDs of the waste items to retrieve, in the order they should be returned
+     * @return the waste items found, in request order, and the IDs that do not exist
      */
-    public List<WasteWithTipsDTO> getAllWasteWithTips() {
+    public BatchResultDTO<WasteWithCategoryDTO> getWasteWithCategoryByIds( List<Integer> wasteIds ) {
         String sql = """
             SELECT w.id AS wasteId,
                    w.name AS wasteName,
-                   w.categoryId as categoryId,
                    w.description AS wasteDescription,
                    c.name AS categoryName,
-                   rt.id AS recycleTipId,
-                   rt.title AS title,
-                   rt.tip AS tip,
-                   rt.wasteId AS wasteId,
-                   rt.lastUpdated AS lastUpdated
+                   c.description AS categoryDescription
             FROM Waste w
             LEFT JOIN Category c ON w.categoryId = c.id
-            LEFT JOIN RecyclingTips rt ON w.id = rt.wasteId
-        """;
+            WHERE w.id IN ( :ids )
+            """;
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
-        return sqlDataMapperForTips(rows);
+        return loadBatch( "Waste.getWasteWithCategoryByIds", wasteIds, chunk -> scatter( () -> jdbcClient.sql( sql )
+                .param( "ids", chunk )
+                .query( WasteWithCategoryDTO.class )
+                .list() ), WasteWithCategoryDTO::wasteId );
+    }
+
+    /**
+     * Retrieves the waste items with the given IDs in batched queries, for expanding with relations.
+     *
+     * @param wasteIds the IDs of the waste items to retrieve, in the order they should be returned
+     * @return the waste items found, in request order, and the IDs that do not exist
+     */
+    public BatchResultDTO<WasteDTO> getWasteByIds( List<Integer> wasteIds ) {
+        return getByIds( tableName, wasteIds, WasteDTO::id );
+    }
+
+    /**
+     * Retrieves all waste items with their associated recycling tips.
+     *
+     * @return a list of WasteWithTipsDTO objects with associated recycling tips
+     */
+    public List<WasteWithTipsDTO> getAllWasteWithTips() {
+        String sql = """
+            SELECT wasteId, name, description, categoryName, recyclingTips
+            FROM WasteOverview
+            ORDER BY wasteId
+            """;
+
+        return heavyRead( "Waste.getAllWasteWithTips", () -> scatter( () -> jdbcClient.sql( sql )
+                .query( this::mapTips )
+                .list(), Comparator.comparing( WasteWithTipsDTO::id ) ) );
     }
 
     /**
@@ -287,77 +374,178 @@ public class WasteRepository extends BaseRepository<WasteDTO> {
      */
     public Optional<WasteWithTipsDTO> getWasteWithTipsByID( Integer wasteId ) {
         String sql = """
+            SELECT wasteId, name, description, categoryName, recyclingTips
+            FROM WasteOverview
+            WHERE wasteId = ?
+            """;
+
+        return coalesce( "Waste.getWasteWithTipsByID", () -> scatterFirst( () -> jdbcClient.sql( sql )
+                .param( 1, wasteId )
+                .query( this::mapTips )
+                .optional() ), wasteId );
+    }
+
+    /**
+     * Recomputes the WasteOverview table from the source tables on every shard, for recovery after
+     * it was lost or written to outside the database triggers that maintain it.
+     *
+     * @return the number of waste items whose overview was rebuilt
+     */
+    public int rebuildOverview() {
+        return scatter( () -> List.of( jdbcTemplate.execute( ( ConnectionCallback<Integer> ) this::rebuildOverviewOn ) ) )
+                .stream()
+                .mapToInt( Integer::intValue )
+                .sum();
+    }
+
+    /**
+     * Rebuilds the overview of one shard in a single transaction, so readers never see it half empty.
+     */
+    private int rebuildOverviewOn( Connection connection ) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit( false );
+        try {
+            int rebuilt = WasteOverviewProjection.rebuild( connection );
+            connection.commit();
+            return rebuilt;
+        } catch ( SQLException | RuntimeException ex ) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit( autoCommit );
+        }
+    }
+
+    private WasteOverviewDTO mapOverview( ResultSet rs, int rowNum ) throws SQLException {
+        return new WasteOverviewDTO(
+                rs.getInt( "wasteId" ),
+                rs.getString( "name" ),
+                rs.getString( "description" ),
+                rs.getString( "categoryName" ),
+                rs.getString( "categoryDescription" ),
+                WasteOverviewProjection.disposals( rs.getString( "disposals" ) )
+        );
+    }
+
+    private WasteWithTipsDTO mapTips( ResultSet rs, int rowNum ) throws SQLException {
+        return new WasteWithTipsDTO(
+                rs.getInt( "wasteId" ),
+                rs.getString( "name" ),
+                rs.getString( "description" ),
+                rs.getString( "categoryName" ),
+                WasteOverviewProjection.recyclingTips( rs.getString( "recyclingTips" ) )
+        );
+    }
+
+    /**
+     * Retrieves all waste items with their effective recycling tips: the tips attached to the waste item
+     * itself followed by the tips attached to its category.
+     *
+     * @return a list of WasteWithTipsDTO objects with their effective recycling tips
+     */
+    public List<WasteWithTipsDTO> getAllWasteWithEffectiveTips() {
+        String sql = effectiveTipsSql( "" );
+        return heavyRead( "Waste.getAllWasteWithEffectiveTips",
+                () -> sqlDataMapperForEffectiveTips( scatter( () -> jdbcTemplate.queryForList( sql ), EFFECTIVE_TIPS_ORDER ) ) );
+    }
+
+    /**
+     * Retrieves a specific waste item with its effective recycling tips by its ID.
+     *
+     * @param wasteId the ID of the waste item to retrieve
+     * @return an Optional containing the WasteWithTipsDTO if found, or empty if not
+     */
+    public Optional<WasteWithTipsDTO> getWasteWithEffectiveTipsById( Integer wasteId ) {
+        String sql = effectiveTipsSql( "WHERE w.id = ?" );
+        return coalesce( "Waste.getWasteWithEffectiveTipsById", () -> sqlDataMapperForEffectiveTips(
+                scatter( () -> jdbcTemplate.queryForList( sql, wasteId, wasteId ), EFFECTIVE_TIPS_ORDER ) ).stream().findFirst(), wasteId );
+    }
+
+    /**
+     * Builds the effective tips query. Waste-level and category-level tips are joined in two
+     * branches of a UNION ALL rather than with a single OR join, so each branch can use the
+     * foreign key index on RecyclingTips. The first branch is a LEFT JOIN so that waste items
+     * without any tips are still returned.
+     *
+     * @param where a WHERE clause applied to both branches, or an empty string
+     * @return the SQL query
+     */
+    private static String effectiveTipsSql( String where ) {
+        String select = """
             SELECT w.id AS wasteId,
                    w.name AS wasteName,
-                   w.categoryId as categoryId,
                    w.description AS wasteDescription,
                    c.name AS categoryName,
                    rt.id AS recycleTipId,
                    rt.title AS title,
                    rt.tip AS tip,
-                   rt.wasteId AS wasteId,
-                   rt.lastUpdated AS lastUpdated
+                   rt.categoryId AS tipCategoryId,
+                   rt.wasteId AS tipWasteId,
+                   rt.lastUpdated AS lastUpdated,
+            """;
+        return select + """
+                   0 AS tipScope
             FROM Waste w
             LEFT JOIN Category c ON w.categoryId = c.id
-            LEFT JOIN RecyclingTips rt ON w.id = rt.wasteId
-            WHERE w.id = ?
-        """;
+            LEFT JOIN RecyclingTips rt ON rt.wasteId = w.id
+            """ + where + """
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList( sql, wasteId );
-        if ( rows.isEmpty() ) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable( sqlDataMapperForTips( rows ).get( 0 ) );
+            UNION ALL
+            """ + select + """
+                   1 AS tipScope
+            FROM Waste w
+            LEFT JOIN Category c ON w.categoryId = c.id
+            JOIN RecyclingTips rt ON rt.categoryId = w.categoryId
+            """ + where + """
+
+            ORDER BY wasteId, tipScope, recycleTipId
+            """;
     }
 
     /**
-     * Maps SQL query result rows to a list of WasteWithTipsDTO objects.
+     * Maps effective tips rows, ordered by waste item, to WasteWithTipsDTO objects. A tip attached to
+     * both the waste item and its category is only listed once.
      *
-     * @param rows a list of rows returned from the SQL query
-     * @return a list of WasteWithTipsDTO objects representing waste items with recycling tips
+     * @param rows a list of rows returned from the effective tips query
+     * @return a list of WasteWithTipsDTO objects in waste ID order
      */
-    private List<WasteWithTipsDTO> sqlDataMapperForTips(List<Map<String, Object>> rows ) {
+    private List<WasteWithTipsDTO> sqlDataMapperForEffectiveTips( List<Map<String, Object>> rows ) {
+        MapperEvent event = MapperEvent.start( "WasteRepository.sqlDataMapperForEffectiveTips", rows.size() );
+        Map<Integer, WasteWithTipsDTO> wasteMap = new LinkedHashMap<>();
+        Set<Integer> seenTips = new HashSet<>();
 
-        Map<Integer, WasteWithTipsDTO> wasteMap = new HashMap<>();
-
-        for (Map<String, Object> row : rows) {
+        for ( Map<String, Object> row : rows ) {
             Integer id = ( Integer ) row.get( "wasteId" );
-            String name = ( String ) row.get("wasteName");
-            String description = ( String ) row.get( "wasteDescription" );
-            String categoryName = ( String ) row.get( "categoryName" );
-
-
-            RecyclingTipDTO recycleTip = null;
-            if ( row.get( "recycleTipId" ) != null ) {
-                recycleTip = new RecyclingTipDTO(
-                        ( Integer ) row.get( "recycleTipId" ),
-                        ( String ) row.get( "title" ),
-                        ( String ) row.get( "tip" ),
-                        null,
-                        ( Integer ) row.get( "wasteId" ),
-                        row.get("lastUpdated" ) != null
-                                ? ( ( Timestamp ) row.get( "lastUpdated" ) ).toLocalDateTime()
-                                : null
-                );
-            }
-
             WasteWithTipsDTO waste = wasteMap.get( id );
             if ( waste == null ) {
                 waste = new WasteWithTipsDTO(
                         id,
-                        name,
-                        description,
-                        categoryName,
+                        ( String ) row.get( "wasteName" ),
+                        ( String ) row.get( "wasteDescription" ),
+                        ( String ) row.get( "categoryName" ),
                         new ArrayList<>()
                 );
                 wasteMap.put( id, waste );
+                seenTips.clear();
             }
 
-            if ( recycleTip != null ) {
-                waste.recyclingTips().add( recycleTip );
+            Integer tipId = ( Integer ) row.get( "recycleTipId" );
+            if ( tipId != null && seenTips.add( tipId ) ) {
+                waste.recyclingTips().add( new RecyclingTipDTO(
+                        tipId,
+                        ( String ) row.get( "title" ),
+                        ( String ) row.get( "tip" ),
+                        ( Integer ) row.get( "tipCategoryId" ),
+                        ( Integer ) row.get( "tipWasteId" ),
+                        row.get( "lastUpdated" ) != null
+                                ? ( ( Timestamp ) row.get( "lastUpdated" ) ).toLocalDateTime()
+                                : null
+                ) );
             }
         }
 
-        return new ArrayList<>( wasteMap.values() );
+        List<WasteWithTipsDTO> wastes = new ArrayList<>( wasteMap.values() );
+        event.finish( wastes.size() );
+        return wastes;
     }
 }
@@ -1,10 +1,11 @@
 package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions;
 
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.StacklessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class WasteNotFoundException extends RuntimeException {
+public class WasteNotFoundException extends StacklessException {
     public WasteNotFoundException( String message ) {
         super( message );
     }
@@ -20,18 +20,18 @@ VALUES
     ('Old Smartphone', 'A discarded electronic device that contains valuable metals.', 5, CURRENT_TIMESTAMP ),
     ('Laptop Battery', 'An electronic waste item that must be disposed of responsibly.', 5, CURRENT_TIMESTAMP );
 
-INSERT INTO Disposal (wasteId, method, instructions, location, lastUpdated)
+INSERT INTO Disposal (wasteId, method, instructions, location, latitude, longitude, lastUpdated)
 VALUES
-    (1, 'Recycle', 'Place in the plastic recycling bin at your local recycling center.', 'Community Recycling Center', CURRENT_TIMESTAMP),
-    (2, 'Reuse', 'Reuse for storage or as trash liners before recycling.', 'Home', CURRENT_TIMESTAMP),
-    (3, 'Compost', 'Add to your backyard compost bin or local composting facility.', 'Backyard Compost Bin', CURRENT_TIMESTAMP),
-    (4, 'Compost', 'Take to the nearest community garden compost site.', 'Community Garden', CURRENT_TIMESTAMP),
-    (5, 'Recycle', 'Rinse and place in glass recycling bin.', 'Glass Recycling Station', CURRENT_TIMESTAMP),
-    (6, 'Recycle', 'Take to a designated glass recycling facility.', 'City Recycling Depot', CURRENT_TIMESTAMP),
-    (7, 'Recycle', 'Crush and place in the metal recycling bin.', 'Community Recycling Center', CURRENT_TIMESTAMP),
-    (8, 'Recycle', 'Fold and drop off at a scrap metal collection point.', 'Scrap Metal Yard', CURRENT_TIMESTAMP),
-    (9, 'E-Waste Disposal', 'Bring to an authorized e-waste recycling facility.', 'E-Waste Recycling Facility', CURRENT_TIMESTAMP),
-    (10, 'Special Collection', 'Drop off at a hazardous waste collection site.', 'Hazardous Waste Center', CURRENT_TIMESTAMP);
+    (1, 'Recycle', 'Place in the plastic recycling bin at your local recycling center.', 'Community Recycling Center', -26.1952, 28.0340, CURRENT_TIMESTAMP),
+    (2, 'Reuse', 'Reuse for storage or as trash liners before recycling.', 'Home', NULL, NULL, CURRENT_TIMESTAMP),
+    (3, 'Compost', 'Add to your backyard compost bin or local composting facility.', 'Backyard Compost Bin', NULL, NULL, CURRENT_TIMESTAMP),
+    (4, 'Compost', 'Take to the nearest community garden compost site.', 'Community Garden', -26.1715, 28.0074, CURRENT_TIMESTAMP),
+    (5, 'Recycle', 'Rinse and place in glass recycling bin.', 'Glass Recycling Station', -26.1076, 28.0567, CURRENT_TIMESTAMP),
+    (6, 'Recycle', 'Take to a designated glass recycling facility.', 'City Recycling Depot', -26.2041, 28.0473, CURRENT_TIMESTAMP),
+    (7, 'Recycle', 'Crush and place in the metal recycling bin.', 'Community Recycling Center', -26.1952, 28.0340, CURRENT_TIMESTAMP),
+    (8, 'Recycle', 'Fold and drop off at a scrap metal collection point.', 'Scrap Metal Yard', -26.2309, 28.0583, CURRENT_TIMESTAMP),
+    (9, 'E-Waste Disposal', 'Bring to an authorized e-waste recycling facility.', 'E-Waste Recycling Facility', -26.1367, 27.9986, CURRENT_TIMESTAMP),
+    (10, 'Special Collection', 'Drop off at a hazardous waste collection site.', 'Hazardous Waste Center', -26.2485, 28.1306, CURRENT_TIMESTAMP);
 
 INSERT INTO RecyclingTips (title, tip, categoryId, wasteId, lastUpdated)
 VALUES
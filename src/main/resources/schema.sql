@@ -2,7 +2,8 @@ CREATE TABLE IF NOT EXISTS Category (
     id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR( 100 ) NOT NULL UNIQUE,
     description VARCHAR( 255 ) NOT NULL,
-    lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS Waste (
@@ -11,6 +12,7 @@ CREATE TABLE IF NOT EXISTS Waste (
     description VARCHAR( 255 ) NOT NULL,
     categoryId INT NOT NULL,
     lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY ( categoryId ) REFERENCES category( id ) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
@@ -20,7 +22,10 @@ CREATE TABLE IF NOT EXISTS Disposal (
     method VARCHAR( 100 ) NOT NULL,
     instructions VARCHAR( 255 ) NOT NULL,
     location VARCHAR( 100 ),
+    latitude DOUBLE,
+    longitude DOUBLE,
     lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY ( wasteId ) REFERENCES waste( id ) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
@@ -31,6 +36,49 @@ CREATE TABLE IF NOT EXISTS RecyclingTips (
     categoryId INT,
     wasteId INT,
     lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (categoryId) REFERENCES Category(id) ON DELETE CASCADE ON UPDATE CASCADE,
     FOREIGN KEY (wasteId) REFERENCES Waste(id) ON DELETE CASCADE ON UPDATE CASCADE
 );
+
+CREATE TABLE IF NOT EXISTS CacheGeneration (
+    entity VARCHAR( 50 ) PRIMARY KEY,
+    generation BIGINT NOT NULL DEFAULT 0,
+    lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS AuditHistory (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entryId VARCHAR( 36 ) NOT NULL UNIQUE,
+    entity VARCHAR( 50 ) NOT NULL,
+    recordId INT NOT NULL,
+    action VARCHAR( 10 ) NOT NULL,
+    beforeImage CLOB,
+    afterImage CLOB,
+    changedAt TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_history_record ON AuditHistory ( entity, recordId );
+
+CREATE TABLE IF NOT EXISTS WasteOverview (
+    wasteId INT PRIMARY KEY,
+    categoryId INT NOT NULL,
+    name VARCHAR( 100 ) NOT NULL,
+    description VARCHAR( 255 ) NOT NULL,
+    categoryName VARCHAR( 100 ),
+    categoryDescription VARCHAR( 255 ),
+    disposals CLOB NOT NULL,
+    recyclingTips CLOB NOT NULL,
+    FOREIGN KEY ( wasteId ) REFERENCES Waste( id ) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_waste_overview_category ON WasteOverview ( categoryName );
+
+CREATE TRIGGER IF NOT EXISTS trg_waste_overview_category AFTER INSERT, UPDATE ON Category
+    FOR EACH ROW CALL 'com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewTrigger';
+CREATE TRIGGER IF NOT EXISTS trg_waste_overview_waste AFTER INSERT, UPDATE ON Waste
+    FOR EACH ROW CALL 'com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewTrigger';
+CREATE TRIGGER IF NOT EXISTS trg_waste_overview_disposal AFTER INSERT, UPDATE, DELETE ON Disposal
+    FOR EACH ROW CALL 'com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewTrigger';
+CREATE TRIGGER IF NOT EXISTS trg_waste_overview_recycling_tips AFTER INSERT, UPDATE, DELETE ON RecyclingTips
+    FOR EACH ROW CALL 'com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewTrigger';
@@ -0,0 +1,96 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdaptiveLimiter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos( 5 );
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos( 200 );
+
+    private AdaptiveLimiter limiter( int initial, int min, int max ) {
+        return new AdaptiveLimiter( "heavy", new AdmissionProperties.EndpointClass( null, initial, min, max, 0.5, 2.0 ) );
+    }
+
+    @Test
+    void testRejectsOnceLimitIsReached() {
+        // Arrange
+        AdaptiveLimiter limiter = limiter( 2, 1, 10 );
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire(), "First request should be admitted");
+        assertTrue(limiter.tryAcquire(), "Second request should be admitted");
+        assertFalse(limiter.tryAcquire(), "Third request should be rejected at a limit of 2");
+        assertEquals(2, limiter.getInFlight(), "Two requests should be in flight");
+
+        limiter.release( FAST, false );
+        assertTrue(limiter.tryAcquire(), "A released slot should be reusable");
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // Arrange
+        AdaptiveLimiter limiter = limiter( 20, 2, 100 );
+        for ( int i = 0; i < 50; i++ ) {
+            saturateAndRelease( limiter, FAST );
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for ( int i = 0; i < 20; i++ ) {
+            saturateAndRelease( limiter, SLOW );
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "Limit should shrink when latency exceeds the baseline");
+        assertTrue(limiter.getLimit() >= 2, "Limit should never drop below the minimum");
+    }
+
+    @Test
+    void testLimitStaysLowWhileLatencyStaysHigh() {
+        // Arrange
+        AdaptiveLimiter limiter = limiter( 20, 2, 100 );
+        for ( int i = 0; i < 50; i++ ) {
+            saturateAndRelease( limiter, FAST );
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for ( int i = 0; i < 200; i++ ) {
+            saturateAndRelease( limiter, SLOW );
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() <= before / 4, "A lasting slowdown should keep the limit down rather than become the baseline, but it was " + limiter.getLimit());
+    }
+
+    @Test
+    void testFailuresBackOffMultiplicatively() {
+        // Arrange
+        AdaptiveLimiter limiter = limiter( 50, 5, 100 );
+
+        // Act
+        for ( int i = 0; i < 100; i++ ) {
+            limiter.tryAcquire();
+            limiter.release( FAST, true );
+        }
+
+        // Assert
+        assertEquals(5, limiter.getLimit(), "Repeated failures should drive the limit to its minimum");
+    }
+
+    private static void saturateAndRelease( AdaptiveLimiter limiter, long rttNanos ) {
+        int admitted = 0;
+        while ( limiter.tryAcquire() ) {
+            admitted++;
+        }
+        for ( int i = 0; i < admitted; i++ ) {
+            limiter.release( rttNanos, false );
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdaptiveLimiter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionControlInterceptor;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching.ManifestMatchController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching.ManifestMatcher;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs admission control in front of the streamed manifest endpoint, which is handled asynchronously.
+ */
+class AdmissionControlTest {
+    private TestCatalog catalog;
+    private AdaptiveLimiter heavy;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", catalog.idOf( "Category", "plastic" ), null ) );
+
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor( new AdmissionProperties( true, 1, "default", Map.of(
+                "heavy", new AdmissionProperties.EndpointClass( List.of( "/api/waste/match" ), 2, 1, 10, 0.2, 2.0 ) ) ), catalog.meterRegistry );
+        heavy = interceptor.getLimiter( "heavy" );
+        ManifestMatcher manifestMatcher = new ManifestMatcher( catalog.wasteRepository, catalog.disposalRepository, catalog.changeLog, 1, 0.5 );
+        mockMvc = MockMvcBuilders.standaloneSetup( new ManifestMatchController( manifestMatcher, new ObjectMapper() ) )
+                .addInterceptors( interceptor )
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testStreamedRequestsHoldOneSlotUntilTheyComplete() throws Exception {
+        for ( int i = 0; i < 3; i++ ) {
+            // Act
+            MvcResult started = mockMvc.perform( post( "/api/waste/match" ).contentType( MediaType.TEXT_PLAIN ).content( "Plastic Bottle" ) )
+                    .andReturn();
+            boolean asyncStarted = started.getRequest().isAsyncStarted();
+            int inFlightWhileStreaming = heavy.getInFlight();
+            MvcResult completed = mockMvc.perform( asyncDispatch( started ) ).andReturn();
+
+            // Assert
+            assertTrue( asyncStarted, "The manifest should be streamed asynchronously" );
+            assertEquals( 1, inFlightWhileStreaming, "The request should hold its slot while streaming" );
+            assertEquals( 200, completed.getResponse().getStatus(), "The manifest should be matched" );
+            assertTrue( completed.getResponse().getContentAsString().contains( "Plastic Bottle" ), "The match should be streamed" );
+            assertEquals( 0, heavy.getInFlight(), "The slot should be released exactly once after request " + ( i + 1 ) );
+        }
+    }
+}
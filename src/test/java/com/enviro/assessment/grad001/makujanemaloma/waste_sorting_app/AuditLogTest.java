@@ -0,0 +1,156 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditEntryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path journalDirectory;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource( "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "" );
+        new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( dataSource );
+        jdbcTemplate = new JdbcTemplate( dataSource );
+    }
+
+    @Test
+    void testHistoryIncludesBufferedEntriesInOrder() {
+        // Arrange
+        AuditLog auditLog = new AuditLog( properties( false ), jdbcTemplate, new SimpleMeterRegistry() );
+        auditLog.record( "Waste", ChangeEvent.Action.CREATED, 7, null, Map.of( "NAME", "Tin Can" ) );
+        auditLog.record( "Waste", ChangeEvent.Action.UPDATED, 7, Map.of( "NAME", "Tin Can" ), Map.of( "NAME", "Empty Tin Can" ) );
+        auditLog.record( "Waste", ChangeEvent.Action.CREATED, 8, null, Map.of( "NAME", "Glass Jar" ) );
+
+        // Act
+        List<AuditEntryDTO> history = auditLog.history( "Waste", 7 );
+
+        // Assert
+        assertEquals( List.of( "CREATED", "UPDATED" ), history.stream().map( AuditEntryDTO::action ).toList(),
+                "History should list the record's changes oldest first, including entries not yet written by the background writer" );
+        assertNull( history.get( 0 ).before(), "An insert has no before image" );
+        assertEquals( "Empty Tin Can", history.get( 1 ).after().get( "NAME" ), "The after image should be kept" );
+    }
+
+    @Test
+    void testDurableModeRecoversJournaledEntriesAfterARestart() {
+        // Arrange
+        AuditProperties durable = properties( true );
+        AuditLog crashed = new AuditLog( durable, jdbcTemplate, new SimpleMeterRegistry() );
+        crashed.record( "Category", ChangeEvent.Action.DELETED, 3, Map.of( "NAME", "Metal" ), null );
+
+        // Act
+        AuditLog restarted = new AuditLog( durable, jdbcTemplate, new SimpleMeterRegistry() );
+        List<AuditEntryDTO> history = restarted.history( "Category", 3 );
+
+        // Assert
+        assertEquals( 1, history.size(), "The journaled entry should be written to the table on restart, exactly once" );
+        assertEquals( "Metal", history.get( 0 ).before().get( "NAME" ), "The before image should survive the restart" );
+    }
+
+    @Test
+    void testConcurrentUpdatesAreAuditedWithTheImagesTheyReplacedAndProduced() throws Exception {
+        // Arrange
+        try ( TestCatalog catalog = TestCatalog.create( true ) ) {
+            catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "metal", "Cans and foil", null ) );
+            Integer categoryId = catalog.idOf( "Category", "metal" );
+            catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Tin Can", "A can", categoryId, null ) );
+            Integer wasteId = catalog.idOf( "Waste", "Tin Can" );
+            ExecutorService writers = Executors.newFixedThreadPool( 4 );
+
+            // Act
+            List<Future<Boolean>> updates = new ArrayList<>();
+            for ( int i = 0; i < 40; i++ ) {
+                String description = "Rinsed can " + i;
+                updates.add( writers.submit( () -> catalog.wasteRepository.updateWaste(
+                        new WasteDTO( wasteId, "Tin Can", description, categoryId, null ), wasteId ) ) );
+            }
+            for ( Future<Boolean> update : updates ) {
+                assertTrue( update.get( 10, TimeUnit.SECONDS ), "Every unconditional update should succeed" );
+            }
+            writers.shutdown();
+            List<AuditEntryDTO> history = catalog.auditLog.history( "Waste", wasteId );
+
+            // Assert
+            List<AuditEntryDTO> changes = history.stream().filter( entry -> entry.action().equals( "UPDATED" ) ).toList();
+            assertEquals( 40, changes.size(), "Every update should be audited once" );
+            for ( AuditEntryDTO change : changes ) {
+                long before = ( ( Number ) change.before().get( "VERSION" ) ).longValue();
+                long after = ( ( Number ) change.after().get( "VERSION" ) ).longValue();
+                assertEquals( before + 1, after, "The before image should be the row the update replaced, not a row another write produced" );
+            }
+            assertEquals( 40, changes.stream().map( change -> change.after().get( "VERSION" ) ).distinct().count(),
+                    "Each update should have produced its own version" );
+        }
+    }
+
+    @Test
+    void testDeletingACategoryAuditsTheRowsItCascadesTo() {
+        // Arrange
+        try ( TestCatalog catalog = TestCatalog.create( true ) ) {
+            catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+            Integer categoryId = catalog.idOf( "Category", "glass" );
+            catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", categoryId, null ) );
+            Integer wasteId = catalog.idOf( "Waste", "Glass Jar" );
+            catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, wasteId, "Bottle bank", "Remove the lid", "Depot", null ) );
+            catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Rinse", "Rinse the jar", null, wasteId, null ) );
+            catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Sort", "Sort by colour", categoryId, null, null ) );
+            Integer disposalId = catalog.idOf( "Disposal", "Bottle bank" );
+            Integer wasteTipId = catalog.idOf( "RecyclingTips", "Rinse" );
+            Integer categoryTipId = catalog.idOf( "RecyclingTips", "Sort" );
+
+            // Act
+            catalog.categoryRepository.deleteCategoryById( categoryId );
+
+            // Assert
+            assertEquals( "A jar", lastDeletion( catalog, "Waste", wasteId ).before().get( "DESCRIPTION" ),
+                    "The cascaded waste item should be audited with its before image" );
+            assertEquals( "Remove the lid", lastDeletion( catalog, "Disposal", disposalId ).before().get( "INSTRUCTIONS" ),
+                    "The disposal cascaded from the waste item should be audited" );
+            assertNotNull( lastDeletion( catalog, "RecyclingTips", wasteTipId ), "The waste-level tip should be audited" );
+            assertNotNull( lastDeletion( catalog, "RecyclingTips", categoryTipId ), "The category-level tip should be audited" );
+            assertNotNull( lastDeletion( catalog, "Category", categoryId ), "The category itself should be audited" );
+        }
+    }
+
+    private static AuditEntryDTO lastDeletion( TestCatalog catalog, String entity, Integer recordId ) {
+        List<AuditEntryDTO> history = catalog.auditLog.history( entity, recordId );
+        assertFalse( history.isEmpty(), entity + " " + recordId + " should have a history" );
+        AuditEntryDTO last = history.get( history.size() - 1 );
+        assertEquals( "DELETED", last.action(), entity + " " + recordId + " should end with its deletion" );
+        return last;
+    }
+
+    private AuditProperties properties( boolean durable ) {
+        // A long linger keeps entries in the buffer until they are read or recovered.
+        return new AuditProperties( true, 100, 50, 60_000, durable, journalDirectory.resolve( "audit-journal.log" ).toString() );
+    }
+}
@@ -0,0 +1,115 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteWithCategoryDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the batched ID lookups of the repositories over an H2 database, with enough rows to need
+ * several chunks of {@link BaseRepository#BATCH_CHUNK_SIZE} IDs.
+ */
+class BatchLoadingTest {
+    private static final int CATEGORIES = 2 * BaseRepository.BATCH_CHUNK_SIZE + 1;
+
+    private TestCatalog catalog;
+    private List<Integer> categoryIds;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.jdbcTemplate.batchUpdate( "INSERT INTO Category ( name, description ) VALUES ( ?, ? )",
+                IntStream.range( 0, CATEGORIES ).mapToObj( i -> new Object[]{ "category-" + i, "Category " + i } ).toList() );
+        categoryIds = catalog.jdbcTemplate.queryForList( "SELECT id FROM Category ORDER BY id", Integer.class );
+        catalog.jdbcTemplate.execute( "SET QUERY_STATISTICS TRUE" );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testIdsBeyondTheInListLimitAreFetchedInChunks() {
+        // Arrange
+        List<Integer> ids = new ArrayList<>( categoryIds );
+
+        // Act
+        BatchResultDTO<CategoryDTO> result = catalog.categoryRepository.getCategoriesByIds( ids );
+
+        // Assert
+        assertEquals( CATEGORIES, result.items().size(), "Every category should be found" );
+        assertTrue( result.missing().isEmpty(), "No category should be missing" );
+        List<Map<String, Object>> chunks = statementsLike( "%FROM Category WHERE id IN%" );
+        assertEquals( 3, chunks.stream().mapToLong( chunk -> ( ( Number ) chunk.get( "EXECUTION_COUNT" ) ).longValue() ).sum(),
+                "The IDs should be fetched in three chunks, not " + chunks );
+        for ( Map<String, Object> chunk : chunks ) {
+            long parameters = chunk.get( "SQL_STATEMENT" ).toString().chars().filter( c -> c == '?' ).count();
+            assertTrue( parameters <= BaseRepository.BATCH_CHUNK_SIZE, "No chunk should exceed the IN-list limit, but one had " + parameters );
+        }
+    }
+
+    @Test
+    void testResultsFollowTheRequestOrderAcrossChunks() {
+        // Arrange
+        List<Integer> ids = reversed( categoryIds );
+        ids.add( categoryIds.get( CATEGORIES - 1 ) );
+        ids.add( 0, categoryIds.get( 0 ) );
+
+        // Act
+        BatchResultDTO<CategoryDTO> result = catalog.categoryRepository.getCategoriesByIds( ids );
+
+        // Assert
+        List<Integer> expected = reversed( categoryIds );
+        expected.remove( categoryIds.get( 0 ) );
+        expected.add( 0, categoryIds.get( 0 ) );
+        assertEquals( expected, result.items().stream().map( CategoryDTO::id ).toList(),
+                "Categories should come back in request order, each duplicate once" );
+    }
+
+    @Test
+    void testMissingIdsAreReportedInRequestOrder() {
+        // Arrange
+        catalog.jdbcTemplate.update( "INSERT INTO Waste ( name, description, categoryId ) VALUES ( 'Glass Jar', 'A jar', ? )", categoryIds.get( 0 ) );
+        Integer jar = catalog.idOf( "Waste", "Glass Jar" );
+        List<Integer> ids = new ArrayList<>();
+        ids.add( 999_999 );
+        ids.add( jar );
+        ids.addAll( IntStream.rangeClosed( 1, BaseRepository.BATCH_CHUNK_SIZE ).map( i -> jar + i ).boxed().toList() );
+        ids.add( -1 );
+
+        // Act
+        BatchResultDTO<WasteWithCategoryDTO> result = catalog.wasteRepository.getWasteWithCategoryByIds( ids );
+
+        // Assert
+        assertEquals( List.of( "Glass Jar" ), result.items().stream().map( WasteWithCategoryDTO::wasteName ).toList(),
+                "Only the existing waste item should be found" );
+        assertEquals( "category-0", result.items().get( 0 ).categoryName(), "The waste item should carry its category" );
+        List<Integer> expectedMissing = new ArrayList<>( ids );
+        expectedMissing.remove( jar );
+        assertEquals( expectedMissing, result.missing(), "Every other ID should be reported missing, in request order" );
+        assertEquals( 2, statementsLike( "%WHERE w.id IN%" ).stream()
+                        .mapToLong( chunk -> ( ( Number ) chunk.get( "EXECUTION_COUNT" ) ).longValue() ).sum(),
+                "The " + ids.size() + " IDs should be fetched in two chunks" );
+    }
+
+    private static List<Integer> reversed( List<Integer> ids ) {
+        List<Integer> reversed = new ArrayList<>( ids );
+        Collections.reverse( reversed );
+        return reversed;
+    }
+
+    private List<Map<String, Object>> statementsLike( String pattern ) {
+        return catalog.jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT, EXECUTION_COUNT FROM INFORMATION_SCHEMA.QUERY_STATISTICS WHERE SQL_STATEMENT LIKE ?", pattern );
+    }
+}
@@ -0,0 +1,130 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats.BinaryFormatsConfig;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats.JacksonProtobufHttpMessageConverter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json.HotDtoModule;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payload size and encode/decode throughput of JSON, CBOR, Smile and Protobuf for the
+ * {@code /api/waste/overview} response. Payload sizes are printed during setup.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BinaryFormatsBenchmark}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class BinaryFormatsBenchmark {
+
+    @Param( { "1000" } )
+    public int items;
+
+    private List<WasteOverviewDTO> overview;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private JacksonProtobufHttpMessageConverter protobuf;
+    private Type overviewType;
+    private JavaType overviewJavaType;
+    private ObjectReader protobufReader;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+    private byte[] smileBytes;
+    private byte[] protobufBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).build();
+        cbor = Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).factory( new CBORFactory() ).build();
+        smile = Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).factory( new SmileFactory() ).build();
+        protobuf = BinaryFormatsConfig.protobufHttpMessageConverter( Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ) );
+        overviewType = new ParameterizedTypeReference<List<WasteOverviewDTO>>() { }.getType();
+        overviewJavaType = json.getTypeFactory().constructCollectionType( List.class, WasteOverviewDTO.class );
+        try ( InputStream in = new ClassPathResource( "proto/waste_sorting.proto" ).getInputStream() ) {
+            protobufReader = new ProtobufMapper().readerFor( JsonNode.class )
+                    .with( ProtobufSchemaLoader.std.load( in ).withRootType( "WasteOverviewList" ) );
+        }
+
+        LocalDateTime updated = LocalDateTime.of( 2024, 9, 1, 8, 30, 5 );
+        overview = new ArrayList<>( items );
+        for ( int i = 0; i < items; i++ ) {
+            overview.add( new WasteOverviewDTO( i, "Waste item " + i, "A description of waste item " + i, "Metal", "Metal items", List.of(
+                    new DisposalDTO( i * 2, i, "Recycle", "Crush and place in the metal recycling bin.", "Community Recycling Center", -26.1952, 28.034, updated ),
+                    new DisposalDTO( i * 2 + 1, i, "Special Collection", "Drop off at a hazardous waste collection site.", "Hazardous Waste Center", -26.2485, 28.1306, updated ) ) ) );
+        }
+
+        jsonBytes = json.writeValueAsBytes( overview );
+        cborBytes = cbor.writeValueAsBytes( overview );
+        smileBytes = smile.writeValueAsBytes( overview );
+        protobufBytes = encodeProtobuf();
+        System.out.printf( "%nPayload bytes for %d items: json=%d cbor=%d smile=%d protobuf=%d%n",
+                items, jsonBytes.length, cborBytes.length, smileBytes.length, protobufBytes.length );
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes( overview );
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes( overview );
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws IOException {
+        return smile.writeValueAsBytes( overview );
+    }
+
+    @Benchmark
+    public byte[] encodeProtobuf() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        protobuf.write( overview, overviewType, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output );
+        return output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public Object decodeJson() throws IOException {
+        return json.readValue( jsonBytes, overviewJavaType );
+    }
+
+    @Benchmark
+    public Object decodeCbor() throws IOException {
+        return cbor.readValue( cborBytes, overviewJavaType );
+    }
+
+    @Benchmark
+    public Object decodeSmile() throws IOException {
+        return smile.readValue( smileBytes, overviewJavaType );
+    }
+
+    @Benchmark
+    public Object decodeProtobuf() throws IOException {
+        return protobufReader.readValue( protobufBytes );
+    }
+}
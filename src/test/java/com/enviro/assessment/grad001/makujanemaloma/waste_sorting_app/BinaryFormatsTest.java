@@ -0,0 +1,101 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats.BinaryFormatsConfig;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.formats.JacksonProtobufHttpMessageConverter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json.HotDtoModule;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatsTest {
+
+    private final LocalDateTime updated = LocalDateTime.of( 2024, 9, 1, 8, 30, 5 );
+    private List<WasteOverviewDTO> overview;
+
+    @BeforeEach
+    void setUp() {
+        overview = new ArrayList<>();
+        for ( int i = 1; i <= 50; i++ ) {
+            overview.add( new WasteOverviewDTO( i, "Waste item " + i, "A description of waste item " + i, "Metal", "Metal items", List.of(
+                    new DisposalDTO( i, i, "Recycle", "Crush and place in the metal recycling bin.", "Community Recycling Center", -26.1952, 28.034, updated ),
+                    new DisposalDTO( i + 100, i, "Reuse", "Reuse for storage.", "Home", null, null, updated ) ) ) );
+        }
+    }
+
+    @Test
+    void testProtobufListRoundTripsAndIsSmallerThanJson() throws Exception {
+        // Arrange
+        JacksonProtobufHttpMessageConverter converter = BinaryFormatsConfig.protobufHttpMessageConverter( Jackson2ObjectMapperBuilder.json() );
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write( overview, new ParameterizedTypeReference<List<WasteOverviewDTO>>() { }.getType(),
+                JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output );
+
+        // Assert
+        ProtobufSchema schema;
+        try ( InputStream in = new ClassPathResource( "proto/waste_sorting.proto" ).getInputStream() ) {
+            schema = ProtobufSchemaLoader.std.load( in ).withRootType( "WasteOverviewList" );
+        }
+        JsonNode decoded = new ProtobufMapper().readerFor( JsonNode.class ).with( schema ).readValue( output.getBodyAsBytes() );
+        assertEquals(50, decoded.get( "items" ).size(), "All items should be encoded");
+        JsonNode disposal = decoded.get( "items" ).get( 0 ).get( "disposals" ).get( 0 );
+        assertEquals("2024-09-01T08:30:05", disposal.get( "lastUpdated" ).asText(), "Timestamps should be ISO strings as in JSON");
+        assertEquals(-26.1952, disposal.get( "latitude" ).asDouble(), 1e-9, "Coordinates should round trip");
+        assertFalse(decoded.get( "items" ).get( 0 ).get( "disposals" ).get( 1 ).has( "latitude" ), "Null fields should be absent");
+
+        int jsonSize = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes( overview ).length;
+        assertTrue(output.getBodyAsBytes().length < jsonSize / 2, "Protobuf should be much smaller than JSON");
+    }
+
+    @Test
+    void testCborAndSmileRoundTripAndAreSmallerThanJson() throws Exception {
+        // Arrange
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).factory( new CBORFactory() ).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).factory( new SmileFactory() ).build();
+        int jsonSize = json.writeValueAsBytes( overview ).length;
+
+        for ( ObjectMapper mapper : List.of( cbor, smile ) ) {
+            // Act
+            byte[] encoded = mapper.writeValueAsBytes( overview );
+            List<WasteOverviewDTO> decoded = mapper.readValue( encoded, mapper.getTypeFactory().constructCollectionType( List.class, WasteOverviewDTO.class ) );
+
+            // Assert
+            assertEquals(overview, decoded, "Binary payload should decode to the same records");
+            assertTrue(encoded.length < jsonSize, "Binary payload should be smaller than JSON");
+        }
+    }
+
+    @Test
+    void testProtobufRejectsValuesWithoutAMessage() {
+        // Arrange
+        JacksonProtobufHttpMessageConverter converter = BinaryFormatsConfig.protobufHttpMessageConverter( Jackson2ObjectMapperBuilder.json() );
+
+        // Act & Assert
+        assertFalse(converter.canWrite( Map.class, Map.class, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF ),
+                "Error bodies have no Protobuf message");
+        assertTrue(converter.canWrite( DisposalDTO.class, DisposalDTO.class, JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF ),
+                "DTO records should be writable");
+    }
+}
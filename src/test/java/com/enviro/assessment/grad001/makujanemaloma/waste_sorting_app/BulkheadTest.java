@@ -0,0 +1,123 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.BulkheadProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Lane;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.exceptions.BulkheadFullException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.Deadline;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void testHeavyWorkRunsInHeavyLane() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 2, 2, 2, 2 ), new SimpleMeterRegistry() );
+
+        // Act
+        Lane lane = bulkhead.runHeavy( Bulkhead::currentLane );
+
+        // Assert
+        assertEquals(Lane.HEAVY, lane, "Heavy work should run in the heavy lane");
+        assertEquals(Lane.POINT, Bulkhead.currentLane(), "The caller should stay in the point lane");
+    }
+
+    @Test
+    void testSaturatedBulkheadRejectsNewWork() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 1, 1, 1, 1 ), meterRegistry );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService callers = Executors.newFixedThreadPool( 2 );
+        for ( int i = 0; i < 2; i++ ) {
+            callers.submit( () -> bulkhead.runHeavy( () -> {
+                try {
+                    return release.await( 5, TimeUnit.SECONDS );
+                } catch ( InterruptedException ex ) {
+                    return false;
+                }
+            } ) );
+        }
+        while ( meterRegistry.get( "bulkhead.queued" ).gauge().value() < 1 ) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(BulkheadFullException.class, () -> bulkhead.runHeavy( () -> "rejected" ),
+                "Work beyond the thread and queue capacity should be rejected");
+        assertEquals(1.0, meterRegistry.get( "bulkhead.rejected" ).counter().count(), "Rejection should be counted");
+
+        release.countDown();
+        callers.shutdown();
+        assertTrue(callers.awaitTermination( 5, TimeUnit.SECONDS ), "Queued work should complete once released");
+    }
+
+    @Test
+    void testWaitForTheHeavyLaneIsBoundedByTheDeadline() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 1, 1, 1, 1 ), meterRegistry );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        caller.submit( () -> bulkhead.runHeavy( () -> {
+            try {
+                return release.await( 5, TimeUnit.SECONDS );
+            } catch ( InterruptedException ex ) {
+                return false;
+            }
+        } ) );
+        while ( meterRegistry.get( "bulkhead.active" ).gauge().value() < 1 ) {
+            Thread.onSpinWait();
+        }
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        long start = System.nanoTime();
+        BulkheadFullException rejected = assertThrows(BulkheadFullException.class,
+                () -> Deadline.callWith( Deadline.in( 100 ), () -> bulkhead.runHeavy( () -> ran.getAndSet( true ) ) ),
+                "Work still queued at the deadline should be rejected, answered with a 503");
+        long waitedMillis = ( System.nanoTime() - start ) / 1_000_000;
+        release.countDown();
+        caller.shutdown();
+
+        // Assert
+        assertNotNull(rejected.getMessage(), "The rejection should explain itself");
+        assertTrue(waitedMillis < 2_000, "The caller should stop waiting at its deadline, but waited " + waitedMillis + " ms");
+        assertTrue(caller.awaitTermination( 5, TimeUnit.SECONDS ), "The running work should complete once released");
+        assertFalse(ran.get(), "The rejected work should have been taken off the queue, never to run");
+        assertEquals(0.0, meterRegistry.get( "bulkhead.queued" ).gauge().value(), "Nothing should be left queued");
+        assertEquals(1.0, meterRegistry.get( "bulkhead.rejected" ).counter().count(), "The rejection should be counted");
+    }
+
+    @Test
+    void testHeavyWorkStillRunningAtTheDeadlineIsAGatewayTimeout() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 1, 1, 1, 1 ), new SimpleMeterRegistry() );
+        CountDownLatch release = new CountDownLatch( 1 );
+
+        // Act
+        DeadlineExceededException exceeded = assertThrows(DeadlineExceededException.class,
+                () -> Deadline.callWith( Deadline.in( 100 ), () -> bulkhead.runHeavy( () -> {
+                    try {
+                        return release.await( 5, TimeUnit.SECONDS );
+                    } catch ( InterruptedException ex ) {
+                        return false;
+                    }
+                } ) ),
+                "Work that started but outlived the deadline should fail the request with a 504");
+        release.countDown();
+
+        // Assert
+        assertEquals("The request did not complete within its deadline", exceeded.getMessage(), "The message should report the timeout");
+    }
+}
@@ -0,0 +1,128 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CoherentCache;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.GenerationTable;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.InJvmInvalidationTransport;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.InvalidationTransport;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheCoherenceTest {
+
+    /**
+     * A generation table shared by the nodes of a test, standing in for the database.
+     */
+    private static final class SharedGenerationTable extends GenerationTable {
+        private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+        SharedGenerationTable() {
+            super( null );
+        }
+
+        @Override
+        public long bump( String entity ) {
+            return generations.merge( entity, 1L, Long::sum );
+        }
+
+        @Override
+        public Map<String, Long> generations() {
+            return new HashMap<>( generations );
+        }
+    }
+
+    private record Node( ChangeLog changeLog, CacheCoherence coherence ) {
+    }
+
+    private static Node node( GenerationTable table, InvalidationTransport transport ) {
+        ChangeLog changeLog = new ChangeLog( 8 );
+        CacheCoherence coherence = new CacheCoherence( changeLog, table, transport, 60_000, true, 100 );
+        coherence.poll();
+        return new Node( changeLog, coherence );
+    }
+
+    @Test
+    void testWriteOnOneNodeInvalidatesTheCacheOfAnotherOverTheTransport() {
+        // Arrange
+        SharedGenerationTable table = new SharedGenerationTable();
+        InJvmInvalidationTransport transport = new InJvmInvalidationTransport();
+        Node writer = node( table, transport );
+        Node reader = node( table, transport );
+        CoherentCache<Integer, String> cache = reader.coherence().newCache( Set.of( "Category" ) );
+        AtomicInteger loads = new AtomicInteger();
+        cache.get( 1, id -> "v" + loads.incrementAndGet() );
+
+        // Act
+        writer.changeLog().publish( "Category", ChangeEvent.Action.UPDATED, 1 );
+        String afterWrite = cache.get( 1, id -> "v" + loads.incrementAndGet() );
+
+        // Assert
+        assertEquals("v2", afterWrite, "The reader should reload after the writer's invalidation");
+        assertEquals(2, loads.get(), "Exactly one reload should happen");
+    }
+
+    @Test
+    void testPollingInvalidatesWhenMessagesAreLost() {
+        // Arrange
+        SharedGenerationTable table = new SharedGenerationTable();
+        Node writer = node( table, new InJvmInvalidationTransport() );
+        Node reader = node( table, new InJvmInvalidationTransport() );
+        CoherentCache<Integer, String> cache = reader.coherence().newCache( Set.of( "Waste" ) );
+        cache.get( 7, id -> "old" );
+        writer.changeLog().publish( "Waste", ChangeEvent.Action.UPDATED, 7 );
+
+        // Act
+        String beforePoll = cache.get( 7, id -> "new" );
+        reader.coherence().poll();
+        String afterPoll = cache.get( 7, id -> "new" );
+
+        // Assert
+        assertEquals("old", beforePoll, "Without a message the reader is stale until it polls");
+        assertEquals("new", afterPoll, "The poll should invalidate the stale entry");
+    }
+
+    @Test
+    void testLocalWritesAndUnrelatedEntities() {
+        // Arrange
+        Node node = node( new SharedGenerationTable(), new InJvmInvalidationTransport() );
+        CoherentCache<Integer, String> cache = node.coherence().newCache( Set.of( "Category" ) );
+        cache.get( 1, id -> "cached" );
+
+        // Act
+        node.changeLog().publish( "Disposal", ChangeEvent.Action.CREATED, 3 );
+        String afterUnrelatedWrite = cache.get( 1, id -> "reloaded" );
+        node.changeLog().publish( "Category", ChangeEvent.Action.DELETED, 1 );
+        String afterLocalWrite = cache.get( 1, id -> "reloaded" );
+
+        // Assert
+        assertEquals("cached", afterUnrelatedWrite, "Writes to other entities should not invalidate the cache");
+        assertEquals("reloaded", afterLocalWrite, "A local write should invalidate the cache immediately");
+    }
+
+    @Test
+    void testCacheIsBypassedUntilTheFirstPoll() {
+        // Arrange
+        CacheCoherence coherence = new CacheCoherence(
+                new ChangeLog( 8 ), new SharedGenerationTable(), new InJvmInvalidationTransport(), 60_000, true, 100 );
+        CoherentCache<Integer, String> cache = coherence.newCache( Set.of( "Category" ) );
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.get( 1, id -> "v" + loads.incrementAndGet() );
+        cache.get( 1, id -> "v" + loads.incrementAndGet() );
+
+        // Assert
+        assertFalse(coherence.isFresh(), "Nothing has been polled yet");
+        assertEquals(2, loads.get(), "Every read should go to the loader while freshness is unknown");
+        assertEquals(0, cache.size(), "Nothing should be cached while freshness is unknown");
+    }
+}
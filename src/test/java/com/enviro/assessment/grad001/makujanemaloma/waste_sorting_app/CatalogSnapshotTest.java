@@ -0,0 +1,73 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.AnalyticsDimension;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.AnalyticsFilter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.AnalyticsRowDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.analytics.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+    private final CatalogSnapshot snapshot = new CatalogSnapshot(
+            LocalDateTime.now(),
+            List.of(
+                    new CatalogSnapshot.CategoryRow( 1, "plastic" ),
+                    new CatalogSnapshot.CategoryRow( 2, "glass" ),
+                    new CatalogSnapshot.CategoryRow( 3, "e-waste" )
+            ),
+            List.of(
+                    new CatalogSnapshot.WasteRow( 10, 1, "Bottle" ),
+                    new CatalogSnapshot.WasteRow( 11, 1, "Bag" ),
+                    new CatalogSnapshot.WasteRow( 20, 2, "Jar" )
+            ),
+            List.of(
+                    new CatalogSnapshot.DisposalRow( 10, "Recycle", "Depot" ),
+                    new CatalogSnapshot.DisposalRow( 10, "Reuse", "Depot" ),
+                    new CatalogSnapshot.DisposalRow( 10, "Recycle", "Kerbside" ),
+                    new CatalogSnapshot.DisposalRow( 11, "Recycle", "Depot" ),
+                    new CatalogSnapshot.DisposalRow( 20, "Recycle", "Depot" ),
+                    new CatalogSnapshot.DisposalRow( 99, "Recycle", "Depot" )
+            ),
+            List.of(
+                    new CatalogSnapshot.TipRow( 1, null ),
+                    new CatalogSnapshot.TipRow( null, 20 )
+            )
+    );
+
+    @Test
+    void testCountDisposalsGroupsFiltersAndKeepsTheLargestGroups() {
+        // Act
+        List<AnalyticsRowDTO> byLocationAndMethod = snapshot.countDisposals(
+                List.of( AnalyticsDimension.LOCATION, AnalyticsDimension.METHOD ), new AnalyticsFilter( null, null, null ), 2 );
+        List<AnalyticsRowDTO> plasticByMethod = snapshot.countDisposals(
+                List.of( AnalyticsDimension.METHOD ), new AnalyticsFilter( null, "depot", "PLASTIC" ), 10 );
+
+        // Assert
+        assertEquals( List.of(
+                new AnalyticsRowDTO( Map.of( "location", "Depot", "method", "Recycle" ), 3 ),
+                new AnalyticsRowDTO( Map.of( "location", "Depot", "method", "Reuse" ), 1 )
+        ), byLocationAndMethod, "The two largest groups should be returned, and the orphaned disposal left out" );
+        assertEquals( List.of(
+                new AnalyticsRowDTO( Map.of( "method", "Recycle" ), 2 ),
+                new AnalyticsRowDTO( Map.of( "method", "Reuse" ), 1 )
+        ), plasticByMethod, "Filters should ignore case" );
+    }
+
+    @Test
+    void testWasteWithMultipleDisposalsAndCategoriesWithoutTips() {
+        // Act
+        List<AnalyticsRowDTO> multiple = snapshot.wasteWithMultipleDisposals( 2, new AnalyticsFilter( "recycle", null, null ), 10 );
+        List<AnalyticsRowDTO> withoutTips = snapshot.categoriesWithoutTips( new AnalyticsFilter( null, null, null ), 10 );
+
+        // Assert
+        assertEquals( List.of( new AnalyticsRowDTO( Map.of( "waste", "Bottle", "category", "plastic" ), 2 ) ), multiple,
+                "Only the bottle has two recycling options" );
+        assertEquals( List.of( new AnalyticsRowDTO( Map.of( "category", "e-waste" ), 0 ) ), withoutTips,
+                "Glass has a tip through its jar, so only e-waste has none" );
+    }
+}
@@ -7,6 +7,7 @@ import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.C
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.exceptions.CategoryNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -87,7 +88,7 @@ class CategoryControllerTest {
         );
 
         // Mocking the behavior of the repository to return an Optional of the first category
-        when(categoryRepository.getCategoryById(1)).thenReturn(Optional.of(mockCategories.get(0)));
+        when(categoryRepository.getVersionedCategoryById(1)).thenReturn(Optional.of(new Versioned<>(mockCategories.get(0), 3L)));
 
         // Act
         ResponseEntity<?> response = categoryController.getCategoryById(1);
@@ -96,6 +97,7 @@ class CategoryControllerTest {
         assertNotNull(response, "Response should not be null");
         assertEquals(200, response.getStatusCodeValue(), "Status code should be 200");
         assertTrue(response.getBody() instanceof CategoryDTO, "Response body should be of type CategoryDTO");
+        assertEquals("\"3\"", response.getHeaders().getETag(), "ETag should be the version read with the category");
 
         CategoryDTO category = (CategoryDTO) response.getBody();
         assertEquals(1, category.id(), "Category ID should be 1");
@@ -103,13 +105,13 @@ class CategoryControllerTest {
         assertEquals("description", category.description(), "Category description should be 'description'");
 
         // Verify the interaction with the mock repository
-        verify(categoryRepository, times(1)).getCategoryById(1);
+        verify(categoryRepository, times(1)).getVersionedCategoryById(1);
     }
 
     @Test
     void testGetCategoryNotFound() {
         // Arrange
-        when(categoryRepository.getCategoryById(1)).thenReturn(Optional.empty());
+        when(categoryRepository.getVersionedCategoryById(1)).thenReturn(Optional.empty());
 
         // Act & Assert
         CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class,
@@ -117,6 +119,6 @@ class CategoryControllerTest {
                 "Expected a CategoryNotFoundException when the category does not exist");
 
         assertEquals("Category with id 1 not found", exception.getMessage(), "Exception message should match");
-        verify(categoryRepository, times(1)).getCategoryById(1);
+        verify(categoryRepository, times(1)).getVersionedCategoryById(1);
     }
 }
\ No newline at end of file
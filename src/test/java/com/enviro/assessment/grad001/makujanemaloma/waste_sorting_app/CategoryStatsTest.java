@@ -0,0 +1,155 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStatsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the per-category counts over the real repositories and an H2 database, with auditing off.
+ */
+class CategoryStatsTest {
+    private TestCatalog catalog;
+    private Integer plastic;
+    private Integer glass;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+        plastic = catalog.idOf( "Category", "plastic" );
+        glass = catalog.idOf( "Category", "glass" );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testWritesIncrementTheirCategory() {
+        // Arrange
+        Integer bottle = insertWaste( "Plastic Bottle", plastic );
+        insertWaste( "Glass Jar", glass );
+
+        // Act
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Caps", "Leave the cap on", null, bottle, null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Colours", "Sort by colour", glass, null, null ) );
+
+        // Assert
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 1, 1, 1 ), new CategoryStatsDTO( glass, "glass", 1, 0, 1 ) ),
+                catalog.categoryStats.snapshot(), "Each insert should be counted in its category" );
+        assertEquals( 0, catalog.categoryStats.reconcile(), "The counters should already match the database" );
+    }
+
+    @Test
+    void testDeletesDecrementTheirCategoryIncludingCascadedRows() {
+        // Arrange
+        Integer bottle = insertWaste( "Plastic Bottle", plastic );
+        Integer bag = insertWaste( "Plastic Bag", plastic );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Caps", "Leave the cap on", null, bottle, null ) );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bag, "Drop-off", "Return to the shop", "Shop", null ) );
+        Integer dropOff = catalog.idOf( "Disposal", "Drop-off" );
+
+        // Act
+        catalog.disposalRepository.deleteDisposal( dropOff );
+        catalog.wasteRepository.deleteWasteById( bottle );
+
+        // Assert
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 1, 0, 0 ), new CategoryStatsDTO( glass, "glass", 0, 0, 0 ) ),
+                catalog.categoryStats.snapshot(), "The deleted rows, and the rows cascaded from the waste item, should be uncounted" );
+        assertEquals( 0, catalog.categoryStats.reconcile(), "The counters should already match the database" );
+    }
+
+    @Test
+    void testMovingRowsMovesTheirCounts() {
+        // Arrange
+        Integer bottle = insertWaste( "Plastic Bottle", plastic );
+        Integer jar = insertWaste( "Glass Jar", glass );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        Integer kerbside = catalog.idOf( "Disposal", "Kerbside" );
+
+        // Act
+        catalog.disposalRepository.updateDisposal( new DisposalDTO( kerbside, jar, "Kerbside", "Squash it", "Bin", null ), kerbside );
+        List<CategoryStatsDTO> afterDisposalMoved = catalog.categoryStats.snapshot();
+        catalog.wasteRepository.updateWaste( new WasteDTO( jar, "Glass Jar", "A jar", plastic, null ), jar );
+        catalog.categoryStats.reconcile();
+        List<CategoryStatsDTO> afterWasteMoved = catalog.categoryStats.snapshot();
+
+        // Assert
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 1, 0, 0 ), new CategoryStatsDTO( glass, "glass", 1, 1, 0 ) ),
+                afterDisposalMoved, "Moving a disposal to another waste item should move its count to that item's category" );
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 2, 1, 0 ), new CategoryStatsDTO( glass, "glass", 0, 0, 0 ) ),
+                afterWasteMoved, "Moving a waste item should move it, and after reconciling its disposals, to the new category" );
+    }
+
+    @Test
+    void testShutdownLetsAQueuedReconciliationFinish() {
+        // Arrange
+        Integer jar = insertWaste( "Glass Jar", glass );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, jar, "Bottle bank", "Sort by colour", "Depot", null ) );
+        catalog.wasteRepository.updateWaste( new WasteDTO( jar, "Glass Jar", "A jar", plastic, null ), jar );
+
+        // Act
+        catalog.categoryStats.shutdown();
+        List<CategoryStatsDTO> afterShutdown = catalog.categoryStats.snapshot();
+        catalog.wasteRepository.updateWaste( new WasteDTO( jar, "Glass Jar", "A jar", glass, null ), jar );
+
+        // Assert
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 1, 1, 0 ), new CategoryStatsDTO( glass, "glass", 0, 0, 0 ) ),
+                afterShutdown, "The reconciliation the move queued should have run before shutdown returned" );
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 0, 1, 0 ), new CategoryStatsDTO( glass, "glass", 1, 0, 0 ) ),
+                catalog.categoryStats.snapshot(), "A write after shutdown should still be counted, without queuing a reconciliation" );
+    }
+
+    @Test
+    void testUpdatesAndDeletesReadNoRowsBesidesTheirOwnWrite() {
+        // Arrange
+        Integer bottle = insertWaste( "Plastic Bottle", plastic );
+        catalog.jdbcTemplate.execute( "SET QUERY_STATISTICS TRUE" );
+
+        // Act
+        catalog.wasteRepository.updateWaste( new WasteDTO( bottle, "Plastic Bottle", "A rinsed bottle", glass, null ), bottle );
+        catalog.wasteRepository.deleteWasteById( bottle );
+        List<String> statements = catalog.jdbcTemplate.queryForList(
+                "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class );
+
+        // Assert
+        assertTrue( statements.stream().noneMatch( sql -> sql.matches( "(?s)SELECT \\* FROM Waste WHERE.*" ) ),
+                "Counting the writes should not read the waste item again, but ran " + statements );
+        assertEquals( List.of( new CategoryStatsDTO( plastic, "plastic", 0, 0, 0 ), new CategoryStatsDTO( glass, "glass", 0, 0, 0 ) ),
+                catalog.categoryStats.snapshot(), "The moved and then deleted waste item should be counted nowhere" );
+    }
+
+    @Test
+    void testReconcileCorrectsWritesTheRepositoriesDidNotSee() {
+        // Arrange
+        insertWaste( "Plastic Bottle", plastic );
+        catalog.jdbcTemplate.update( "INSERT INTO Waste ( name, description, categoryId ) VALUES ( 'Wine Bottle', 'Green glass', ? )", glass );
+        catalog.jdbcTemplate.update( "DELETE FROM Category WHERE id = ?", plastic );
+
+        // Act
+        int corrected = catalog.categoryStats.reconcile();
+
+        // Assert
+        assertEquals( 1, corrected, "Only the glass waste count should have drifted; the deleted category is dropped" );
+        assertEquals( List.of( new CategoryStatsDTO( glass, "glass", 1, 0, 0 ) ), catalog.categoryStats.snapshot(),
+                "The counters should match the database after reconciling" );
+    }
+
+    private Integer insertWaste( String name, Integer categoryId ) {
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, name, name.toLowerCase(), categoryId, null ) );
+        return catalog.idOf( "Waste", name );
+    }
+}
@@ -0,0 +1,144 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    @Test
+    void testPublishNotifiesListenersInOrder() {
+        // Arrange
+        ChangeLog changeLog = new ChangeLog( 8 );
+        List<ChangeEvent> received = new ArrayList<>();
+        changeLog.subscribe( received::add );
+
+        // Act
+        changeLog.publish( "Waste", ChangeEvent.Action.CREATED, 11 );
+        changeLog.publish( "Waste", ChangeEvent.Action.DELETED, 11 );
+
+        // Assert
+        assertEquals(2, received.size(), "Listener should receive both events");
+        assertEquals(1, received.get(0).sequence(), "First event should have sequence 1");
+        assertEquals(ChangeEvent.Action.DELETED, received.get(1).action(), "Second event should be the delete");
+        assertEquals(2, changeLog.currentSequence(), "Current sequence should be 2");
+    }
+
+    @Test
+    void testConcurrentPublishesReachListenersInSequenceOrder() throws InterruptedException {
+        // Arrange
+        ChangeLog changeLog = new ChangeLog( 8 );
+        Queue<Long> received = new ConcurrentLinkedQueue<>();
+        changeLog.subscribe( event -> Thread.yield() );
+        changeLog.subscribe( event -> received.add( event.sequence() ) );
+        int threads = 8;
+        int publishesPerThread = 2_000;
+        CountDownLatch start = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+
+        // Act
+        for ( int t = 0; t < threads; t++ ) {
+            int id = t;
+            executor.execute( () -> {
+                try {
+                    start.await();
+                } catch ( InterruptedException ex ) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for ( int i = 0; i < publishesPerThread; i++ ) {
+                    changeLog.publish( "Waste", ChangeEvent.Action.UPDATED, id );
+                }
+            } );
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue( executor.awaitTermination( 30, TimeUnit.SECONDS ), "The publishers should finish" );
+
+        // Assert
+        assertEquals( threads * publishesPerThread, received.size(), "Every event should be delivered" );
+        long previous = 0;
+        for ( long sequence : received ) {
+            assertEquals( previous + 1, sequence, "Events should reach listeners strictly in sequence order" );
+            previous = sequence;
+        }
+    }
+
+    @Test
+    void testSinceReplaysRetainedEvents() {
+        // Arrange
+        ChangeLog changeLog = new ChangeLog( 8 );
+        for ( int i = 1; i <= 5; i++ ) {
+            changeLog.publish( "Category", ChangeEvent.Action.UPDATED, i );
+        }
+
+        // Act
+        Optional<List<ChangeEvent>> missed = changeLog.since( 3 );
+
+        // Assert
+        assertTrue(missed.isPresent(), "Events after sequence 3 should still be retained");
+        assertEquals(2, missed.get().size(), "Two events should be replayed");
+        assertEquals(4, missed.get().get(0).id(), "Replay should start with the fourth event");
+    }
+
+    @Test
+    void testSinceRequiresResyncOnceEventsAreEvicted() {
+        // Arrange
+        ChangeLog changeLog = new ChangeLog( 4 );
+        for ( int i = 1; i <= 10; i++ ) {
+            changeLog.publish( "Disposal", ChangeEvent.Action.CREATED, i );
+        }
+
+        // Act & Assert
+        assertTrue(changeLog.since( 2 ).isEmpty(), "Evicted events should force a resync");
+        assertTrue(changeLog.since( 6 ).isPresent(), "The last four events should still be replayable");
+        assertTrue(changeLog.since( 11 ).isEmpty(), "A sequence from the future should force a resync");
+    }
+
+    @Test
+    void testDeletingACategoryPublishesTheRowsItCascadesToBeforeItself() {
+        // Arrange
+        try ( TestCatalog catalog = TestCatalog.create( false ) ) {
+            catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+            Integer categoryId = catalog.idOf( "Category", "glass" );
+            catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", categoryId, null ) );
+            Integer wasteId = catalog.idOf( "Waste", "Glass Jar" );
+            catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, wasteId, "Bottle bank", "Remove the lid", "Depot", null ) );
+            catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Rinse", "Rinse the jar", null, wasteId, null ) );
+            catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Sort", "Sort by colour", categoryId, null, null ) );
+            Integer disposalId = catalog.idOf( "Disposal", "Bottle bank" );
+            Integer wasteTipId = catalog.idOf( "RecyclingTips", "Rinse" );
+            Integer categoryTipId = catalog.idOf( "RecyclingTips", "Sort" );
+            List<String> received = new ArrayList<>();
+            catalog.changeLog.subscribe( event -> received.add( event.action() + " " + event.entity() + " " + event.id() ) );
+
+            // Act
+            catalog.categoryRepository.deleteCategoryById( categoryId );
+
+            // Assert
+            assertEquals( List.of(
+                    "DELETED Disposal " + disposalId,
+                    "DELETED RecyclingTips " + wasteTipId,
+                    "DELETED Waste " + wasteId,
+                    "DELETED RecyclingTips " + categoryTipId,
+                    "DELETED Category " + categoryId
+            ), received, "Every deleted row should be published, children before their parents" );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.BulkheadProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.admission.AdmissionProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.Deadline;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.DeadlineFilter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.DeadlineJdbcTemplate;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.DeadlineProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.deadline.exceptions.DeadlineExceededException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class DeadlineTest {
+    private final DeadlineJdbcTemplate jdbcTemplate = new DeadlineJdbcTemplate(
+            new DriverManagerDataSource( "jdbc:h2:mem:deadline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "" ) );
+
+    @Test
+    void testRemainingBudgetBecomesTheQueryTimeout() {
+        // Arrange
+        StatementCallback<Integer> queryTimeout = statement -> statement.getQueryTimeout();
+
+        // Act
+        Integer withDeadline = Deadline.callWith( Deadline.in( 2_500 ), () -> jdbcTemplate.execute( queryTimeout ) );
+        Integer withoutDeadline = jdbcTemplate.execute( queryTimeout );
+
+        // Assert
+        assertEquals(3, withDeadline, "The remaining budget should be rounded up to whole seconds");
+        assertEquals(0, withoutDeadline, "Statements outside a request should have no timeout");
+    }
+
+    @Test
+    void testExpiredOrCancelledDeadlineFailsStatementsBeforeTheyRun() {
+        // Arrange
+        Deadline cancelled = Deadline.in( 60_000 );
+        cancelled.cancel();
+
+        // Act & Assert
+        DeadlineExceededException expired = assertThrows(DeadlineExceededException.class,
+                () -> Deadline.callWith( Deadline.in( 0 ), () -> jdbcTemplate.queryForObject( "SELECT 1", Integer.class ) ),
+                "A statement should not start once the deadline has passed");
+        assertEquals("The request did not complete within its deadline", expired.getMessage(), "The message should report the timeout");
+        assertThrows(DeadlineExceededException.class,
+                () -> Deadline.callWith( cancelled, () -> jdbcTemplate.queryForObject( "SELECT 1", Integer.class ) ),
+                "A statement should not start once the request was cancelled");
+        assertNull(Deadline.current(), "The deadline should be unbound after the work");
+    }
+
+    @Test
+    void testDeadlineFollowsHeavyWorkToTheBulkheadThread() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 1, 1, 1, 1 ), new SimpleMeterRegistry() );
+        Deadline deadline = Deadline.in( 60_000 );
+
+        // Act
+        Deadline seen = Deadline.callWith( deadline, () -> bulkhead.runHeavy( Deadline::current ) );
+
+        // Assert
+        assertSame(deadline, seen, "Heavy work should run under the caller's deadline");
+    }
+
+    @Test
+    void testStatementCancelledByTheWatchdogIsAGatewayTimeout() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DeadlineFilter deadlineFilter = new DeadlineFilter(
+                new DeadlineProperties( true, 200, Map.of() ), new AdmissionProperties( true, 1, "default", Map.of() ), meterRegistry );
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup( new SlowController( jdbcTemplate ) )
+                .setControllerAdvice( new GlobalExceptionHandler() )
+                .addFilters( deadlineFilter )
+                .build();
+
+        // Act
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform( get( "/api/slow" ) ).andReturn();
+        long elapsedMillis = ( System.nanoTime() - start ) / 1_000_000;
+        deadlineFilter.destroy();
+
+        // Assert
+        assertEquals(504, result.getResponse().getStatus(), "A statement cancelled at the deadline should be a gateway timeout, not a server error");
+        assertTrue(elapsedMillis < 1_000, "The watchdog, not the whole-second query timeout, should have stopped the statement, but it took " + elapsedMillis + " ms");
+        assertEquals(1, meterRegistry.counter( "deadline.exceeded", "class", "default", "reason", "timeout" ).count(),
+                "The exceeded deadline should be counted as a timeout");
+    }
+
+    @RestController
+    static class SlowController {
+        private final DeadlineJdbcTemplate jdbcTemplate;
+
+        SlowController( DeadlineJdbcTemplate jdbcTemplate ) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping( "/api/slow" )
+        Long slow() {
+            return jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM SYSTEM_RANGE( 1, 100000 ) a JOIN SYSTEM_RANGE( 1, 100000 ) b ON MOD( a.X + b.X, 7 ) = 0", Long.class );
+        }
+    }
+}
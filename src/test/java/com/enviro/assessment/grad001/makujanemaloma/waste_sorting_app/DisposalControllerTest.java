@@ -4,6 +4,7 @@ import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.D
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.exceptions.DisposalNotFoundException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -49,7 +50,7 @@ class DisposalControllerTest {
     void testGetDisposalByIdFound() {
         // Arrange
         DisposalDTO mockDisposal = new DisposalDTO(1, 101, "Recycling Center", "Recycle at center", "123 Green Street", null);
-        when(disposalRepository.getDisposal(1)).thenReturn(Optional.of(mockDisposal));
+        when(disposalRepository.getVersionedDisposal(1)).thenReturn(Optional.of(new Versioned<>(mockDisposal, 4L)));
 
         // Act
         ResponseEntity<?> response = disposalController.getDisposal(1);
@@ -58,12 +59,13 @@ class DisposalControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Response status should be OK");
         assertTrue(response.getBody() instanceof DisposalDTO, "Response body should be a DisposalDTO");
         assertEquals(mockDisposal, response.getBody(), "Response body should match the mock disposal");
+        assertEquals("\"4\"", response.getHeaders().getETag(), "ETag should be the version read with the disposal");
     }
 
     @Test
     void testGetDisposalByIdNotFound() {
         // Arrange
-        when(disposalRepository.getDisposal(99)).thenReturn(Optional.empty());
+        when(disposalRepository.getVersionedDisposal(99)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(DisposalNotFoundException.class, () -> disposalController.getDisposal(99), "Should throw DisposalNotFoundException for non-existent ID");
@@ -102,10 +104,10 @@ class DisposalControllerTest {
         // Arrange
         DisposalDTO updatedDisposal = new DisposalDTO(1, 101, "Updated Method", "Updated Instructions", "Updated Location", null);
         when(disposalRepository.getDisposal(1)).thenReturn(Optional.of(updatedDisposal));
-        when(disposalRepository.updateDisposal(updatedDisposal, 1)).thenReturn(true);
+        when(disposalRepository.updateDisposal(updatedDisposal, 1, null)).thenReturn(true);
 
         // Act
-        ResponseEntity<?> response = disposalController.updateDisposal(1, updatedDisposal);
+        ResponseEntity<?> response = disposalController.updateDisposal(1, updatedDisposal, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Response status should be OK for successful update");
@@ -119,7 +121,7 @@ class DisposalControllerTest {
         when(disposalRepository.getDisposal(1)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(DisposalNotFoundException.class, () -> disposalController.updateDisposal(1, updatedDisposal), "Should throw DisposalNotFoundException for non-existent ID");
+        assertThrows(DisposalNotFoundException.class, () -> disposalController.updateDisposal(1, updatedDisposal, null), "Should throw DisposalNotFoundException for non-existent ID");
     }
 
     @Test
@@ -129,10 +131,10 @@ class DisposalControllerTest {
         when(disposalRepository.getDisposal(1)).thenReturn(Optional.of(mockDisposal));
 
         // Act
-        disposalController.deleteDisposalById(1);
+        disposalController.deleteDisposalById(1, null);
 
         // Assert
-        verify(disposalRepository, times(1)).deleteDisposal(1);
+        verify(disposalRepository, times(1)).deleteDisposal(1, null);
     }
 
     @Test
@@ -141,6 +143,6 @@ class DisposalControllerTest {
         when(disposalRepository.getDisposal(99)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(DisposalNotFoundException.class, () -> disposalController.deleteDisposalById(99), "Should throw DisposalNotFoundException for non-existent ID");
+        assertThrows(DisposalNotFoundException.class, () -> disposalController.deleteDisposalById(99, null), "Should throw DisposalNotFoundException for non-existent ID");
     }
 }
@@ -0,0 +1,111 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Runs conditional requests against the category controller over a real H2 repository.
+ */
+class ETagTest {
+    private static final String BODY = "{\"name\":\"plastic\",\"description\":\"Bottles, bags and wrappers\"}";
+
+    private TestCatalog catalog;
+    private MockMvc mockMvc;
+    private Integer id;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        mockMvc = MockMvcBuilders.standaloneSetup( new CategoryController( catalog.categoryRepository, catalog.jdbcClient ) )
+                .setControllerAdvice( new GlobalExceptionHandler() )
+                .build();
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        id = catalog.idOf( "Category", "plastic" );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testGetSendsTheVersionOfTheRowItRead() throws Exception {
+        // Arrange
+        catalog.jdbcClient.sql( "UPDATE Category SET version = 7 WHERE id = ?" ).param( id ).update();
+
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/categories/" + id ) ).andReturn();
+
+        // Assert
+        assertEquals( 200, result.getResponse().getStatus(), "The category should be found" );
+        assertEquals( "\"7\"", result.getResponse().getHeader( HttpHeaders.ETAG ), "The ETag should be the version of the row" );
+    }
+
+    @Test
+    void testPutWithMatchingIfMatchUpdatesAndSendsTheNextVersion() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform( get( "/api/categories/" + id ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG );
+
+        // Act
+        MvcResult result = mockMvc.perform( put( "/api/categories/" + id )
+                .contentType( MediaType.APPLICATION_JSON )
+                .header( HttpHeaders.IF_MATCH, etag )
+                .content( BODY ) ).andReturn();
+
+        // Assert
+        assertEquals( 200, result.getResponse().getStatus(), "A matching If-Match should let the update through" );
+        assertEquals( "\"1\"", result.getResponse().getHeader( HttpHeaders.ETAG ), "The response should carry the new version" );
+        assertEquals( Optional.of( 1L ), catalog.categoryRepository.getCategoryVersion( id ), "The update should bump the version" );
+    }
+
+    @Test
+    void testPutWithStaleIfMatchFailsWith412() throws Exception {
+        // Arrange
+        catalog.jdbcClient.sql( "UPDATE Category SET version = 2 WHERE id = ?" ).param( id ).update();
+
+        // Act
+        MvcResult result = mockMvc.perform( put( "/api/categories/" + id )
+                .contentType( MediaType.APPLICATION_JSON )
+                .header( HttpHeaders.IF_MATCH, "\"1\"" )
+                .content( BODY ) ).andReturn();
+
+        // Assert
+        assertEquals( 412, result.getResponse().getStatus(), "A stale If-Match should fail the precondition" );
+        assertEquals( "Bottles and bags", catalog.categoryRepository.getCategoryById( id ).orElseThrow().description(),
+                "The category should not have been updated" );
+    }
+
+    @Test
+    void testIfMatchListingSeveralTagsMatchesAnyOfThem() throws Exception {
+        // Arrange
+        catalog.jdbcClient.sql( "UPDATE Category SET version = 4 WHERE id = ?" ).param( id ).update();
+
+        // Act
+        MvcResult matching = mockMvc.perform( put( "/api/categories/" + id )
+                .contentType( MediaType.APPLICATION_JSON )
+                .header( HttpHeaders.IF_MATCH, "\"3\", \"4\"" )
+                .content( BODY ) ).andReturn();
+        MvcResult stale = mockMvc.perform( delete( "/api/categories/" + id )
+                .header( HttpHeaders.IF_MATCH, "\"3\", \"4\", W/\"5\"" ) ).andReturn();
+
+        // Assert
+        assertEquals( 200, matching.getResponse().getStatus(), "A list holding the current version should match" );
+        assertEquals( "\"5\"", matching.getResponse().getHeader( HttpHeaders.ETAG ), "The response should carry the new version" );
+        assertEquals( 412, stale.getResponse().getStatus(), "A list of old versions and weak tags should not match" );
+        assertTrue( catalog.categoryRepository.getCategoryById( id ).isPresent(), "The category should not have been deleted" );
+    }
+}
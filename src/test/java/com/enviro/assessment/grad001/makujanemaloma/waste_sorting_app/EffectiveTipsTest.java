@@ -0,0 +1,97 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the effective tips query, which unions waste-level and category-level tips, over the real
+ * repositories and an H2 database.
+ */
+class EffectiveTipsTest {
+    private TestCatalog catalog;
+    private Integer bottle;
+    private Integer bag;
+    private Integer jar;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+        Integer plastic = catalog.idOf( "Category", "plastic" );
+        Integer glass = catalog.idOf( "Category", "glass" );
+        bottle = insertWaste( "Plastic Bottle", plastic );
+        jar = insertWaste( "Glass Jar", glass );
+        bag = insertWaste( "Plastic Bag", plastic );
+
+        // Tip IDs interleave the scopes so that ordering by ID alone would mix them
+        insertTip( "Rinse", plastic, null );
+        insertTip( "Caps", null, bottle );
+        insertTip( "Labels", plastic, bottle );
+        insertTip( "Squash", plastic, null );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testListsWasteLevelTipsBeforeCategoryLevelTipsInWasteOrder() {
+        // Act
+        List<WasteWithTipsDTO> wastes = catalog.wasteRepository.getAllWasteWithEffectiveTips();
+
+        // Assert
+        assertEquals( List.of( bottle, jar, bag ), wastes.stream().map( WasteWithTipsDTO::id ).toList(),
+                "Waste items should be listed in ID order, including those without tips" );
+        assertEquals( List.of( "Caps", "Labels", "Rinse", "Squash" ), titles( wastes.get( 0 ) ),
+                "The bottle's own tips should come first, then its category's, each in ID order" );
+        assertEquals( List.of(), titles( wastes.get( 1 ) ), "The jar should have no tips" );
+        assertEquals( List.of( "Rinse", "Labels", "Squash" ), titles( wastes.get( 2 ) ),
+                "The bag should only have its category's tips, including one also attached to the bottle" );
+    }
+
+    @Test
+    void testTipAttachedToBothTheWasteItemAndItsCategoryIsListedOnce() {
+        // Act
+        Optional<WasteWithTipsDTO> waste = catalog.wasteRepository.getWasteWithEffectiveTipsById( bottle );
+
+        // Assert
+        assertTrue( waste.isPresent(), "The bottle should be found" );
+        assertEquals( List.of( "Caps", "Labels", "Rinse", "Squash" ), titles( waste.get() ),
+                "The tip attached to both should be listed once, at its waste-level position" );
+        assertEquals( "plastic", waste.get().categoryName(), "The bottle should carry its category name" );
+    }
+
+    @Test
+    void testUnknownWasteItemHasNoEffectiveTips() {
+        // Act
+        Optional<WasteWithTipsDTO> waste = catalog.wasteRepository.getWasteWithEffectiveTipsById( -1 );
+
+        // Assert
+        assertTrue( waste.isEmpty(), "An unknown waste item should not be found" );
+    }
+
+    private Integer insertWaste( String name, Integer categoryId ) {
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, name, name.toLowerCase(), categoryId, null ) );
+        return catalog.idOf( "Waste", name );
+    }
+
+    private void insertTip( String title, Integer categoryId, Integer wasteId ) {
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, title, title.toLowerCase(), categoryId, wasteId, null ) );
+    }
+
+    private static List<String> titles( WasteWithTipsDTO waste ) {
+        return waste.recyclingTips().stream().map( RecyclingTipDTO::title ).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json.HotDtoModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Compares the cost of a successful lookup with a lookup of an id that does not exist, through
+ * the controller, {@link GlobalExceptionHandler} and JSON serialization. Both should be in the
+ * same range.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ErrorPathBenchmark}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ErrorPathBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        DisposalRepository disposalRepository = mock( DisposalRepository.class );
+        when( disposalRepository.getDisposal( anyInt() ) ).thenReturn( Optional.empty() );
+        when( disposalRepository.getDisposal( 1 ) ).thenReturn( Optional.of( new DisposalDTO(
+                1, 1, "Recycle", "Place in the plastic recycling bin at your local recycling center.",
+                "Community Recycling Center", -26.1952, 28.034, LocalDateTime.of( 2024, 9, 1, 8, 30, 5 ) ) ) );
+
+        mockMvc = MockMvcBuilders.standaloneSetup( new DisposalController( disposalRepository, null ) )
+                .setControllerAdvice( new GlobalExceptionHandler() )
+                .setMessageConverters( new MappingJackson2HttpMessageConverter(
+                        Jackson2ObjectMapperBuilder.json().modulesToInstall( new HotDtoModule() ).build() ) )
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult found() throws Exception {
+        return mockMvc.perform( get( "/api/disposals/1" ) ).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult notFound() throws Exception {
+        return mockMvc.perform( get( "/api/disposals/999" ) ).andReturn();
+    }
+}
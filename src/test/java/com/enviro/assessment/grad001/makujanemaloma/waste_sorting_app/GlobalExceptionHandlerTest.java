@@ -0,0 +1,54 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.exceptions.BulkheadFullException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.ErrorResponse;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void testNotFoundIsStacklessAndUsesTemplate() {
+        // Arrange
+        WasteNotFoundException ex = new WasteNotFoundException( "Waste with id 42 not found" );
+
+        // Act
+        ResponseEntity<ErrorResponse> response = handler.handleWasteNotFoundException( ex );
+
+        // Assert
+        assertEquals(0, ex.getStackTrace().length, "Not found exceptions should not capture a stack trace");
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode(), "Status should be NOT_FOUND");
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType(), "Errors should always be JSON");
+        ErrorResponse body = response.getBody();
+        assertNotNull(body, "Response body should not be null");
+        assertEquals(404, body.status(), "Body status should match");
+        assertEquals("Waste Not Found", body.error(), "Error title should come from the template");
+        assertEquals("Waste with id 42 not found", body.message(), "Message should come from the exception");
+        assertEquals("/api/waste", body.path(), "Path should come from the template");
+        assertNotNull(body.timestamp(), "Timestamp should be set");
+    }
+
+    @Test
+    void testBulkheadFullKeepsRetryAfterAndRequestPath() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest( "GET", "/api/waste/overview" );
+
+        // Act
+        ResponseEntity<ErrorResponse> response = handler.handleBulkheadFullException( new BulkheadFullException( "Heavy queries are saturated" ), request );
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode(), "Status should be SERVICE_UNAVAILABLE");
+        assertEquals("1", response.getHeaders().getFirst( HttpHeaders.RETRY_AFTER ), "Retry-After should be sent");
+        assertEquals("/api/waste/overview", response.getBody().path(), "Path should be the request URI");
+    }
+}
@@ -0,0 +1,94 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.ErrorResponse;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json.HotDtoModule;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotDtoModuleTest {
+
+    private ObjectMapper reflective;
+    private ObjectMapper tuned;
+
+    private final LocalDateTime onTheMinute = LocalDateTime.of( 2024, 9, 1, 8, 30 );
+    private final LocalDateTime withNanos = LocalDateTime.of( 2024, 9, 1, 8, 30, 5, 120_000_000 );
+
+    @BeforeEach
+    void setUp() {
+        reflective = Jackson2ObjectMapperBuilder.json().build();
+        tuned = Jackson2ObjectMapperBuilder.json().build().registerModule( new HotDtoModule() );
+    }
+
+    @Test
+    void testWasteOverviewOutputIsIdentical() throws Exception {
+        // Arrange
+        List<WasteOverviewDTO> overview = List.of(
+                new WasteOverviewDTO( 1, "Plastic Bottle", "Say \"recycle\" é\n\t", "Plastic", null, List.of(
+                        new DisposalDTO( 1, 1, "Recycle", "Rinse first", "Depot", -26.1952, 28.034, onTheMinute ),
+                        new DisposalDTO( 2, 1, "Reuse", "Reuse at home", "Home", null, null, null ) ) ),
+                new WasteOverviewDTO( 2, null, null, null, null, List.of() ),
+                new WasteOverviewDTO( 3, "Glass", "Jar", "Glass", "Glass items", null ) );
+
+        // Act & Assert
+        assertIdentical( overview );
+    }
+
+    @Test
+    void testTipsOutputIsIdentical() throws Exception {
+        // Arrange
+        List<RecyclingTipDTO> tips = List.of(
+                new RecyclingTipDTO( 1, "Tip", "Flatten cans", 4, null, withNanos ),
+                new RecyclingTipDTO( 2, "Tip", "Drop batteries off", null, 9, onTheMinute ),
+                new RecyclingTipDTO( null, null, null, null, null, null ) );
+        List<WasteWithTipsDTO> wasteWithTips = List.of( new WasteWithTipsDTO( 9, "Old Smartphone", "E-waste", "E-Waste", tips ) );
+        List<CategoryWithTipsDTO> categoriesWithTips = List.of(
+                new CategoryWithTipsDTO( 4, "Metal", "Metal items", tips ),
+                new CategoryWithTipsDTO( 5, "E-Waste", null, null ) );
+
+        // Act & Assert
+        assertIdentical( wasteWithTips );
+        assertIdentical( categoriesWithTips );
+    }
+
+    @Test
+    void testErrorResponseOutputIsIdentical() throws Exception {
+        // Arrange
+        ErrorResponse error = new ErrorResponse( withNanos, 404, "Waste Not Found", "Waste with id 42 not found", "/api/waste" );
+        ErrorResponse withoutPath = new ErrorResponse( onTheMinute, 400, "Invalid Include", "Unknown relation 'x'", null );
+
+        // Act & Assert
+        assertIdentical( error );
+        assertIdentical( withoutPath );
+    }
+
+    @Test
+    void testTimestampsFollowMapperConfiguration() throws Exception {
+        // Arrange
+        reflective.enable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
+        tuned.enable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
+
+        // Act & Assert
+        assertIdentical( List.of( new DisposalDTO( 1, 1, "Recycle", "Rinse first", "Depot", withNanos ) ) );
+    }
+
+    private void assertIdentical( Object value ) throws Exception {
+        byte[] expected = reflective.writeValueAsBytes( value );
+        byte[] actual = tuned.writeValueAsBytes( value );
+        assertTrue(Arrays.equals( expected, actual ),
+                "Hand-written output should match reflective output:\n" + new String( expected ) + "\n" + new String( actual ));
+    }
+}
@@ -0,0 +1,39 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching.ItemNameNormalizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemNameNormalizerTest {
+
+    @Test
+    void testNormalizeFoldsCaseAndWordOrder() {
+        // Act & Assert
+        assertEquals("bottle plastic", ItemNameNormalizer.normalize("Plastic Bottle"), "Words should be folded and sorted");
+        assertEquals("bottle plastic", ItemNameNormalizer.normalize("BOTTLE, PLASTIC"), "Punctuation and order should not matter");
+    }
+
+    @Test
+    void testNormalizeStripsQuantitiesAndUnits() {
+        // Act & Assert
+        assertEquals("bottle plastic", ItemNameNormalizer.normalize("Plastic Bottles 500ml x12"), "Quantities and units should be removed");
+        assertEquals("battery laptop", ItemNameNormalizer.normalize("2 pcs laptop batteries"), "Counts should be removed");
+        assertEquals("can", ItemNameNormalizer.normalize("Cans 1.5 kg"), "Decimal weights should be removed");
+    }
+
+    @Test
+    void testNormalizeStripsPlurals() {
+        // Act & Assert
+        assertEquals("box pizza", ItemNameNormalizer.normalize("pizza boxes"), "'-xes' plurals should be singularized");
+        assertEquals("glass jar", ItemNameNormalizer.normalize("Glass Jars"), "'-ss' words should be kept intact");
+        assertEquals("clipping grass", ItemNameNormalizer.normalize("Grass Clippings"), "Regular plurals should be singularized");
+    }
+
+    @Test
+    void testNormalizeHandlesEmptyInput() {
+        // Act & Assert
+        assertEquals("", ItemNameNormalizer.normalize(null), "Null should normalize to an empty key");
+        assertEquals("", ItemNameNormalizer.normalize(" 12 x "), "Quantities alone should normalize to an empty key");
+    }
+}
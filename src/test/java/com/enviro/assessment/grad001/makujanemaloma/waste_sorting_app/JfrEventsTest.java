@@ -0,0 +1,78 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.HttpRequestEventFilter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.MapperEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.RecordingAnalyzer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jfr.RepositoryEventPostProcessor;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+
+    @Repository
+    static class StubRepository {
+        public List<String> getNames() {
+            MapperEvent event = MapperEvent.start( "StubRepository.sqlDataMapperForNames", 3 );
+            List<String> names = List.of( "plastic", "glass" );
+            event.finish( names.size() );
+            return names;
+        }
+    }
+
+    @Test
+    void testRecordingIsBrokenDownPerEndpoint( @TempDir Path directory ) throws Exception {
+        // Arrange
+        StubRepository repository = ( StubRepository ) new RepositoryEventPostProcessor().postProcessAfterInitialization( new StubRepository(), "stubRepository" );
+        HttpRequestEventFilter filter = new HttpRequestEventFilter();
+        Path file = directory.resolve( "enviro.jfr" );
+
+        // Act
+        try ( Reader settings = new InputStreamReader( new ClassPathResource( "jfr/enviro.jfc" ).getInputStream(), StandardCharsets.UTF_8 );
+              Recording recording = new Recording( Configuration.create( settings ) ) ) {
+            recording.start();
+            for ( int status : new int[] { 200, 500 } ) {
+                filter.doFilter( new MockHttpServletRequest( "GET", "/api/categories/1" ), new MockHttpServletResponse(), ( request, response ) -> {
+                    request.setAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/categories/{id}" );
+                    repository.getNames();
+                    ( ( HttpServletResponse ) response ).setStatus( status );
+                } );
+            }
+            repository.getNames();
+            recording.stop();
+            recording.dump( file );
+        }
+        Map<String, RecordingAnalyzer.EndpointBreakdown> endpoints = RecordingAnalyzer.analyze( file ).stream()
+                .collect( Collectors.toMap( RecordingAnalyzer.EndpointBreakdown::endpoint, Function.identity() ) );
+
+        // Assert
+        RecordingAnalyzer.EndpointBreakdown endpoint = endpoints.get( "GET /api/categories/{id}" );
+        assertNotNull(endpoint, "Requests should be grouped by route, not by path: " + endpoints.keySet());
+        assertEquals(2, endpoint.requests(), "Both requests should be counted");
+        assertEquals(1, endpoint.serverErrors(), "The 500 response should be counted as a server error");
+        assertEquals(6, endpoint.rowsMapped(), "The mapping done within the requests should be attributed to them");
+        assertEquals(List.of( "StubRepository.getNames" ),
+                endpoint.repositoryMethods().stream().map( RecordingAnalyzer.MethodBreakdown::method ).toList(), "The repository calls should be listed");
+        assertEquals(4, endpoint.repositoryMethods().get( 0 ).rows(), "The rows returned by the calls should be summed");
+        assertEquals(1, endpoints.get( RecordingAnalyzer.OUTSIDE_REQUESTS ).repositoryMethods().get( 0 ).calls(),
+                "A call outside any request should be listed separately");
+    }
+}
@@ -0,0 +1,113 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.json.HotDtoModule;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective Jackson serialization of the large list responses with {@link HotDtoModule}.
+ * Setup fails unless both produce byte-for-byte identical output.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JsonSerializationBenchmark}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class JsonSerializationBenchmark {
+
+    @Param( { "1000" } )
+    public int items;
+
+    private ObjectMapper reflective;
+    private ObjectMapper tuned;
+    private List<WasteOverviewDTO> overview;
+    private List<WasteWithTipsDTO> wasteWithTips;
+    private List<CategoryWithTipsDTO> categoriesWithTips;
+
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write( int b ) {
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len ) {
+        }
+    };
+
+    @Setup
+    public void setUp() throws IOException {
+        reflective = Jackson2ObjectMapperBuilder.json().build();
+        tuned = Jackson2ObjectMapperBuilder.json().build().registerModule( new HotDtoModule() );
+
+        LocalDateTime loaded = LocalDateTime.of( 2024, 9, 1, 8, 30, 5, 123_456_000 );
+        overview = new ArrayList<>( items );
+        wasteWithTips = new ArrayList<>( items );
+        categoriesWithTips = new ArrayList<>( items );
+        for ( int i = 0; i < items; i++ ) {
+            LocalDateTime updated = i % 4 == 0 ? loaded.plusSeconds( i ) : loaded;
+            List<DisposalDTO> disposals = List.of(
+                    new DisposalDTO( i * 3, i, "Recycle", "Rinse and place in the recycling bin.", "Community Recycling Center", -26.1952, 28.034, updated ),
+                    new DisposalDTO( i * 3 + 1, i, "Reuse", "Reuse for storage before recycling.", "Home", null, null, updated ),
+                    new DisposalDTO( i * 3 + 2, i, "Special Collection", "Drop off at a hazardous waste site.", "Hazardous Waste Center", -26.2485, 28.1306, updated ) );
+            List<RecyclingTipDTO> tips = List.of(
+                    new RecyclingTipDTO( i * 2, "Metal Cans Recycling", "Flatten metal cans to save space before recycling.", 4, null, updated ),
+                    new RecyclingTipDTO( i * 2 + 1, "Dispose of Batteries Properly", "Drop old batteries at e-waste centers.", null, i, updated ) );
+            overview.add( new WasteOverviewDTO( i, "Waste item " + i, "A description of waste item " + i, "Metal", "Metal items", disposals ) );
+            wasteWithTips.add( new WasteWithTipsDTO( i, "Waste item " + i, "A description of waste item " + i, "Metal", tips ) );
+            categoriesWithTips.add( new CategoryWithTipsDTO( i, "Category " + i, "A description of category " + i, tips ) );
+        }
+
+        for ( Object value : List.of( overview, wasteWithTips, categoriesWithTips ) ) {
+            if ( !Arrays.equals( reflective.writeValueAsBytes( value ), tuned.writeValueAsBytes( value ) ) ) {
+                throw new IllegalStateException( "Hand-written serializers differ from reflective output for " + value.getClass() );
+            }
+        }
+    }
+
+    @Benchmark
+    public void overviewReflective() throws IOException {
+        reflective.writeValue( sink, overview );
+    }
+
+    @Benchmark
+    public void overviewTuned() throws IOException {
+        tuned.writeValue( sink, overview );
+    }
+
+    @Benchmark
+    public void wasteWithTipsReflective() throws IOException {
+        reflective.writeValue( sink, wasteWithTips );
+    }
+
+    @Benchmark
+    public void wasteWithTipsTuned() throws IOException {
+        tuned.writeValue( sink, wasteWithTips );
+    }
+
+    @Benchmark
+    public void categoriesWithTipsReflective() throws IOException {
+        reflective.writeValue( sink, categoriesWithTips );
+    }
+
+    @Benchmark
+    public void categoriesWithTipsTuned() throws IOException {
+        tuned.writeValue( sink, categoriesWithTips );
+    }
+}
@@ -0,0 +1,82 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching.ManifestMatchDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.matching.ManifestMatcher;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Matches manifest lines against the real repositories over an H2 database.
+ */
+class ManifestMatcherTest {
+    private TestCatalog catalog;
+    private ManifestMatcher manifestMatcher;
+    private Integer plastic;
+    private Integer bottle;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        manifestMatcher = new ManifestMatcher( catalog.wasteRepository, catalog.disposalRepository, catalog.changeLog, 2, 0.5 );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        plastic = catalog.idOf( "Category", "plastic" );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", plastic, null ) );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", plastic, null ) );
+        bottle = catalog.idOf( "Waste", "Plastic Bottle" );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Recycle", "Rinse first", "Depot", null ) );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testMatchesExactFuzzyAndMissingItems() {
+        // Arrange
+        List<String> lines = List.of( "PLASTIC BOTTLE", "Plastc Bottle", "Car Battery", "   " );
+
+        // Act
+        List<ManifestMatchDTO> matches = manifestMatcher.matchBlock( lines, 0, lines.size() );
+
+        // Assert
+        assertEquals( List.of( 1, 2, 3, 4 ), matches.stream().map( ManifestMatchDTO::line ).toList(), "Matches should be in line order" );
+        assertEquals( ManifestMatchDTO.MatchType.EXACT, matches.get( 0 ).matchType(), "A differently cased name should match exactly" );
+        assertEquals( bottle, matches.get( 0 ).wasteId(), "The exact match should be the bottle" );
+        assertEquals( List.of( "Recycle" ), matches.get( 0 ).disposals().stream().map( DisposalDTO::method ).toList(),
+                "The match should carry the waste item's disposals" );
+        assertEquals( ManifestMatchDTO.MatchType.FUZZY, matches.get( 1 ).matchType(), "A misspelt name should match fuzzily" );
+        assertEquals( bottle, matches.get( 1 ).wasteId(), "The fuzzy match should be the bottle" );
+        assertTrue( matches.get( 1 ).score() >= 0.5 && matches.get( 1 ).score() < 1.0, "The fuzzy score should be between the threshold and 1" );
+        assertEquals( ManifestMatchDTO.MatchType.NONE, matches.get( 2 ).matchType(), "An unknown item should not match" );
+        assertNull( matches.get( 2 ).wasteId(), "An unmatched item should have no waste item" );
+        assertEquals( ManifestMatchDTO.MatchType.NONE, matches.get( 3 ).matchType(), "A blank line should not match" );
+    }
+
+    @Test
+    void testWritesInvalidateTheSnapshot() {
+        // Arrange
+        List<String> lines = List.of( "Car Battery", "Plastic Bottle" );
+        List<ManifestMatchDTO> before = manifestMatcher.matchBlock( lines, 0, lines.size() );
+
+        // Act
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Car Battery", "Lead acid", plastic, null ) );
+        catalog.wasteRepository.deleteWasteById( bottle );
+        List<ManifestMatchDTO> after = manifestMatcher.matchBlock( lines, 0, lines.size() );
+
+        // Assert
+        assertEquals( ManifestMatchDTO.MatchType.NONE, before.get( 0 ).matchType(), "The battery should be unknown before it is added" );
+        assertEquals( ManifestMatchDTO.MatchType.EXACT, before.get( 1 ).matchType(), "The bottle should match before it is deleted" );
+        assertEquals( ManifestMatchDTO.MatchType.EXACT, after.get( 0 ).matchType(), "The added battery should match after the write" );
+        assertEquals( catalog.idOf( "Waste", "Car Battery" ), after.get( 0 ).wasteId(), "The match should be the added battery" );
+        assertNotEquals( bottle, after.get( 1 ).wasteId(), "The deleted bottle should no longer be matched" );
+    }
+}
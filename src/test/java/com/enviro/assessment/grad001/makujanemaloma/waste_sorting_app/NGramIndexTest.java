@@ -0,0 +1,62 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.NGramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NGramIndex();
+        index.put( 1, List.of(
+                new NGramIndex.Field( "Plastic Bottle", 3.0f ),
+                new NGramIndex.Field( "A disposable plastic bottle often used for water and beverages.", 1.0f ) ) );
+        index.put( 3, List.of(
+                new NGramIndex.Field( "Fruit Peels", 3.0f ),
+                new NGramIndex.Field( "Organic waste from fruits such as bananas, apples, and oranges.", 1.0f ) ) );
+        index.put( 9, List.of(
+                new NGramIndex.Field( "Old Smartphone", 3.0f ),
+                new NGramIndex.Field( "A discarded electronic device that contains valuable metals.", 1.0f ) ) );
+    }
+
+    @Test
+    void testSearchToleratesPluralsAndCase() {
+        // Act
+        List<NGramIndex.Hit> hits = index.search( "banana PEEL", 3 );
+
+        // Assert
+        assertFalse(hits.isEmpty(), "Query should match something");
+        assertEquals(3, hits.get(0).id(), "Fruit Peels should be the best match");
+    }
+
+    @Test
+    void testSearchRanksByNameOverDescription() {
+        // Act
+        List<NGramIndex.Hit> hits = index.search( "old phone", 3 );
+
+        // Assert
+        assertEquals(9, hits.get(0).id(), "Old Smartphone should be the best match");
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletesDocuments() {
+        // Act
+        index.put( 9, List.of( new NGramIndex.Field( "Laptop Battery", 3.0f ) ) );
+        index.remove( 1 );
+
+        // Assert
+        assertEquals(2, index.size(), "One document should have been removed");
+        assertTrue(index.search( "plastic bottle", 3 ).stream().noneMatch( hit -> hit.id() == 1 ),
+                "Removed document should no longer match");
+        assertEquals(9, index.search( "battery", 3 ).get(0).id(), "Replaced document should match its new text");
+        assertTrue(index.search( "smartphone", 3 ).stream().noneMatch( hit -> hit.id() == 9 ),
+                "Replaced document should no longer match its old text");
+    }
+}
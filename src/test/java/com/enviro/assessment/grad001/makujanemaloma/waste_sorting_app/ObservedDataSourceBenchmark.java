@@ -0,0 +1,67 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.ObservedDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.StatementListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the rows of a query straight from H2 with reading them through the
+ * {@link ObservedDataSource}, with a listener that does nothing, to show the cost of observing
+ * statements. Each row reads five columns, so the per-column getters dominate.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ObservedDataSourceBenchmark}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ObservedDataSourceBenchmark {
+    private static final String QUERY = "SELECT id, name, description, categoryId, version FROM Waste ORDER BY id";
+    private static final RowMapper<Object[]> ROW_MAPPER = ( rs, rowNum ) -> new Object[]{
+            rs.getInt( "id" ), rs.getString( "name" ), rs.getString( "description" ), rs.getInt( "categoryId" ), rs.getLong( "version" ) };
+
+    @Param( { "100" } )
+    public int rows;
+
+    private SingleConnectionDataSource database;
+    private JdbcTemplate direct;
+    private JdbcTemplate observed;
+
+    @Setup
+    public void setUp() {
+        database = new SingleConnectionDataSource( "jdbc:h2:mem:observed-" + UUID.randomUUID(), "sa", "", true );
+        direct = new JdbcTemplate( database );
+        direct.execute( "CREATE TABLE Waste ( id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), "
+                + "description VARCHAR(255), categoryId INT, version BIGINT DEFAULT 0 )" );
+        for ( int i = 0; i < rows; i++ ) {
+            direct.update( "INSERT INTO Waste ( name, description, categoryId ) VALUES ( ?, ?, ? )",
+                    "Waste " + i, "Description of waste item " + i, i % 10 );
+        }
+        observed = new JdbcTemplate( new ObservedDataSource( database, List.<StatementListener>of( execution -> {
+        } ) ) );
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.destroy();
+    }
+
+    @Benchmark
+    public List<Object[]> direct() {
+        return direct.query( QUERY, ROW_MAPPER );
+    }
+
+    @Benchmark
+    public List<Object[]> observed() {
+        return observed.query( QUERY, ROW_MAPPER );
+    }
+}
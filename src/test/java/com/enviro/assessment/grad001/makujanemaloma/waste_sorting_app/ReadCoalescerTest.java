@@ -0,0 +1,110 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+
+    private ChangeLog changeLog;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadCoalescer readCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ChangeLog( 16 );
+        meterRegistry = new SimpleMeterRegistry();
+        readCoalescer = new ReadCoalescer( changeLog, meterRegistry );
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExecution() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+
+        // Act
+        Future<List<String>> first = executor.submit( () -> readCoalescer.coalesce( "Waste.overview", () -> {
+            executions.incrementAndGet();
+            awaitQuietly( release );
+            return List.of( "Plastic Bottle" );
+        }, "plastic" ) );
+        while ( meterRegistry.get( "repository.coalescing.in-flight" ).gauge().value() < 1 ) {
+            Thread.onSpinWait();
+        }
+        Future<List<String>> second = executor.submit( () -> readCoalescer.coalesce( "Waste.overview", () -> {
+            executions.incrementAndGet();
+            return List.of( "unexpected" );
+        }, "plastic" ) );
+        while ( meterRegistry.find( "repository.coalescing.calls" ).tag( "outcome", "joined" ).counter() == null ) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals(List.of( "Plastic Bottle" ), first.get( 5, TimeUnit.SECONDS ), "Leader should receive the query result");
+        assertSame(first.get(), second.get( 5, TimeUnit.SECONDS ), "Follower should share the leader's result");
+        assertEquals(1, executions.get(), "The query should run only once");
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFailuresPropagateAndAreNotRetained() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException( "boom" );
+
+        // Act & Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> readCoalescer.coalesce( "Waste.getById", () -> { throw failure; }, 1 ),
+                "The loader's exception should propagate");
+        assertSame(failure, thrown, "The original exception should be rethrown");
+        assertEquals("ok", readCoalescer.coalesce( "Waste.getById", () -> "ok", 1 ), "A later call should run again");
+    }
+
+    @Test
+    void testDifferentArgumentsAreNotCoalesced() {
+        // Act
+        String plastic = readCoalescer.coalesce( "Waste.overview", () -> "plastic", "plastic" );
+        String everything = readCoalescer.coalesce( "Waste.overview", () -> "all", ( Object ) null );
+
+        // Assert
+        assertEquals("plastic", plastic, "Filtered read should return its own result");
+        assertEquals("all", everything, "Unfiltered read should return its own result");
+        assertEquals(2.0, meterRegistry.get( "repository.coalescing.calls" ).tag( "outcome", "executed" ).counter().count(),
+                "Both reads should have executed");
+    }
+
+    @Test
+    void testWritesStartANewGeneration() {
+        // Arrange
+        changeLog.publish( "Waste", ChangeEvent.Action.UPDATED, 1 );
+
+        // Act
+        String result = readCoalescer.coalesce( "Waste.getById", () -> "fresh", 1 );
+
+        // Assert
+        assertEquals("fresh", result, "Reads after a write should execute normally");
+    }
+
+    private static void awaitQuietly( CountDownLatch latch ) {
+        try {
+            latch.await( 5, TimeUnit.SECONDS );
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipRepository;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.exceptions.RecyclingTipNotFound;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -50,7 +51,7 @@ class RecyclingTipControllerTest {
     void testGetRecyclingTipByIdFound() {
         // Arrange
         RecyclingTipDTO mockTip = new RecyclingTipDTO(1, "Tip 1", "Recycle plastic", 101, 201, LocalDateTime.now());
-        when(recyclingTipRepository.getRecyclingTipById(1)).thenReturn(Optional.of(mockTip));
+        when(recyclingTipRepository.getVersionedRecyclingTipById(1)).thenReturn(Optional.of(new Versioned<>(mockTip, 1L)));
 
         // Act
         ResponseEntity<?> response = recyclingTipController.getRecyclingTipById(1);
@@ -59,12 +60,13 @@ class RecyclingTipControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Response status should be OK");
         assertTrue(response.getBody() instanceof RecyclingTipDTO, "Response body should be a RecyclingTipDTO");
         assertEquals(mockTip, response.getBody(), "Response body should match the mock tip");
+        assertEquals("\"1\"", response.getHeaders().getETag(), "ETag should be the version read with the tip");
     }
 
     @Test
     void testGetRecyclingTipByIdNotFound() {
         // Arrange
-        when(recyclingTipRepository.getRecyclingTipById(99)).thenReturn(Optional.empty());
+        when(recyclingTipRepository.getVersionedRecyclingTipById(99)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RecyclingTipNotFound.class, () -> recyclingTipController.getRecyclingTipById(99), "Should throw RecyclingTipNotFound for non-existent ID");
@@ -103,10 +105,10 @@ class RecyclingTipControllerTest {
         // Arrange
         RecyclingTipDTO updatedTip = new RecyclingTipDTO(1, "Updated Tip", "Recycle properly", 101, 201, null);
         when(recyclingTipRepository.getRecyclingTipById(1)).thenReturn(Optional.of(updatedTip));
-        when(recyclingTipRepository.updateRecyclingTip(updatedTip, 1)).thenReturn(true);
+        when(recyclingTipRepository.updateRecyclingTip(updatedTip, 1, null)).thenReturn(true);
 
         // Act
-        ResponseEntity<?> response = recyclingTipController.updateCategory(updatedTip, 1);
+        ResponseEntity<?> response = recyclingTipController.updateCategory(updatedTip, 1, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode(), "Response status should be OK for successful update");
@@ -120,7 +122,7 @@ class RecyclingTipControllerTest {
         when(recyclingTipRepository.getRecyclingTipById(1)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RecyclingTipNotFound.class, () -> recyclingTipController.updateCategory(updatedTip, 1), "Should throw RecyclingTipNotFound for non-existent ID");
+        assertThrows(RecyclingTipNotFound.class, () -> recyclingTipController.updateCategory(updatedTip, 1, null), "Should throw RecyclingTipNotFound for non-existent ID");
     }
 
     @Test
@@ -130,18 +132,18 @@ class RecyclingTipControllerTest {
         when(recyclingTipRepository.getRecyclingTipById(1)).thenReturn(Optional.of(mockTip));
 
         // Act
-        recyclingTipController.deleteCategoryById(1);
+        recyclingTipController.deleteCategoryById(1, null);
 
         // Assert
-        verify(recyclingTipRepository, times(1)).deleteRecyclingTip(1);
+        verify(recyclingTipRepository, times(1)).deleteRecyclingTip(1, null);
     }
 
     @Test
     void testDeleteRecyclingTipNotFound() {
         // Arrange
-        when(recyclingTipRepository.getRecyclingTipById(99)).thenReturn(Optional.empty());
+        when(recyclingTipRepository.getVersionedRecyclingTipById(99)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(RecyclingTipNotFound.class, () -> recyclingTipController.deleteCategoryById(99), "Should throw RecyclingTipNotFound for non-existent ID");
+        assertThrows(RecyclingTipNotFound.class, () -> recyclingTipController.deleteCategoryById(99, null), "Should throw RecyclingTipNotFound for non-existent ID");
     }
 }
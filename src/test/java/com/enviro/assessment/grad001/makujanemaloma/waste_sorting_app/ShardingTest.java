@@ -0,0 +1,244 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.BulkheadProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.GenerationTable;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.InJvmInvalidationTransport;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRebalancer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRoutingDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardingProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStatsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.exceptions.VersionConflictException;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the waste and disposal repositories over two local H2 databases, with the plastic
+ * category pinned to shard 0 and the organic category to shard 1.
+ */
+class ShardingTest {
+    private ShardRoutingDataSource dataSource;
+    private JdbcClient jdbcClient;
+    private Shards shards;
+    private ShardRebalancer shardRebalancer;
+    private CategoryStats categoryStats;
+    private WasteRepository wasteRepository;
+    private DisposalRepository disposalRepository;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        DriverManagerDataSource firstShard = new DriverManagerDataSource( "jdbc:h2:mem:shard-0-" + run + ";DB_CLOSE_DELAY=-1", "sa", "" );
+        new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( firstShard );
+        ShardingProperties properties = new ShardingProperties(
+                true,
+                List.of( "jdbc:h2:mem:shard-1-" + run + ";DB_CLOSE_DELAY=-1" ),
+                "sa",
+                "",
+                2,
+                2,
+                1000,
+                Map.of( 1, 0, 2, 1 )
+        );
+        dataSource = ShardRoutingDataSource.create( firstShard, properties );
+        jdbcClient = JdbcClient.create( dataSource );
+
+        ChangeLog changeLog = new ChangeLog( 16 );
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReadCoalescer readCoalescer = new ReadCoalescer( changeLog, meterRegistry );
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 2, 2, 2, 2 ), meterRegistry );
+        CacheCoherence cacheCoherence = new CacheCoherence(
+                changeLog, new GenerationTable( jdbcClient ), new InJvmInvalidationTransport(), 60_000, false, 100 );
+        shards = new Shards( properties, jdbcClient, new DataSourceTransactionManager( dataSource ) );
+        shardRebalancer = new ShardRebalancer( shards, jdbcClient, changeLog );
+        AuditLog auditLog = new AuditLog( new AuditProperties( false, 1, 1, 1, false, "" ), new JdbcTemplate( dataSource ), meterRegistry );
+        categoryStats = new CategoryStats( jdbcClient, shards, cacheCoherence, true, 60_000 );
+        wasteRepository = new WasteRepository( jdbcClient, new JdbcTemplate( dataSource ), changeLog, readCoalescer, bulkhead,
+                cacheCoherence, shards, shardRebalancer, auditLog, categoryStats );
+        disposalRepository = new DisposalRepository(
+                jdbcClient, changeLog, readCoalescer, bulkhead, shards, shardRebalancer, auditLog, categoryStats );
+
+        jdbcClient.sql( "INSERT INTO Category ( name, description ) VALUES ( 'plastic', 'Bottles and bags' ), ( 'organic', 'Food scraps' )" )
+                .update();
+        shardRebalancer.rebalance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testSingleCategoryQueryRoutesToItsShardAndUnfilteredQueryMergesAllShards() {
+        // Arrange
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", 1, null ) );
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Fruit Peels", "Peels", 2, null ) );
+
+        // Act
+        List<WasteOverviewDTO> organic = wasteRepository.getAllWasteWithDisposal( "organic" );
+        List<WasteOverviewDTO> all = wasteRepository.getAllWasteWithDisposal( null );
+
+        // Assert
+        assertEquals( 1, countOn( 1, "Waste" ), "The organic waste item should be stored on shard 1" );
+        assertEquals( List.of( "Fruit Peels" ), organic.stream().map( WasteOverviewDTO::name ).toList(),
+                "A single-category query should only see its category's shard" );
+        assertEquals( 2, all.size(), "An unfiltered query should merge the results of both shards" );
+    }
+
+    @Test
+    void testUnfilteredQueriesMergeTheShardsInIdOrder() {
+        // Arrange
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", 1, null ) );
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bag", "A bag", 1, null ) );
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Fruit Peels", "Peels", 2, null ) );
+        Integer bottleId = wasteRepository.getAllWaste().stream().filter( waste -> waste.name().equals( "Plastic Bottle" ) ).findFirst().orElseThrow().id();
+        // Moving the bottle leaves shard 0 holding a higher ID than the lowest on shard 1.
+        wasteRepository.updateWaste( new WasteDTO( bottleId, "Plastic Bottle", "A bottle", 2, null ), bottleId );
+
+        // Act
+        List<WasteOverviewDTO> overview = wasteRepository.getAllWasteWithDisposal( null );
+        List<WasteWithTipsDTO> tips = wasteRepository.getAllWasteWithTips();
+        List<WasteWithTipsDTO> effectiveTips = wasteRepository.getAllWasteWithEffectiveTips();
+
+        // Assert
+        List<String> inIdOrder = List.of( "Plastic Bottle", "Plastic Bag", "Fruit Peels" );
+        assertEquals( inIdOrder, overview.stream().map( WasteOverviewDTO::name ).toList(),
+                "The overview should be in ID order across the shards, not in shard order" );
+        assertEquals( inIdOrder, tips.stream().map( WasteWithTipsDTO::name ).toList(),
+                "The waste items with tips should be in ID order across the shards" );
+        assertEquals( inIdOrder, effectiveTips.stream().map( WasteWithTipsDTO::name ).toList(),
+                "The waste items with effective tips should be in ID order across the shards" );
+    }
+
+    @Test
+    void testChangingCategoryMovesWasteWithItsDisposalsToTheNewShard() {
+        // Arrange
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", 1, null ) );
+        Integer wasteId = wasteRepository.getAllWaste().get( 0 ).id();
+        disposalRepository.insertNewDisposal( new DisposalDTO( null, wasteId, "Recycle", "Rinse first", "Depot", null ) );
+
+        // Act
+        boolean updated = wasteRepository.updateWaste( new WasteDTO( wasteId, "Glass Jar", "A jar", 2, null ), wasteId );
+        Optional<WasteOverviewDTO> overview = wasteRepository.getWasteOverviewById( wasteId );
+
+        // Assert
+        assertTrue( updated, "The update should succeed on the new shard" );
+        assertEquals( Optional.of( 1 ), shards.locate( "Waste", wasteId ), "The waste item should have moved to shard 1" );
+        assertEquals( 0, countOn( 0, "Disposal" ), "No disposal should be left behind on shard 0" );
+        assertTrue( overview.isPresent(), "The moved waste item should still be found by ID" );
+        assertEquals( 1, overview.get().disposals().size(), "The disposal should have moved with its waste item" );
+    }
+
+    @Test
+    void testRebalanceMovesWasteLoadedIntoTheWrongShard() {
+        // Arrange
+        jdbcClient.sql( "INSERT INTO Waste ( name, description, categoryId ) VALUES ( 'Grass Clippings', 'Yard waste', 2 )" )
+                .update();
+
+        // Act
+        shardRebalancer.rebalance();
+
+        // Assert
+        assertEquals( 0, countOn( 0, "Waste" ), "The organic waste item should have left shard 0" );
+        assertEquals( 1, countOn( 1, "Waste" ), "The organic waste item should be on shard 1" );
+        assertEquals( 2, countOn( 1, "Category" ), "Categories should be replicated to shard 1" );
+    }
+
+    @Test
+    void testStaleVersionIsRejectedWithoutMovingTheWaste() {
+        // Arrange
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Tin Can", "A can", 1, null ) );
+        Integer wasteId = wasteRepository.getAllWaste().get( 0 ).id();
+        wasteRepository.updateWaste( new WasteDTO( wasteId, "Tin Can", "An empty can", 1, null ), wasteId, 0L );
+
+        // Act
+        VersionConflictException exception = assertThrows( VersionConflictException.class,
+                () -> wasteRepository.updateWaste( new WasteDTO( wasteId, "Tin Can", "A can", 2, null ), wasteId, 0L ),
+                "An update at a superseded version should be rejected" );
+
+        // Assert
+        assertTrue( exception.getMessage().contains( "current version is 1" ), "The conflict should report the current version" );
+        assertEquals( Optional.of( 1L ), wasteRepository.getWasteVersion( wasteId ), "The rejected update should not bump the version" );
+        assertEquals( Optional.of( 0 ), shards.locate( "Waste", wasteId ), "The rejected update should not move the waste item" );
+    }
+
+    @Test
+    void testOverviewFollowsWritesAndIsRebuiltOnEveryShard() {
+        // Arrange
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Milk Carton", "A carton", 1, null ) );
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Tea Leaves", "Used leaves", 2, null ) );
+        Integer wasteId = wasteRepository.getAllWaste( "plastic" ).get( 0 ).id();
+        disposalRepository.insertNewDisposal( new DisposalDTO( null, wasteId, "Recycle", "Flatten first", "Depot", null ) );
+        jdbcClient.sql( "UPDATE Category SET description = 'Cartons and bags' WHERE id = 1" ).update();
+        Optional<WasteOverviewDTO> written = wasteRepository.getWasteOverviewById( wasteId );
+        shards.on( 1, () -> jdbcClient.sql( "DELETE FROM WasteOverview" ).update() );
+
+        // Act
+        int rebuilt = wasteRepository.rebuildOverview();
+        List<WasteOverviewDTO> overview = wasteRepository.getAllWasteWithDisposal( null );
+
+        // Assert
+        assertTrue( written.isPresent(), "The overview should be written with the waste item" );
+        assertEquals( "Cartons and bags", written.get().categoryDescription(), "A category change should reach the overview" );
+        assertEquals( 1, written.get().disposals().size(), "The disposal should be part of the overview" );
+        assertEquals( 2, rebuilt, "Every waste item on every shard should be rebuilt" );
+        assertEquals( 2, overview.size(), "The cleared shard's overview should be back after the rebuild" );
+    }
+
+    @Test
+    void testCategoryStatsFollowWritesAndAreCorrectedByReconciling() {
+        // Arrange
+        categoryStats.reconcile();
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Yoghurt Tub", "A tub", 1, null ) );
+        wasteRepository.insertNewWaste( new WasteDTO( null, "Apple Core", "A core", 2, null ) );
+        Integer wasteId = wasteRepository.getAllWaste( "plastic" ).get( 0 ).id();
+        disposalRepository.insertNewDisposal( new DisposalDTO( null, wasteId, "Recycle", "Rinse it out", "Depot", null ) );
+        List<CategoryStatsDTO> counted = categoryStats.snapshot();
+        jdbcClient.sql( "DELETE FROM Disposal" ).update();
+
+        // Act
+        int corrected = categoryStats.reconcile();
+        List<CategoryStatsDTO> reconciled = categoryStats.snapshot();
+
+        // Assert
+        assertEquals( List.of( new CategoryStatsDTO( 1, "plastic", 1, 1, 0 ), new CategoryStatsDTO( 2, "organic", 1, 0, 0 ) ), counted,
+                "Repository writes on both shards should be counted without a recount" );
+        assertEquals( 1, corrected, "Only the disposal count changed behind the repositories' back" );
+        assertEquals( 0, reconciled.get( 0 ).disposals(), "Reconciling should match the database again" );
+    }
+
+    private int countOn( int shard, String table ) {
+        return shards.on( shard, () -> jdbcClient.sql( "SELECT COUNT(*) FROM " + table )
+                .query( Integer.class )
+                .single() );
+    }
+}
@@ -0,0 +1,64 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.ObservedDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.SqlFingerprint;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.SlowQueryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.SlowQueryLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.SlowQueryOrder;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.slowquery.SlowQueryProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    @Test
+    void testFingerprintIgnoresValuesCommentsAndListLengths() {
+        // Act
+        SqlFingerprint first = SqlFingerprint.of( "SELECT * FROM Waste  WHERE id IN (?, ?) AND name = 'Tin' -- lookup" );
+        SqlFingerprint second = SqlFingerprint.of( "SELECT * FROM Waste WHERE id IN (?) AND name = 'Glass Jar'" );
+
+        // Assert
+        assertEquals(first, second, "Statements that differ only in values should share a fingerprint");
+        assertEquals("SELECT * FROM Waste WHERE id IN (?+) AND name = ?", first.text(), "Values should be replaced by placeholders");
+        assertEquals("Waste", first.table(), "The table should be taken from the statement");
+    }
+
+    @Test
+    void testStatementsAreCountedByFingerprintAndSlowOnesKeepTheirParameters() {
+        // Arrange
+        DriverManagerDataSource database = new DriverManagerDataSource( "jdbc:h2:mem:slow-query-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "" );
+        new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( database );
+        SlowQueryLog slowQueryLog = new SlowQueryLog( new SlowQueryProperties( true, 0, 1.0, 100 ) );
+        ObservedDataSource dataSource = new ObservedDataSource( database, List.of( slowQueryLog ) );
+        JdbcClient jdbcClient = JdbcClient.create( dataSource );
+        JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+
+        // Act
+        for ( String name : List.of( "plastic", "glass", "paper" ) ) {
+            jdbcClient.sql( "INSERT INTO Category (name, description) VALUES (?, ?)" ).params( name, "Test category" ).update();
+        }
+        List<Map<String, Object>> categories = jdbcTemplate.queryForList( "SELECT id, name FROM Category ORDER BY id" );
+        List<SlowQueryDTO> byExecutions = slowQueryLog.top( SlowQueryOrder.SLOW, 10 );
+        List<SlowQueryDTO> byRows = slowQueryLog.top( SlowQueryOrder.ROWS, 1 );
+
+        // Assert
+        assertEquals(3, categories.size(), "The query should see the rows through the proxies");
+        SlowQueryDTO insert = byExecutions.get( 0 );
+        assertEquals("INSERT INTO Category (name, description) VALUES (?, ?)", insert.fingerprint(), "Inserts should be grouped under one fingerprint");
+        assertEquals(3, insert.executions(), "Every insert should be counted");
+        assertEquals(3, insert.slowExecutions(), "With a threshold of 0 every execution is slow");
+        assertEquals(List.of( "'paper'", "'Test category'" ), insert.lastSlow().parameters(), "The last slow insert should keep its sampled parameters");
+        assertEquals("SELECT id, name FROM Category ORDER BY id", byRows.get( 0 ).fingerprint(), "The query should read the most rows");
+        assertEquals(3, byRows.get( 0 ).maxRows(), "The rows fetched by the query should be counted");
+    }
+}
@@ -0,0 +1,69 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.SpanDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test helper that arranges exported spans into their trace trees so tests can assert on their shape,
+ * e.g. {@code SpanTree.of( exporter.getFinishedSpans() ).assertTree( "GET /x\n  X.get\n" )}.
+ */
+final class SpanTree {
+    private final List<SpanDTO> spans;
+    private final Map<String, List<SpanDTO>> children = new HashMap<>();
+    private final List<SpanDTO> roots = new ArrayList<>();
+
+    private SpanTree( List<SpanDTO> spans ) {
+        this.spans = spans.stream().sorted( Comparator.comparingLong( SpanDTO::startEpochMicros ) ).toList();
+        for ( SpanDTO span : this.spans ) {
+            if ( span.parentSpanId() == null ) {
+                roots.add( span );
+            } else {
+                children.computeIfAbsent( span.parentSpanId(), parent -> new ArrayList<>() ).add( span );
+            }
+        }
+    }
+
+    static SpanTree of( List<SpanDTO> spans ) {
+        return new SpanTree( spans );
+    }
+
+    /**
+     * Renders the trees as one span name per line, each child indented two spaces below its parent,
+     * siblings in start order.
+     */
+    String render() {
+        StringBuilder out = new StringBuilder();
+        for ( SpanDTO root : roots ) {
+            render( root, 0, out );
+        }
+        return out.toString();
+    }
+
+    void assertTree( String expected ) {
+        assertEquals(expected, render(), "The spans should form the expected tree");
+        spans.forEach( span -> assertTrue(span.parentSpanId() == null || spans.stream().anyMatch( other -> other.spanId().equals( span.parentSpanId() ) ),
+                "The parent of " + span.name() + " should have been exported" ) );
+        spans.forEach( span -> assertEquals(roots.get( 0 ).traceId(), span.traceId(), span.name() + " should belong to the same trace") );
+    }
+
+    SpanDTO span( String name ) {
+        return spans.stream()
+                .filter( span -> span.name().equals( name ) )
+                .findFirst()
+                .orElseThrow( () -> new AssertionError( "No span named " + name + " in\n" + render() ) );
+    }
+
+    private void render( SpanDTO span, int depth, StringBuilder out ) {
+        out.append( "  ".repeat( depth ) ).append( span.name() ).append( '\n' );
+        for ( SpanDTO child : children.getOrDefault( span.spanId(), List.of() ) ) {
+            render( child, depth + 1, out );
+        }
+    }
+}
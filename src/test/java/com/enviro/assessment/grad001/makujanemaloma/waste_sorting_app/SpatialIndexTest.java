@@ -0,0 +1,74 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.geo.SpatialIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+
+    @Test
+    void testNearestMatchesBruteForceOnLargeGrid() {
+        // Arrange
+        Random random = new Random( 42 );
+        SpatialIndex index = new SpatialIndex( 0.1 );
+        List<double[]> points = new ArrayList<>();
+        for ( int id = 0; id < 20_000; id++ ) {
+            double latitude = -26.2 + random.nextGaussian() * 2;
+            double longitude = 28.0 + random.nextGaussian() * 2;
+            index.put( id, 1, latitude, longitude );
+            points.add( new double[] { id, latitude, longitude } );
+        }
+
+        for ( int query = 0; query < 50; query++ ) {
+            double latitude = -26.2 + random.nextGaussian() * 3;
+            double longitude = 28.0 + random.nextGaussian() * 3;
+            List<Integer> expected = points.stream()
+                    .sorted( Comparator.comparingDouble( ( double[] point ) ->
+                            SpatialIndex.distanceKm( latitude, longitude, point[1], point[2] ) ) )
+                    .limit( 5 )
+                    .map( point -> ( int ) point[0] )
+                    .toList();
+
+            // Act
+            List<SpatialIndex.Hit> hits = index.nearest( 1, latitude, longitude, 5 );
+
+            // Assert
+            assertEquals(expected, hits.stream().map( SpatialIndex.Hit::id ).toList(), "Ring search should agree with a full scan");
+        }
+    }
+
+    @Test
+    void testNearestIsPartitionedByOwnerAndFollowsMovesAndRemovals() {
+        // Arrange
+        SpatialIndex index = new SpatialIndex( 0.1 );
+        index.put( 1, 9, -26.1952, 28.0340 );
+        index.put( 2, 9, -26.2485, 28.1306 );
+        index.put( 3, 10, -26.2000, 28.0400 );
+
+        // Act
+        index.put( 1, 9, -33.9249, 18.4241 );
+        index.remove( 2 );
+        List<SpatialIndex.Hit> hits = index.nearest( 9, -26.2, 28.04, 5 );
+
+        // Assert
+        assertEquals(1, hits.size(), "Only the remaining site of owner 9 should be returned");
+        assertEquals(1, hits.get(0).id(), "The moved site should be found at its new position");
+        assertTrue(hits.get(0).distanceKm() > 1000, "Distance should reflect the new position in Cape Town");
+        assertEquals(2, index.size(), "Removed sites should no longer be indexed");
+    }
+
+    @Test
+    void testDistanceKmUsesHaversine() {
+        // Act
+        double distance = SpatialIndex.distanceKm( -26.2041, 28.0473, -33.9249, 18.4241 );
+
+        // Assert
+        assertEquals(1262, distance, 5, "Johannesburg to Cape Town is about 1262 km");
+    }
+}
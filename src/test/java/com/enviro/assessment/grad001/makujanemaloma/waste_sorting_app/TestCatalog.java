@@ -0,0 +1,97 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.audit.AuditProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.Bulkhead;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.bulkhead.BulkheadProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coalescing.ReadCoalescer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.GenerationTable;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.InJvmInvalidationTransport;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardRebalancer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.ShardingProperties;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.sharding.Shards;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.stats.CategoryStats;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Test helper that wires the real repositories over a fresh in-memory H2 database holding the
+ * schema, on a single shard, e.g. {@code TestCatalog catalog = TestCatalog.create( false );}.
+ */
+final class TestCatalog implements AutoCloseable {
+    final DriverManagerDataSource dataSource;
+    final JdbcClient jdbcClient;
+    final JdbcTemplate jdbcTemplate;
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final ChangeLog changeLog = new ChangeLog( 16 );
+    final Shards shards;
+    final CacheCoherence cacheCoherence;
+    final AuditLog auditLog;
+    final CategoryStats categoryStats;
+    final CategoryRepository categoryRepository;
+    final WasteRepository wasteRepository;
+    final DisposalRepository disposalRepository;
+    final RecyclingTipRepository recyclingTipRepository;
+
+    private TestCatalog( boolean audited ) {
+        dataSource = new DriverManagerDataSource( "jdbc:h2:mem:catalog-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "" );
+        new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( dataSource );
+        jdbcClient = JdbcClient.create( dataSource );
+        jdbcTemplate = new JdbcTemplate( dataSource );
+
+        ReadCoalescer readCoalescer = new ReadCoalescer( changeLog, meterRegistry );
+        Bulkhead bulkhead = new Bulkhead( new BulkheadProperties( 2, 2, 2, 2 ), meterRegistry );
+        cacheCoherence = new CacheCoherence(
+                changeLog, new GenerationTable( jdbcClient ), new InJvmInvalidationTransport(), 60_000, false, 100 );
+        shards = new Shards( new ShardingProperties( false, List.of(), "sa", "", 1, 1, 1000, Map.of() ), jdbcClient,
+                new DataSourceTransactionManager( dataSource ) );
+        ShardRebalancer shardRebalancer = new ShardRebalancer( shards, jdbcClient, changeLog );
+        auditLog = new AuditLog( new AuditProperties( audited, 1000, 100, 1, false, "" ), jdbcTemplate, meterRegistry );
+        categoryStats = new CategoryStats( jdbcClient, shards, cacheCoherence, true, 60_000 );
+
+        categoryRepository = new CategoryRepository(
+                jdbcClient, jdbcTemplate, changeLog, readCoalescer, bulkhead, cacheCoherence, shards, auditLog, categoryStats );
+        wasteRepository = new WasteRepository( jdbcClient, jdbcTemplate, changeLog, readCoalescer, bulkhead,
+                cacheCoherence, shards, shardRebalancer, auditLog, categoryStats );
+        disposalRepository = new DisposalRepository(
+                jdbcClient, changeLog, readCoalescer, bulkhead, shards, shardRebalancer, auditLog, categoryStats );
+        recyclingTipRepository = new RecyclingTipRepository(
+                jdbcClient, changeLog, readCoalescer, bulkhead, shards, shardRebalancer, auditLog, categoryStats );
+    }
+
+    /**
+     * @param audited Whether the audit log records the before and after images of writes.
+     */
+    static TestCatalog create( boolean audited ) {
+        return new TestCatalog( audited );
+    }
+
+    /**
+     * Returns the ID of the row of a table with a given name, or title for recycling tips.
+     */
+    Integer idOf( String table, String name ) {
+        String column = table.equals( "RecyclingTips" ) ? "title" : table.equals( "Disposal" ) ? "method" : "name";
+        return jdbcTemplate.queryForObject( "SELECT MIN( id ) FROM " + table + " WHERE " + column + " = ?", Integer.class, name );
+    }
+
+    @Override
+    public void close() {
+        categoryStats.shutdown();
+        jdbcTemplate.execute( "SHUTDOWN" );
+    }
+}
@@ -0,0 +1,76 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryWithTipsDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lists waste items and categories with their recycling tips over an H2 database, including those
+ * without any tips, whose IDs used to be overwritten by the tip's null foreign key.
+ */
+class TipsListingTest {
+    private TestCatalog catalog;
+    private Integer plastic;
+    private Integer glass;
+    private Integer bottle;
+    private Integer jar;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+        plastic = catalog.idOf( "Category", "plastic" );
+        glass = catalog.idOf( "Category", "glass" );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", plastic, null ) );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", glass, null ) );
+        bottle = catalog.idOf( "Waste", "Plastic Bottle" );
+        jar = catalog.idOf( "Waste", "Glass Jar" );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Caps", "Leave the cap on", null, bottle, null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Rinse", "Rinse it out", plastic, null, null ) );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testWasteItemsWithoutTipsKeepTheirId() {
+        // Act
+        List<WasteWithTipsDTO> wastes = catalog.wasteRepository.getAllWasteWithTips();
+
+        // Assert
+        assertEquals( List.of( bottle, jar ), wastes.stream().map( WasteWithTipsDTO::id ).toList(),
+                "Every waste item should be listed with its own ID, with or without tips" );
+        assertTrue( wastes.get( 1 ).recyclingTips().isEmpty(), "The jar should have no tips" );
+        assertEquals( jar, catalog.wasteRepository.getWasteWithTipsByID( jar ).orElseThrow().id(),
+                "A waste item without tips should keep its ID when read alone" );
+    }
+
+    @Test
+    void testCategoriesWithoutTipsKeepTheirId() {
+        // Act
+        List<CategoryWithTipsDTO> categories = catalog.categoryRepository.getCategoriesWithTips().stream()
+                .sorted( Comparator.comparing( CategoryWithTipsDTO::id ) )
+                .toList();
+
+        // Assert
+        assertEquals( List.of( plastic, glass ), categories.stream().map( CategoryWithTipsDTO::id ).toList(),
+                "Every category should be listed with its own ID, with or without tips" );
+        assertEquals( List.of( plastic ), categories.get( 0 ).recyclingTips().stream().map( RecyclingTipDTO::categoryId ).toList(),
+                "The category's tip should still carry the category ID" );
+        assertEquals( glass, catalog.categoryRepository.getCategoryWithTipsById( glass ).orElseThrow().id(),
+                "A category without tips should keep its ID when read alone" );
+    }
+}
@@ -0,0 +1,72 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.jdbc.ObservedDataSource;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.InMemorySpanExporter;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Span;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.SpanDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.Tracer;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.tracing.TracingStatementListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter( 100 );
+
+    private JdbcClient tracedDatabase( Tracer tracer ) {
+        DriverManagerDataSource database = new DriverManagerDataSource( "jdbc:h2:mem:tracing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "" );
+        new ResourceDatabasePopulator( new ClassPathResource( "schema.sql" ) ).execute( database );
+        JdbcClient jdbcClient = JdbcClient.create( new ObservedDataSource( database, List.of( new TracingStatementListener( tracer ) ) ) );
+        jdbcClient.sql( "INSERT INTO Category (name, description) VALUES ('plastic', 'Test category')" ).update();
+        return jdbcClient;
+    }
+
+    @Test
+    void testStatementsAreRecordedAsChildrenOfTheCurrentSpan() {
+        // Arrange
+        Tracer tracer = new Tracer( 1.0, List.of( exporter ) );
+        JdbcClient jdbcClient = tracedDatabase( tracer );
+
+        // Act
+        try ( Span request = tracer.startSpan( "GET /api/categories/{id}" ) ) {
+            try ( Span controller = tracer.startSpan( "CategoryController.getCategoryById" ) ) {
+                jdbcClient.sql( "SELECT id, name FROM Category WHERE name = 'plastic'" ).query().listOfRows();
+            }
+        }
+
+        // Assert
+        SpanTree tree = SpanTree.of( exporter.getFinishedSpans() );
+        tree.assertTree( """
+                GET /api/categories/{id}
+                  CategoryController.getCategoryById
+                    SELECT Category
+                """ );
+        SpanDTO select = tree.span( "SELECT Category" );
+        assertEquals(1L, select.attributes().get( "db.rows" ), "The statement span should carry its row count");
+        assertEquals("SELECT id, name FROM Category WHERE name = ?", select.attributes().get( "db.statement" ), "The statement span should carry the fingerprint, not the values");
+        assertNull(Tracer.currentSpan(), "Closing the root span should leave no span current");
+    }
+
+    @Test
+    void testUnsampledTracesAreNotExported() {
+        // Arrange
+        Tracer tracer = new Tracer( 0.0, List.of( exporter ) );
+        JdbcClient jdbcClient = tracedDatabase( tracer );
+
+        // Act
+        try ( Span request = tracer.startSpan( "GET /api/categories" ) ) {
+            tracer.startSpan( "CategoryController.getAllCategories" ).close();
+            jdbcClient.sql( "SELECT id, name FROM Category" ).query().listOfRows();
+        }
+
+        // Assert
+        assertEquals(List.of(), exporter.getFinishedSpans(), "Nothing in an unsampled trace should be exported");
+    }
+}
@@ -0,0 +1,96 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRelationLoader;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests several waste items by ID, with and without relations, through the waste controller
+ * over real H2 repositories.
+ */
+class WasteBatchRelationsTest {
+    private TestCatalog catalog;
+    private MockMvc mockMvc;
+    private Integer bottle;
+    private Integer jar;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        WasteRelationLoader wasteRelationLoader = new WasteRelationLoader(
+                catalog.categoryRepository, catalog.disposalRepository, catalog.recyclingTipRepository );
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new WasteController( catalog.wasteRepository, catalog.jdbcClient, catalog.categoryRepository, wasteRelationLoader ) )
+                .setControllerAdvice( new GlobalExceptionHandler() )
+                .build();
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        Integer plastic = catalog.idOf( "Category", "plastic" );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", plastic, null ) );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", plastic, null ) );
+        bottle = catalog.idOf( "Waste", "Plastic Bottle" );
+        jar = catalog.idOf( "Waste", "Glass Jar" );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testIdsWithIncludeReturnTheRequestedRelations() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste" ).param( "ids", jar + ",-1," + bottle ).param( "include", "category,disposals" ) )
+                .andReturn();
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertEquals( 200, result.getResponse().getStatus(), "The batch should be found: " + body );
+        assertEquals( List.of( jar, bottle ), JsonPath.read( body, "$.items[*].id" ), "Items should be in request order" );
+        assertEquals( List.of( -1 ), JsonPath.read( body, "$.missing" ), "The unknown ID should be reported missing" );
+        assertEquals( "plastic", JsonPath.read( body, "$.items[1].category.name" ), "The category should be included" );
+        assertEquals( List.of( "Kerbside" ), JsonPath.read( body, "$.items[1].disposals[*].method" ), "The disposals should be included" );
+        assertEquals( List.of(), JsonPath.read( body, "$.items[0].disposals" ), "A waste item without disposals should get an empty list" );
+        assertFalse( JsonPath.<Map<String, Object>>read( body, "$.items[0]" ).containsKey( "recyclingTips" ),
+                "Tips were not requested and should be omitted" );
+    }
+
+    @Test
+    void testIdsWithUnknownIncludeAreRejected() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste" ).param( "ids", String.valueOf( bottle ) ).param( "include", "owner" ) )
+                .andReturn();
+
+        // Assert
+        assertEquals( 400, result.getResponse().getStatus(), "An unknown relation should be rejected, not ignored" );
+    }
+
+    @Test
+    void testIdsWithoutIncludeKeepTheirCategoryShape() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste" ).param( "ids", bottle + ",-1" ) ).andReturn();
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertEquals( 200, result.getResponse().getStatus(), "The batch should be found: " + body );
+        assertEquals( List.of( bottle ), JsonPath.read( body, "$.items[*].wasteId" ), "Items should carry the waste ID" );
+        assertEquals( "plastic", JsonPath.read( body, "$.items[0].categoryName" ), "Items should carry the category name" );
+        assertEquals( List.of( -1 ), JsonPath.read( body, "$.missing" ), "The unknown ID should be reported missing" );
+    }
+}
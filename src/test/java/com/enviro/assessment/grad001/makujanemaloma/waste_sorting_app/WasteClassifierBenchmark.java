@@ -0,0 +1,95 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeEvent;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.changes.ChangeLog;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.ClassificationDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.classify.WasteClassifier;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.coherence.CacheCoherence;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures one classification against catalogs of generated waste items, to show how its cost
+ * grows with the catalog. Each item has two disposals and a name and description drawn from a
+ * shared vocabulary, so common words and trigrams post to many items and every query scores a
+ * large part of the catalog.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WasteClassifierBenchmark}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class WasteClassifierBenchmark {
+    private static final String[] MATERIALS = { "plastic", "glass", "paper", "cardboard", "metal", "aluminium", "steel",
+            "rubber", "textile", "wooden", "ceramic", "foam", "organic", "electronic", "composite", "leather" };
+    private static final String[] OBJECTS = { "bottle", "jar", "box", "bag", "can", "tray", "cup", "lid", "carton", "tube",
+            "wrapper", "container", "battery", "cable", "peel", "shell", "pot", "sheet", "film", "crate" };
+    private static final String[] STATES = { "greasy", "clean", "broken", "empty", "wet", "crushed", "old", "dirty" };
+
+    @Param( { "1000", "10000" } )
+    public int items;
+
+    @Param( { "greasy pizza box", "brokn glas jar", "old phone battery" } )
+    public String query;
+
+    private WasteClassifier wasteClassifier;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        List<CategoryDTO> categories = new ArrayList<>();
+        for ( int i = 0; i < MATERIALS.length; i++ ) {
+            categories.add( new CategoryDTO( i, MATERIALS[ i ], "Items made of " + MATERIALS[ i ], null ) );
+        }
+        List<WasteDTO> wastes = new ArrayList<>( items );
+        List<DisposalDTO> disposals = new ArrayList<>( 2 * items );
+        for ( int i = 0; i < items; i++ ) {
+            int material = i % MATERIALS.length;
+            String object = OBJECTS[ ( i / MATERIALS.length ) % OBJECTS.length ];
+            String state = STATES[ ( i / ( MATERIALS.length * OBJECTS.length ) ) % STATES.length ];
+            wastes.add( new WasteDTO( i, MATERIALS[ material ] + " " + object + " " + i,
+                    "A " + state + " " + object + " made of " + MATERIALS[ material ], material, null ) );
+            disposals.add( new DisposalDTO( 2 * i, i, "Recycle", "Rinse and sort", "Depot", null ) );
+            disposals.add( new DisposalDTO( 2 * i + 1, i, "Landfill", "General waste bin", "Kerbside", null ) );
+        }
+
+        WasteRepository wasteRepository = mock( WasteRepository.class );
+        CategoryRepository categoryRepository = mock( CategoryRepository.class );
+        DisposalRepository disposalRepository = mock( DisposalRepository.class );
+        when( wasteRepository.getAllWaste() ).thenReturn( wastes );
+        when( categoryRepository.getAllCategories() ).thenReturn( categories );
+        when( disposalRepository.getAllDisposals() ).thenReturn( disposals );
+
+        // A category change rebuilds the whole index on the indexer thread
+        ChangeLog changeLog = new ChangeLog( 16 );
+        wasteClassifier = new WasteClassifier( wasteRepository, categoryRepository, disposalRepository, changeLog, mock( CacheCoherence.class ) );
+        changeLog.publish( "Category", ChangeEvent.Action.UPDATED, 0 );
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 30 );
+        while ( wasteClassifier.classify( query ).isEmpty() ) {
+            if ( System.nanoTime() > deadline ) {
+                throw new IllegalStateException( "The classifier index was not built" );
+            }
+            Thread.sleep( 10 );
+        }
+    }
+
+    @Benchmark
+    public Optional<ClassificationDTO> classify() {
+        return wasteClassifier.classify( query );
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.versioning.Versioned;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.*;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.WasteNotFoundException;
 import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.models.WasteWithTipsDTO;
@@ -37,7 +38,7 @@ class WasteControllerTest {
     void testGetWasteById_ReturnsWasteDetails() {
         // Arrange
         WasteWithCategoryDTO mockWaste = new WasteWithCategoryDTO(1, "Paper", "Recyclable paper", "Recyclables", "Waste that can be recycled");
-        when(wasteRepository.getWasteWithCategory(1)).thenReturn(Optional.of(mockWaste));
+        when(wasteRepository.getVersionedWasteWithCategory(1)).thenReturn(Optional.of(new Versioned<>(mockWaste, 2L)));
 
         // Act
         ResponseEntity<?> response = wasteController.getWaste(1);
@@ -46,6 +47,7 @@ class WasteControllerTest {
         assertNotNull(response, "Response should not be null");
         assertEquals(200, response.getStatusCodeValue(), "Status code should be 200");
         assertTrue(response.getBody() instanceof WasteWithCategoryDTO, "Response body should be of type WasteWithCategoryDTO");
+        assertEquals("\"2\"", response.getHeaders().getETag(), "ETag should be the version read with the waste");
 
         WasteWithCategoryDTO waste = (WasteWithCategoryDTO) response.getBody();
         assertEquals(1, waste.wasteId(), "Waste ID should be 1");
@@ -54,13 +56,13 @@ class WasteControllerTest {
         assertEquals("Waste that can be recycled", waste.categoryDescription(), "Category description should match");
 
         // Verify the interaction with the mock repository
-        verify(wasteRepository, times(1)).getWasteWithCategory(1);
+        verify(wasteRepository, times(1)).getVersionedWasteWithCategory(1);
     }
 
     @Test
     void testGetWasteById_ThrowsWasteNotFoundException() {
         // Arrange
-        when(wasteRepository.getWasteWithCategory(1)).thenReturn(Optional.empty());
+        when(wasteRepository.getVersionedWasteWithCategory(1)).thenReturn(Optional.empty());
 
         // Act & Assert
         WasteNotFoundException exception = assertThrows(WasteNotFoundException.class,
@@ -68,7 +70,25 @@ class WasteControllerTest {
                 "Expected a WasteNotFoundException when waste does not exist");
 
         assertEquals("Waste with id 1 not found", exception.getMessage(), "Exception message should match");
-        verify(wasteRepository, times(1)).getWasteWithCategory(1);
+        verify(wasteRepository, times(1)).getVersionedWasteWithCategory(1);
+    }
+
+    @Test
+    void testGetWasteByIds_ReturnsItemsAndMissingIds() {
+        // Arrange
+        WasteWithCategoryDTO paper = new WasteWithCategoryDTO(2, "Paper", "Recyclable paper", "Recyclables", "Waste that can be recycled");
+        WasteWithCategoryDTO glass = new WasteWithCategoryDTO(1, "Glass Jar", "Reusable glass jar", "glass", "Waste made of glass");
+        BatchResultDTO<WasteWithCategoryDTO> mockBatch = new BatchResultDTO<>(List.of(paper, glass), List.of(99));
+        when(wasteRepository.getWasteWithCategoryByIds(List.of(2, 99, 1))).thenReturn(mockBatch);
+
+        // Act
+        BatchResultDTO<WasteWithCategoryDTO> response = wasteController.getWasteByIds(List.of(2, 99, 1));
+
+        // Assert
+        assertEquals(2, response.items().size(), "Two waste items should be returned");
+        assertEquals(2, response.items().get(0).wasteId(), "Items should be in request order");
+        assertEquals(List.of(99), response.missing(), "Missing ids should be reported");
+        verify(wasteRepository, times(1)).getWasteWithCategoryByIds(List.of(2, 99, 1));
     }
 
     @Test
@@ -114,7 +134,7 @@ class WasteControllerTest {
         when(wasteRepository.getWasteWithCategory(1)).thenReturn(Optional.of(mockWaste));
 
         // Act
-        ResponseEntity<?> response = wasteController.deleteWasteById(1);
+        ResponseEntity<?> response = wasteController.deleteWasteById(1, null);
 
         // Assert
         assertNotNull(response, "Response should not be null");
@@ -131,7 +151,7 @@ class WasteControllerTest {
 
         // Act & Assert
         WasteNotFoundException exception = assertThrows(WasteNotFoundException.class,
-                () -> wasteController.deleteWasteById(1),
+                () -> wasteController.deleteWasteById(1, null),
                 "Expected a WasteNotFoundException when waste does not exist");
 
         assertEquals("Waste with id 1 not found", exception.getMessage(), "Exception message should match");
@@ -174,6 +194,42 @@ class WasteControllerTest {
         assertEquals(2, wasteWithTips.get(0).recyclingTips().size(), "First waste should have 2 recycling tips");
     }
 
+    @Test
+    void testGetWasteWithEffectiveTipsById_IncludesCategoryTips() {
+        // Arrange
+        WasteWithTipsDTO mockWasteWithTips = new WasteWithTipsDTO(
+                9,
+                "Old Smartphone",
+                "A discarded electronic device",
+                "E-Waste",
+                List.of(
+                        new RecyclingTipDTO(5, "Dispose of Batteries Properly", "Drop old batteries at e-waste centers", null, 9, LocalDateTime.now()),
+                        new RecyclingTipDTO(6, "E-Waste Drop-off", "Use an authorized e-waste facility", 5, null, LocalDateTime.now())
+                )
+        );
+        when(wasteRepository.getWasteWithEffectiveTipsById(9)).thenReturn(Optional.of(mockWasteWithTips));
+
+        // Act
+        ResponseEntity<?> response = wasteController.getWasteWithEffectiveTipsById(9);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Status should be OK");
+        WasteWithTipsDTO body = (WasteWithTipsDTO) response.getBody();
+        assertNotNull(body, "Response body should not be null");
+        assertEquals(9, body.recyclingTips().get(0).wasteId(), "Waste-level tips should come first");
+        assertEquals(5, body.recyclingTips().get(1).categoryId(), "Category-level tips should follow");
+    }
+
+    @Test
+    void testGetWasteWithEffectiveTipsById_NotFound() {
+        // Arrange
+        when(wasteRepository.getWasteWithEffectiveTipsById(1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        WasteNotFoundException exception = assertThrows(WasteNotFoundException.class, () -> wasteController.getWasteWithEffectiveTipsById(1));
+        assertEquals("Waste with id 1 not found", exception.getMessage(), "Exception message should match");
+    }
+
     @Test
     void testGetWasteWithRecyclingTipsByIdFound() {
         // Arrange
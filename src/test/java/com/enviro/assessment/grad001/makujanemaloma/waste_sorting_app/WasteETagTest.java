@@ -0,0 +1,131 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.exception.GlobalExceptionHandler;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteController;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRelationLoader;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Runs conditional requests against the waste controller over real H2 repositories. A waste item
+ * is returned with its category's name and description, so its ETag must follow both rows.
+ */
+class WasteETagTest {
+    private TestCatalog catalog;
+    private MockMvc mockMvc;
+    private Integer plastic;
+    private Integer bottle;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        WasteRelationLoader wasteRelationLoader = new WasteRelationLoader(
+                catalog.categoryRepository, catalog.disposalRepository, catalog.recyclingTipRepository );
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new WasteController( catalog.wasteRepository, catalog.jdbcClient, catalog.categoryRepository, wasteRelationLoader ),
+                        new CategoryController( catalog.categoryRepository, catalog.jdbcClient ) )
+                .setControllerAdvice( new GlobalExceptionHandler() )
+                .build();
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        plastic = catalog.idOf( "Category", "plastic" );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", plastic, null ) );
+        bottle = catalog.idOf( "Waste", "Plastic Bottle" );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testGetSendsTheVersionsOfTheWasteItemAndItsCategory() throws Exception {
+        // Arrange
+        catalog.jdbcClient.sql( "UPDATE Waste SET version = 3 WHERE id = ?" ).param( bottle ).update();
+        catalog.jdbcClient.sql( "UPDATE Category SET version = 7 WHERE id = ?" ).param( plastic ).update();
+
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn();
+
+        // Assert
+        assertEquals( 200, result.getResponse().getStatus(), "The waste item should be found" );
+        assertEquals( "\"3-7\"", result.getResponse().getHeader( HttpHeaders.ETAG ), "The ETag should carry both versions" );
+    }
+
+    @Test
+    void testRenamingTheCategoryChangesTheWasteItemsETag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG );
+        mockMvc.perform( put( "/api/categories/" + plastic )
+                .contentType( MediaType.APPLICATION_JSON )
+                .content( "{\"name\":\"plastics\",\"description\":\"All plastics\"}" ) ).andReturn();
+
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste/" + bottle ).header( HttpHeaders.IF_NONE_MATCH, etag ) ).andReturn();
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertEquals( 200, result.getResponse().getStatus(), "The old ETag should no longer match after the category was renamed" );
+        assertEquals( "plastics", JsonPath.read( body, "$.categoryName" ), "The new category name should be sent" );
+        assertEquals( "All plastics", JsonPath.read( body, "$.categoryDescription" ), "The new category description should be sent" );
+        assertNotEquals( etag, result.getResponse().getHeader( HttpHeaders.ETAG ), "The ETag should change with the category" );
+    }
+
+    @Test
+    void testUnchangedWasteItemIsNotModified() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG );
+
+        // Act
+        MvcResult result = mockMvc.perform( get( "/api/waste/" + bottle ).header( HttpHeaders.IF_NONE_MATCH, etag ) ).andReturn();
+
+        // Assert
+        assertEquals( 304, result.getResponse().getStatus(), "Nothing the body carries has changed" );
+    }
+
+    @Test
+    void testPutWithTheReadETagUpdatesAndSendsTheNextETag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG );
+
+        // Act
+        MvcResult result = mockMvc.perform( put( "/api/waste/" + bottle )
+                .contentType( MediaType.APPLICATION_JSON )
+                .header( HttpHeaders.IF_MATCH, etag )
+                .content( "{\"name\":\"PET Bottle\",\"description\":\"A drinks bottle\",\"categoryId\":" + plastic + "}" ) ).andReturn();
+
+        // Assert
+        assertEquals( 204, result.getResponse().getStatus(), "The ETag sent with the waste item should match on PUT" );
+        assertEquals( Optional.of( 1L ), catalog.wasteRepository.getWasteVersion( bottle ), "The update should bump the version" );
+        assertEquals( mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG ),
+                result.getResponse().getHeader( HttpHeaders.ETAG ), "The response should carry the ETag a new read sends" );
+    }
+
+    @Test
+    void testDeleteWithStaleWasteVersionFailsWith412() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform( get( "/api/waste/" + bottle ) ).andReturn().getResponse().getHeader( HttpHeaders.ETAG );
+        catalog.wasteRepository.updateWaste( new WasteDTO( bottle, "PET Bottle", "A drinks bottle", plastic, null ), bottle );
+
+        // Act
+        MvcResult result = mockMvc.perform( delete( "/api/waste/" + bottle ).header( HttpHeaders.IF_MATCH, etag ) ).andReturn();
+
+        // Assert
+        assertEquals( 412, result.getResponse().getStatus(), "A stale waste version should fail the precondition" );
+        assertTrue( catalog.wasteRepository.getWasteWithCategory( bottle ).isPresent(), "The waste item should not have been deleted" );
+    }
+}
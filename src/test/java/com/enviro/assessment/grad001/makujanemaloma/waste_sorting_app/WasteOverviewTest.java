@@ -0,0 +1,179 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewEndpoint;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteOverviewProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the WasteOverview read table, its triggers and its projection over the real repositories
+ * and an H2 database holding the schema.
+ */
+class WasteOverviewTest {
+    private TestCatalog catalog;
+    private Integer plastic;
+    private Integer glass;
+    private Integer bottle;
+    private Integer jar;
+
+    @BeforeEach
+    void setUp() {
+        catalog = TestCatalog.create( false );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "plastic", "Bottles and bags", null ) );
+        catalog.categoryRepository.createNewCategory( new CategoryDTO( null, "glass", "Bottles and jars", null ) );
+        plastic = catalog.idOf( "Category", "plastic" );
+        glass = catalog.idOf( "Category", "glass" );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bottle", "A bottle", plastic, null ) );
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Glass Jar", "A jar", glass, null ) );
+        bottle = catalog.idOf( "Waste", "Plastic Bottle" );
+        jar = catalog.idOf( "Waste", "Glass Jar" );
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void testInsertsAddToTheOverview() {
+        // Act
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Drop-off", "Return to the shop", "Shop", null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Caps", "Leave the cap on", null, bottle, null ) );
+
+        // Assert
+        WasteOverviewDTO overview = overview( bottle );
+        assertEquals( "Plastic Bottle", overview.name(), "The inserted waste item should have an overview row" );
+        assertEquals( "plastic", overview.category(), "The overview should carry the category name" );
+        assertEquals( "Bottles and bags", overview.categoryDescription(), "The overview should carry the category description" );
+        assertEquals( List.of( "Kerbside", "Drop-off" ), methods( overview ), "The inserted disposals should be listed in ID order" );
+        assertEquals( List.of( "Caps" ), catalog.wasteRepository.getWasteWithTipsByID( bottle ).orElseThrow().recyclingTips().stream()
+                .map( RecyclingTipDTO::title ).toList(), "The inserted waste-level tip should be listed" );
+        assertEquals( List.of(), methods( overview( jar ) ), "The jar's overview should not be touched" );
+    }
+
+    @Test
+    void testUpdatesRefreshTheOverview() {
+        // Arrange
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        Integer kerbside = catalog.idOf( "Disposal", "Kerbside" );
+
+        // Act
+        catalog.categoryRepository.updateCategory( new CategoryDTO( plastic, "plastics", "All plastics", null ), plastic );
+        catalog.wasteRepository.updateWaste( new WasteDTO( bottle, "PET Bottle", "A drinks bottle", plastic, null ), bottle );
+        catalog.disposalRepository.updateDisposal( new DisposalDTO( kerbside, jar, "Kerbside", "Squash it", "Bin", null ), kerbside );
+
+        // Assert
+        WasteOverviewDTO bottleOverview = overview( bottle );
+        assertEquals( "plastics", bottleOverview.category(), "Renaming the category should refresh its waste items" );
+        assertEquals( "All plastics", bottleOverview.categoryDescription(), "The new category description should be listed" );
+        assertEquals( "PET Bottle", bottleOverview.name(), "Renaming the waste item should refresh its row" );
+        assertEquals( List.of(), methods( bottleOverview ), "The moved disposal should leave its old waste item" );
+        assertEquals( List.of( "Kerbside" ), methods( overview( jar ) ), "The moved disposal should join its new waste item" );
+        assertEquals( List.of( "plastics" ), catalog.wasteRepository.getAllWasteWithDisposal( "plastics" ).stream()
+                .map( WasteOverviewDTO::category ).toList(), "Filtering by the new category name should find the waste item" );
+    }
+
+    @Test
+    void testDeletesRemoveFromTheOverview() {
+        // Arrange
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, jar, "Bottle bank", "Sort by colour", "Depot", null ) );
+        catalog.recyclingTipRepository.createNewRecyclingTip( new RecyclingTipDTO( null, "Lids", "Take the lid off", null, jar, null ) );
+
+        // Act
+        catalog.disposalRepository.deleteDisposal( catalog.idOf( "Disposal", "Bottle bank" ) );
+        catalog.recyclingTipRepository.deleteRecyclingTip( catalog.idOf( "RecyclingTips", "Lids" ) );
+        catalog.wasteRepository.deleteWasteById( bottle );
+
+        // Assert
+        assertEquals( List.of(), methods( overview( jar ) ), "The deleted disposal should be removed" );
+        assertEquals( List.of(), catalog.wasteRepository.getWasteWithTipsByID( jar ).orElseThrow().recyclingTips(),
+                "The deleted tip should be removed" );
+        assertTrue( catalog.wasteRepository.getWasteOverviewById( bottle ).isEmpty(), "The deleted waste item should leave the table" );
+        assertEquals( 1, overviewRows(), "Only the jar should remain" );
+    }
+
+    @Test
+    void testRefreshRestoresOrRemovesOneRow() {
+        // Arrange
+        catalog.jdbcTemplate.update( "UPDATE WasteOverview SET name = 'stale', disposals = '[]'" );
+        catalog.jdbcTemplate.execute( "SET REFERENTIAL_INTEGRITY FALSE" );
+        catalog.jdbcTemplate.update( "INSERT INTO WasteOverview ( wasteId, categoryId, name, description, disposals, recyclingTips ) "
+                + "VALUES ( -1, ?, 'ghost', 'gone', '[]', '[]' )", plastic );
+        catalog.jdbcTemplate.execute( "SET REFERENTIAL_INTEGRITY TRUE" );
+
+        // Act
+        catalog.jdbcTemplate.execute( ( ConnectionCallback<Void> ) connection -> {
+            WasteOverviewProjection.refresh( connection, bottle );
+            WasteOverviewProjection.refresh( connection, -1 );
+            return null;
+        } );
+
+        // Assert
+        assertEquals( "Plastic Bottle", overview( bottle ).name(), "The refreshed row should be recomputed" );
+        assertEquals( "stale", overview( jar ).name(), "Other rows should be left alone" );
+        assertEquals( 0, catalog.jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM WasteOverview WHERE wasteId = -1", Integer.class ),
+                "Refreshing a waste item that no longer exists should remove its row" );
+    }
+
+    @Test
+    void testRefreshCategoryRestoresItsWasteItemsOnly() {
+        // Arrange
+        catalog.wasteRepository.insertNewWaste( new WasteDTO( null, "Plastic Bag", "A bag", plastic, null ) );
+        Integer bag = catalog.idOf( "Waste", "Plastic Bag" );
+        catalog.jdbcTemplate.update( "UPDATE WasteOverview SET categoryName = 'stale'" );
+
+        // Act
+        catalog.jdbcTemplate.execute( ( ConnectionCallback<Void> ) connection -> {
+            WasteOverviewProjection.refreshCategory( connection, plastic );
+            return null;
+        } );
+
+        // Assert
+        assertEquals( "plastic", overview( bottle ).category(), "The bottle is in the category and should be refreshed" );
+        assertEquals( "plastic", overview( bag ).category(), "The bag is in the category and should be refreshed" );
+        assertEquals( "stale", overview( jar ).category(), "The jar is in another category and should be left alone" );
+    }
+
+    @Test
+    void testRebuildRecomputesTheWholeTable() {
+        // Arrange
+        catalog.disposalRepository.insertNewDisposal( new DisposalDTO( null, bottle, "Kerbside", "Squash it", "Bin", null ) );
+        catalog.jdbcTemplate.update( "DELETE FROM WasteOverview WHERE wasteId = ?", bottle );
+        catalog.jdbcTemplate.update( "UPDATE WasteOverview SET name = 'stale'" );
+
+        // Act
+        Map<String, Integer> rebuilt = new WasteOverviewEndpoint( catalog.wasteRepository ).rebuild();
+
+        // Assert
+        assertEquals( Map.of( "rebuilt", 2 ), rebuilt, "Every waste item should be rebuilt" );
+        assertEquals( 2, overviewRows(), "The missing row should be restored" );
+        assertEquals( List.of( "Kerbside" ), methods( overview( bottle ) ), "The restored row should carry its disposals" );
+        assertEquals( "Glass Jar", overview( jar ).name(), "The stale row should be recomputed" );
+    }
+
+    private WasteOverviewDTO overview( Integer wasteId ) {
+        return catalog.wasteRepository.getWasteOverviewById( wasteId ).orElseThrow();
+    }
+
+    private int overviewRows() {
+        return catalog.jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM WasteOverview", Integer.class );
+    }
+
+    private static List<String> methods( WasteOverviewDTO overview ) {
+        return overview.disposals().stream().map( DisposalDTO::method ).toList();
+    }
+}
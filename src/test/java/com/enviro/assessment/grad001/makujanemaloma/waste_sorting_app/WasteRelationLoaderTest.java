@@ -0,0 +1,83 @@
+package com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.category.CategoryRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.disposal.DisposalRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.recycling.RecyclingTipRepository;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteExpandedDTO;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRelation;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.WasteRelationLoader;
+import com.enviro.assessment.grad001.makujanemaloma.waste_sorting_app.waste.exceptions.InvalidIncludeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+class WasteRelationLoaderTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private DisposalRepository disposalRepository;
+
+    @Mock
+    private RecyclingTipRepository recyclingTipRepository;
+
+    @InjectMocks
+    private WasteRelationLoader wasteRelationLoader;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testExpandLoadsEachRelationOnceForTheWholePage() {
+        // Arrange
+        List<WasteDTO> page = List.of(
+                new WasteDTO(1, "Plastic Bottle", "A disposable plastic bottle", 1, null),
+                new WasteDTO(2, "Plastic Bag", "A lightweight plastic bag", 1, null),
+                new WasteDTO(3, "Glass Jar", "A reusable glass container", 3, null)
+        );
+        when(categoryRepository.getCategoriesByIds(List.of(1, 3))).thenReturn(new BatchResultDTO<>(List.of(
+                new CategoryDTO(1, "plastic", "Non-biodegradable materials", null),
+                new CategoryDTO(3, "glass", "Waste made of glass", null)
+        ), List.of()));
+        when(disposalRepository.getDisposalsByWasteIds(List.of(1, 2, 3))).thenReturn(Map.of(
+                1, List.of(new DisposalDTO(10, 1, "Recycle", "Place in the plastic recycling bin", "Community Recycling Center", null))
+        ));
+
+        // Act
+        List<WasteExpandedDTO> expanded = wasteRelationLoader.expand(page, EnumSet.of(WasteRelation.CATEGORY, WasteRelation.DISPOSALS));
+
+        // Assert
+        assertEquals(3, expanded.size(), "Every waste item should be expanded");
+        assertEquals("plastic", expanded.get(1).category().name(), "Category should be resolved from the batch");
+        assertEquals(1, expanded.get(0).disposals().size(), "First waste should have its disposal");
+        assertTrue(expanded.get(2).disposals().isEmpty(), "Waste without disposals should get an empty list");
+        assertNull(expanded.get(0).recyclingTips(), "Tips were not requested and should be omitted");
+        verify(categoryRepository, times(1)).getCategoriesByIds(List.of(1, 3));
+        verify(disposalRepository, times(1)).getDisposalsByWasteIds(List.of(1, 2, 3));
+        verifyNoInteractions(recyclingTipRepository);
+    }
+
+    @Test
+    void testParseRejectsUnknownRelations() {
+        // Act & Assert
+        assertEquals(EnumSet.of(WasteRelation.TIPS, WasteRelation.CATEGORY), WasteRelation.parse(List.of("tips", " Category")),
+                "Relation names should be case-insensitive");
+        assertThrows(InvalidIncludeException.class, () -> WasteRelation.parse(List.of("owner")),
+                "Unknown relations should be rejected");
+    }
+}